@@ -26,10 +26,15 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 
+/**
+ * Benchmarks of {@link W3CTraceContextPropagator#extract}, run them with the gc profiler, which is
+ * enabled by default, to compare the {@code gc.alloc.rate.norm} of the extraction.
+ */
 @State(Scope.Thread)
 public class W3CTraceContextPropagatorExtractBenchmark {
 
   private static final String TRACEPARENT = "traceparent";
+  private static final String TRACESTATE = "tracestate";
   private static final int COUNT = 5;
   private static final List<String> traceparentsHeaders =
       Arrays.asList(
@@ -52,8 +57,17 @@ public class W3CTraceContextPropagatorExtractBenchmark {
           return carrier.get(key);
         }
       };
+  private static final List<String> tracestateHeaders =
+      Arrays.asList(
+          "congo=t61rcWkgMzE",
+          "rojo=00f067aa0ba902b7,congo=t61rcWkgMzE",
+          "foo=bar , bar=baz",
+          "rojo=00f067aa0ba902b7,congo=t61rcWkgMzE",
+          "congo=t61rcWkgMzE");
   private static final List<Map<String, String>> carriers =
       getCarrierForHeader(traceparentsHeaders);
+  private static final List<Map<String, String>> carriersWithTraceState =
+      getCarrierForHeaders(traceparentsHeaders, tracestateHeaders);
 
   /** Benchmark for measuring HttpTraceContext extract. */
   @Benchmark
@@ -72,6 +86,24 @@ public class W3CTraceContextPropagatorExtractBenchmark {
     return result;
   }
 
+  /** Benchmark for measuring the extract of a context with a trace state. */
+  @Benchmark
+  @BenchmarkMode({Mode.AverageTime})
+  @Fork(1)
+  @Measurement(iterations = 15, time = 1)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @Warmup(iterations = 5, time = 1)
+  @OperationsPerInvocation(COUNT)
+  @Nullable
+  public Context measureExtractWithTraceState() {
+    Context result = null;
+    for (int i = 0; i < COUNT; i++) {
+      result =
+          w3cTraceContextPropagator.extract(Context.root(), carriersWithTraceState.get(i), getter);
+    }
+    return result;
+  }
+
   private static List<Map<String, String>> getCarrierForHeader(List<String> headers) {
     List<Map<String, String>> carriers = new ArrayList<>();
     for (String header : headers) {
@@ -81,4 +113,13 @@ public class W3CTraceContextPropagatorExtractBenchmark {
     }
     return carriers;
   }
+
+  private static List<Map<String, String>> getCarrierForHeaders(
+      List<String> traceparents, List<String> tracestates) {
+    List<Map<String, String>> carriers = getCarrierForHeader(traceparents);
+    for (int i = 0; i < carriers.size(); i++) {
+      carriers.get(i).put(TRACESTATE, tracestates.get(i));
+    }
+    return carriers;
+  }
 }
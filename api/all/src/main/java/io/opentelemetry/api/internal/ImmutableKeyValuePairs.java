@@ -29,6 +29,9 @@ import javax.annotation.concurrent.Immutable;
 @Immutable
 public abstract class ImmutableKeyValuePairs<K, V> {
   private final Object[] data;
+  // Lazily computed and cached, like String.hashCode. These are frequently used as map keys on hot
+  // paths, e.g. to look up the aggregator of a set of metric labels on every recording.
+  private int hashcode;
 
   /**
    * Sorts and dedupes the key/value pairs in {@code data}. {@code null} values will be removed.
@@ -237,9 +240,13 @@ public abstract class ImmutableKeyValuePairs<K, V> {
 
   @Override
   public int hashCode() {
-    int result = 1;
-    result *= 1000003;
-    result ^= Arrays.hashCode(data);
+    int result = hashcode;
+    if (result == 0) {
+      result = 1;
+      result *= 1000003;
+      result ^= Arrays.hashCode(data);
+      hashcode = result;
+    }
     return result;
   }
 
@@ -0,0 +1,294 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.api.internal;
+
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanId;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceId;
+import io.opentelemetry.api.trace.TraceState;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The default {@link SpanContext}. The identifiers are stored as {@code long} values and only hex
+ * encoded the first time {@link #getTraceId()} or {@link #getSpanId()} is called, so that spans
+ * whose ids are never needed as {@code String}s, e.g. because they are exported as bytes, do not
+ * allocate them.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+@Immutable
+public final class ImmutableSpanContext implements SpanContext {
+
+  private static final long INVALID_ID = 0;
+
+  public static final SpanContext INVALID =
+      new ImmutableSpanContext(
+          INVALID_ID,
+          INVALID_ID,
+          INVALID_ID,
+          TraceId.getInvalid(),
+          SpanId.getInvalid(),
+          TraceFlags.getDefault(),
+          TraceState.getDefault(),
+          /* remote= */ false,
+          /* valid= */ false);
+
+  private final long traceIdHighPart;
+  private final long traceIdLowPart;
+  private final long spanId;
+  private final TraceFlags traceFlags;
+  private final TraceState traceState;
+  private final boolean remote;
+  private final boolean valid;
+
+  // Lazily encoded. Races are benign, as every thread encodes the same String.
+  @Nullable private String traceIdHex;
+  @Nullable private String spanIdHex;
+
+  private ImmutableSpanContext(
+      long traceIdHighPart,
+      long traceIdLowPart,
+      long spanId,
+      @Nullable String traceIdHex,
+      @Nullable String spanIdHex,
+      TraceFlags traceFlags,
+      TraceState traceState,
+      boolean remote,
+      boolean valid) {
+    if (traceFlags == null) {
+      throw new NullPointerException("Null traceFlags");
+    }
+    if (traceState == null) {
+      throw new NullPointerException("Null traceState");
+    }
+    this.traceIdHighPart = traceIdHighPart;
+    this.traceIdLowPart = traceIdLowPart;
+    this.spanId = spanId;
+    this.traceIdHex = traceIdHex;
+    this.spanIdHex = spanIdHex;
+    this.traceFlags = traceFlags;
+    this.traceState = traceState;
+    this.remote = remote;
+    this.valid = valid;
+  }
+
+  /**
+   * Creates a new {@link SpanContext} with the given hex identifiers, or an invalid one if they are
+   * not valid.
+   */
+  public static SpanContext create(
+      String traceIdHex,
+      String spanIdHex,
+      TraceFlags traceFlags,
+      TraceState traceState,
+      boolean remote) {
+    if (SpanId.isValid(spanIdHex) && TraceId.isValid(traceIdHex)) {
+      return new ImmutableSpanContext(
+          OtelEncodingUtils.longFromBase16String(traceIdHex, 0),
+          OtelEncodingUtils.longFromBase16String(traceIdHex, TraceId.getLength() / 2),
+          OtelEncodingUtils.longFromBase16String(spanIdHex, 0),
+          traceIdHex,
+          spanIdHex,
+          traceFlags,
+          traceState,
+          remote,
+          /* valid= */ true);
+    }
+    return createInvalid(traceFlags, traceState, remote);
+  }
+
+  /**
+   * Creates a new {@link SpanContext} with the given identifiers, or an invalid one if they are all
+   * 0. The identifiers are only encoded as hex when first needed.
+   */
+  public static SpanContext create(
+      long traceIdHighPart,
+      long traceIdLowPart,
+      long spanId,
+      TraceFlags traceFlags,
+      TraceState traceState,
+      boolean remote) {
+    return create(
+        traceIdHighPart,
+        traceIdLowPart,
+        /* traceIdHex= */ null,
+        spanId,
+        traceFlags,
+        traceState,
+        remote);
+  }
+
+  /**
+   * Creates a new {@link SpanContext} with the given identifiers, or an invalid one if they are all
+   * 0. {@code traceIdHex}, if not {@code null}, must be the hex encoding of the trace id, e.g. the
+   * trace id of the parent of a span, which {@link #getTraceId()} then returns instead of encoding
+   * it again.
+   */
+  public static SpanContext create(
+      long traceIdHighPart,
+      long traceIdLowPart,
+      @Nullable String traceIdHex,
+      long spanId,
+      TraceFlags traceFlags,
+      TraceState traceState,
+      boolean remote) {
+    if (spanId != INVALID_ID && (traceIdHighPart != INVALID_ID || traceIdLowPart != INVALID_ID)) {
+      return new ImmutableSpanContext(
+          traceIdHighPart,
+          traceIdLowPart,
+          spanId,
+          traceIdHex,
+          /* spanIdHex= */ null,
+          traceFlags,
+          traceState,
+          remote,
+          /* valid= */ true);
+    }
+    return createInvalid(traceFlags, traceState, remote);
+  }
+
+  private static SpanContext createInvalid(
+      TraceFlags traceFlags, TraceState traceState, boolean remote) {
+    return new ImmutableSpanContext(
+        INVALID_ID,
+        INVALID_ID,
+        INVALID_ID,
+        TraceId.getInvalid(),
+        SpanId.getInvalid(),
+        traceFlags,
+        traceState,
+        remote,
+        /* valid= */ false);
+  }
+
+  @Override
+  public String getTraceId() {
+    String traceId = traceIdHex;
+    if (traceId == null) {
+      traceId = TraceId.fromLongs(traceIdHighPart, traceIdLowPart);
+      traceIdHex = traceId;
+    }
+    return traceId;
+  }
+
+  @Override
+  public byte[] getTraceIdBytes() {
+    byte[] bytes = new byte[2 * Long.BYTES];
+    OtelEncodingUtils.longToBytes(traceIdHighPart, bytes, 0);
+    OtelEncodingUtils.longToBytes(traceIdLowPart, bytes, Long.BYTES);
+    return bytes;
+  }
+
+  @Override
+  public long getTraceIdHighPart() {
+    return traceIdHighPart;
+  }
+
+  @Override
+  public long getTraceIdLowPart() {
+    return traceIdLowPart;
+  }
+
+  @Override
+  public String getSpanId() {
+    String spanIdString = spanIdHex;
+    if (spanIdString == null) {
+      spanIdString = SpanId.fromLong(spanId);
+      spanIdHex = spanIdString;
+    }
+    return spanIdString;
+  }
+
+  @Override
+  public byte[] getSpanIdBytes() {
+    byte[] bytes = new byte[Long.BYTES];
+    OtelEncodingUtils.longToBytes(spanId, bytes, 0);
+    return bytes;
+  }
+
+  @Override
+  public long getSpanIdAsLong() {
+    return spanId;
+  }
+
+  @Override
+  public TraceFlags getTraceFlags() {
+    return traceFlags;
+  }
+
+  @Override
+  public TraceState getTraceState() {
+    return traceState;
+  }
+
+  @Override
+  public boolean isValid() {
+    return valid;
+  }
+
+  @Override
+  public boolean isRemote() {
+    return remote;
+  }
+
+  @Override
+  public boolean equals(@Nullable Object o) {
+    if (o == this) {
+      return true;
+    }
+    if (!(o instanceof ImmutableSpanContext)) {
+      return false;
+    }
+    ImmutableSpanContext that = (ImmutableSpanContext) o;
+    return traceIdHighPart == that.traceIdHighPart
+        && traceIdLowPart == that.traceIdLowPart
+        && spanId == that.spanId
+        && traceFlags.equals(that.traceFlags)
+        && traceState.equals(that.traceState)
+        && remote == that.remote
+        && valid == that.valid;
+  }
+
+  @Override
+  public int hashCode() {
+    int h = 1000003;
+    h ^= Long.hashCode(traceIdHighPart);
+    h *= 1000003;
+    h ^= Long.hashCode(traceIdLowPart);
+    h *= 1000003;
+    h ^= Long.hashCode(spanId);
+    h *= 1000003;
+    h ^= traceFlags.hashCode();
+    h *= 1000003;
+    h ^= traceState.hashCode();
+    h *= 1000003;
+    h ^= remote ? 1231 : 1237;
+    h *= 1000003;
+    h ^= valid ? 1231 : 1237;
+    return h;
+  }
+
+  @Override
+  public String toString() {
+    return "ImmutableSpanContext{"
+        + "traceId="
+        + getTraceId()
+        + ", spanId="
+        + getSpanId()
+        + ", traceFlags="
+        + traceFlags
+        + ", traceState="
+        + traceState
+        + ", remote="
+        + remote
+        + ", valid="
+        + valid
+        + "}";
+  }
+}
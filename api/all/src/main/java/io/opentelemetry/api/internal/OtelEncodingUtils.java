@@ -73,6 +73,20 @@ public final class OtelEncodingUtils {
     byteToBase16((byte) (value & 0xFFL), dest, destOffset + 7 * BYTE_BASE16);
   }
 
+  /**
+   * Stores the big-endian representation of the specified {@code value} in the {@code dest}.
+   *
+   * @param value the value to be converted.
+   * @param dest the destination byte array.
+   * @param destOffset the starting offset in the destination byte array.
+   */
+  public static void longToBytes(long value, byte[] dest, int destOffset) {
+    for (int i = LONG_BYTES - 1; i >= 0; i--) {
+      dest[destOffset + i] = (byte) (value & 0xFFL);
+      value >>= Byte.SIZE;
+    }
+  }
+
   /** Returns the {@code byte[]} decoded from the given hex {@link CharSequence}. */
   public static byte[] bytesFromBase16(CharSequence value, int length) {
     byte[] result = new byte[length / 2];
@@ -110,10 +124,13 @@ public final class OtelEncodingUtils {
    * @return the resulting {@code byte}
    */
   public static byte byteFromBase16(char first, char second) {
-    Utils.checkArgument(
-        first < ASCII_CHARACTERS && DECODING[first] != -1, "invalid character " + first);
-    Utils.checkArgument(
-        second < ASCII_CHARACTERS && DECODING[second] != -1, "invalid character " + second);
+    // Not using checkArgument, the message would be built for every valid character too.
+    if (first >= ASCII_CHARACTERS || DECODING[first] == -1) {
+      throw new IllegalArgumentException("invalid character " + first);
+    }
+    if (second >= ASCII_CHARACTERS || DECODING[second] == -1) {
+      throw new IllegalArgumentException("invalid character " + second);
+    }
     int decoded = DECODING[first] << 4 | DECODING[second];
     return (byte) decoded;
   }
@@ -129,6 +146,19 @@ public final class OtelEncodingUtils {
     return true;
   }
 
+  /**
+   * Returns whether the {@code length} chars of the {@link CharSequence} starting from the {@code
+   * offset} are a valid hex string.
+   */
+  public static boolean isValidBase16String(CharSequence value, int offset, int length) {
+    for (int i = offset; i < offset + length; i++) {
+      if (!isValidBase16Character(value.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /** Returns whether the given {@code char} is a valid hex character. */
   public static boolean isValidBase16Character(char b) {
     // 48..57 && 97..102 are valid
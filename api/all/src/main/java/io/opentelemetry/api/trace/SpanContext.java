@@ -5,6 +5,7 @@
 
 package io.opentelemetry.api.trace;
 
+import io.opentelemetry.api.internal.ImmutableSpanContext;
 import io.opentelemetry.api.internal.OtelEncodingUtils;
 import javax.annotation.concurrent.Immutable;
 
@@ -54,6 +55,30 @@ public interface SpanContext {
         traceIdHex, spanIdHex, traceFlags, traceState, /* remote=*/ false);
   }
 
+  /**
+   * Creates a new {@code SpanContext} with the given identifiers and options. The identifiers are
+   * only encoded as hex when {@link #getTraceId()} or {@link #getSpanId()} is called.
+   *
+   * <p>If the traceId or the spanId are invalid (ie. all 0), both will be replaced with the
+   * standard "invalid" versions.
+   *
+   * @param traceIdHighPart the higher part of the trace identifier of the {@code SpanContext}.
+   * @param traceIdLowPart the lower part of the trace identifier of the {@code SpanContext}.
+   * @param spanId the span identifier of the {@code SpanContext}.
+   * @param traceFlags the trace flags of the {@code SpanContext}.
+   * @param traceState the trace state for the {@code SpanContext}.
+   * @return a new {@code SpanContext} with the given identifiers and options.
+   */
+  static SpanContext create(
+      long traceIdHighPart,
+      long traceIdLowPart,
+      long spanId,
+      TraceFlags traceFlags,
+      TraceState traceState) {
+    return ImmutableSpanContext.create(
+        traceIdHighPart, traceIdLowPart, spanId, traceFlags, traceState, /* remote=*/ false);
+  }
+
   /**
    * Creates a new {@code SpanContext} that was propagated from a remote parent, with the given
    * identifiers and options.
@@ -75,6 +100,31 @@ public interface SpanContext {
         traceIdHex, spanIdHex, traceFlags, traceState, /* remote=*/ true);
   }
 
+  /**
+   * Creates a new {@code SpanContext} that was propagated from a remote parent, with the given
+   * identifiers and options. The identifiers are only encoded as hex when {@link #getTraceId()} or
+   * {@link #getSpanId()} is called.
+   *
+   * <p>If the traceId or the spanId are invalid (ie. all 0), both will be replaced with the
+   * standard "invalid" versions.
+   *
+   * @param traceIdHighPart the higher part of the trace identifier of the {@code SpanContext}.
+   * @param traceIdLowPart the lower part of the trace identifier of the {@code SpanContext}.
+   * @param spanId the span identifier of the {@code SpanContext}.
+   * @param traceFlags the trace flags of the {@code SpanContext}.
+   * @param traceState the trace state for the {@code SpanContext}.
+   * @return a new {@code SpanContext} with the given identifiers and options.
+   */
+  static SpanContext createFromRemoteParent(
+      long traceIdHighPart,
+      long traceIdLowPart,
+      long spanId,
+      TraceFlags traceFlags,
+      TraceState traceState) {
+    return ImmutableSpanContext.create(
+        traceIdHighPart, traceIdLowPart, spanId, traceFlags, traceState, /* remote=*/ true);
+  }
+
   /**
    * Returns the trace identifier associated with this {@link SpanContext} as 32 character lowercase
    * hex String.
@@ -92,6 +142,26 @@ public interface SpanContext {
     return OtelEncodingUtils.bytesFromBase16(getTraceId(), TraceId.getLength());
   }
 
+  /**
+   * Returns the higher 8 bytes of the trace identifier associated with this {@link SpanContext} as
+   * a big-endian {@code long}.
+   *
+   * @return the higher part of the trace identifier associated with this {@link SpanContext}.
+   */
+  default long getTraceIdHighPart() {
+    return OtelEncodingUtils.longFromBase16String(getTraceId(), 0);
+  }
+
+  /**
+   * Returns the lower 8 bytes of the trace identifier associated with this {@link SpanContext} as
+   * a big-endian {@code long}.
+   *
+   * @return the lower part of the trace identifier associated with this {@link SpanContext}.
+   */
+  default long getTraceIdLowPart() {
+    return OtelEncodingUtils.longFromBase16String(getTraceId(), TraceId.getLength() / 2);
+  }
+
   /**
    * Returns the span identifier associated with this {@link SpanContext} as 16 character lowercase
    * hex String.
@@ -110,6 +180,16 @@ public interface SpanContext {
     return OtelEncodingUtils.bytesFromBase16(getSpanId(), SpanId.getLength());
   }
 
+  /**
+   * Returns the span identifier associated with this {@link SpanContext} as a big-endian {@code
+   * long}.
+   *
+   * @return the span identifier associated with this {@link SpanContext} as a {@code long}.
+   */
+  default long getSpanIdAsLong() {
+    return OtelEncodingUtils.longFromBase16String(getSpanId(), 0);
+  }
+
   /** Whether the span in this context is sampled. */
   default boolean isSampled() {
     return getTraceFlags().isSampled();
@@ -23,11 +23,8 @@ import io.opentelemetry.context.propagation.TextMapSetter;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.logging.Logger;
-import java.util.regex.Pattern;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
@@ -64,24 +61,13 @@ public final class W3CTraceContextPropagator implements TextMapPropagator {
   private static final int TRACESTATE_MAX_MEMBERS = 32;
   private static final char TRACESTATE_KEY_VALUE_DELIMITER = '=';
   private static final char TRACESTATE_ENTRY_DELIMITER = ',';
-  private static final Pattern TRACESTATE_ENTRY_DELIMITER_SPLIT_PATTERN =
-      Pattern.compile("[ \t]*" + TRACESTATE_ENTRY_DELIMITER + "[ \t]*");
-  private static final Set<String> VALID_VERSIONS;
-  private static final String VERSION_00 = "00";
+  // A direct-mapped cache of the last parsed tracestate headers. Each slot holds an immutable
+  // entry, so threads read and replace slots without locking; a racing write only loses an entry.
+  private static final int TRACESTATE_CACHE_SIZE = 32;
+  private static final TraceStateCacheEntry[] TRACESTATE_CACHE =
+      new TraceStateCacheEntry[TRACESTATE_CACHE_SIZE];
   private static final W3CTraceContextPropagator INSTANCE = new W3CTraceContextPropagator();
 
-  static {
-    // A valid version is 1 byte representing an 8-bit unsigned integer, version ff is invalid.
-    VALID_VERSIONS = new HashSet<>();
-    for (int i = 0; i < 255; i++) {
-      String version = Long.toHexString(i);
-      if (version.length() < 2) {
-        version = '0' + version;
-      }
-      VALID_VERSIONS.add(version);
-    }
-  }
-
   private W3CTraceContextPropagator() {
     // singleton
   }
@@ -115,13 +101,14 @@ public final class W3CTraceContextPropagator implements TextMapPropagator {
     chars[1] = VERSION.charAt(1);
     chars[2] = TRACEPARENT_DELIMITER;
 
-    String traceId = spanContext.getTraceId();
-    traceId.getChars(0, traceId.length(), chars, TRACE_ID_OFFSET);
+    // Encode the ids straight from their long values, so that they are not encoded as Strings.
+    OtelEncodingUtils.longToBase16String(spanContext.getTraceIdHighPart(), chars, TRACE_ID_OFFSET);
+    OtelEncodingUtils.longToBase16String(
+        spanContext.getTraceIdLowPart(), chars, TRACE_ID_OFFSET + TRACE_ID_HEX_SIZE / 2);
 
     chars[SPAN_ID_OFFSET - 1] = TRACEPARENT_DELIMITER;
 
-    String spanId = spanContext.getSpanId();
-    spanId.getChars(0, spanId.length(), chars, SPAN_ID_OFFSET);
+    OtelEncodingUtils.longToBase16String(spanContext.getSpanIdAsLong(), chars, SPAN_ID_OFFSET);
 
     chars[TRACE_OPTION_OFFSET - 1] = TRACEPARENT_DELIMITER;
     String traceFlagsHex = spanContext.getTraceFlags().asHex();
@@ -163,36 +150,36 @@ public final class W3CTraceContextPropagator implements TextMapPropagator {
 
   private static <C> SpanContext extractImpl(@Nullable C carrier, TextMapGetter<C> getter) {
     String traceParent = getter.get(carrier, TRACE_PARENT);
-    if (traceParent == null) {
+    if (traceParent == null || !isValidTraceParent(traceParent)) {
       return SpanContext.getInvalid();
     }
 
-    SpanContext contextFromParentHeader = extractContextFromTraceParent(traceParent);
-    if (!contextFromParentHeader.isValid()) {
-      return contextFromParentHeader;
+    // The ids are decoded straight into their long values, without substrings of the header.
+    long traceIdHighPart = OtelEncodingUtils.longFromBase16String(traceParent, TRACE_ID_OFFSET);
+    long traceIdLowPart =
+        OtelEncodingUtils.longFromBase16String(
+            traceParent, TRACE_ID_OFFSET + TRACE_ID_HEX_SIZE / 2);
+    long spanId = OtelEncodingUtils.longFromBase16String(traceParent, SPAN_ID_OFFSET);
+    if (spanId == 0 || (traceIdHighPart == 0 && traceIdLowPart == 0)) {
+      return SpanContext.getInvalid();
     }
+    TraceFlags traceFlags =
+        TraceFlags.fromByte(
+            OtelEncodingUtils.byteFromBase16(
+                traceParent.charAt(TRACE_OPTION_OFFSET),
+                traceParent.charAt(TRACE_OPTION_OFFSET + 1)));
 
     String traceStateHeader = getter.get(carrier, TRACE_STATE);
-    if (traceStateHeader == null || traceStateHeader.isEmpty()) {
-      return contextFromParentHeader;
+    TraceState traceState = TraceState.getDefault();
+    if (traceStateHeader != null && !traceStateHeader.isEmpty()) {
+      traceState = extractTraceState(traceStateHeader);
     }
 
-    try {
-      TraceState traceState = extractTraceState(traceStateHeader);
-      return SpanContext.createFromRemoteParent(
-          contextFromParentHeader.getTraceId(),
-          contextFromParentHeader.getSpanId(),
-          contextFromParentHeader.getTraceFlags(),
-          traceState);
-    } catch (IllegalArgumentException e) {
-      logger.fine("Unparseable tracestate header. Returning span context without state.");
-      return contextFromParentHeader;
-    }
+    return SpanContext.createFromRemoteParent(
+        traceIdHighPart, traceIdLowPart, spanId, traceFlags, traceState);
   }
 
-  private static SpanContext extractContextFromTraceParent(String traceparent) {
-    // TODO(bdrutu): Do we need to verify that version is hex and that
-    // for the version the length is the expected one?
+  private static boolean isValidTraceParent(CharSequence traceparent) {
     boolean isValid =
         (traceparent.length() == TRACEPARENT_HEADER_SIZE
                 || (traceparent.length() > TRACEPARENT_HEADER_SIZE
@@ -202,51 +189,117 @@ public final class W3CTraceContextPropagator implements TextMapPropagator {
             && traceparent.charAt(TRACE_OPTION_OFFSET - 1) == TRACEPARENT_DELIMITER;
     if (!isValid) {
       logger.fine("Unparseable traceparent header. Returning INVALID span context.");
-      return SpanContext.getInvalid();
+      return false;
     }
 
-    String version = traceparent.substring(0, 2);
-    if (!VALID_VERSIONS.contains(version)) {
-      return SpanContext.getInvalid();
+    // A valid version is 1 byte representing an 8-bit unsigned integer, version ff is invalid.
+    char firstVersionChar = traceparent.charAt(0);
+    char secondVersionChar = traceparent.charAt(1);
+    if (!OtelEncodingUtils.isValidBase16Character(firstVersionChar)
+        || !OtelEncodingUtils.isValidBase16Character(secondVersionChar)
+        || (firstVersionChar == 'f' && secondVersionChar == 'f')) {
+      return false;
     }
-    if (version.equals(VERSION_00) && traceparent.length() > TRACEPARENT_HEADER_SIZE) {
-      return SpanContext.getInvalid();
+    if (firstVersionChar == '0'
+        && secondVersionChar == '0'
+        && traceparent.length() > TRACEPARENT_HEADER_SIZE) {
+      return false;
     }
 
-    String traceId = traceparent.substring(TRACE_ID_OFFSET, TRACE_ID_OFFSET + TraceId.getLength());
-    String spanId = traceparent.substring(SPAN_ID_OFFSET, SPAN_ID_OFFSET + SpanId.getLength());
-    char firstTraceFlagsChar = traceparent.charAt(TRACE_OPTION_OFFSET);
-    char secondTraceFlagsChar = traceparent.charAt(TRACE_OPTION_OFFSET + 1);
+    return OtelEncodingUtils.isValidBase16String(traceparent, TRACE_ID_OFFSET, TRACE_ID_HEX_SIZE)
+        && OtelEncodingUtils.isValidBase16String(traceparent, SPAN_ID_OFFSET, SPAN_ID_HEX_SIZE)
+        && OtelEncodingUtils.isValidBase16String(
+            traceparent, TRACE_OPTION_OFFSET, TRACE_OPTION_HEX_SIZE);
+  }
 
-    if (!OtelEncodingUtils.isValidBase16Character(firstTraceFlagsChar)
-        || !OtelEncodingUtils.isValidBase16Character(secondTraceFlagsChar)) {
-      return SpanContext.getInvalid();
+  private static TraceState extractTraceState(String traceStateHeader) {
+    // Services usually propagate the same tracestate to each other, so the last parsed ones are
+    // cached. The header is the key, so only bounded headers are cached.
+    boolean cacheable = traceStateHeader.length() <= TRACESTATE_MAX_SIZE;
+    if (cacheable) {
+      TraceStateCacheEntry entry = TRACESTATE_CACHE[cacheSlot(traceStateHeader)];
+      if (entry != null && entry.header.equals(traceStateHeader)) {
+        return entry.traceState;
+      }
     }
 
-    TraceFlags traceFlags =
-        TraceFlags.fromByte(
-            OtelEncodingUtils.byteFromBase16(firstTraceFlagsChar, secondTraceFlagsChar));
-    return SpanContext.createFromRemoteParent(traceId, spanId, traceFlags, TraceState.getDefault());
+    TraceState traceState;
+    try {
+      traceState = parseTraceState(traceStateHeader);
+    } catch (IllegalArgumentException e) {
+      logger.fine("Unparseable tracestate header. Returning span context without state.");
+      return TraceState.getDefault();
+    }
+    if (cacheable) {
+      TRACESTATE_CACHE[cacheSlot(traceStateHeader)] =
+          new TraceStateCacheEntry(traceStateHeader, traceState);
+    }
+    return traceState;
   }
 
-  private static TraceState extractTraceState(String traceStateHeader) {
+  private static int cacheSlot(String traceStateHeader) {
+    int hash = traceStateHeader.hashCode();
+    return (hash ^ (hash >>> 16)) & (TRACESTATE_CACHE_SIZE - 1);
+  }
+
+  // Parses the list-members as if the header was split around each comma and the spaces and tabs
+  // around it, ignoring the empty list-members at the end, without allocating the split header.
+  private static TraceState parseTraceState(String traceStateHeader) {
     TraceStateBuilder traceStateBuilder = TraceState.builder();
-    String[] listMembers = TRACESTATE_ENTRY_DELIMITER_SPLIT_PATTERN.split(traceStateHeader);
-    checkArgument(
-        listMembers.length <= TRACESTATE_MAX_MEMBERS, "TraceState has too many elements.");
+    int numMembers = 0;
+    boolean trailingMembers = true;
     // Iterate in reverse order because when call builder set the elements is added in the
     // front of the list.
-    for (int i = listMembers.length - 1; i >= 0; i--) {
-      String listMember = listMembers[i];
-      int index = listMember.indexOf(TRACESTATE_KEY_VALUE_DELIMITER);
-      checkArgument(index != -1, "Invalid TraceState list-member format.");
-      traceStateBuilder.put(listMember.substring(0, index), listMember.substring(index + 1));
+    int memberEnd = traceStateHeader.length();
+    while (true) {
+      int delimiter = traceStateHeader.lastIndexOf(TRACESTATE_ENTRY_DELIMITER, memberEnd - 1);
+      int start = delimiter + 1;
+      int end = memberEnd;
+      if (delimiter != -1) {
+        while (start < end && isSpaceOrTab(traceStateHeader.charAt(start))) {
+          start++;
+        }
+      }
+      if (end != traceStateHeader.length()) {
+        while (end > start && isSpaceOrTab(traceStateHeader.charAt(end - 1))) {
+          end--;
+        }
+      }
+
+      if (start != end || !trailingMembers) {
+        trailingMembers = false;
+        numMembers++;
+        checkArgument(numMembers <= TRACESTATE_MAX_MEMBERS, "TraceState has too many elements.");
+        int index = traceStateHeader.indexOf(TRACESTATE_KEY_VALUE_DELIMITER, start);
+        checkArgument(index != -1 && index < end, "Invalid TraceState list-member format.");
+        traceStateBuilder.put(
+            traceStateHeader.substring(start, index), traceStateHeader.substring(index + 1, end));
+      }
+
+      if (delimiter == -1) {
+        break;
+      }
+      memberEnd = delimiter;
     }
     TraceState traceState = traceStateBuilder.build();
-    if (traceState.size() != listMembers.length) {
+    if (traceState.size() != numMembers) {
       // Validation failure, drop the tracestate
       return TraceState.getDefault();
     }
     return traceState;
   }
+
+  private static boolean isSpaceOrTab(char c) {
+    return c == ' ' || c == '\t';
+  }
+
+  private static final class TraceStateCacheEntry {
+    private final String header;
+    private final TraceState traceState;
+
+    private TraceStateCacheEntry(String header, TraceState traceState) {
+      this.header = header;
+      this.traceState = traceState;
+    }
+  }
 }
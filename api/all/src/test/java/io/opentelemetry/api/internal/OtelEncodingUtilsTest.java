@@ -63,6 +63,10 @@ class OtelEncodingUtilsTest {
     assertThat(OtelEncodingUtils.isValidBase16String("<abcdef1234567890")).isFalse();
     assertThat(OtelEncodingUtils.isValidBase16String("(abcdef1234567890")).isFalse();
     assertThat(OtelEncodingUtils.isValidBase16String("abcdef1234567890B")).isFalse();
+    assertThat(OtelEncodingUtils.isValidBase16String("-abcdef-", 1, 6)).isTrue();
+    assertThat(OtelEncodingUtils.isValidBase16String("-abcdef-", 0, 6)).isFalse();
+    assertThat(OtelEncodingUtils.isValidBase16String("-abcdef-", 2, 6)).isFalse();
+    assertThat(OtelEncodingUtils.isValidBase16String("-abcdef-", 1, 0)).isTrue();
   }
 
   @Test
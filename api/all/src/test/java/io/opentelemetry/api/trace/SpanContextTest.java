@@ -82,6 +82,38 @@ class SpanContextTest {
     assertThat(second.getTraceState()).isEqualTo(SECOND_TRACE_STATE);
   }
 
+  @Test
+  void longIds() {
+    SpanContext fromLongs =
+        SpanContext.create(
+            0x30L, 0, 0x3000000000000000L, TraceFlags.getSampled(), SECOND_TRACE_STATE);
+    assertThat(fromLongs.isValid()).isTrue();
+    assertThat(fromLongs.getTraceId()).isEqualTo(SECOND_TRACE_ID);
+    assertThat(fromLongs.getSpanId()).isEqualTo(SECOND_SPAN_ID);
+    assertThat(fromLongs.getTraceIdBytes()).isEqualTo(second.getTraceIdBytes());
+    assertThat(fromLongs.getSpanIdBytes()).isEqualTo(second.getSpanIdBytes());
+    assertThat(fromLongs).isEqualTo(second);
+    assertThat(fromLongs.hashCode()).isEqualTo(second.hashCode());
+
+    assertThat(first.getTraceIdHighPart()).isEqualTo(0);
+    assertThat(first.getTraceIdLowPart()).isEqualTo(0x61L);
+    assertThat(first.getSpanIdAsLong()).isEqualTo(0x61L);
+  }
+
+  @Test
+  void longIds_Invalid() {
+    assertThat(
+            SpanContext.create(0, 0x61L, 0, TraceFlags.getDefault(), TraceState.getDefault())
+                .isValid())
+        .isFalse();
+    SpanContext invalid =
+        SpanContext.createFromRemoteParent(0, 0, 0x61L, TraceFlags.getSampled(), FIRST_TRACE_STATE);
+    assertThat(invalid.isValid()).isFalse();
+    assertThat(invalid.isRemote()).isTrue();
+    assertThat(invalid.getTraceId()).isEqualTo(TraceId.getInvalid());
+    assertThat(invalid.getSpanId()).isEqualTo(SpanId.getInvalid());
+  }
+
   @Test
   void isRemote() {
     assertThat(first.isRemote()).isFalse();
@@ -294,6 +294,61 @@ class W3CTraceContextPropagatorTest {
                 TRACE_ID_BASE16, SPAN_ID_BASE16, TraceFlags.getDefault(), TRACE_STATE));
   }
 
+  @Test
+  void extract_NotSampledContext_TraceStateWithTabsAndTrailingDelimiters() {
+    Map<String, String> carrier = new LinkedHashMap<>();
+    carrier.put(W3CTraceContextPropagator.TRACE_PARENT, TRACEPARENT_HEADER_NOT_SAMPLED);
+    carrier.put(W3CTraceContextPropagator.TRACE_STATE, "bar=baz\t,\t foo=bar,,");
+    assertThat(
+            getSpanContext(w3cTraceContextPropagator.extract(Context.current(), carrier, getter)))
+        .isEqualTo(
+            SpanContext.createFromRemoteParent(
+                TRACE_ID_BASE16, SPAN_ID_BASE16, TraceFlags.getDefault(), TRACE_STATE));
+  }
+
+  @Test
+  void extract_SameTraceState() {
+    Map<String, String> carrier = new LinkedHashMap<>();
+    carrier.put(W3CTraceContextPropagator.TRACE_PARENT, TRACEPARENT_HEADER_SAMPLED);
+    carrier.put(W3CTraceContextPropagator.TRACE_STATE, "congo=t61rcWkgMzE,rojo=00f067aa0ba902b7");
+    TraceState first =
+        getSpanContext(w3cTraceContextPropagator.extract(Context.current(), carrier, getter))
+            .getTraceState();
+    TraceState second =
+        getSpanContext(w3cTraceContextPropagator.extract(Context.current(), carrier, getter))
+            .getTraceState();
+    assertThat(first.get("congo")).isEqualTo("t61rcWkgMzE");
+    assertThat(first.get("rojo")).isEqualTo("00f067aa0ba902b7");
+    assertThat(second).isSameAs(first);
+  }
+
+  @Test
+  void extract_ManyTraceStates() {
+    // More headers than cached ones, so that they evict each other.
+    for (int round = 0; round < 2; round++) {
+      for (int i = 0; i < 100; i++) {
+        Map<String, String> carrier = new LinkedHashMap<>();
+        carrier.put(W3CTraceContextPropagator.TRACE_PARENT, TRACEPARENT_HEADER_SAMPLED);
+        carrier.put(W3CTraceContextPropagator.TRACE_STATE, "foo=bar" + i);
+        Context context = w3cTraceContextPropagator.extract(Context.current(), carrier, getter);
+        assertThat(getSpanContext(context).getTraceState().get("foo")).isEqualTo("bar" + i);
+      }
+    }
+  }
+
+  @Test
+  void extract_InvalidTraceState_Twice() {
+    Map<String, String> carrier = new LinkedHashMap<>();
+    carrier.put(W3CTraceContextPropagator.TRACE_PARENT, TRACEPARENT_HEADER_SAMPLED);
+    carrier.put(W3CTraceContextPropagator.TRACE_STATE, "foo=bar,=test");
+    for (int i = 0; i < 2; i++) {
+      assertThat(
+              getSpanContext(w3cTraceContextPropagator.extract(Context.current(), carrier, getter))
+                  .getTraceState())
+          .isEqualTo(TraceState.getDefault());
+    }
+  }
+
   @Test
   void extract_EmptyHeader() {
     Map<String, String> invalidHeaders = new LinkedHashMap<>();
@@ -363,6 +418,20 @@ class W3CTraceContextPropagatorTest {
     verifyInvalidBehavior(invalidHeaders);
   }
 
+  @Test
+  void extract_AllZeroIds() {
+    Map<String, String> invalidHeaders = new LinkedHashMap<>();
+    invalidHeaders.put(
+        W3CTraceContextPropagator.TRACE_PARENT,
+        "00-" + TraceId.getInvalid() + "-" + SPAN_ID_BASE16 + "-01");
+    verifyInvalidBehavior(invalidHeaders);
+
+    invalidHeaders.put(
+        W3CTraceContextPropagator.TRACE_PARENT,
+        "00-" + TRACE_ID_BASE16 + "-" + SpanId.getInvalid() + "-01");
+    verifyInvalidBehavior(invalidHeaders);
+  }
+
   @Test
   void extract_InvalidSpanId_Size() {
     Map<String, String> invalidHeaders = new HashMap<>();
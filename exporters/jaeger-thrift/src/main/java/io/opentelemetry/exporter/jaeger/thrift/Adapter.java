@@ -16,12 +16,12 @@ import io.jaegertracing.thriftjava.Tag;
 import io.jaegertracing.thriftjava.TagType;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.sdk.trace.data.EventData;
 import io.opentelemetry.sdk.trace.data.LinkData;
 import io.opentelemetry.sdk.trace.data.SpanData;
-import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -68,12 +68,13 @@ final class Adapter {
   static Span toJaeger(SpanData span) {
     Span target = new Span();
 
-    long traceIdHigh = traceIdAsLongHigh(span.getTraceId());
-    long traceIdLow = traceIdAsLongLow(span.getTraceId());
+    SpanContext spanContext = span.getSpanContext();
+    long traceIdHigh = spanContext.getTraceIdHighPart();
+    long traceIdLow = spanContext.getTraceIdLowPart();
 
     target.setTraceIdHigh(traceIdHigh);
     target.setTraceIdLow(traceIdLow);
-    target.setSpanId(spanIdAsLong(span.getSpanId()));
+    target.setSpanId(spanContext.getSpanIdAsLong());
     target.setOperationName(span.getName());
     target.setStartTime(TimeUnit.NANOSECONDS.toMicros(span.getStartEpochNanos()));
     target.setDuration(
@@ -95,7 +96,7 @@ final class Adapter {
 
     // add the parent span
     if (span.getParentSpanContext().isValid()) {
-      long parentSpanId = spanIdAsLong(span.getParentSpanId());
+      long parentSpanId = span.getParentSpanContext().getSpanIdAsLong();
       references.add(new SpanRef(SpanRefType.CHILD_OF, traceIdLow, traceIdHigh, parentSpanId));
       target.setParentSpanId(parentSpanId);
     }
@@ -236,22 +237,11 @@ final class Adapter {
     // we can assume that all links are *follows from*
     // https://github.com/open-telemetry/opentelemetry-java/issues/475
     // https://github.com/open-telemetry/opentelemetry-java/pull/481/files#r312577862
+    SpanContext spanContext = link.getSpanContext();
     return new SpanRef(
         SpanRefType.FOLLOWS_FROM,
-        traceIdAsLongLow(link.getSpanContext().getTraceId()),
-        traceIdAsLongHigh(link.getSpanContext().getTraceId()),
-        spanIdAsLong(link.getSpanContext().getSpanId()));
-  }
-
-  private static long traceIdAsLongHigh(String traceId) {
-    return new BigInteger(traceId.substring(0, 16), 16).longValue();
-  }
-
-  private static long traceIdAsLongLow(String traceId) {
-    return new BigInteger(traceId.substring(16, 32), 16).longValue();
-  }
-
-  private static long spanIdAsLong(String spanId) {
-    return new BigInteger(spanId, 16).longValue();
+        spanContext.getTraceIdLowPart(),
+        spanContext.getTraceIdHighPart(),
+        spanContext.getSpanIdAsLong());
   }
 }
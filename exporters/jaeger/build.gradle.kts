@@ -3,6 +3,7 @@ plugins {
     `maven-publish`
 
     id("com.google.protobuf")
+    id("me.champeau.jmh")
     id("ru.vyarus.animalsniffer")
 }
 
@@ -29,6 +30,10 @@ dependencies {
     testImplementation(project(":sdk:testing"))
 
     testRuntimeOnly("io.grpc:grpc-netty-shaded")
+
+    jmh(project(":sdk:testing"))
+    // The benchmarks compare against the Adapter conversion of the tests.
+    jmh(files(sourceSets.test.get().output.classesDirs))
 }
 
 // IntelliJ complains that the generated classes are not found, ask IntelliJ to include the
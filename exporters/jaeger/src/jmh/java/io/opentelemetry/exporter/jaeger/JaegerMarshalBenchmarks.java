@@ -0,0 +1,106 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.jaeger;
+
+import com.google.protobuf.CodedOutputStream;
+import io.grpc.Drainable;
+import io.grpc.MethodDescriptor;
+import io.grpc.protobuf.ProtoUtils;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.exporter.jaeger.proto.api_v2.Collector;
+import io.opentelemetry.exporter.jaeger.proto.api_v2.Model;
+import io.opentelemetry.semconv.resource.attributes.ResourceAttributes;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares serializing a batch with {@link Adapter} and the generated protobuf classes, as the
+ * exporter used to, with {@link JaegerMarshaler}. The allocations of each are reported by the gc
+ * profiler.
+ */
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class JaegerMarshalBenchmarks {
+
+  private static final MethodDescriptor.Marshaller<Collector.PostSpansRequest> PROTO_MARSHALLER =
+      ProtoUtils.marshaller(Collector.PostSpansRequest.getDefaultInstance());
+
+  @Benchmark
+  @Threads(1)
+  public byte[] marshalAdapter(JaegerMarshalState state) throws IOException {
+    Collector.PostSpansRequest request = adapterRequest(state);
+    byte[] output = new byte[request.getSerializedSize()];
+    request.writeTo(CodedOutputStream.newInstance(output));
+    return output;
+  }
+
+  @Benchmark
+  @Threads(1)
+  public byte[] marshalCustom(JaegerMarshalState state) throws IOException {
+    JaegerMarshaler.RequestMarshaler request =
+        JaegerMarshaler.RequestMarshaler.create(state.processMarshaler, state.spanDataList);
+    byte[] output = new byte[request.getSerializedSize()];
+    request.writeTo(CodedOutputStream.newInstance(output));
+    return output;
+  }
+
+  // The two export paths as the gRPC transport runs them, which drains the marshalled request into
+  // its output stream.
+  @Benchmark
+  @Threads(1)
+  public int exportAdapter(JaegerMarshalState state) throws IOException {
+    return drain(PROTO_MARSHALLER.stream(adapterRequest(state)));
+  }
+
+  @Benchmark
+  @Threads(1)
+  public int exportCustom(JaegerMarshalState state) throws IOException {
+    JaegerMarshaler.RequestMarshaler request =
+        JaegerMarshaler.RequestMarshaler.create(state.processMarshaler, state.spanDataList);
+    return drain(MarshalerCollectorServiceGrpc.REQUEST_MARSHALLER.stream(request));
+  }
+
+  // The request as JaegerGrpcSpanExporter built it before JaegerMarshaler.
+  private static Collector.PostSpansRequest adapterRequest(JaegerMarshalState state) {
+    Attributes resourceAttributes = JaegerMarshalState.RESOURCE.getAttributes();
+    Model.Process.Builder process = state.processBuilder.clone();
+    process.setServiceName(resourceAttributes.get(ResourceAttributes.SERVICE_NAME));
+    process.addAllTags(Adapter.toKeyValues(resourceAttributes));
+    return Collector.PostSpansRequest.newBuilder()
+        .setBatch(
+            Model.Batch.newBuilder()
+                .addAllSpans(Adapter.toJaeger(state.spanDataList))
+                .setProcess(process))
+        .build();
+  }
+
+  private static int drain(InputStream stream) throws IOException {
+    return ((Drainable) stream).drainTo(NullOutputStream.INSTANCE);
+  }
+
+  private static final class NullOutputStream extends OutputStream {
+    private static final NullOutputStream INSTANCE = new NullOutputStream();
+
+    @Override
+    public void write(int b) {}
+
+    @Override
+    public void write(byte[] b, int off, int len) {}
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.jaeger;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.exporter.jaeger.proto.api_v2.Model;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.testing.trace.TestSpanData;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import io.opentelemetry.semconv.resource.attributes.ResourceAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class JaegerMarshalState {
+  static final Resource RESOURCE =
+      Resource.create(
+          Attributes.builder()
+              .put(ResourceAttributes.SERVICE_NAME, "benchmark")
+              .put(AttributeKey.stringKey("key_string"), "string")
+              .put(AttributeKey.longKey("key_int"), 100L)
+              .put(
+                  AttributeKey.stringArrayKey("key_string_array"),
+                  Arrays.asList("string", "string"))
+              .build());
+
+  private static final InstrumentationLibraryInfo INSTRUMENTATION_LIBRARY_INFO =
+      InstrumentationLibraryInfo.create("name", "1.0");
+  private static final String TRACE_ID = "7b2e170db4df2d593ddb4ddf2ddf2d59";
+  private static final String SPAN_ID = "170d3ddb4d23e81f";
+  private static final SpanContext SPAN_CONTEXT =
+      SpanContext.create(TRACE_ID, SPAN_ID, TraceFlags.getSampled(), TraceState.getDefault());
+
+  // The tags which the exporter adds to the process, as JaegerGrpcSpanExporter creates them.
+  private static final String HOSTNAME = "benchmark-host";
+  private static final String IP = "192.168.1.1";
+
+  @Param({"16"})
+  int numSpans;
+
+  List<SpanData> spanDataList;
+
+  Model.Process.Builder processBuilder;
+
+  JaegerMarshaler.ProcessMarshaler processMarshaler;
+
+  @Setup
+  public void setup() {
+    spanDataList = new ArrayList<>(numSpans);
+    for (int i = 0; i < numSpans; i++) {
+      spanDataList.add(createSpanData());
+    }
+
+    processBuilder =
+        Model.Process.newBuilder()
+            .addTags(
+                Model.KeyValue.newBuilder().setKey("jaeger.version").setVStr("opentelemetry-java"))
+            .addTags(Model.KeyValue.newBuilder().setKey("ip").setVStr(IP))
+            .addTags(Model.KeyValue.newBuilder().setKey("hostname").setVStr(HOSTNAME));
+    processMarshaler =
+        JaegerMarshaler.ProcessMarshaler.create(
+            RESOURCE,
+            new JaegerMarshaler.KeyValueMarshaler[] {
+              JaegerMarshaler.KeyValueMarshaler.create("jaeger.version", "opentelemetry-java"),
+              JaegerMarshaler.KeyValueMarshaler.create("ip", IP),
+              JaegerMarshaler.KeyValueMarshaler.create("hostname", HOSTNAME)
+            });
+  }
+
+  private static SpanData createSpanData() {
+    return TestSpanData.builder()
+        .setResource(RESOURCE)
+        .setInstrumentationLibraryInfo(INSTRUMENTATION_LIBRARY_INFO)
+        .setHasEnded(true)
+        .setSpanContext(SPAN_CONTEXT)
+        .setParentSpanContext(SPAN_CONTEXT)
+        .setName("GET /api/endpoint")
+        .setKind(SpanKind.SERVER)
+        .setStartEpochNanos(1505855794_194009601L)
+        .setEndEpochNanos(1505855799_465726528L)
+        .setAttributes(
+            Attributes.builder()
+                .put(AttributeKey.booleanKey("key_bool"), true)
+                .put(AttributeKey.stringKey("key_string"), "string")
+                .put(AttributeKey.longKey("key_int"), 100L)
+                .put(AttributeKey.doubleKey("key_double"), 100.3)
+                .build())
+        .setTotalAttributeCount(5)
+        .setEvents(
+            Arrays.asList(
+                EventData.create(1505855799_433901068L, "my_event_1", Attributes.empty()),
+                EventData.create(
+                    1505855799_459486280L,
+                    "my_event_2",
+                    Attributes.of(AttributeKey.longKey("event_attr_key"), 1234L)),
+                EventData.create(1505855799_465726528L, "my_event_3", Attributes.empty())))
+        .setTotalRecordedEvents(4)
+        .setLinks(Arrays.asList(LinkData.create(SPAN_CONTEXT), LinkData.create(SPAN_CONTEXT)))
+        .setTotalRecordedLinks(2)
+        .setStatus(StatusData.ok())
+        .build();
+  }
+}
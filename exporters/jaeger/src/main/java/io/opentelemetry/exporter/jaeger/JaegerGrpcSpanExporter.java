@@ -9,22 +9,22 @@ import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.CallOptions;
 import io.grpc.ConnectivityState;
 import io.grpc.ManagedChannel;
 import io.opentelemetry.exporter.jaeger.proto.api_v2.Collector;
-import io.opentelemetry.exporter.jaeger.proto.api_v2.CollectorServiceGrpc;
-import io.opentelemetry.exporter.jaeger.proto.api_v2.Model;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.internal.ThrottlingLogger;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.export.SpanExporter;
-import io.opentelemetry.semconv.resource.attributes.ResourceAttributes;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -43,11 +43,14 @@ public final class JaegerGrpcSpanExporter implements SpanExporter {
   private static final String HOSTNAME_KEY = "hostname";
   private static final String IP_KEY = "ip";
   private static final String IP_DEFAULT = "0.0.0.0";
+  // There is usually a single resource, this only bounds the cache if the resources do change.
+  private static final int MAX_CACHED_PROCESSES = 16;
   private final ThrottlingLogger logger =
       new ThrottlingLogger(Logger.getLogger(JaegerGrpcSpanExporter.class.getName()));
 
-  private final CollectorServiceGrpc.CollectorServiceFutureStub stub;
-  private final Model.Process.Builder processBuilder;
+  private final JaegerMarshaler.KeyValueMarshaler[] processTags;
+  private final ConcurrentMap<Resource, JaegerMarshaler.ProcessMarshaler> processMarshalers =
+      new ConcurrentHashMap<>();
   private final ManagedChannel managedChannel;
   private final long timeoutNanos;
 
@@ -70,22 +73,14 @@ public final class JaegerGrpcSpanExporter implements SpanExporter {
       ipv4 = IP_DEFAULT;
     }
 
-    Model.KeyValue clientTag =
-        Model.KeyValue.newBuilder()
-            .setKey(CLIENT_VERSION_KEY)
-            .setVStr(CLIENT_VERSION_VALUE)
-            .build();
-
-    Model.KeyValue ipv4Tag = Model.KeyValue.newBuilder().setKey(IP_KEY).setVStr(ipv4).build();
-
-    Model.KeyValue hostnameTag =
-        Model.KeyValue.newBuilder().setKey(HOSTNAME_KEY).setVStr(hostname).build();
-
-    this.processBuilder =
-        Model.Process.newBuilder().addTags(clientTag).addTags(ipv4Tag).addTags(hostnameTag);
+    this.processTags =
+        new JaegerMarshaler.KeyValueMarshaler[] {
+          JaegerMarshaler.KeyValueMarshaler.create(CLIENT_VERSION_KEY, CLIENT_VERSION_VALUE),
+          JaegerMarshaler.KeyValueMarshaler.create(IP_KEY, ipv4),
+          JaegerMarshaler.KeyValueMarshaler.create(HOSTNAME_KEY, hostname)
+        };
 
     this.managedChannel = channel;
-    this.stub = CollectorServiceGrpc.newFutureStub(channel);
     this.timeoutNanos = timeoutNanos;
   }
 
@@ -97,20 +92,27 @@ public final class JaegerGrpcSpanExporter implements SpanExporter {
    */
   @Override
   public CompletableResultCode export(Collection<SpanData> spans) {
-    CollectorServiceGrpc.CollectorServiceFutureStub stub = this.stub;
+    CallOptions callOptions = CallOptions.DEFAULT;
     if (timeoutNanos > 0) {
-      stub = stub.withDeadlineAfter(timeoutNanos, TimeUnit.NANOSECONDS);
+      callOptions = callOptions.withDeadlineAfter(timeoutNanos, TimeUnit.NANOSECONDS);
     }
 
-    List<Collector.PostSpansRequest> requests = new ArrayList<>();
+    // The requests are serialized straight into the transport, without building the protobuf
+    // objects of the requests.
+    List<JaegerMarshaler.RequestMarshaler> requests = new ArrayList<>();
     spans.stream()
         .collect(Collectors.groupingBy(SpanData::getResource))
-        .forEach((resource, spanData) -> requests.add(buildRequest(resource, spanData)));
+        .forEach(
+            (resource, spanData) ->
+                requests.add(
+                    JaegerMarshaler.RequestMarshaler.create(
+                        getProcessMarshaler(resource), spanData)));
 
     List<ListenableFuture<Collector.PostSpansResponse>> listenableFutures =
         new ArrayList<>(requests.size());
-    for (Collector.PostSpansRequest request : requests) {
-      listenableFutures.add(stub.postSpans(request));
+    for (JaegerMarshaler.RequestMarshaler request : requests) {
+      listenableFutures.add(
+          MarshalerCollectorServiceGrpc.postSpans(managedChannel, callOptions, request));
     }
 
     final CompletableResultCode result = new CompletableResultCode();
@@ -148,24 +150,17 @@ public final class JaegerGrpcSpanExporter implements SpanExporter {
     return result;
   }
 
-  private Collector.PostSpansRequest buildRequest(Resource resource, List<SpanData> spans) {
-    Model.Process.Builder builder = this.processBuilder.clone();
-
-    String serviceName = resource.getAttributes().get(ResourceAttributes.SERVICE_NAME);
-    if (serviceName == null || serviceName.isEmpty()) {
-      serviceName = Resource.getDefault().getAttributes().get(ResourceAttributes.SERVICE_NAME);
+  // The process of a resource is the same for all its batches, so its marshaler is reused.
+  private JaegerMarshaler.ProcessMarshaler getProcessMarshaler(Resource resource) {
+    JaegerMarshaler.ProcessMarshaler processMarshaler = processMarshalers.get(resource);
+    if (processMarshaler == null) {
+      if (processMarshalers.size() >= MAX_CACHED_PROCESSES) {
+        processMarshalers.clear();
+      }
+      processMarshaler = JaegerMarshaler.ProcessMarshaler.create(resource, processTags);
+      processMarshalers.put(resource, processMarshaler);
     }
-    builder.setServiceName(serviceName);
-
-    builder.addAllTags(Adapter.toKeyValues(resource.getAttributes()));
-
-    return Collector.PostSpansRequest.newBuilder()
-        .setBatch(
-            Model.Batch.newBuilder()
-                .addAllSpans(Adapter.toJaeger(spans))
-                .setProcess(builder.build())
-                .build())
-        .build();
+    return processMarshaler;
   }
 
   /**
@@ -206,11 +201,6 @@ public final class JaegerGrpcSpanExporter implements SpanExporter {
     return result;
   }
 
-  // Visible for testing
-  Model.Process.Builder getProcessBuilder() {
-    return processBuilder;
-  }
-
   // Visible for testing
   ManagedChannel getManagedChannel() {
     return managedChannel;
@@ -0,0 +1,613 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.jaeger;
+
+import static io.opentelemetry.api.common.AttributeKey.booleanKey;
+
+import com.google.gson.Gson;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.WireFormat;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.exporter.jaeger.proto.api_v2.Collector;
+import io.opentelemetry.exporter.jaeger.proto.api_v2.Model;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import io.opentelemetry.semconv.resource.attributes.ResourceAttributes;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+
+/**
+ * Marshals {@link SpanData} into Jaeger's {@code PostSpansRequest} without building the protobuf
+ * objects of the request.
+ */
+final class JaegerMarshaler {
+
+  static final AttributeKey<Boolean> KEY_ERROR = booleanKey("error");
+  static final String KEY_LOG_EVENT = "event";
+  static final String KEY_EVENT_DROPPED_ATTRIBUTES_COUNT = "otel.event.dropped_attributes_count";
+  static final String KEY_DROPPED_ATTRIBUTES_COUNT = "otel.dropped_attributes_count";
+  static final String KEY_DROPPED_EVENTS_COUNT = "otel.dropped_events_count";
+  static final String KEY_SPAN_KIND = "span.kind";
+  static final String KEY_SPAN_STATUS_MESSAGE = "otel.status_description";
+  static final String KEY_SPAN_STATUS_CODE = "otel.status_code";
+  static final String KEY_INSTRUMENTATION_LIBRARY_NAME = "otel.library.name";
+  static final String KEY_INSTRUMENTATION_LIBRARY_VERSION = "otel.library.version";
+
+  private static final int NANOS_PER_SECOND = 1_000_000_000;
+
+  // Gson instances are thread-safe, and creating one for each array attribute is costly.
+  private static final Gson GSON = new Gson();
+
+  private static final KeyValueMarshaler[] SPAN_KIND_TAGS =
+      new KeyValueMarshaler[SpanKind.values().length];
+  private static final KeyValueMarshaler[] STATUS_CODE_TAGS =
+      new KeyValueMarshaler[StatusCode.values().length];
+  private static final KeyValueMarshaler ERROR_TAG =
+      KeyValueMarshaler.create(KEY_ERROR, true);
+
+  static {
+    for (SpanKind kind : SpanKind.values()) {
+      SPAN_KIND_TAGS[kind.ordinal()] =
+          KeyValueMarshaler.create(KEY_SPAN_KIND, kind.name().toLowerCase(Locale.ROOT));
+    }
+    for (StatusCode code : StatusCode.values()) {
+      STATUS_CODE_TAGS[code.ordinal()] =
+          KeyValueMarshaler.create(KEY_SPAN_STATUS_CODE, code.name());
+    }
+  }
+
+  static final class RequestMarshaler extends MarshalerWithSize {
+    private final BatchMarshaler batchMarshaler;
+
+    /** Returns the request sending the given spans of the given {@link ProcessMarshaler}. */
+    static RequestMarshaler create(ProcessMarshaler processMarshaler, Collection<SpanData> spans) {
+      SpanMarshaler[] spanMarshalers = new SpanMarshaler[spans.size()];
+      int pos = 0;
+      for (SpanData span : spans) {
+        spanMarshalers[pos++] = SpanMarshaler.create(span);
+      }
+      return new RequestMarshaler(new BatchMarshaler(spanMarshalers, processMarshaler));
+    }
+
+    private RequestMarshaler(BatchMarshaler batchMarshaler) {
+      super(
+          MarshalerUtil.sizeMessage(Collector.PostSpansRequest.BATCH_FIELD_NUMBER, batchMarshaler));
+      this.batchMarshaler = batchMarshaler;
+    }
+
+    Collector.PostSpansRequest toRequest() throws IOException {
+      byte[] buf = new byte[getSerializedSize()];
+      writeTo(CodedOutputStream.newInstance(buf));
+      return Collector.PostSpansRequest.parseFrom(buf);
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalMessage(
+          Collector.PostSpansRequest.BATCH_FIELD_NUMBER, batchMarshaler, output);
+    }
+  }
+
+  private static final class BatchMarshaler extends MarshalerWithSize {
+    private final SpanMarshaler[] spanMarshalers;
+    private final ProcessMarshaler processMarshaler;
+
+    private BatchMarshaler(SpanMarshaler[] spanMarshalers, ProcessMarshaler processMarshaler) {
+      super(calculateSize(spanMarshalers, processMarshaler));
+      this.spanMarshalers = spanMarshalers;
+      this.processMarshaler = processMarshaler;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalRepeatedMessage(Model.Batch.SPANS_FIELD_NUMBER, spanMarshalers, output);
+      MarshalerUtil.marshalMessage(Model.Batch.PROCESS_FIELD_NUMBER, processMarshaler, output);
+    }
+
+    private static int calculateSize(
+        SpanMarshaler[] spanMarshalers, ProcessMarshaler processMarshaler) {
+      int size = 0;
+      size += MarshalerUtil.sizeRepeatedMessage(Model.Batch.SPANS_FIELD_NUMBER, spanMarshalers);
+      size += MarshalerUtil.sizeMessage(Model.Batch.PROCESS_FIELD_NUMBER, processMarshaler);
+      return size;
+    }
+  }
+
+  /**
+   * The {@code Process} of the spans of a {@link Resource}. It does not depend on the spans, so it
+   * can be created once for a {@link Resource} and shared by all the requests of its spans.
+   */
+  static final class ProcessMarshaler extends MarshalerWithSize {
+    private final byte[] serviceName;
+    private final KeyValueMarshaler[] tags;
+
+    /**
+     * Returns the {@code Process} of the given {@link Resource}, with the given tags of the
+     * exporter followed by the attributes of the {@link Resource}.
+     */
+    static ProcessMarshaler create(Resource resource, KeyValueMarshaler[] exporterTags) {
+      String serviceName = resource.getAttributes().get(ResourceAttributes.SERVICE_NAME);
+      if (serviceName == null || serviceName.isEmpty()) {
+        serviceName = Resource.getDefault().getAttributes().get(ResourceAttributes.SERVICE_NAME);
+      }
+
+      KeyValueMarshaler[] resourceTags = KeyValueMarshaler.createRepeated(resource.getAttributes());
+      KeyValueMarshaler[] tags = new KeyValueMarshaler[exporterTags.length + resourceTags.length];
+      System.arraycopy(exporterTags, 0, tags, 0, exporterTags.length);
+      System.arraycopy(resourceTags, 0, tags, exporterTags.length, resourceTags.length);
+
+      return new ProcessMarshaler(MarshalerUtil.toBytes(serviceName), tags);
+    }
+
+    private ProcessMarshaler(byte[] serviceName, KeyValueMarshaler[] tags) {
+      super(calculateSize(serviceName, tags));
+      this.serviceName = serviceName;
+      this.tags = tags;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalBytes(Model.Process.SERVICE_NAME_FIELD_NUMBER, serviceName, output);
+      MarshalerUtil.marshalRepeatedMessage(Model.Process.TAGS_FIELD_NUMBER, tags, output);
+    }
+
+    private static int calculateSize(byte[] serviceName, KeyValueMarshaler[] tags) {
+      int size = 0;
+      size += MarshalerUtil.sizeBytes(Model.Process.SERVICE_NAME_FIELD_NUMBER, serviceName);
+      size += MarshalerUtil.sizeRepeatedMessage(Model.Process.TAGS_FIELD_NUMBER, tags);
+      return size;
+    }
+  }
+
+  private static final class SpanMarshaler extends MarshalerWithSize {
+    private final byte[] traceId;
+    private final byte[] spanId;
+    private final byte[] operationName;
+    private final SpanRefMarshaler[] references;
+    private final long startEpochNanos;
+    private final long durationNanos;
+    private final List<KeyValueMarshaler> tags;
+    private final LogMarshaler[] logs;
+
+    // Because SpanMarshaler is always part of a repeated field, it cannot return "null".
+    private static SpanMarshaler create(SpanData span) {
+      SpanContext spanContext = span.getSpanContext();
+      return new SpanMarshaler(
+          spanContext.getTraceIdBytes(),
+          spanContext.getSpanIdBytes(),
+          MarshalerUtil.toBytes(span.getName()),
+          SpanRefMarshaler.create(span.getLinks(), span.getParentSpanContext()),
+          span.getStartEpochNanos(),
+          span.getEndEpochNanos() - span.getStartEpochNanos(),
+          createTags(span),
+          LogMarshaler.create(span.getEvents()));
+    }
+
+    // The tags are in the same order as the ones of Adapter.toJaeger, in the tests.
+    private static List<KeyValueMarshaler> createTags(SpanData span) {
+      Attributes attributes = span.getAttributes();
+      // The attributes and at most 8 other tags.
+      List<KeyValueMarshaler> tags = new ArrayList<>(attributes.size() + 8);
+      attributes.forEach((key, value) -> tags.add(KeyValueMarshaler.create(key, value)));
+
+      int droppedAttributes = span.getTotalAttributeCount() - attributes.size();
+      if (droppedAttributes > 0) {
+        tags.add(KeyValueMarshaler.create(KEY_DROPPED_ATTRIBUTES_COUNT, droppedAttributes));
+      }
+      int droppedEvents = span.getTotalRecordedEvents() - span.getEvents().size();
+      if (droppedEvents > 0) {
+        tags.add(KeyValueMarshaler.create(KEY_DROPPED_EVENTS_COUNT, droppedEvents));
+      }
+
+      if (span.getKind() != SpanKind.INTERNAL) {
+        tags.add(SPAN_KIND_TAGS[span.getKind().ordinal()]);
+      }
+
+      StatusData status = span.getStatus();
+      if (!status.getDescription().isEmpty()) {
+        tags.add(
+            KeyValueMarshaler.create(KEY_SPAN_STATUS_MESSAGE, status.getDescription()));
+      }
+      if (status.getStatusCode() != StatusCode.UNSET) {
+        tags.add(STATUS_CODE_TAGS[status.getStatusCode().ordinal()]);
+      }
+
+      InstrumentationLibraryInfo library = span.getInstrumentationLibraryInfo();
+      tags.add(
+          KeyValueMarshaler.create(KEY_INSTRUMENTATION_LIBRARY_NAME, library.getName()));
+      String version = library.getVersion();
+      if (version != null) {
+        tags.add(KeyValueMarshaler.create(KEY_INSTRUMENTATION_LIBRARY_VERSION, version));
+      }
+
+      if (status.getStatusCode() == StatusCode.ERROR) {
+        tags.add(ERROR_TAG);
+      }
+      return tags;
+    }
+
+    private SpanMarshaler(
+        byte[] traceId,
+        byte[] spanId,
+        byte[] operationName,
+        SpanRefMarshaler[] references,
+        long startEpochNanos,
+        long durationNanos,
+        List<KeyValueMarshaler> tags,
+        LogMarshaler[] logs) {
+      super(
+          calculateSize(
+              traceId,
+              spanId,
+              operationName,
+              references,
+              startEpochNanos,
+              durationNanos,
+              tags,
+              logs));
+      this.traceId = traceId;
+      this.spanId = spanId;
+      this.operationName = operationName;
+      this.references = references;
+      this.startEpochNanos = startEpochNanos;
+      this.durationNanos = durationNanos;
+      this.tags = tags;
+      this.logs = logs;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalBytes(Model.Span.TRACE_ID_FIELD_NUMBER, traceId, output);
+      MarshalerUtil.marshalBytes(Model.Span.SPAN_ID_FIELD_NUMBER, spanId, output);
+      MarshalerUtil.marshalBytes(Model.Span.OPERATION_NAME_FIELD_NUMBER, operationName, output);
+      MarshalerUtil.marshalRepeatedMessage(Model.Span.REFERENCES_FIELD_NUMBER, references, output);
+      marshalTimestamp(Model.Span.START_TIME_FIELD_NUMBER, startEpochNanos, output);
+      marshalDuration(Model.Span.DURATION_FIELD_NUMBER, durationNanos, output);
+      MarshalerUtil.marshalRepeatedMessage(Model.Span.TAGS_FIELD_NUMBER, tags, output);
+      MarshalerUtil.marshalRepeatedMessage(Model.Span.LOGS_FIELD_NUMBER, logs, output);
+    }
+
+    private static int calculateSize(
+        byte[] traceId,
+        byte[] spanId,
+        byte[] operationName,
+        SpanRefMarshaler[] references,
+        long startEpochNanos,
+        long durationNanos,
+        List<KeyValueMarshaler> tags,
+        LogMarshaler[] logs) {
+      int size = 0;
+      size += MarshalerUtil.sizeBytes(Model.Span.TRACE_ID_FIELD_NUMBER, traceId);
+      size += MarshalerUtil.sizeBytes(Model.Span.SPAN_ID_FIELD_NUMBER, spanId);
+      size += MarshalerUtil.sizeBytes(Model.Span.OPERATION_NAME_FIELD_NUMBER, operationName);
+      size += MarshalerUtil.sizeRepeatedMessage(Model.Span.REFERENCES_FIELD_NUMBER, references);
+      size += sizeTimestamp(Model.Span.START_TIME_FIELD_NUMBER, startEpochNanos);
+      size += sizeDuration(Model.Span.DURATION_FIELD_NUMBER, durationNanos);
+      size += MarshalerUtil.sizeRepeatedMessage(Model.Span.TAGS_FIELD_NUMBER, tags);
+      size += MarshalerUtil.sizeRepeatedMessage(Model.Span.LOGS_FIELD_NUMBER, logs);
+      return size;
+    }
+  }
+
+  private static final class SpanRefMarshaler extends MarshalerWithSize {
+    private static final SpanRefMarshaler[] EMPTY = new SpanRefMarshaler[0];
+    private final byte[] traceId;
+    private final byte[] spanId;
+    private final int refType;
+
+    // The links, which are all "follows from", followed by the parent span if it is valid.
+    private static SpanRefMarshaler[] create(List<LinkData> links, SpanContext parentSpanContext) {
+      boolean hasParent = parentSpanContext.isValid();
+      if (links.isEmpty() && !hasParent) {
+        return EMPTY;
+      }
+
+      SpanRefMarshaler[] result = new SpanRefMarshaler[links.size() + (hasParent ? 1 : 0)];
+      int pos = 0;
+      for (LinkData link : links) {
+        result[pos++] =
+            new SpanRefMarshaler(link.getSpanContext(), Model.SpanRefType.FOLLOWS_FROM_VALUE);
+      }
+      if (hasParent) {
+        result[pos] = new SpanRefMarshaler(parentSpanContext, Model.SpanRefType.CHILD_OF_VALUE);
+      }
+      return result;
+    }
+
+    private SpanRefMarshaler(SpanContext spanContext, int refType) {
+      this(spanContext.getTraceIdBytes(), spanContext.getSpanIdBytes(), refType);
+    }
+
+    private SpanRefMarshaler(byte[] traceId, byte[] spanId, int refType) {
+      super(calculateSize(traceId, spanId, refType));
+      this.traceId = traceId;
+      this.spanId = spanId;
+      this.refType = refType;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalBytes(Model.SpanRef.TRACE_ID_FIELD_NUMBER, traceId, output);
+      MarshalerUtil.marshalBytes(Model.SpanRef.SPAN_ID_FIELD_NUMBER, spanId, output);
+      MarshalerUtil.marshalEnum(Model.SpanRef.REF_TYPE_FIELD_NUMBER, refType, output);
+    }
+
+    private static int calculateSize(byte[] traceId, byte[] spanId, int refType) {
+      int size = 0;
+      size += MarshalerUtil.sizeBytes(Model.SpanRef.TRACE_ID_FIELD_NUMBER, traceId);
+      size += MarshalerUtil.sizeBytes(Model.SpanRef.SPAN_ID_FIELD_NUMBER, spanId);
+      size += MarshalerUtil.sizeEnum(Model.SpanRef.REF_TYPE_FIELD_NUMBER, refType);
+      return size;
+    }
+  }
+
+  private static final class LogMarshaler extends MarshalerWithSize {
+    private static final LogMarshaler[] EMPTY = new LogMarshaler[0];
+    private final long epochNanos;
+    private final KeyValueMarshaler[] fields;
+
+    private static LogMarshaler[] create(List<EventData> events) {
+      if (events.isEmpty()) {
+        return EMPTY;
+      }
+
+      LogMarshaler[] result = new LogMarshaler[events.size()];
+      int pos = 0;
+      for (EventData event : events) {
+        result[pos++] = new LogMarshaler(event.getEpochNanos(), createFields(event));
+      }
+      return result;
+    }
+
+    // The name of the event, the count of its dropped attributes and then its attributes, like
+    // Adapter.toJaegerLog.
+    private static KeyValueMarshaler[] createFields(EventData event) {
+      Attributes attributes = event.getAttributes();
+      int droppedAttributesCount = event.getDroppedAttributesCount();
+      KeyValueMarshaler[] fields =
+          new KeyValueMarshaler[1 + (droppedAttributesCount > 0 ? 1 : 0) + attributes.size()];
+      int pos = 0;
+      fields[pos++] = KeyValueMarshaler.create(KEY_LOG_EVENT, event.getName());
+      if (droppedAttributesCount > 0) {
+        fields[pos++] =
+            KeyValueMarshaler.create(
+                KEY_EVENT_DROPPED_ATTRIBUTES_COUNT, droppedAttributesCount);
+      }
+      KeyValueMarshaler.fill(attributes, fields, pos);
+      return fields;
+    }
+
+    private LogMarshaler(long epochNanos, KeyValueMarshaler[] fields) {
+      super(calculateSize(epochNanos, fields));
+      this.epochNanos = epochNanos;
+      this.fields = fields;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      marshalTimestamp(Model.Log.TIMESTAMP_FIELD_NUMBER, epochNanos, output);
+      MarshalerUtil.marshalRepeatedMessage(Model.Log.FIELDS_FIELD_NUMBER, fields, output);
+    }
+
+    private static int calculateSize(long epochNanos, KeyValueMarshaler[] fields) {
+      int size = 0;
+      size += sizeTimestamp(Model.Log.TIMESTAMP_FIELD_NUMBER, epochNanos);
+      size += MarshalerUtil.sizeRepeatedMessage(Model.Log.FIELDS_FIELD_NUMBER, fields);
+      return size;
+    }
+  }
+
+  /** A {@link Marshaler} of a Jaeger {@code KeyValue}. */
+  static final class KeyValueMarshaler extends MarshalerWithSize {
+    private static final KeyValueMarshaler[] EMPTY_REPEATED = new KeyValueMarshaler[0];
+    private final byte[] key;
+    private final int valueType;
+    private final byte[] stringValue;
+    private final boolean boolValue;
+    private final long int64Value;
+    private final double float64Value;
+
+    static KeyValueMarshaler[] createRepeated(Attributes attributes) {
+      if (attributes.isEmpty()) {
+        return EMPTY_REPEATED;
+      }
+      KeyValueMarshaler[] result = new KeyValueMarshaler[attributes.size()];
+      fill(attributes, result, 0);
+      return result;
+    }
+
+    private static void fill(Attributes attributes, KeyValueMarshaler[] result, int offset) {
+      if (attributes.isEmpty()) {
+        return;
+      }
+      attributes.forEach(
+          new BiConsumer<AttributeKey<?>, Object>() {
+            int index = offset;
+
+            @Override
+            public void accept(AttributeKey<?> attributeKey, Object value) {
+              result[index++] = create(attributeKey, value);
+            }
+          });
+    }
+
+    /** Returns the tag of the given attribute. */
+    static KeyValueMarshaler create(AttributeKey<?> attributeKey, Object value) {
+      byte[] key = MarshalerUtil.toBytes(attributeKey.getKey());
+      switch (attributeKey.getType()) {
+        case STRING:
+          return new KeyValueMarshaler(
+              key,
+              Model.ValueType.STRING_VALUE,
+              MarshalerUtil.toBytes((String) value),
+              false,
+              0,
+              0);
+        case LONG:
+          return new KeyValueMarshaler(
+              key, Model.ValueType.INT64_VALUE, MarshalerUtil.EMPTY_BYTES, false, (long) value, 0);
+        case BOOLEAN:
+          return new KeyValueMarshaler(
+              key, Model.ValueType.BOOL_VALUE, MarshalerUtil.EMPTY_BYTES, (boolean) value, 0, 0);
+        case DOUBLE:
+          return new KeyValueMarshaler(
+              key,
+              Model.ValueType.FLOAT64_VALUE,
+              MarshalerUtil.EMPTY_BYTES,
+              false,
+              0,
+              (double) value);
+        case STRING_ARRAY:
+        case LONG_ARRAY:
+        case BOOLEAN_ARRAY:
+        case DOUBLE_ARRAY:
+          return new KeyValueMarshaler(
+              key,
+              Model.ValueType.STRING_VALUE,
+              MarshalerUtil.toBytes(GSON.toJson(value)),
+              false,
+              0,
+              0);
+      }
+      throw new IllegalArgumentException("Unsupported attribute type.");
+    }
+
+    /** Returns a tag with the given string value. */
+    static KeyValueMarshaler create(String key, String value) {
+      return new KeyValueMarshaler(
+          MarshalerUtil.toBytes(key),
+          Model.ValueType.STRING_VALUE,
+          MarshalerUtil.toBytes(value),
+          false,
+          0,
+          0);
+    }
+
+    // Like Adapter, the type of the tag is left unset.
+    private static KeyValueMarshaler create(String key, long value) {
+      return new KeyValueMarshaler(
+          MarshalerUtil.toBytes(key),
+          Model.ValueType.STRING_VALUE,
+          MarshalerUtil.EMPTY_BYTES,
+          false,
+          value,
+          0);
+    }
+
+    private KeyValueMarshaler(
+        byte[] key,
+        int valueType,
+        byte[] stringValue,
+        boolean boolValue,
+        long int64Value,
+        double float64Value) {
+      super(calculateSize(key, valueType, stringValue, boolValue, int64Value, float64Value));
+      this.key = key;
+      this.valueType = valueType;
+      this.stringValue = stringValue;
+      this.boolValue = boolValue;
+      this.int64Value = int64Value;
+      this.float64Value = float64Value;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalBytes(Model.KeyValue.KEY_FIELD_NUMBER, key, output);
+      MarshalerUtil.marshalEnum(Model.KeyValue.V_TYPE_FIELD_NUMBER, valueType, output);
+      MarshalerUtil.marshalBytes(Model.KeyValue.V_STR_FIELD_NUMBER, stringValue, output);
+      MarshalerUtil.marshalBool(Model.KeyValue.V_BOOL_FIELD_NUMBER, boolValue, output);
+      MarshalerUtil.marshalInt64(Model.KeyValue.V_INT64_FIELD_NUMBER, int64Value, output);
+      MarshalerUtil.marshalDouble(Model.KeyValue.V_FLOAT64_FIELD_NUMBER, float64Value, output);
+    }
+
+    private static int calculateSize(
+        byte[] key,
+        int valueType,
+        byte[] stringValue,
+        boolean boolValue,
+        long int64Value,
+        double float64Value) {
+      int size = 0;
+      size += MarshalerUtil.sizeBytes(Model.KeyValue.KEY_FIELD_NUMBER, key);
+      size += MarshalerUtil.sizeEnum(Model.KeyValue.V_TYPE_FIELD_NUMBER, valueType);
+      size += MarshalerUtil.sizeBytes(Model.KeyValue.V_STR_FIELD_NUMBER, stringValue);
+      size += MarshalerUtil.sizeBool(Model.KeyValue.V_BOOL_FIELD_NUMBER, boolValue);
+      size += MarshalerUtil.sizeInt64(Model.KeyValue.V_INT64_FIELD_NUMBER, int64Value);
+      size += MarshalerUtil.sizeDouble(Model.KeyValue.V_FLOAT64_FIELD_NUMBER, float64Value);
+      return size;
+    }
+  }
+
+  // A google.protobuf.Timestamp, written inline instead of as a Marshaler to not allocate one for
+  // each span and event. Like the generated protobuf classes, it is written even when it is zero.
+  private static void marshalTimestamp(int fieldNumber, long epochNanos, CodedOutputStream output)
+      throws IOException {
+    long seconds = epochNanos / NANOS_PER_SECOND;
+    int nanos = (int) (epochNanos % NANOS_PER_SECOND);
+    // Like Timestamps.fromNanos, the nanos of a timestamp before the epoch are still positive.
+    if (nanos < 0) {
+      seconds--;
+      nanos += NANOS_PER_SECOND;
+    }
+    marshalTime(fieldNumber, seconds, nanos, output);
+  }
+
+  private static int sizeTimestamp(int fieldNumber, long epochNanos) {
+    long seconds = epochNanos / NANOS_PER_SECOND;
+    int nanos = (int) (epochNanos % NANOS_PER_SECOND);
+    if (nanos < 0) {
+      seconds--;
+      nanos += NANOS_PER_SECOND;
+    }
+    return sizeTime(fieldNumber, seconds, nanos);
+  }
+
+  // A google.protobuf.Duration, whose seconds and nanos have the same sign.
+  private static void marshalDuration(int fieldNumber, long nanos, CodedOutputStream output)
+      throws IOException {
+    marshalTime(fieldNumber, nanos / NANOS_PER_SECOND, (int) (nanos % NANOS_PER_SECOND), output);
+  }
+
+  private static int sizeDuration(int fieldNumber, long nanos) {
+    return sizeTime(fieldNumber, nanos / NANOS_PER_SECOND, (int) (nanos % NANOS_PER_SECOND));
+  }
+
+  // Timestamp and Duration have the same fields.
+  private static void marshalTime(
+      int fieldNumber, long seconds, int nanos, CodedOutputStream output) throws IOException {
+    output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    output.writeUInt32NoTag(sizeTimeFields(seconds, nanos));
+    MarshalerUtil.marshalInt64(Timestamp.SECONDS_FIELD_NUMBER, seconds, output);
+    MarshalerUtil.marshalInt32(Timestamp.NANOS_FIELD_NUMBER, nanos, output);
+  }
+
+  private static int sizeTime(int fieldNumber, long seconds, int nanos) {
+    int fieldSize = sizeTimeFields(seconds, nanos);
+    return CodedOutputStream.computeTagSize(fieldNumber)
+        + CodedOutputStream.computeUInt32SizeNoTag(fieldSize)
+        + fieldSize;
+  }
+
+  private static int sizeTimeFields(long seconds, int nanos) {
+    return MarshalerUtil.sizeInt64(Timestamp.SECONDS_FIELD_NUMBER, seconds)
+        + MarshalerUtil.sizeInt32(Timestamp.NANOS_FIELD_NUMBER, nanos);
+  }
+
+  private JaegerMarshaler() {}
+}
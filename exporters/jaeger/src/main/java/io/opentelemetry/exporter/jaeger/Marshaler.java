@@ -3,11 +3,15 @@
  * SPDX-License-Identifier: Apache-2.0
  */
 
-package io.opentelemetry.exporter.otlp.trace;
+package io.opentelemetry.exporter.jaeger;
 
 import com.google.protobuf.CodedOutputStream;
 import java.io.IOException;
 
+/**
+ * A protobuf message that writes itself straight to a {@link CodedOutputStream}, without creating
+ * the protobuf objects of the message.
+ */
 interface Marshaler {
   void writeTo(CodedOutputStream output) throws IOException;
 
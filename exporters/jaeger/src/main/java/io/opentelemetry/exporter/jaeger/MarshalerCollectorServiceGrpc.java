@@ -0,0 +1,60 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.jaeger;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.MethodDescriptor;
+import io.grpc.protobuf.ProtoUtils;
+import io.grpc.stub.ClientCalls;
+import io.opentelemetry.exporter.jaeger.proto.api_v2.Collector;
+import io.opentelemetry.exporter.jaeger.proto.api_v2.CollectorServiceGrpc;
+import java.io.InputStream;
+
+/**
+ * A client of Jaeger's {@code CollectorService} that sends a {@link Marshaler}, usually a {@link
+ * JaegerMarshaler.RequestMarshaler}, instead of a {@link Collector.PostSpansRequest}, so that the
+ * spans are serialized straight into the transport without building the protobuf objects of the
+ * request first.
+ */
+final class MarshalerCollectorServiceGrpc {
+
+  // Visible for benchmarks
+  static final MethodDescriptor.Marshaller<Marshaler> REQUEST_MARSHALLER =
+      new MethodDescriptor.Marshaller<Marshaler>() {
+        @Override
+        public InputStream stream(Marshaler value) {
+          return new MarshalerInputStream(value);
+        }
+
+        @Override
+        public Marshaler parse(InputStream stream) {
+          throw new UnsupportedOperationException("Only for serializing");
+        }
+      };
+
+  private static final MethodDescriptor.Marshaller<Collector.PostSpansResponse>
+      RESPONSE_MARSHALLER = ProtoUtils.marshaller(Collector.PostSpansResponse.getDefaultInstance());
+
+  private static final MethodDescriptor<Marshaler, Collector.PostSpansResponse> POST_SPANS_METHOD =
+      MethodDescriptor.<Marshaler, Collector.PostSpansResponse>newBuilder()
+          .setType(MethodDescriptor.MethodType.UNARY)
+          .setFullMethodName(
+              MethodDescriptor.generateFullMethodName(
+                  CollectorServiceGrpc.SERVICE_NAME, "PostSpans"))
+          .setRequestMarshaller(REQUEST_MARSHALLER)
+          .setResponseMarshaller(RESPONSE_MARSHALLER)
+          .build();
+
+  private MarshalerCollectorServiceGrpc() {}
+
+  /** Sends the given request with the given options, as {@code PostSpans} would. */
+  static ListenableFuture<Collector.PostSpansResponse> postSpans(
+      Channel channel, CallOptions callOptions, Marshaler request) {
+    return ClientCalls.futureUnaryCall(channel.newCall(POST_SPANS_METHOD, callOptions), request);
+  }
+}
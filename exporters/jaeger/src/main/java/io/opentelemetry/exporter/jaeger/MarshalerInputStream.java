@@ -0,0 +1,88 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.jaeger;
+
+import com.google.protobuf.CodedOutputStream;
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import javax.annotation.Nullable;
+
+/**
+ * The serialized message of a {@link Marshaler}, for gRPC marshallers. Transports that support
+ * {@link Drainable} have the message written straight into their output stream, the others read it
+ * from a buffer that is only allocated when they first read.
+ */
+final class MarshalerInputStream extends InputStream implements Drainable, KnownLength {
+
+  @Nullable private Marshaler message;
+  @Nullable private ByteArrayInputStream partial;
+
+  MarshalerInputStream(Marshaler message) {
+    this.message = message;
+  }
+
+  @Override
+  public int drainTo(OutputStream target) throws IOException {
+    int written;
+    if (message != null) {
+      written = message.getSerializedSize();
+      CodedOutputStream output = CodedOutputStream.newInstance(target);
+      message.writeTo(output);
+      output.flush();
+      message = null;
+    } else if (partial != null) {
+      written = 0;
+      byte[] buffer = new byte[Math.max(1, partial.available())];
+      int read;
+      while ((read = partial.read(buffer)) != -1) {
+        target.write(buffer, 0, read);
+        written += read;
+      }
+      partial = null;
+    } else {
+      written = 0;
+    }
+    return written;
+  }
+
+  @Override
+  public int read() throws IOException {
+    ByteArrayInputStream stream = toPartial();
+    return stream != null ? stream.read() : -1;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    ByteArrayInputStream stream = toPartial();
+    return stream != null ? stream.read(b, off, len) : -1;
+  }
+
+  @Override
+  public int available() {
+    if (message != null) {
+      return message.getSerializedSize();
+    }
+    if (partial != null) {
+      return partial.available();
+    }
+    return 0;
+  }
+
+  @Nullable
+  private ByteArrayInputStream toPartial() throws IOException {
+    if (message != null) {
+      byte[] buf = new byte[message.getSerializedSize()];
+      message.writeTo(CodedOutputStream.newInstance(buf));
+      partial = new ByteArrayInputStream(buf);
+      message = null;
+    }
+    return partial;
+  }
+}
@@ -3,7 +3,7 @@
  * SPDX-License-Identifier: Apache-2.0
  */
 
-package io.opentelemetry.exporter.otlp.trace;
+package io.opentelemetry.exporter.jaeger;
 
 import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.WireFormat;
@@ -12,6 +12,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.List;
 import javax.annotation.Nullable;
 
+/** Helpers to size and write protobuf fields the way the generated protobuf classes do. */
 final class MarshalerUtil {
   static final byte[] EMPTY_BYTES = new byte[0];
 
@@ -37,20 +38,44 @@ final class MarshalerUtil {
     message.writeTo(output);
   }
 
-  static void marshalUInt32(int fieldNumber, int message, CodedOutputStream output)
+  static void marshalInt32(int fieldNumber, int message, CodedOutputStream output)
       throws IOException {
     if (message == 0) {
       return;
     }
-    output.writeUInt32(fieldNumber, message);
+    output.writeInt32(fieldNumber, message);
   }
 
-  static void marshalFixed64(int fieldNumber, long message, CodedOutputStream output)
+  static void marshalInt64(int fieldNumber, long message, CodedOutputStream output)
       throws IOException {
     if (message == 0L) {
       return;
     }
-    output.writeFixed64(fieldNumber, message);
+    output.writeInt64(fieldNumber, message);
+  }
+
+  static void marshalEnum(int fieldNumber, int message, CodedOutputStream output)
+      throws IOException {
+    if (message == 0) {
+      return;
+    }
+    output.writeEnum(fieldNumber, message);
+  }
+
+  static void marshalBool(int fieldNumber, boolean message, CodedOutputStream output)
+      throws IOException {
+    if (!message) {
+      return;
+    }
+    output.writeBool(fieldNumber, message);
+  }
+
+  static void marshalDouble(int fieldNumber, double message, CodedOutputStream output)
+      throws IOException {
+    if (Double.doubleToRawLongBits(message) == 0L) {
+      return;
+    }
+    output.writeDouble(fieldNumber, message);
   }
 
   static void marshalBytes(int fieldNumber, byte[] message, CodedOutputStream output)
@@ -88,18 +113,39 @@ final class MarshalerUtil {
         + fieldSize;
   }
 
-  static int sizeUInt32(int fieldNumber, int message) {
+  static int sizeInt32(int fieldNumber, int message) {
     if (message == 0) {
       return 0;
     }
-    return CodedOutputStream.computeUInt32Size(fieldNumber, message);
+    return CodedOutputStream.computeInt32Size(fieldNumber, message);
   }
 
-  static int sizeFixed64(int fieldNumber, long message) {
+  static int sizeInt64(int fieldNumber, long message) {
     if (message == 0L) {
       return 0;
     }
-    return CodedOutputStream.computeFixed64Size(fieldNumber, message);
+    return CodedOutputStream.computeInt64Size(fieldNumber, message);
+  }
+
+  static int sizeEnum(int fieldNumber, int message) {
+    if (message == 0) {
+      return 0;
+    }
+    return CodedOutputStream.computeEnumSize(fieldNumber, message);
+  }
+
+  static int sizeBool(int fieldNumber, boolean message) {
+    if (!message) {
+      return 0;
+    }
+    return CodedOutputStream.computeBoolSize(fieldNumber, message);
+  }
+
+  static int sizeDouble(int fieldNumber, double message) {
+    if (Double.doubleToRawLongBits(message) == 0L) {
+      return 0;
+    }
+    return CodedOutputStream.computeDoubleSize(fieldNumber, message);
   }
 
   static int sizeBytes(int fieldNumber, byte[] message) {
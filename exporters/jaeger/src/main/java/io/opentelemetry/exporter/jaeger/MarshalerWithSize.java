@@ -3,8 +3,9 @@
  * SPDX-License-Identifier: Apache-2.0
  */
 
-package io.opentelemetry.exporter.otlp.trace;
+package io.opentelemetry.exporter.jaeger;
 
+/** A {@link Marshaler} that computes its serialized size when it is created. */
 abstract class MarshalerWithSize implements Marshaler {
   private final int size;
 
@@ -5,9 +5,17 @@
 
 package io.opentelemetry.exporter.jaeger;
 
-import static io.opentelemetry.api.common.AttributeKey.booleanKey;
+import static io.opentelemetry.exporter.jaeger.JaegerMarshaler.KEY_DROPPED_ATTRIBUTES_COUNT;
+import static io.opentelemetry.exporter.jaeger.JaegerMarshaler.KEY_DROPPED_EVENTS_COUNT;
+import static io.opentelemetry.exporter.jaeger.JaegerMarshaler.KEY_ERROR;
+import static io.opentelemetry.exporter.jaeger.JaegerMarshaler.KEY_EVENT_DROPPED_ATTRIBUTES_COUNT;
+import static io.opentelemetry.exporter.jaeger.JaegerMarshaler.KEY_INSTRUMENTATION_LIBRARY_NAME;
+import static io.opentelemetry.exporter.jaeger.JaegerMarshaler.KEY_INSTRUMENTATION_LIBRARY_VERSION;
+import static io.opentelemetry.exporter.jaeger.JaegerMarshaler.KEY_LOG_EVENT;
+import static io.opentelemetry.exporter.jaeger.JaegerMarshaler.KEY_SPAN_KIND;
+import static io.opentelemetry.exporter.jaeger.JaegerMarshaler.KEY_SPAN_STATUS_CODE;
+import static io.opentelemetry.exporter.jaeger.JaegerMarshaler.KEY_SPAN_STATUS_MESSAGE;
 
-import com.google.common.annotations.VisibleForTesting;
 import com.google.gson.Gson;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.Timestamp;
@@ -27,20 +35,13 @@ import java.util.List;
 import java.util.Locale;
 import javax.annotation.concurrent.ThreadSafe;
 
-/** Adapts OpenTelemetry objects to Jaeger objects. */
+/**
+ * Adapts OpenTelemetry objects to Jaeger objects. The exporter serializes spans with {@link
+ * JaegerMarshaler} instead, this conversion is the reference its tests and benchmarks compare
+ * against.
+ */
 @ThreadSafe
 final class Adapter {
-  static final AttributeKey<Boolean> KEY_ERROR = booleanKey("error");
-  static final String KEY_LOG_EVENT = "event";
-  static final String KEY_EVENT_DROPPED_ATTRIBUTES_COUNT = "otel.event.dropped_attributes_count";
-  static final String KEY_DROPPED_ATTRIBUTES_COUNT = "otel.dropped_attributes_count";
-  static final String KEY_DROPPED_EVENTS_COUNT = "otel.dropped_events_count";
-  static final String KEY_SPAN_KIND = "span.kind";
-  static final String KEY_SPAN_STATUS_MESSAGE = "otel.status_description";
-  static final String KEY_SPAN_STATUS_CODE = "otel.status_code";
-  static final String KEY_INSTRUMENTATION_LIBRARY_NAME = "otel.library.name";
-  static final String KEY_INSTRUMENTATION_LIBRARY_VERSION = "otel.library.version";
-
   private Adapter() {}
 
   /**
@@ -136,7 +137,6 @@ final class Adapter {
    * @return a collection of Jaeger logs
    * @see #toJaegerLog(EventData)
    */
-  @VisibleForTesting
   static Collection<Model.Log> toJaegerLogs(List<EventData> timeEvents) {
     List<Model.Log> logs = new ArrayList<>(timeEvents.size());
     for (EventData e : timeEvents) {
@@ -151,7 +151,6 @@ final class Adapter {
    * @param event the timed event to be converted
    * @return a Jaeger log
    */
-  @VisibleForTesting
   static Model.Log toJaegerLog(EventData event) {
     Model.Log.Builder builder = Model.Log.newBuilder();
     builder.setTimestamp(Timestamps.fromNanos(event.getEpochNanos()));
@@ -179,7 +178,6 @@ final class Adapter {
    * @return a collection of Jaeger key values
    * @see #toKeyValue
    */
-  @VisibleForTesting
   static Collection<Model.KeyValue> toKeyValues(Attributes attributes) {
     final List<Model.KeyValue> tags = new ArrayList<>(attributes.size());
     attributes.forEach((key, value) -> tags.add(toKeyValue(key, value)));
@@ -193,7 +191,6 @@ final class Adapter {
    * @param value the entry value
    * @return a Jaeger key value
    */
-  @VisibleForTesting
   static Model.KeyValue toKeyValue(AttributeKey<?> key, Object value) {
     Model.KeyValue.Builder builder = Model.KeyValue.newBuilder();
     builder.setKey(key.getKey());
@@ -240,7 +237,6 @@ final class Adapter {
    * @param links the span's links property to be converted
    * @return a collection of Jaeger span references
    */
-  @VisibleForTesting
   static Collection<Model.SpanRef> toSpanRefs(List<LinkData> links) {
     List<Model.SpanRef> spanRefs = new ArrayList<>(links.size());
     for (LinkData link : links) {
@@ -255,7 +251,6 @@ final class Adapter {
    * @param link the OpenTelemetry link to be converted
    * @return the Jaeger span reference
    */
-  @VisibleForTesting
   static Model.SpanRef toSpanRef(LinkData link) {
     Model.SpanRef.Builder builder = Model.SpanRef.newBuilder();
     builder.setTraceId(ByteString.copyFrom(link.getSpanContext().getTraceIdBytes()));
@@ -81,31 +81,31 @@ class AdapterTest {
     assertThat(Durations.toMillis(jaegerSpan.getDuration())).isEqualTo(duration);
 
     assertThat(jaegerSpan.getTagsCount()).isEqualTo(6);
-    Model.KeyValue keyValue = getValue(jaegerSpan.getTagsList(), Adapter.KEY_SPAN_KIND);
+    Model.KeyValue keyValue = getValue(jaegerSpan.getTagsList(), JaegerMarshaler.KEY_SPAN_KIND);
     assertThat(keyValue).isNotNull();
     assertThat(keyValue.getVStr()).isEqualTo("server");
 
     Model.KeyValue droppedAttributes =
-        getValue(jaegerSpan.getTagsList(), Adapter.KEY_DROPPED_ATTRIBUTES_COUNT);
+        getValue(jaegerSpan.getTagsList(), JaegerMarshaler.KEY_DROPPED_ATTRIBUTES_COUNT);
     assertThat(droppedAttributes)
         .isEqualTo(
             Model.KeyValue.newBuilder()
-                .setKey(Adapter.KEY_DROPPED_ATTRIBUTES_COUNT)
+                .setKey(JaegerMarshaler.KEY_DROPPED_ATTRIBUTES_COUNT)
                 .setVInt64(2)
                 .build());
 
     assertThat(jaegerSpan.getLogsCount()).isEqualTo(1);
     Model.KeyValue droppedEvents =
-        getValue(jaegerSpan.getTagsList(), Adapter.KEY_DROPPED_EVENTS_COUNT);
+        getValue(jaegerSpan.getTagsList(), JaegerMarshaler.KEY_DROPPED_EVENTS_COUNT);
     assertThat(droppedEvents)
         .isEqualTo(
             Model.KeyValue.newBuilder()
-                .setKey(Adapter.KEY_DROPPED_EVENTS_COUNT)
+                .setKey(JaegerMarshaler.KEY_DROPPED_EVENTS_COUNT)
                 .setVInt64(1)
                 .build());
 
     Model.Log log = jaegerSpan.getLogs(0);
-    keyValue = getValue(log.getFieldsList(), Adapter.KEY_LOG_EVENT);
+    keyValue = getValue(log.getFieldsList(), JaegerMarshaler.KEY_LOG_EVENT);
     assertThat(keyValue).isNotNull();
     assertThat(keyValue.getVStr()).isEqualTo("the log message");
     keyValue = getValue(log.getFieldsList(), "foo");
@@ -128,7 +128,7 @@ class AdapterTest {
 
     // test
     Model.Span jaegerSpan = Adapter.toJaeger(span);
-    Model.KeyValue keyValue = getValue(jaegerSpan.getTagsList(), Adapter.KEY_SPAN_KIND);
+    Model.KeyValue keyValue = getValue(jaegerSpan.getTagsList(), JaegerMarshaler.KEY_SPAN_KIND);
     assertThat(keyValue).isNull();
   }
 
@@ -155,19 +155,19 @@ class AdapterTest {
     // verify
     assertThat(log.getFieldsCount()).isEqualTo(2);
 
-    Model.KeyValue keyValue = getValue(log.getFieldsList(), Adapter.KEY_LOG_EVENT);
+    Model.KeyValue keyValue = getValue(log.getFieldsList(), JaegerMarshaler.KEY_LOG_EVENT);
     assertThat(keyValue).isNotNull();
     assertThat(keyValue.getVStr()).isEqualTo("the log message");
     keyValue = getValue(log.getFieldsList(), "foo");
     assertThat(keyValue).isNotNull();
     assertThat(keyValue.getVStr()).isEqualTo("bar");
-    keyValue = getValue(log.getFieldsList(), Adapter.KEY_EVENT_DROPPED_ATTRIBUTES_COUNT);
+    keyValue = getValue(log.getFieldsList(), JaegerMarshaler.KEY_EVENT_DROPPED_ATTRIBUTES_COUNT);
     assertThat(keyValue).isNull();
 
     // verify dropped_attributes_count
     event = getTimedEvent(3);
     log = Adapter.toJaegerLog(event);
-    keyValue = getValue(log.getFieldsList(), Adapter.KEY_EVENT_DROPPED_ATTRIBUTES_COUNT);
+    keyValue = getValue(log.getFieldsList(), JaegerMarshaler.KEY_EVENT_DROPPED_ATTRIBUTES_COUNT);
     assertThat(keyValue).isNotNull();
     assertThat(keyValue.getVInt64()).isEqualTo(2);
   }
@@ -0,0 +1,242 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.jaeger;
+
+import static io.opentelemetry.api.common.AttributeKey.booleanArrayKey;
+import static io.opentelemetry.api.common.AttributeKey.booleanKey;
+import static io.opentelemetry.api.common.AttributeKey.doubleArrayKey;
+import static io.opentelemetry.api.common.AttributeKey.doubleKey;
+import static io.opentelemetry.api.common.AttributeKey.longArrayKey;
+import static io.opentelemetry.api.common.AttributeKey.longKey;
+import static io.opentelemetry.api.common.AttributeKey.stringArrayKey;
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.exporter.jaeger.proto.api_v2.Collector;
+import io.opentelemetry.exporter.jaeger.proto.api_v2.Model;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.testing.trace.TestSpanData;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import io.opentelemetry.semconv.resource.attributes.ResourceAttributes;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class JaegerMarshalerTest {
+
+  private static final String TRACE_ID = "00000000000000000000000000abc123";
+  private static final String SPAN_ID = "0000000000def456";
+  private static final String PARENT_SPAN_ID = "0000000000aef789";
+  private static final String LINK_TRACE_ID = "00000000000000000000000000cba123";
+  private static final String LINK_SPAN_ID = "0000000000fed456";
+
+  private static final Resource RESOURCE =
+      Resource.create(
+          Attributes.builder()
+              .put(ResourceAttributes.SERVICE_NAME, "myService")
+              .put(longKey("resource.long"), 7L)
+              .build());
+  private static final JaegerMarshaler.KeyValueMarshaler[] PROCESS_TAGS = {
+    JaegerMarshaler.KeyValueMarshaler.create("jaeger.version", "opentelemetry-java"),
+    JaegerMarshaler.KeyValueMarshaler.create("ip", "192.168.1.1")
+  };
+
+  @Test
+  void standardSpan() throws IOException {
+    assertMarshaledAsAdapter(RESOURCE, Collections.singletonList(buildStandardSpan().build()));
+  }
+
+  @Test
+  void kindsAndStatuses() throws IOException {
+    List<SpanData> spans = new ArrayList<>();
+    for (SpanKind kind : SpanKind.values()) {
+      for (StatusCode code : StatusCode.values()) {
+        spans.add(buildStandardSpan().setKind(kind).setStatus(StatusData.create(code, "")).build());
+      }
+    }
+    spans.add(buildStandardSpan().setStatus(StatusData.create(StatusCode.ERROR, "boom")).build());
+
+    assertMarshaledAsAdapter(RESOURCE, spans);
+  }
+
+  @Test
+  void attributes() throws IOException {
+    Attributes attributes =
+        Attributes.builder()
+            .put(stringKey("string"), "string value")
+            .put(stringKey("empty"), "")
+            .put(booleanKey("true"), true)
+            .put(booleanKey("false"), false)
+            .put(longKey("long"), 9999L)
+            .put(longKey("zero"), 0L)
+            .put(longKey("negative"), Long.MIN_VALUE)
+            .put(doubleKey("double"), 222.333d)
+            .put(doubleKey("negativeZero"), -0.0d)
+            .put(booleanArrayKey("booleanArray"), Arrays.asList(true, false))
+            .put(stringArrayKey("stringArray"), Arrays.asList("Hello", "<wörld>"))
+            .put(doubleArrayKey("doubleArray"), Arrays.asList(32.33d, -98.3d))
+            .put(longArrayKey("longArray"), Arrays.asList(33L, -999L))
+            .build();
+
+    assertMarshaledAsAdapter(
+        Resource.create(attributes),
+        Collections.singletonList(
+            buildStandardSpan()
+                .setAttributes(attributes)
+                .setTotalAttributeCount(attributes.size() + 2)
+                .build()));
+  }
+
+  @Test
+  void rootSpan_withoutEventsOrLinks() throws IOException {
+    assertMarshaledAsAdapter(
+        RESOURCE,
+        Collections.singletonList(
+            buildStandardSpan()
+                .setName("")
+                .setParentSpanContext(SpanContext.getInvalid())
+                .setEvents(Collections.emptyList())
+                .setTotalRecordedEvents(0)
+                .setLinks(Collections.emptyList())
+                .setTotalRecordedLinks(0)
+                .setInstrumentationLibraryInfo(InstrumentationLibraryInfo.create("lib", null))
+                .build()));
+  }
+
+  @Test
+  void timestamps() throws IOException {
+    List<SpanData> spans = new ArrayList<>();
+    // Zero, whole seconds, before the epoch and durations shorter than a second.
+    spans.add(buildStandardSpan().setStartEpochNanos(0).setEndEpochNanos(0).build());
+    spans.add(
+        buildStandardSpan()
+            .setStartEpochNanos(1_000_000_000L)
+            .setEndEpochNanos(3_000_000_000L)
+            .build());
+    spans.add(buildStandardSpan().setStartEpochNanos(-1_500_000_001L).setEndEpochNanos(5).build());
+    spans.add(
+        buildStandardSpan()
+            .setStartEpochNanos(1_505_855_794_194_009_601L)
+            .setEndEpochNanos(1_505_855_794_194_009_602L)
+            .build());
+    spans.add(
+        buildStandardSpan()
+            .setStartEpochNanos(1_505_855_794_999_999_999L)
+            .setEndEpochNanos(1_505_855_795_000_000_001L)
+            .build());
+
+    assertMarshaledAsAdapter(RESOURCE, spans);
+  }
+
+  @Test
+  void serviceName_default() throws IOException {
+    assertMarshaledAsAdapter(
+        Resource.empty(), Collections.singletonList(buildStandardSpan().build()));
+    assertMarshaledAsAdapter(
+        Resource.create(Attributes.of(ResourceAttributes.SERVICE_NAME, "")),
+        Collections.singletonList(buildStandardSpan().build()));
+  }
+
+  @Test
+  void processSharedByRequests() throws IOException {
+    JaegerMarshaler.ProcessMarshaler process =
+        JaegerMarshaler.ProcessMarshaler.create(RESOURCE, PROCESS_TAGS);
+    List<SpanData> first = Collections.singletonList(buildStandardSpan().build());
+    List<SpanData> second =
+        Arrays.asList(
+            buildStandardSpan().setKind(SpanKind.CLIENT).build(),
+            buildStandardSpan().setName("other").build());
+
+    assertThat(JaegerMarshaler.RequestMarshaler.create(process, first).toRequest())
+        .isEqualTo(adapterRequest(RESOURCE, first));
+    assertThat(JaegerMarshaler.RequestMarshaler.create(process, second).toRequest())
+        .isEqualTo(adapterRequest(RESOURCE, second));
+  }
+
+  private static void assertMarshaledAsAdapter(Resource resource, List<SpanData> spans)
+      throws IOException {
+    JaegerMarshaler.RequestMarshaler marshaler =
+        JaegerMarshaler.RequestMarshaler.create(
+            JaegerMarshaler.ProcessMarshaler.create(resource, PROCESS_TAGS), spans);
+    Collector.PostSpansRequest expected = adapterRequest(resource, spans);
+
+    assertThat(marshaler.toRequest()).isEqualTo(expected);
+    assertThat(marshaler.getSerializedSize()).isEqualTo(expected.getSerializedSize());
+  }
+
+  // The request as JaegerGrpcSpanExporter built it with Adapter.
+  private static Collector.PostSpansRequest adapterRequest(
+      Resource resource, List<SpanData> spans) {
+    String serviceName = resource.getAttributes().get(ResourceAttributes.SERVICE_NAME);
+    if (serviceName == null || serviceName.isEmpty()) {
+      serviceName = Resource.getDefault().getAttributes().get(ResourceAttributes.SERVICE_NAME);
+    }
+    Model.Process process =
+        Model.Process.newBuilder()
+            .setServiceName(serviceName)
+            .addTags(
+                Model.KeyValue.newBuilder()
+                    .setKey("jaeger.version")
+                    .setVStr("opentelemetry-java")
+                    .build())
+            .addTags(Model.KeyValue.newBuilder().setKey("ip").setVStr("192.168.1.1").build())
+            .addAllTags(Adapter.toKeyValues(resource.getAttributes()))
+            .build();
+    return Collector.PostSpansRequest.newBuilder()
+        .setBatch(Model.Batch.newBuilder().addAllSpans(Adapter.toJaeger(spans)).setProcess(process))
+        .build();
+  }
+
+  private static TestSpanData.Builder buildStandardSpan() {
+    List<EventData> events =
+        Arrays.asList(
+            EventData.create(1505855799_433901068L, "RECEIVED", Attributes.empty()),
+            EventData.create(
+                1505855799_459486280L,
+                "SENT",
+                Attributes.of(stringKey("foo"), "bar", longKey("size"), 12L),
+                4));
+    List<LinkData> links =
+        Collections.singletonList(
+            LinkData.create(
+                createSpanContext(LINK_TRACE_ID, LINK_SPAN_ID),
+                Attributes.of(booleanKey("valueB"), true)));
+    return TestSpanData.builder()
+        .setHasEnded(true)
+        .setSpanContext(createSpanContext(TRACE_ID, SPAN_ID))
+        .setParentSpanContext(createSpanContext(TRACE_ID, PARENT_SPAN_ID))
+        .setName("GET /api/endpoint")
+        .setStartEpochNanos(1505855794_194009601L)
+        .setEndEpochNanos(1505855799_465726528L)
+        .setAttributes(Attributes.of(booleanKey("valueB"), true))
+        .setTotalAttributeCount(3)
+        .setEvents(events)
+        .setTotalRecordedEvents(5)
+        .setLinks(links)
+        .setTotalRecordedLinks(1)
+        .setKind(SpanKind.SERVER)
+        .setResource(RESOURCE)
+        .setInstrumentationLibraryInfo(InstrumentationLibraryInfo.create("io.opentelemetry", "1.0"))
+        .setStatus(StatusData.ok());
+  }
+
+  private static SpanContext createSpanContext(String traceId, String spanId) {
+    return SpanContext.create(traceId, spanId, TraceFlags.getSampled(), TraceState.getDefault());
+  }
+}
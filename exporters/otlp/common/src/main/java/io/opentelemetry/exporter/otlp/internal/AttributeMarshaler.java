@@ -3,12 +3,13 @@
  * SPDX-License-Identifier: Apache-2.0
  */
 
-package io.opentelemetry.exporter.otlp.trace;
+package io.opentelemetry.exporter.otlp.internal;
 
 import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.WireFormat;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.common.Labels;
 import io.opentelemetry.proto.common.v1.AnyValue;
 import io.opentelemetry.proto.common.v1.ArrayValue;
 import io.opentelemetry.proto.common.v1.KeyValue;
@@ -16,12 +17,13 @@ import java.io.IOException;
 import java.util.List;
 import java.util.function.BiConsumer;
 
-abstract class AttributeMarshaler extends MarshalerWithSize {
+/** A {@link Marshaler} of an attribute or a label, as a {@code KeyValue}. */
+public abstract class AttributeMarshaler extends MarshalerWithSize {
   private static final AttributeMarshaler[] EMPTY_REPEATED = new AttributeMarshaler[0];
   private final byte[] key;
   private final int valueSize;
 
-  static AttributeMarshaler[] createRepeated(Attributes attributes) {
+  public static AttributeMarshaler[] createRepeated(Attributes attributes) {
     if (attributes.isEmpty()) {
       return EMPTY_REPEATED;
     }
@@ -40,8 +42,29 @@ abstract class AttributeMarshaler extends MarshalerWithSize {
     return attributeMarshalers;
   }
 
+  /** Returns the {@link AttributeMarshaler}s of the given labels, as string attributes. */
+  public static AttributeMarshaler[] createRepeated(Labels labels) {
+    if (labels.isEmpty()) {
+      return EMPTY_REPEATED;
+    }
+
+    AttributeMarshaler[] attributeMarshalers = new AttributeMarshaler[labels.size()];
+    labels.forEach(
+        new BiConsumer<String, String>() {
+          int index = 0;
+
+          @Override
+          public void accept(String key, String value) {
+            attributeMarshalers[index++] =
+                new KeyValueStringMarshaler(
+                    MarshalerUtil.toBytes(key), MarshalerUtil.toBytes(value));
+          }
+        });
+    return attributeMarshalers;
+  }
+
   @SuppressWarnings("unchecked")
-  static AttributeMarshaler create(AttributeKey<?> attributeKey, Object value) {
+  public static AttributeMarshaler create(AttributeKey<?> attributeKey, Object value) {
     byte[] key = MarshalerUtil.toBytes(attributeKey.getKey());
     if (value == null) {
       return new KeyValueNullMarshaler(key);
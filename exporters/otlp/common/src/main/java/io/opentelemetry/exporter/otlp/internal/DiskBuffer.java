@@ -0,0 +1,336 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+
+import com.google.protobuf.CodedOutputStream;
+import io.opentelemetry.api.internal.GuardedBy;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A first-in first-out queue of serialized export requests, stored in memory-mapped segment files
+ * of a directory. Requests are held on disk rather than on the heap while the backend cannot be
+ * reached, and survive a restart of the process.
+ *
+ * <p>Each segment file starts with a header holding a magic number, the format version and the
+ * offset of its first unread record. Records are appended one after the other: the length of the
+ * request, its CRC32, then the serialized request. The length is written last, so that a record
+ * interrupted by a crash is not read back, and records whose checksum does not match, e.g. because
+ * the pages of the file were not all written to disk, end the segment when it is reopened.
+ *
+ * <p>Segments are appended to and read sequentially, and deleted once read. The number of segments
+ * is bounded, and when appending needs one more than the bound the oldest segment is deleted,
+ * dropping its unread requests.
+ */
+@ThreadSafe
+public final class DiskBuffer implements Closeable {
+
+  private static final Logger logger = Logger.getLogger(DiskBuffer.class.getName());
+
+  private static final String SEGMENT_SUFFIX = ".segment";
+  // "OTLP" in ASCII.
+  private static final int MAGIC = 0x4f544c50;
+  private static final int VERSION = 1;
+  private static final int READ_OFFSET_POSITION = 8;
+  // Visible for testing
+  static final int HEADER_SIZE = 16;
+  // Visible for testing
+  static final int RECORD_HEADER_SIZE = 8;
+
+  private final Path directory;
+  private final int segmentSize;
+  private final int maxSegments;
+  private final Object lock = new Object();
+
+  @GuardedBy("lock")
+  private final ArrayDeque<Segment> segments;
+
+  @GuardedBy("lock")
+  private long nextSegmentId;
+
+  @GuardedBy("lock")
+  private boolean closed;
+
+  /**
+   * Opens the buffer stored in the given directory, creating it if needed. The requests left unread
+   * by a previous process are read first.
+   *
+   * @param directory the directory of the segment files, used by this buffer only.
+   * @param maxBytes the maximum size of the segment files, together.
+   * @param segmentSize the size of each segment file, which bounds the size of a request.
+   */
+  public static DiskBuffer open(Path directory, long maxBytes, int segmentSize) throws IOException {
+    checkArgument(segmentSize > HEADER_SIZE + RECORD_HEADER_SIZE, "segmentSize is too small");
+    checkArgument(maxBytes >= segmentSize, "maxBytes must be at least segmentSize");
+    Files.createDirectories(directory);
+    return new DiskBuffer(
+        directory,
+        segmentSize,
+        (int) Math.min(Integer.MAX_VALUE, maxBytes / segmentSize),
+        recoverSegments(directory));
+  }
+
+  private DiskBuffer(Path directory, int segmentSize, int maxSegments, List<Segment> recovered) {
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    this.maxSegments = maxSegments;
+    this.segments = new ArrayDeque<>(recovered);
+    this.nextSegmentId = recovered.isEmpty() ? 0 : recovered.get(recovered.size() - 1).id + 1;
+  }
+
+  /**
+   * Appends the serialized request to the buffer.
+   *
+   * @return {@code false} if the request is larger than a segment, or the buffer is closed.
+   */
+  public boolean append(Marshaler request) throws IOException {
+    int size = request.getSerializedSize();
+    int recordSize = RECORD_HEADER_SIZE + size;
+    if (recordSize > segmentSize - HEADER_SIZE) {
+      return false;
+    }
+    synchronized (lock) {
+      if (closed) {
+        return false;
+      }
+      Segment tail = segments.peekLast();
+      if (tail == null || tail.writeOffset + recordSize > tail.buffer.capacity()) {
+        tail = newSegment();
+      }
+      int offset = tail.writeOffset;
+      ByteBuffer payload = slice(tail.buffer, offset + RECORD_HEADER_SIZE, size);
+      CodedOutputStream output = CodedOutputStream.newInstance(payload);
+      request.writeTo(output);
+      output.flush();
+      tail.buffer.putInt(offset + 4, checksum(tail.buffer, offset + RECORD_HEADER_SIZE, size));
+      // Written last, this commits the record.
+      tail.buffer.putInt(offset, size);
+      tail.writeOffset = offset + recordSize;
+      return true;
+    }
+  }
+
+  /** Returns the oldest request of the buffer, or {@code null} if it is empty. */
+  @Nullable
+  public Record peek() {
+    synchronized (lock) {
+      Segment head = segments.peekFirst();
+      while (head != null && head.readOffset == head.writeOffset && head != segments.peekLast()) {
+        deleteHead();
+        head = segments.peekFirst();
+      }
+      if (head == null || head.readOffset == head.writeOffset) {
+        return null;
+      }
+      int size = head.buffer.getInt(head.readOffset);
+      return new Record(
+          head, head.readOffset, slice(head.buffer, head.readOffset + RECORD_HEADER_SIZE, size));
+    }
+  }
+
+  /**
+   * Removes the given request, returned by {@link #peek()}, from the buffer. Does nothing if the
+   * request has already been dropped to make room for newer ones.
+   */
+  public void remove(Record record) {
+    synchronized (lock) {
+      Segment head = segments.peekFirst();
+      if (head != record.segment || head.readOffset != record.offset) {
+        return;
+      }
+      head.readOffset += RECORD_HEADER_SIZE + record.payload.remaining();
+      head.buffer.putInt(READ_OFFSET_POSITION, head.readOffset);
+      if (head.readOffset == head.writeOffset && head != segments.peekLast()) {
+        deleteHead();
+      }
+    }
+  }
+
+  /** Returns whether the buffer holds no request. */
+  public boolean isEmpty() {
+    return peek() == null;
+  }
+
+  /** Writes the mapped segments to disk and stops accepting requests. */
+  @Override
+  public void close() {
+    synchronized (lock) {
+      closed = true;
+      for (Segment segment : segments) {
+        segment.buffer.force();
+      }
+    }
+  }
+
+  @GuardedBy("lock")
+  private Segment newSegment() throws IOException {
+    while (segments.size() >= maxSegments) {
+      logger.log(Level.WARNING, "Disk buffer is full, dropping its oldest requests.");
+      deleteHead();
+    }
+    long id = nextSegmentId++;
+    Path path = directory.resolve(String.format("%019d%s", id, SEGMENT_SUFFIX));
+    MappedByteBuffer buffer;
+    try (FileChannel channel =
+        FileChannel.open(
+            path,
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+    buffer.putInt(0, MAGIC);
+    buffer.putInt(4, VERSION);
+    buffer.putInt(READ_OFFSET_POSITION, HEADER_SIZE);
+    Segment segment = new Segment(id, path, buffer, HEADER_SIZE, HEADER_SIZE);
+    segments.addLast(segment);
+    return segment;
+  }
+
+  @GuardedBy("lock")
+  private void deleteHead() {
+    Segment head = segments.removeFirst();
+    try {
+      Files.deleteIfExists(head.path);
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Failed to delete disk buffer segment " + head.path, e);
+    }
+  }
+
+  private static List<Segment> recoverSegments(Path directory) throws IOException {
+    List<Path> paths = new ArrayList<>();
+    try (DirectoryStream<Path> stream =
+        Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+      for (Path path : stream) {
+        paths.add(path);
+      }
+    }
+    // The zero-padded ids sort in creation order.
+    Collections.sort(paths);
+    List<Segment> segments = new ArrayList<>(paths.size());
+    for (Path path : paths) {
+      Segment segment = recoverSegment(path);
+      if (segment == null) {
+        logger.log(Level.WARNING, "Deleting invalid disk buffer segment " + path);
+        Files.delete(path);
+      } else if (segment.readOffset == segment.writeOffset) {
+        Files.delete(path);
+      } else {
+        segments.add(segment);
+      }
+    }
+    return segments;
+  }
+
+  @Nullable
+  private static Segment recoverSegment(Path path) throws IOException {
+    String fileName = path.getFileName().toString();
+    long id;
+    try {
+      id = Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+    MappedByteBuffer buffer;
+    try (FileChannel channel =
+        FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+        return null;
+      }
+      buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+    }
+    if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+      return null;
+    }
+    int writeOffset = HEADER_SIZE;
+    while (writeOffset + RECORD_HEADER_SIZE <= buffer.capacity()) {
+      int size = buffer.getInt(writeOffset);
+      int end = writeOffset + RECORD_HEADER_SIZE + size;
+      if (size <= 0
+          || end > buffer.capacity()
+          || buffer.getInt(writeOffset + 4)
+              != checksum(buffer, writeOffset + RECORD_HEADER_SIZE, size)) {
+        break;
+      }
+      writeOffset = end;
+    }
+    int readOffset = buffer.getInt(READ_OFFSET_POSITION);
+    if (readOffset < HEADER_SIZE || readOffset > writeOffset) {
+      readOffset = writeOffset;
+    }
+    return new Segment(id, path, buffer, readOffset, writeOffset);
+  }
+
+  private static ByteBuffer slice(ByteBuffer buffer, int offset, int size) {
+    ByteBuffer duplicate = buffer.duplicate();
+    duplicate.position(offset);
+    duplicate.limit(offset + size);
+    return duplicate.slice();
+  }
+
+  private static int checksum(ByteBuffer buffer, int offset, int size) {
+    CRC32 crc = new CRC32();
+    crc.update(slice(buffer, offset, size));
+    return (int) crc.getValue();
+  }
+
+  private static final class Segment {
+    private final long id;
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private int readOffset;
+    private int writeOffset;
+
+    private Segment(long id, Path path, MappedByteBuffer buffer, int readOffset, int writeOffset) {
+      this.id = id;
+      this.path = path;
+      this.buffer = buffer;
+      this.readOffset = readOffset;
+      this.writeOffset = writeOffset;
+    }
+  }
+
+  /** A request read from a {@link DiskBuffer}, which marshals as the bytes it was stored as. */
+  public static final class Record implements Marshaler {
+    private final Segment segment;
+    private final int offset;
+    private final ByteBuffer payload;
+
+    private Record(Segment segment, int offset, ByteBuffer payload) {
+      this.segment = segment;
+      this.offset = offset;
+      this.payload = payload;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      output.writeRawBytes(payload.duplicate());
+    }
+
+    @Override
+    public int getSerializedSize() {
+      return payload.remaining();
+    }
+  }
+}
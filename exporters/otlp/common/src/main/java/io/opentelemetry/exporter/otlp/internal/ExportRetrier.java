@@ -0,0 +1,308 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.protobuf.Any;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Duration;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.rpc.RetryInfo;
+import io.grpc.Status;
+import io.grpc.protobuf.StatusProto;
+import io.opentelemetry.sdk.internal.DaemonThreadFactory;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Sends OTLP requests, retrying the ones failing with a retryable gRPC status with a jittered
+ * exponential backoff, or after the delay requested by the server in a {@link RetryInfo}.
+ *
+ * <p>The first attempt streams the request straight into the transport. A request to be retried is
+ * serialized once into a byte array, which is sent by the following attempts, so that retries do
+ * not keep the telemetry data nor marshal it again. The serialized requests waiting to be retried
+ * are bounded in bytes, requests which do not fit failing immediately.
+ */
+@ThreadSafe
+public final class ExportRetrier {
+
+  private static final Logger logger = Logger.getLogger(ExportRetrier.class.getName());
+
+  private final int maxAttempts;
+  private final long initialBackoffNanos;
+  private final long maxBackoffNanos;
+  private final long maxBufferedBytes;
+  private final AtomicLong bufferedBytes = new AtomicLong();
+  private final Set<PendingRetry<?>> pendingRetries = ConcurrentHashMap.newKeySet();
+  @Nullable private final ScheduledExecutorService executor;
+
+  /**
+   * Creates a new {@link ExportRetrier}.
+   *
+   * @param exporterName the name of the exporter, used to name the retry thread.
+   * @param maxAttempts the maximum number of attempts to send a request, including the first one.
+   *     Requests are not retried if 1.
+   * @param initialBackoffNanos the maximum delay before the first retry, doubled for each retry.
+   * @param maxBackoffNanos the maximum delay between retries.
+   * @param maxBufferedBytes the maximum size of the serialized requests waiting to be retried.
+   */
+  public ExportRetrier(
+      String exporterName,
+      int maxAttempts,
+      long initialBackoffNanos,
+      long maxBackoffNanos,
+      long maxBufferedBytes) {
+    this.maxAttempts = maxAttempts;
+    this.initialBackoffNanos = initialBackoffNanos;
+    this.maxBackoffNanos = maxBackoffNanos;
+    this.maxBufferedBytes = maxBufferedBytes;
+    this.executor =
+        maxAttempts > 1
+            ? Executors.newSingleThreadScheduledExecutor(
+                new DaemonThreadFactory(exporterName + "_RetryWorker"))
+            : null;
+  }
+
+  /**
+   * Sends the given request with {@code call}, retrying it if needed, then completes {@code
+   * callback} with the result of the last attempt.
+   */
+  public <T> void send(
+      Marshaler request,
+      Function<Marshaler, ListenableFuture<T>> call,
+      FutureCallback<? super T> callback) {
+    attempt(request, 1, call, callback);
+  }
+
+  /**
+   * Stops retrying requests. The requests waiting to be retried fail with the error of their last
+   * attempt.
+   */
+  public void shutdown() {
+    ScheduledExecutorService executor = this.executor;
+    if (executor == null) {
+      return;
+    }
+    executor.shutdownNow();
+    for (PendingRetry<?> retry : pendingRetries) {
+      retry.abandon();
+    }
+  }
+
+  // Visible for testing
+  long getBufferedBytes() {
+    return bufferedBytes.get();
+  }
+
+  private <T> void attempt(
+      Marshaler request,
+      int attempt,
+      Function<Marshaler, ListenableFuture<T>> call,
+      FutureCallback<? super T> callback) {
+    Futures.addCallback(
+        call.apply(request),
+        new FutureCallback<T>() {
+          @Override
+          public void onSuccess(@Nullable T response) {
+            release(request);
+            callback.onSuccess(response);
+          }
+
+          @Override
+          public void onFailure(Throwable t) {
+            ScheduledExecutorService executor = ExportRetrier.this.executor;
+            long retryDelayNanos = retryDelayNanos(t);
+            if (executor == null || attempt >= maxAttempts || retryDelayNanos < 0) {
+              release(request);
+              callback.onFailure(t);
+              return;
+            }
+            BufferedRequest buffered = buffer(request);
+            if (buffered == null) {
+              callback.onFailure(t);
+              return;
+            }
+            if (retryDelayNanos == 0) {
+              retryDelayNanos = backoffNanos(attempt);
+            }
+            PendingRetry<T> retry = new PendingRetry<>(buffered, attempt + 1, call, callback, t);
+            pendingRetries.add(retry);
+            try {
+              executor.schedule(retry, retryDelayNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+              retry.abandon();
+            }
+          }
+        },
+        MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Returns whether a request which failed with the given error may succeed if sent again. Other
+   * failures, e.g. {@code INVALID_ARGUMENT} or {@code UNIMPLEMENTED}, would fail the same way.
+   */
+  public static boolean isRetryable(Throwable t) {
+    return retryDelayNanos(t) >= 0;
+  }
+
+  /**
+   * Returns the delay before the failed request can be retried, 0 to use the backoff, or -1 if the
+   * failure is not retryable.
+   */
+  // Visible for testing
+  static long retryDelayNanos(Throwable t) {
+    switch (Status.fromThrowable(t).getCode()) {
+      case CANCELLED:
+      case DEADLINE_EXCEEDED:
+      case ABORTED:
+      case OUT_OF_RANGE:
+      case UNAVAILABLE:
+      case DATA_LOSS:
+        long throttleNanos = throttleNanos(t);
+        return throttleNanos > 0 ? throttleNanos : 0;
+      case RESOURCE_EXHAUSTED:
+        // The server is out of resources for good, unless it tells us when to come back.
+        return throttleNanos(t);
+      default:
+        return -1;
+    }
+  }
+
+  /** Returns the delay in the {@link RetryInfo} of the failure, or -1 if there is none. */
+  private static long throttleNanos(Throwable t) {
+    com.google.rpc.Status status = StatusProto.fromThrowable(t);
+    if (status == null) {
+      return -1;
+    }
+    for (Any detail : status.getDetailsList()) {
+      if (detail.is(RetryInfo.class)) {
+        try {
+          Duration delay = detail.unpack(RetryInfo.class).getRetryDelay();
+          return TimeUnit.SECONDS.toNanos(delay.getSeconds()) + delay.getNanos();
+        } catch (InvalidProtocolBufferException e) {
+          return -1;
+        }
+      }
+    }
+    return -1;
+  }
+
+  /** Returns a random delay up to the exponential backoff of the given attempt. */
+  // Visible for testing
+  long backoffNanos(int attempt) {
+    long backoffNanos = initialBackoffNanos;
+    for (int i = 1; i < attempt && backoffNanos < maxBackoffNanos; i++) {
+      backoffNanos *= 2;
+    }
+    return ThreadLocalRandom.current().nextLong(Math.min(backoffNanos, maxBackoffNanos) + 1);
+  }
+
+  @Nullable
+  private BufferedRequest buffer(Marshaler request) {
+    if (request instanceof BufferedRequest) {
+      return (BufferedRequest) request;
+    }
+    int size = request.getSerializedSize();
+    long current;
+    do {
+      current = bufferedBytes.get();
+      if (current + size > maxBufferedBytes) {
+        logger.log(Level.WARNING, "Retry buffer is full, dropping request.");
+        return null;
+      }
+    } while (!bufferedBytes.compareAndSet(current, current + size));
+
+    byte[] bytes = new byte[size];
+    try {
+      CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+      request.writeTo(output);
+      output.flush();
+    } catch (IOException e) {
+      bufferedBytes.addAndGet(-size);
+      logger.log(Level.WARNING, "Failed to serialize request for retry.", e);
+      return null;
+    }
+    return new BufferedRequest(bytes);
+  }
+
+  private void release(Marshaler request) {
+    if (request instanceof BufferedRequest) {
+      bufferedBytes.addAndGet(-request.getSerializedSize());
+    }
+  }
+
+  private final class PendingRetry<T> implements Runnable {
+    private final BufferedRequest request;
+    private final int attempt;
+    private final Function<Marshaler, ListenableFuture<T>> call;
+    private final FutureCallback<? super T> callback;
+    private final Throwable lastFailure;
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    private PendingRetry(
+        BufferedRequest request,
+        int attempt,
+        Function<Marshaler, ListenableFuture<T>> call,
+        FutureCallback<? super T> callback,
+        Throwable lastFailure) {
+      this.request = request;
+      this.attempt = attempt;
+      this.call = call;
+      this.callback = callback;
+      this.lastFailure = lastFailure;
+    }
+
+    @Override
+    public void run() {
+      if (done.compareAndSet(false, true)) {
+        pendingRetries.remove(this);
+        attempt(request, attempt, call, callback);
+      }
+    }
+
+    private void abandon() {
+      if (done.compareAndSet(false, true)) {
+        pendingRetries.remove(this);
+        release(request);
+        callback.onFailure(lastFailure);
+      }
+    }
+  }
+
+  private static final class BufferedRequest implements Marshaler {
+    private final byte[] bytes;
+
+    private BufferedRequest(byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      output.writeRawBytes(bytes);
+    }
+
+    @Override
+    public int getSerializedSize() {
+      return bytes.length;
+    }
+  }
+}
@@ -3,18 +3,19 @@
  * SPDX-License-Identifier: Apache-2.0
  */
 
-package io.opentelemetry.exporter.otlp.trace;
+package io.opentelemetry.exporter.otlp.internal;
 
 import com.google.protobuf.CodedOutputStream;
 import io.opentelemetry.proto.common.v1.InstrumentationLibrary;
 import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
 import java.io.IOException;
 
-final class InstrumentationLibraryMarshaler extends MarshalerWithSize {
+/** A {@link Marshaler} of an {@link InstrumentationLibraryInfo}. */
+public final class InstrumentationLibraryMarshaler extends MarshalerWithSize {
   private final byte[] name;
   private final byte[] version;
 
-  static InstrumentationLibraryMarshaler create(InstrumentationLibraryInfo libraryInfo) {
+  public static InstrumentationLibraryMarshaler create(InstrumentationLibraryInfo libraryInfo) {
     byte[] name = MarshalerUtil.toBytes(libraryInfo.getName());
     byte[] version = MarshalerUtil.toBytes(libraryInfo.getVersion());
     return new InstrumentationLibraryMarshaler(name, version);
@@ -0,0 +1,19 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import com.google.protobuf.CodedOutputStream;
+import java.io.IOException;
+
+/**
+ * A protobuf message that writes itself straight to a {@link CodedOutputStream}, without creating
+ * the protobuf objects of the message.
+ */
+public interface Marshaler {
+  void writeTo(CodedOutputStream output) throws IOException;
+
+  int getSerializedSize();
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/** Helpers to size and write protobuf fields the way the generated protobuf classes do. */
+public final class MarshalerUtil {
+  public static final byte[] EMPTY_BYTES = new byte[0];
+
+  private static final int FIXED64_SIZE = 8;
+
+  public static <T extends Marshaler> void marshalRepeatedMessage(
+      int fieldNumber, T[] repeatedMessage, CodedOutputStream output) throws IOException {
+    for (Marshaler message : repeatedMessage) {
+      marshalMessage(fieldNumber, message, output);
+    }
+  }
+
+  public static void marshalRepeatedMessage(
+      int fieldNumber, List<? extends Marshaler> repeatedMessage, CodedOutputStream output)
+      throws IOException {
+    for (Marshaler message : repeatedMessage) {
+      marshalMessage(fieldNumber, message, output);
+    }
+  }
+
+  public static void marshalMessage(int fieldNumber, Marshaler message, CodedOutputStream output)
+      throws IOException {
+    output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    output.writeUInt32NoTag(message.getSerializedSize());
+    message.writeTo(output);
+  }
+
+  public static void marshalUInt32(int fieldNumber, int message, CodedOutputStream output)
+      throws IOException {
+    if (message == 0) {
+      return;
+    }
+    output.writeUInt32(fieldNumber, message);
+  }
+
+  public static void marshalEnum(int fieldNumber, int message, CodedOutputStream output)
+      throws IOException {
+    if (message == 0) {
+      return;
+    }
+    output.writeEnum(fieldNumber, message);
+  }
+
+  public static void marshalBool(int fieldNumber, boolean message, CodedOutputStream output)
+      throws IOException {
+    if (!message) {
+      return;
+    }
+    output.writeBool(fieldNumber, message);
+  }
+
+  public static void marshalFixed64(int fieldNumber, long message, CodedOutputStream output)
+      throws IOException {
+    if (message == 0L) {
+      return;
+    }
+    output.writeFixed64(fieldNumber, message);
+  }
+
+  public static void marshalDouble(int fieldNumber, double message, CodedOutputStream output)
+      throws IOException {
+    if (Double.doubleToRawLongBits(message) == 0L) {
+      return;
+    }
+    output.writeDouble(fieldNumber, message);
+  }
+
+  public static void marshalRepeatedFixed64(
+      int fieldNumber, List<Long> repeatedMessage, CodedOutputStream output) throws IOException {
+    if (repeatedMessage.isEmpty()) {
+      return;
+    }
+    output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    output.writeUInt32NoTag(FIXED64_SIZE * repeatedMessage.size());
+    for (long value : repeatedMessage) {
+      output.writeFixed64NoTag(value);
+    }
+  }
+
+  public static void marshalRepeatedDouble(
+      int fieldNumber, List<Double> repeatedMessage, CodedOutputStream output) throws IOException {
+    if (repeatedMessage.isEmpty()) {
+      return;
+    }
+    output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    output.writeUInt32NoTag(FIXED64_SIZE * repeatedMessage.size());
+    for (double value : repeatedMessage) {
+      output.writeDoubleNoTag(value);
+    }
+  }
+
+  public static void marshalBytes(int fieldNumber, byte[] message, CodedOutputStream output)
+      throws IOException {
+    if (message.length == 0) {
+      return;
+    }
+    output.writeByteArray(fieldNumber, message);
+  }
+
+  public static <T extends Marshaler> int sizeRepeatedMessage(
+      int fieldNumber, T[] repeatedMessage) {
+    int size = 0;
+    int fieldTagSize = CodedOutputStream.computeTagSize(fieldNumber);
+    for (Marshaler message : repeatedMessage) {
+      int fieldSize = message.getSerializedSize();
+      size += fieldTagSize + CodedOutputStream.computeUInt32SizeNoTag(fieldSize) + fieldSize;
+    }
+    return size;
+  }
+
+  public static int sizeRepeatedMessage(
+      int fieldNumber, List<? extends Marshaler> repeatedMessage) {
+    int size = 0;
+    int fieldTagSize = CodedOutputStream.computeTagSize(fieldNumber);
+    for (Marshaler message : repeatedMessage) {
+      int fieldSize = message.getSerializedSize();
+      size += fieldTagSize + CodedOutputStream.computeUInt32SizeNoTag(fieldSize) + fieldSize;
+    }
+    return size;
+  }
+
+  public static int sizeMessage(int fieldNumber, Marshaler message) {
+    int fieldSize = message.getSerializedSize();
+    return CodedOutputStream.computeTagSize(fieldNumber)
+        + CodedOutputStream.computeUInt32SizeNoTag(fieldSize)
+        + fieldSize;
+  }
+
+  public static int sizeUInt32(int fieldNumber, int message) {
+    if (message == 0) {
+      return 0;
+    }
+    return CodedOutputStream.computeUInt32Size(fieldNumber, message);
+  }
+
+  public static int sizeEnum(int fieldNumber, int message) {
+    if (message == 0) {
+      return 0;
+    }
+    return CodedOutputStream.computeEnumSize(fieldNumber, message);
+  }
+
+  public static int sizeBool(int fieldNumber, boolean message) {
+    if (!message) {
+      return 0;
+    }
+    return CodedOutputStream.computeBoolSize(fieldNumber, message);
+  }
+
+  public static int sizeFixed64(int fieldNumber, long message) {
+    if (message == 0L) {
+      return 0;
+    }
+    return CodedOutputStream.computeFixed64Size(fieldNumber, message);
+  }
+
+  public static int sizeDouble(int fieldNumber, double message) {
+    if (Double.doubleToRawLongBits(message) == 0L) {
+      return 0;
+    }
+    return CodedOutputStream.computeDoubleSize(fieldNumber, message);
+  }
+
+  /** Returns the size of a packed repeated {@code fixed64} or {@code double} field. */
+  public static int sizeRepeatedFixed64(int fieldNumber, int count) {
+    if (count == 0) {
+      return 0;
+    }
+    int dataSize = FIXED64_SIZE * count;
+    return CodedOutputStream.computeTagSize(fieldNumber)
+        + CodedOutputStream.computeUInt32SizeNoTag(dataSize)
+        + dataSize;
+  }
+
+  public static int sizeBytes(int fieldNumber, byte[] message) {
+    if (message.length == 0) {
+      return 0;
+    }
+    return CodedOutputStream.computeByteArraySize(fieldNumber, message);
+  }
+
+  public static byte[] toBytes(@Nullable String value) {
+    if (value == null || value.isEmpty()) {
+      return EMPTY_BYTES;
+    }
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private MarshalerUtil() {}
+}
@@ -0,0 +1,20 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+/** A {@link Marshaler} that computes its serialized size when it is created. */
+public abstract class MarshalerWithSize implements Marshaler {
+  private final int size;
+
+  protected MarshalerWithSize(int size) {
+    this.size = size;
+  }
+
+  @Override
+  public final int getSerializedSize() {
+    return size;
+  }
+}
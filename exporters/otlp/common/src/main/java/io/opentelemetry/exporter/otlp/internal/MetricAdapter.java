@@ -31,6 +31,8 @@ import io.opentelemetry.sdk.metrics.data.DoublePointData;
 import io.opentelemetry.sdk.metrics.data.DoubleSumData;
 import io.opentelemetry.sdk.metrics.data.DoubleSummaryData;
 import io.opentelemetry.sdk.metrics.data.DoubleSummaryPointData;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramData;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramPointData;
 import io.opentelemetry.sdk.metrics.data.LongGaugeData;
 import io.opentelemetry.sdk.metrics.data.LongPointData;
 import io.opentelemetry.sdk.metrics.data.LongSumData;
@@ -158,6 +160,20 @@ public final class MetricAdapter {
                 .addAllDataPoints(toHistogramDataPoints(doubleHistogramData.getPoints()))
                 .build());
         break;
+      case EXPONENTIAL_HISTOGRAM:
+        // The OTLP protocol version in use has no exponential histogram, export the buckets as an
+        // explicit bucket histogram instead.
+        ExponentialHistogramData exponentialHistogramData =
+            metricData.getExponentialHistogramData();
+        builder.setHistogram(
+            Histogram.newBuilder()
+                .setAggregationTemporality(
+                    mapToTemporality(exponentialHistogramData.getAggregationTemporality()))
+                .addAllDataPoints(
+                    toHistogramDataPoints(
+                        toDoubleHistogramPoints(exponentialHistogramData.getPoints())))
+                .build());
+        break;
     }
     return builder.build();
   }
@@ -260,6 +276,15 @@ public final class MetricAdapter {
     return result;
   }
 
+  private static List<DoubleHistogramPointData> toDoubleHistogramPoints(
+      Collection<ExponentialHistogramPointData> points) {
+    List<DoubleHistogramPointData> result = new ArrayList<>(points.size());
+    for (ExponentialHistogramPointData point : points) {
+      result.add(point.toDoubleHistogramPointData());
+    }
+    return result;
+  }
+
   @SuppressWarnings("MixedMutabilityReturnType")
   static List<KeyValue> toProtoLabels(Labels labels) {
     if (labels.isEmpty()) {
@@ -0,0 +1,199 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import io.opentelemetry.api.internal.GuardedBy;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.internal.DaemonThreadFactory;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Sends the requests stored in a {@link DiskBuffer} from a background thread, oldest first. A
+ * request is removed from the buffer once it has been sent successfully, and retried with an
+ * exponential backoff if it failed with a retryable error, so that requests are kept on disk while
+ * the backend cannot be reached. Requests failing with an error which is not retryable, e.g. {@code
+ * INVALID_ARGUMENT}, are dropped, so that they do not block the requests stored after them.
+ *
+ * @see ExportRetrier#isRetryable(Throwable)
+ */
+@ThreadSafe
+public final class PersistentExportQueue {
+
+  private static final Logger logger = Logger.getLogger(PersistentExportQueue.class.getName());
+
+  // Visible for testing
+  static final long INITIAL_BACKOFF_MILLIS = 1_000;
+  // Visible for testing
+  static final long MAX_BACKOFF_MILLIS = 60_000;
+  private static final long SEND_TIMEOUT_MILLIS = 60_000;
+
+  private final DiskBuffer buffer;
+  private final Function<Marshaler, ListenableFuture<?>> sender;
+  private final long initialBackoffMillis;
+  private final Thread workerThread;
+  private final Object lock = new Object();
+
+  @GuardedBy("lock")
+  private final List<CompletableResultCode> pendingFlushes = new ArrayList<>();
+
+  @GuardedBy("lock")
+  private boolean continueWork = true;
+
+  /**
+   * Returns a new {@link PersistentExportQueue} sending the requests of the given buffer, including
+   * the ones left by a previous process, with the given {@code sender}.
+   *
+   * @param sender sends a request, returning a future which fails with the gRPC error of the send.
+   * @param workerName the name prefix of the background thread.
+   */
+  public static PersistentExportQueue create(
+      DiskBuffer buffer, Function<Marshaler, ListenableFuture<?>> sender, String workerName) {
+    return new PersistentExportQueue(buffer, sender, workerName, INITIAL_BACKOFF_MILLIS);
+  }
+
+  // Visible for testing
+  PersistentExportQueue(
+      DiskBuffer buffer,
+      Function<Marshaler, ListenableFuture<?>> sender,
+      String workerName,
+      long initialBackoffMillis) {
+    this.buffer = buffer;
+    this.sender = sender;
+    this.initialBackoffMillis = initialBackoffMillis;
+    this.workerThread = new DaemonThreadFactory(workerName).newThread(this::run);
+    this.workerThread.start();
+  }
+
+  /**
+   * Stores the given request to be sent later.
+   *
+   * @return {@code false} if the request could not be stored.
+   */
+  public boolean enqueue(Marshaler request) {
+    boolean stored;
+    try {
+      stored = buffer.append(request);
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Failed to write request to disk buffer.", e);
+      return false;
+    }
+    if (stored) {
+      synchronized (lock) {
+        lock.notifyAll();
+      }
+    }
+    return stored;
+  }
+
+  /** Returns a {@link CompletableResultCode} completed once all stored requests have been sent. */
+  public CompletableResultCode flush() {
+    CompletableResultCode result = new CompletableResultCode();
+    synchronized (lock) {
+      if (!continueWork) {
+        return result.fail();
+      }
+      pendingFlushes.add(result);
+      lock.notifyAll();
+    }
+    return result;
+  }
+
+  /**
+   * Stops sending requests and closes the buffer. The requests which have not been sent are left on
+   * disk, to be sent by the next {@link PersistentExportQueue} of the same directory.
+   */
+  public CompletableResultCode shutdown() {
+    synchronized (lock) {
+      continueWork = false;
+      lock.notifyAll();
+    }
+    workerThread.interrupt();
+    try {
+      workerThread.join(TimeUnit.SECONDS.toMillis(10));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    buffer.close();
+    return CompletableResultCode.ofSuccess();
+  }
+
+  private void run() {
+    long backoffMillis = initialBackoffMillis;
+    try {
+      while (true) {
+        DiskBuffer.Record record = buffer.peek();
+        if (record == null) {
+          synchronized (lock) {
+            for (CompletableResultCode flush : pendingFlushes) {
+              flush.succeed();
+            }
+            pendingFlushes.clear();
+            if (!continueWork) {
+              return;
+            }
+            if (buffer.isEmpty()) {
+              lock.wait();
+            }
+          }
+          continue;
+        }
+
+        if (send(record)) {
+          buffer.remove(record);
+          backoffMillis = initialBackoffMillis;
+          continue;
+        }
+
+        synchronized (lock) {
+          if (!continueWork) {
+            return;
+          }
+          lock.wait(backoffMillis);
+        }
+        backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      synchronized (lock) {
+        for (CompletableResultCode flush : pendingFlushes) {
+          flush.fail();
+        }
+        pendingFlushes.clear();
+      }
+    }
+  }
+
+  /**
+   * Sends the given request, returning whether it can be removed from the buffer: it was sent, or
+   * it failed with an error which would happen again if it were retried.
+   */
+  private boolean send(DiskBuffer.Record record) throws InterruptedException {
+    try {
+      sender.apply(record).get(SEND_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+      return true;
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause() != null ? e.getCause() : e;
+      if (ExportRetrier.isRetryable(cause)) {
+        return false;
+      }
+      logger.log(Level.WARNING, "Dropping stored request which cannot be sent.", cause);
+      return true;
+    } catch (TimeoutException e) {
+      return false;
+    }
+  }
+}
@@ -3,16 +3,17 @@
  * SPDX-License-Identifier: Apache-2.0
  */
 
-package io.opentelemetry.exporter.otlp.trace;
+package io.opentelemetry.exporter.otlp.internal;
 
 import com.google.protobuf.CodedOutputStream;
 import io.opentelemetry.proto.resource.v1.Resource;
 import java.io.IOException;
 
-final class ResourceMarshaler extends MarshalerWithSize {
+/** A {@link Marshaler} of a {@link io.opentelemetry.sdk.resources.Resource}. */
+public final class ResourceMarshaler extends MarshalerWithSize {
   private final AttributeMarshaler[] attributeMarshalers;
 
-  static ResourceMarshaler create(io.opentelemetry.sdk.resources.Resource resource) {
+  public static ResourceMarshaler create(io.opentelemetry.sdk.resources.Resource resource) {
     return new ResourceMarshaler(AttributeMarshaler.createRepeated(resource.getAttributes()));
   }
 
@@ -0,0 +1,167 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.protobuf.CodedOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DiskBufferTest {
+
+  // Two records of 4 bytes per segment.
+  private static final int SEGMENT_SIZE =
+      DiskBuffer.HEADER_SIZE + 2 * (DiskBuffer.RECORD_HEADER_SIZE + 4);
+
+  @TempDir Path directory;
+
+  @Test
+  void invalidConfig() {
+    assertThatThrownBy(() -> DiskBuffer.open(directory, 1024, DiskBuffer.HEADER_SIZE))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("segmentSize is too small");
+    assertThatThrownBy(() -> DiskBuffer.open(directory, 100, 1024))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxBytes must be at least segmentSize");
+  }
+
+  @Test
+  void appendAndRemove() throws IOException {
+    DiskBuffer buffer = DiskBuffer.open(directory, 10 * SEGMENT_SIZE, SEGMENT_SIZE);
+    assertThat(buffer.isEmpty()).isTrue();
+    for (String request : new String[] {"aaaa", "bbbb", "cccc"}) {
+      assertThat(buffer.append(new StringMarshaler(request))).isTrue();
+    }
+
+    assertThat(drain(buffer)).containsExactly("aaaa", "bbbb", "cccc");
+    assertThat(buffer.isEmpty()).isTrue();
+    assertThat(segmentFiles()).hasSize(1);
+    buffer.close();
+  }
+
+  @Test
+  void append_RequestLargerThanSegment() throws IOException {
+    DiskBuffer buffer = DiskBuffer.open(directory, 10 * SEGMENT_SIZE, SEGMENT_SIZE);
+    assertThat(buffer.append(new StringMarshaler(new String(new char[SEGMENT_SIZE])))).isFalse();
+    assertThat(buffer.isEmpty()).isTrue();
+    buffer.close();
+  }
+
+  @Test
+  void append_Closed() throws IOException {
+    DiskBuffer buffer = DiskBuffer.open(directory, 10 * SEGMENT_SIZE, SEGMENT_SIZE);
+    buffer.close();
+    assertThat(buffer.append(new StringMarshaler("aaaa"))).isFalse();
+  }
+
+  @Test
+  void recoversUnreadRequests() throws IOException {
+    DiskBuffer buffer = DiskBuffer.open(directory, 10 * SEGMENT_SIZE, SEGMENT_SIZE);
+    for (String request : new String[] {"aaaa", "bbbb", "cccc", "dddd"}) {
+      buffer.append(new StringMarshaler(request));
+    }
+    buffer.remove(buffer.peek());
+    buffer.close();
+
+    DiskBuffer reopened = DiskBuffer.open(directory, 10 * SEGMENT_SIZE, SEGMENT_SIZE);
+    reopened.append(new StringMarshaler("eeee"));
+    assertThat(drain(reopened)).containsExactly("bbbb", "cccc", "dddd", "eeee");
+    reopened.close();
+  }
+
+  @Test
+  void recovery_StopsAtCorruptRecord() throws IOException {
+    DiskBuffer buffer = DiskBuffer.open(directory, 10 * SEGMENT_SIZE, SEGMENT_SIZE);
+    buffer.append(new StringMarshaler("aaaa"));
+    buffer.append(new StringMarshaler("bbbb"));
+    buffer.close();
+
+    try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+      file.seek(DiskBuffer.HEADER_SIZE + 2 * DiskBuffer.RECORD_HEADER_SIZE + 4);
+      file.write('x');
+    }
+
+    DiskBuffer reopened = DiskBuffer.open(directory, 10 * SEGMENT_SIZE, SEGMENT_SIZE);
+    assertThat(drain(reopened)).containsExactly("aaaa");
+    reopened.close();
+  }
+
+  @Test
+  void recovery_DeletesInvalidSegments() throws IOException {
+    Files.write(directory.resolve("0000000000000000000.segment"), new byte[SEGMENT_SIZE]);
+    Files.write(directory.resolve("invalid.segment"), new byte[SEGMENT_SIZE]);
+
+    DiskBuffer buffer = DiskBuffer.open(directory, 10 * SEGMENT_SIZE, SEGMENT_SIZE);
+    assertThat(buffer.isEmpty()).isTrue();
+    assertThat(segmentFiles()).isEmpty();
+    buffer.close();
+  }
+
+  @Test
+  void dropsOldestSegmentWhenFull() throws IOException {
+    DiskBuffer buffer = DiskBuffer.open(directory, 2 * SEGMENT_SIZE, SEGMENT_SIZE);
+    buffer.append(new StringMarshaler("aaaa"));
+    DiskBuffer.Record dropped = buffer.peek();
+    for (String request : new String[] {"bbbb", "cccc", "dddd", "eeee", "ffff"}) {
+      assertThat(buffer.append(new StringMarshaler(request))).isTrue();
+    }
+    assertThat(segmentFiles()).hasSize(2);
+
+    // Removing a dropped request leaves the buffer unchanged.
+    buffer.remove(dropped);
+    assertThat(drain(buffer)).containsExactly("cccc", "dddd", "eeee", "ffff");
+    buffer.close();
+  }
+
+  private List<Path> segmentFiles() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.sorted().collect(Collectors.toList());
+    }
+  }
+
+  private static List<String> drain(DiskBuffer buffer) throws IOException {
+    List<String> requests = new ArrayList<>();
+    DiskBuffer.Record record;
+    while ((record = buffer.peek()) != null) {
+      byte[] bytes = new byte[record.getSerializedSize()];
+      CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+      record.writeTo(output);
+      output.flush();
+      requests.add(new String(bytes, StandardCharsets.UTF_8));
+      buffer.remove(record);
+    }
+    return requests;
+  }
+
+  private static final class StringMarshaler implements Marshaler {
+    private final byte[] bytes;
+
+    private StringMarshaler(String value) {
+      this.bytes = value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      output.writeRawBytes(bytes);
+    }
+
+    @Override
+    public int getSerializedSize() {
+      return bytes.length;
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.protobuf.Any;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Duration;
+import com.google.rpc.RetryInfo;
+import io.grpc.Status;
+import io.grpc.protobuf.StatusProto;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+class ExportRetrierTest {
+
+  @Test
+  void retryDelayNanos() {
+    assertThat(ExportRetrier.retryDelayNanos(Status.UNAVAILABLE.asRuntimeException())).isZero();
+    assertThat(ExportRetrier.retryDelayNanos(Status.DEADLINE_EXCEEDED.asRuntimeException()))
+        .isZero();
+    assertThat(ExportRetrier.retryDelayNanos(Status.INVALID_ARGUMENT.asRuntimeException()))
+        .isEqualTo(-1);
+    assertThat(ExportRetrier.retryDelayNanos(Status.RESOURCE_EXHAUSTED.asRuntimeException()))
+        .isEqualTo(-1);
+    assertThat(ExportRetrier.retryDelayNanos(new IllegalStateException())).isEqualTo(-1);
+
+    assertThat(ExportRetrier.retryDelayNanos(throttled(Status.Code.RESOURCE_EXHAUSTED, 2)))
+        .isEqualTo(TimeUnit.SECONDS.toNanos(2));
+    assertThat(ExportRetrier.retryDelayNanos(throttled(Status.Code.UNAVAILABLE, 3)))
+        .isEqualTo(TimeUnit.SECONDS.toNanos(3));
+  }
+
+  @Test
+  void backoffNanos() {
+    ExportRetrier retrier = new ExportRetrier("test", 10, 100, 1_000, 1024);
+    try {
+      for (int i = 0; i < 100; i++) {
+        assertThat(retrier.backoffNanos(1)).isBetween(0L, 100L);
+        assertThat(retrier.backoffNanos(3)).isBetween(0L, 400L);
+        assertThat(retrier.backoffNanos(8)).isBetween(0L, 1_000L);
+      }
+    } finally {
+      retrier.shutdown();
+    }
+  }
+
+  @Test
+  void retriesSerializedRequest() {
+    ExportRetrier retrier = new ExportRetrier("test", 3, 1, 1, 1024);
+    AtomicInteger attempts = new AtomicInteger();
+    AtomicReference<Boolean> success = new AtomicReference<>();
+    TestMarshaler request = new TestMarshaler();
+    try {
+      retrier.send(
+          request,
+          attempt -> {
+            if (attempts.incrementAndGet() == 1) {
+              assertThat(attempt).isSameAs(request);
+            } else {
+              assertThat(attempt).isNotSameAs(request);
+              assertThat(attempt.getSerializedSize()).isEqualTo(request.getSerializedSize());
+            }
+            return attempts.get() < 3
+                ? Futures.immediateFailedFuture(Status.UNAVAILABLE.asRuntimeException())
+                : Futures.immediateFuture("ok");
+          },
+          new ResultCallback(success));
+
+      await().untilAsserted(() -> assertThat(success.get()).isNotNull());
+      assertThat(success.get()).isTrue();
+      assertThat(attempts).hasValue(3);
+      assertThat(request.writes).hasValue(1);
+      assertThat(retrier.getBufferedBytes()).isZero();
+    } finally {
+      retrier.shutdown();
+    }
+  }
+
+  @Test
+  void bufferFull() {
+    ExportRetrier retrier = new ExportRetrier("test", 3, 1, 1, 1);
+    AtomicReference<Boolean> success = new AtomicReference<>();
+    try {
+      retrier.send(
+          new TestMarshaler(),
+          attempt -> Futures.immediateFailedFuture(Status.UNAVAILABLE.asRuntimeException()),
+          new ResultCallback(success));
+      assertThat(success.get()).isFalse();
+      assertThat(retrier.getBufferedBytes()).isZero();
+    } finally {
+      retrier.shutdown();
+    }
+  }
+
+  private static Throwable throttled(Status.Code code, long delaySeconds) {
+    return StatusProto.toStatusRuntimeException(
+        com.google.rpc.Status.newBuilder()
+            .setCode(code.value())
+            .addDetails(
+                Any.pack(
+                    RetryInfo.newBuilder()
+                        .setRetryDelay(Duration.newBuilder().setSeconds(delaySeconds))
+                        .build()))
+            .build());
+  }
+
+  private static final class ResultCallback implements FutureCallback<Object> {
+    private final AtomicReference<Boolean> success;
+
+    private ResultCallback(AtomicReference<Boolean> success) {
+      this.success = success;
+    }
+
+    @Override
+    public void onSuccess(@Nullable Object result) {
+      success.set(true);
+    }
+
+    @Override
+    public void onFailure(Throwable t) {
+      success.set(false);
+    }
+  }
+
+  private static final class TestMarshaler implements Marshaler {
+    private final AtomicInteger writes = new AtomicInteger();
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      writes.incrementAndGet();
+      output.writeRawBytes(new byte[] {1, 2, 3, 4});
+    }
+
+    @Override
+    public int getSerializedSize() {
+      return 4;
+    }
+  }
+}
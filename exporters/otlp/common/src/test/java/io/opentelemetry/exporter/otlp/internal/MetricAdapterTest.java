@@ -36,6 +36,9 @@ import io.opentelemetry.sdk.metrics.data.DoublePointData;
 import io.opentelemetry.sdk.metrics.data.DoubleSumData;
 import io.opentelemetry.sdk.metrics.data.DoubleSummaryData;
 import io.opentelemetry.sdk.metrics.data.DoubleSummaryPointData;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramBuckets;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramData;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramPointData;
 import io.opentelemetry.sdk.metrics.data.LongGaugeData;
 import io.opentelemetry.sdk.metrics.data.LongPointData;
 import io.opentelemetry.sdk.metrics.data.LongSumData;
@@ -556,6 +559,55 @@ class MetricAdapterTest {
                 .build());
   }
 
+  @Test
+  void toProtoMetric_exponentialHistogram() {
+    assertThat(
+            MetricAdapter.toProtoMetric(
+                MetricData.createExponentialHistogram(
+                    Resource.empty(),
+                    InstrumentationLibraryInfo.empty(),
+                    "name",
+                    "description",
+                    "1",
+                    ExponentialHistogramData.create(
+                        AggregationTemporality.CUMULATIVE,
+                        singletonList(
+                            ExponentialHistogramPointData.create(
+                                123,
+                                456,
+                                Labels.of("k", "v"),
+                                /* scale= */ 0,
+                                5.0,
+                                /* zeroCount= */ 1,
+                                ExponentialHistogramBuckets.create(0, ImmutableList.of(1L, 2L)),
+                                ExponentialHistogramBuckets.empty()))))))
+        .isEqualTo(
+            Metric.newBuilder()
+                .setName("name")
+                .setDescription("description")
+                .setUnit("1")
+                .setHistogram(
+                    Histogram.newBuilder()
+                        .setAggregationTemporality(AGGREGATION_TEMPORALITY_CUMULATIVE)
+                        .addDataPoints(
+                            HistogramDataPoint.newBuilder()
+                                .setStartTimeUnixNano(123)
+                                .setTimeUnixNano(456)
+                                .addAllAttributes(
+                                    singletonList(
+                                        KeyValue.newBuilder()
+                                            .setKey("k")
+                                            .setValue(stringValue("v"))
+                                            .build()))
+                                .setCount(4)
+                                .setSum(5.0)
+                                .addAllBucketCounts(ImmutableList.of(1L, 1L, 2L))
+                                .addAllExplicitBounds(ImmutableList.of(0.0, 2.0))
+                                .build())
+                        .build())
+                .build());
+  }
+
   @Test
   void toProtoResourceMetrics() {
     Resource resource = Resource.create(Attributes.of(stringKey("ka"), "va"));
@@ -0,0 +1,121 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.protobuf.CodedOutputStream;
+import io.grpc.Status;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PersistentExportQueueTest {
+
+  private static final int SEGMENT_SIZE = 1024;
+
+  @TempDir Path directory;
+
+  @Test
+  void retriesUntilSent() throws IOException {
+    AtomicInteger attempts = new AtomicInteger();
+    PersistentExportQueue queue =
+        new PersistentExportQueue(
+            DiskBuffer.open(directory, 10 * SEGMENT_SIZE, SEGMENT_SIZE),
+            request ->
+                attempts.incrementAndGet() < 3
+                    ? Futures.immediateFailedFuture(Status.UNAVAILABLE.asRuntimeException())
+                    : Futures.immediateFuture("ok"),
+            "test",
+            1);
+
+    assertThat(queue.enqueue(new ByteMarshaler())).isTrue();
+    assertThat(queue.flush().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+    assertThat(attempts).hasValue(3);
+    queue.shutdown();
+  }
+
+  @Test
+  void sendsRequestsLeftOnDisk() throws IOException {
+    PersistentExportQueue failing =
+        new PersistentExportQueue(
+            DiskBuffer.open(directory, 10 * SEGMENT_SIZE, SEGMENT_SIZE),
+            request -> Futures.immediateFailedFuture(Status.UNAVAILABLE.asRuntimeException()),
+            "test",
+            1);
+    failing.enqueue(new ByteMarshaler());
+    failing.enqueue(new ByteMarshaler());
+    failing.shutdown();
+    assertThat(failing.flush().isSuccess()).isFalse();
+
+    AtomicInteger sent = new AtomicInteger();
+    PersistentExportQueue queue =
+        new PersistentExportQueue(
+            DiskBuffer.open(directory, 10 * SEGMENT_SIZE, SEGMENT_SIZE),
+            request -> {
+              sent.incrementAndGet();
+              return Futures.immediateFuture("ok");
+            },
+            "test",
+            1);
+    assertThat(queue.flush().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+    assertThat(sent).hasValue(2);
+    queue.shutdown();
+  }
+
+  @Test
+  void dropsNonRetryableFailures() throws IOException {
+    List<Integer> sent = new CopyOnWriteArrayList<>();
+    PersistentExportQueue queue =
+        new PersistentExportQueue(
+            DiskBuffer.open(directory, 10 * SEGMENT_SIZE, SEGMENT_SIZE),
+            request -> {
+              sent.add(request.getSerializedSize());
+              return request.getSerializedSize() == 1
+                  ? Futures.immediateFailedFuture(Status.INVALID_ARGUMENT.asRuntimeException())
+                  : Futures.immediateFuture("ok");
+            },
+            "test",
+            1);
+
+    queue.enqueue(new ByteMarshaler(1));
+    queue.enqueue(new ByteMarshaler(2));
+    assertThat(queue.flush().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+    // The failed request is not retried, nor does it block the next one.
+    assertThat(sent).containsExactly(1, 2);
+    queue.shutdown();
+  }
+
+  private static final class ByteMarshaler implements Marshaler {
+    private final int size;
+
+    private ByteMarshaler() {
+      this(1);
+    }
+
+    private ByteMarshaler(int size) {
+      this.size = size;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      for (int i = 0; i < size; i++) {
+        output.writeRawByte((byte) 1);
+      }
+    }
+
+    @Override
+    public int getSerializedSize() {
+      return size;
+    }
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.metrics;
+
+import com.google.protobuf.CodedOutputStream;
+import io.grpc.Drainable;
+import io.grpc.MethodDescriptor;
+import io.grpc.protobuf.ProtoUtils;
+import io.opentelemetry.exporter.otlp.internal.MetricAdapter;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class MetricsRequestMarshalBenchmarks {
+
+  private static final MethodDescriptor.Marshaller<ExportMetricsServiceRequest> PROTO_MARSHALLER =
+      ProtoUtils.marshaller(ExportMetricsServiceRequest.getDefaultInstance());
+
+  @Benchmark
+  @Threads(1)
+  public byte[] marshalProto(MetricsRequestMarshalState state) throws IOException {
+    ExportMetricsServiceRequest protoRequest =
+        ExportMetricsServiceRequest.newBuilder()
+            .addAllResourceMetrics(MetricAdapter.toProtoResourceMetrics(state.metricDataList))
+            .build();
+    byte[] protoOutput = new byte[protoRequest.getSerializedSize()];
+    protoRequest.writeTo(CodedOutputStream.newInstance(protoOutput));
+    return protoOutput;
+  }
+
+  @Benchmark
+  @Threads(1)
+  public byte[] marshalCustom(MetricsRequestMarshalState state) throws IOException {
+    MetricsMarshaler.RequestMarshaler requestMarshaler =
+        MetricsMarshaler.RequestMarshaler.create(state.metricDataList);
+    byte[] customOutput = new byte[requestMarshaler.getSerializedSize()];
+    requestMarshaler.writeTo(CodedOutputStream.newInstance(customOutput));
+    return customOutput;
+  }
+
+  // The two export paths as the gRPC transport runs them, which drains the marshalled request into
+  // its output stream.
+  @Benchmark
+  @Threads(1)
+  public int exportProto(MetricsRequestMarshalState state) throws IOException {
+    ExportMetricsServiceRequest protoRequest =
+        ExportMetricsServiceRequest.newBuilder()
+            .addAllResourceMetrics(MetricAdapter.toProtoResourceMetrics(state.metricDataList))
+            .build();
+    return drain(PROTO_MARSHALLER.stream(protoRequest));
+  }
+
+  @Benchmark
+  @Threads(1)
+  public int exportCustom(MetricsRequestMarshalState state) throws IOException {
+    MetricsMarshaler.RequestMarshaler requestMarshaler =
+        MetricsMarshaler.RequestMarshaler.create(state.metricDataList);
+    return drain(MarshalerMetricsServiceGrpc.REQUEST_MARSHALLER.stream(requestMarshaler));
+  }
+
+  private static int drain(InputStream stream) throws IOException {
+    return ((Drainable) stream).drainTo(NullOutputStream.INSTANCE);
+  }
+
+  private static final class NullOutputStream extends OutputStream {
+    private static final NullOutputStream INSTANCE = new NullOutputStream();
+
+    @Override
+    public void write(int b) {}
+
+    @Override
+    public void write(byte[] b, int off, int len) {}
+  }
+}
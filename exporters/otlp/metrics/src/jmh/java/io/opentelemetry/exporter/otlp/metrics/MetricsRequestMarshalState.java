@@ -0,0 +1,113 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.metrics;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.DoubleGaugeData;
+import io.opentelemetry.sdk.metrics.data.DoubleHistogramData;
+import io.opentelemetry.sdk.metrics.data.DoubleHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.DoubleSummaryData;
+import io.opentelemetry.sdk.metrics.data.DoubleSummaryPointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.LongSumData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.ValueAtPercentile;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class MetricsRequestMarshalState {
+  private static final Resource RESOURCE =
+      Resource.create(
+          Attributes.builder()
+              .put(AttributeKey.booleanKey("key_bool"), true)
+              .put(AttributeKey.stringKey("key_string"), "string")
+              .put(AttributeKey.longKey("key_int"), 100L)
+              .put(AttributeKey.doubleKey("key_double"), 100.3)
+              .build());
+
+  private static final InstrumentationLibraryInfo INSTRUMENTATION_LIBRARY_INFO =
+      InstrumentationLibraryInfo.create("name", null);
+
+  // Each metric has this many points, each with a distinct label set.
+  @Param({"16"})
+  int numPoints;
+
+  List<MetricData> metricDataList;
+
+  @Setup
+  public void setup() {
+    List<LongPointData> longPoints = new ArrayList<>(numPoints);
+    List<DoublePointData> doublePoints = new ArrayList<>(numPoints);
+    List<DoubleSummaryPointData> summaryPoints = new ArrayList<>(numPoints);
+    List<DoubleHistogramPointData> histogramPoints = new ArrayList<>(numPoints);
+    for (int i = 0; i < numPoints; i++) {
+      Labels labels = Labels.of("method", "GET", "status", String.valueOf(200 + i));
+      longPoints.add(LongPointData.create(12345, 12349, labels, i));
+      doublePoints.add(DoublePointData.create(12345, 12349, labels, i + 0.5));
+      summaryPoints.add(
+          DoubleSummaryPointData.create(
+              12345,
+              12349,
+              labels,
+              10,
+              100.5,
+              Arrays.asList(
+                  ValueAtPercentile.create(0.0, 1.5), ValueAtPercentile.create(100.0, 20.5))));
+      histogramPoints.add(
+          DoubleHistogramPointData.create(
+              12345,
+              12349,
+              labels,
+              100.5,
+              Arrays.asList(5.0, 10.0, 25.0, 50.0),
+              Arrays.asList(1L, 2L, 3L, 4L, 0L)));
+    }
+
+    metricDataList =
+        Arrays.asList(
+            MetricData.createLongSum(
+                RESOURCE,
+                INSTRUMENTATION_LIBRARY_INFO,
+                "requests",
+                "The number of requests",
+                "1",
+                LongSumData.create(
+                    /* isMonotonic= */ true, AggregationTemporality.CUMULATIVE, longPoints)),
+            MetricData.createDoubleGauge(
+                RESOURCE,
+                INSTRUMENTATION_LIBRARY_INFO,
+                "load",
+                "The current load",
+                "1",
+                DoubleGaugeData.create(doublePoints)),
+            MetricData.createDoubleSummary(
+                RESOURCE,
+                INSTRUMENTATION_LIBRARY_INFO,
+                "latency_summary",
+                "The request latency",
+                "ms",
+                DoubleSummaryData.create(summaryPoints)),
+            MetricData.createDoubleHistogram(
+                RESOURCE,
+                INSTRUMENTATION_LIBRARY_INFO,
+                "latency",
+                "The request latency",
+                "ms",
+                DoubleHistogramData.create(AggregationTemporality.DELTA, histogramPoints)));
+  }
+}
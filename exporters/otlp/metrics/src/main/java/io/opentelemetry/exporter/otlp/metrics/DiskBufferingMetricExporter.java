@@ -0,0 +1,95 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.metrics;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.exporter.otlp.internal.DiskBuffer;
+import io.opentelemetry.exporter.otlp.internal.PersistentExportQueue;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link MetricExporter} which stores the serialized OTLP requests of the exported metrics in
+ * memory-mapped files of a directory, and sends them from a background thread with an {@link
+ * OtlpGrpcMetricExporter}. Requests failing with a retryable error are retried with an
+ * exponential backoff, so metrics are not lost while the collector is unavailable, nor when the
+ * process restarts before they could be sent. Requests failing with another error, e.g. {@code
+ * INVALID_ARGUMENT}, are dropped.
+ *
+ * <p>The disk usage is bounded: when it is reached the oldest requests are dropped.
+ */
+@ThreadSafe
+public final class DiskBufferingMetricExporter implements MetricExporter {
+
+  // Visible for testing
+  static final int SEGMENT_SIZE = 8 * 1024 * 1024;
+
+  private final OtlpGrpcMetricExporter delegate;
+  private final PersistentExportQueue queue;
+
+  /**
+   * Returns a new {@link DiskBufferingMetricExporter} buffering metrics in the given directory,
+   * which must not be used by another exporter, and sending them with the given {@code delegate}.
+   * Requests left in the directory by a previous process are sent first.
+   *
+   * @param maxDiskBytes the maximum size of the files of the directory, at least {@value
+   *     SEGMENT_SIZE} bytes.
+   */
+  public static DiskBufferingMetricExporter create(
+      OtlpGrpcMetricExporter delegate, Path directory, long maxDiskBytes) throws IOException {
+    requireNonNull(delegate, "delegate");
+    requireNonNull(directory, "directory");
+    checkArgument(maxDiskBytes >= SEGMENT_SIZE, "maxDiskBytes must be at least " + SEGMENT_SIZE);
+    DiskBuffer buffer = DiskBuffer.open(directory, maxDiskBytes, SEGMENT_SIZE);
+    PersistentExportQueue queue =
+        PersistentExportQueue.create(
+            buffer, delegate::send, "DiskBufferingMetricExporter_Worker");
+    return new DiskBufferingMetricExporter(delegate, queue);
+  }
+
+  private DiskBufferingMetricExporter(
+      OtlpGrpcMetricExporter delegate, PersistentExportQueue queue) {
+    this.delegate = delegate;
+    this.queue = queue;
+  }
+
+  /**
+   * Stores the given metrics on disk, to be sent to the collector in the background.
+   *
+   * @return success once the metrics are stored, or failure if they could not be stored.
+   */
+  @Override
+  public CompletableResultCode export(Collection<MetricData> metrics) {
+    if (queue.enqueue(MetricsMarshaler.RequestMarshaler.create(metrics))) {
+      return CompletableResultCode.ofSuccess();
+    }
+    return CompletableResultCode.ofFailure();
+  }
+
+  /** Waits for all the stored metrics to be sent to the collector. */
+  @Override
+  public CompletableResultCode flush() {
+    return queue.flush();
+  }
+
+  /**
+   * Stops sending the stored metrics, and shuts down the delegate exporter. The metrics which have
+   * not been sent are left on disk.
+   */
+  @Override
+  public CompletableResultCode shutdown() {
+    queue.shutdown().join(10, TimeUnit.SECONDS);
+    return delegate.shutdown();
+  }
+}
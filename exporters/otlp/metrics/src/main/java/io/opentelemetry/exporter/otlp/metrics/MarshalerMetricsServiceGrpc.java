@@ -0,0 +1,63 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.metrics;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.MethodDescriptor;
+import io.grpc.protobuf.ProtoUtils;
+import io.grpc.stub.ClientCalls;
+import io.opentelemetry.exporter.otlp.internal.Marshaler;
+import io.opentelemetry.exporter.otlp.internal.MarshalerInputStream;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceResponse;
+import io.opentelemetry.proto.collector.metrics.v1.MetricsServiceGrpc;
+import java.io.InputStream;
+
+/**
+ * A client of the OTLP {@code MetricsService} that sends a {@link Marshaler}, usually a {@link
+ * MetricsMarshaler.RequestMarshaler}, instead of an {@link
+ * io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest}, so that the metrics are
+ * serialized straight into the transport without building the protobuf objects of the request
+ * first.
+ */
+final class MarshalerMetricsServiceGrpc {
+
+  // Visible for benchmarks
+  static final MethodDescriptor.Marshaller<Marshaler> REQUEST_MARSHALLER =
+      new MethodDescriptor.Marshaller<Marshaler>() {
+        @Override
+        public InputStream stream(Marshaler value) {
+          return new MarshalerInputStream(value);
+        }
+
+        @Override
+        public Marshaler parse(InputStream stream) {
+          throw new UnsupportedOperationException("Only for serializing");
+        }
+      };
+
+  private static final MethodDescriptor.Marshaller<ExportMetricsServiceResponse>
+      RESPONSE_MARSHALLER =
+          ProtoUtils.marshaller(ExportMetricsServiceResponse.getDefaultInstance());
+
+  private static final MethodDescriptor<Marshaler, ExportMetricsServiceResponse> EXPORT_METHOD =
+      MethodDescriptor.<Marshaler, ExportMetricsServiceResponse>newBuilder()
+          .setType(MethodDescriptor.MethodType.UNARY)
+          .setFullMethodName(
+              MethodDescriptor.generateFullMethodName(MetricsServiceGrpc.SERVICE_NAME, "Export"))
+          .setRequestMarshaller(REQUEST_MARSHALLER)
+          .setResponseMarshaller(RESPONSE_MARSHALLER)
+          .build();
+
+  private MarshalerMetricsServiceGrpc() {}
+
+  /** Sends the given request with the given options, as {@code MetricsService.Export} would. */
+  static ListenableFuture<ExportMetricsServiceResponse> export(
+      Channel channel, CallOptions callOptions, Marshaler request) {
+    return ClientCalls.futureUnaryCall(channel.newCall(EXPORT_METHOD, callOptions), request);
+  }
+}
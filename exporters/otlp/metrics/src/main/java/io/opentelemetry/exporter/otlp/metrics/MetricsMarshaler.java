@@ -0,0 +1,748 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.metrics;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnknownFieldSet;
+import io.opentelemetry.exporter.otlp.internal.AttributeMarshaler;
+import io.opentelemetry.exporter.otlp.internal.InstrumentationLibraryMarshaler;
+import io.opentelemetry.exporter.otlp.internal.Marshaler;
+import io.opentelemetry.exporter.otlp.internal.MarshalerUtil;
+import io.opentelemetry.exporter.otlp.internal.MarshalerWithSize;
+import io.opentelemetry.exporter.otlp.internal.ResourceMarshaler;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
+import io.opentelemetry.proto.metrics.v1.AggregationTemporality;
+import io.opentelemetry.proto.metrics.v1.Gauge;
+import io.opentelemetry.proto.metrics.v1.Histogram;
+import io.opentelemetry.proto.metrics.v1.HistogramDataPoint;
+import io.opentelemetry.proto.metrics.v1.InstrumentationLibraryMetrics;
+import io.opentelemetry.proto.metrics.v1.Metric;
+import io.opentelemetry.proto.metrics.v1.NumberDataPoint;
+import io.opentelemetry.proto.metrics.v1.ResourceMetrics;
+import io.opentelemetry.proto.metrics.v1.Sum;
+import io.opentelemetry.proto.metrics.v1.Summary;
+import io.opentelemetry.proto.metrics.v1.SummaryDataPoint;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.metrics.data.DoubleHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.DoubleSumData;
+import io.opentelemetry.sdk.metrics.data.DoubleSummaryPointData;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramData;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.LongSumData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.ValueAtPercentile;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializes {@link MetricData} as an {@code ExportMetricsServiceRequest} straight to the wire,
+ * without creating the protobuf objects of the request. Produces the same bytes as the request
+ * created through {@link io.opentelemetry.exporter.otlp.internal.MetricAdapter}.
+ */
+final class MetricsMarshaler {
+
+  static final class RequestMarshaler extends MarshalerWithSize {
+    private final ResourceMetricsMarshaler[] resourceMetricsMarshalers;
+
+    static RequestMarshaler create(Collection<MetricData> metricDataList) {
+      Map<Resource, Map<InstrumentationLibraryInfo, List<MetricMarshaler>>> resourceAndLibraryMap =
+          groupByResourceAndLibrary(metricDataList);
+
+      final ResourceMetricsMarshaler[] resourceMetricsMarshalers =
+          new ResourceMetricsMarshaler[resourceAndLibraryMap.size()];
+      int posResource = 0;
+      for (Map.Entry<Resource, Map<InstrumentationLibraryInfo, List<MetricMarshaler>>> entry :
+          resourceAndLibraryMap.entrySet()) {
+        final InstrumentationLibraryMetricsMarshaler[] instrumentationLibraryMetricsMarshalers =
+            new InstrumentationLibraryMetricsMarshaler[entry.getValue().size()];
+        int posInstrumentation = 0;
+        for (Map.Entry<InstrumentationLibraryInfo, List<MetricMarshaler>> entryIs :
+            entry.getValue().entrySet()) {
+          instrumentationLibraryMetricsMarshalers[posInstrumentation++] =
+              new InstrumentationLibraryMetricsMarshaler(
+                  InstrumentationLibraryMarshaler.create(entryIs.getKey()), entryIs.getValue());
+        }
+        resourceMetricsMarshalers[posResource++] =
+            new ResourceMetricsMarshaler(
+                ResourceMarshaler.create(entry.getKey()), instrumentationLibraryMetricsMarshalers);
+      }
+
+      return new RequestMarshaler(resourceMetricsMarshalers);
+    }
+
+    private RequestMarshaler(ResourceMetricsMarshaler[] resourceMetricsMarshalers) {
+      super(
+          MarshalerUtil.sizeRepeatedMessage(
+              ExportMetricsServiceRequest.RESOURCE_METRICS_FIELD_NUMBER,
+              resourceMetricsMarshalers));
+      this.resourceMetricsMarshalers = resourceMetricsMarshalers;
+    }
+
+    ExportMetricsServiceRequest toRequest() throws IOException {
+      byte[] buf = new byte[getSerializedSize()];
+      writeTo(CodedOutputStream.newInstance(buf));
+      return ExportMetricsServiceRequest.newBuilder()
+          .setUnknownFields(UnknownFieldSet.newBuilder().mergeFrom(buf).build())
+          .build();
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalRepeatedMessage(
+          ExportMetricsServiceRequest.RESOURCE_METRICS_FIELD_NUMBER,
+          resourceMetricsMarshalers,
+          output);
+    }
+  }
+
+  private static final class ResourceMetricsMarshaler extends MarshalerWithSize {
+    private final ResourceMarshaler resourceMarshaler;
+    private final InstrumentationLibraryMetricsMarshaler[] instrumentationLibraryMetricsMarshalers;
+
+    private ResourceMetricsMarshaler(
+        ResourceMarshaler resourceMarshaler,
+        InstrumentationLibraryMetricsMarshaler[] instrumentationLibraryMetricsMarshalers) {
+      super(calculateSize(resourceMarshaler, instrumentationLibraryMetricsMarshalers));
+      this.resourceMarshaler = resourceMarshaler;
+      this.instrumentationLibraryMetricsMarshalers = instrumentationLibraryMetricsMarshalers;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalMessage(
+          ResourceMetrics.RESOURCE_FIELD_NUMBER, resourceMarshaler, output);
+      MarshalerUtil.marshalRepeatedMessage(
+          ResourceMetrics.INSTRUMENTATION_LIBRARY_METRICS_FIELD_NUMBER,
+          instrumentationLibraryMetricsMarshalers,
+          output);
+    }
+
+    private static int calculateSize(
+        ResourceMarshaler resourceMarshaler,
+        InstrumentationLibraryMetricsMarshaler[] instrumentationLibraryMetricsMarshalers) {
+      int size = 0;
+      size += MarshalerUtil.sizeMessage(ResourceMetrics.RESOURCE_FIELD_NUMBER, resourceMarshaler);
+      size +=
+          MarshalerUtil.sizeRepeatedMessage(
+              ResourceMetrics.INSTRUMENTATION_LIBRARY_METRICS_FIELD_NUMBER,
+              instrumentationLibraryMetricsMarshalers);
+      return size;
+    }
+  }
+
+  private static final class InstrumentationLibraryMetricsMarshaler extends MarshalerWithSize {
+    private final InstrumentationLibraryMarshaler instrumentationLibrary;
+    private final List<MetricMarshaler> metricMarshalers;
+
+    private InstrumentationLibraryMetricsMarshaler(
+        InstrumentationLibraryMarshaler instrumentationLibrary,
+        List<MetricMarshaler> metricMarshalers) {
+      super(calculateSize(instrumentationLibrary, metricMarshalers));
+      this.instrumentationLibrary = instrumentationLibrary;
+      this.metricMarshalers = metricMarshalers;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalMessage(
+          InstrumentationLibraryMetrics.INSTRUMENTATION_LIBRARY_FIELD_NUMBER,
+          instrumentationLibrary,
+          output);
+      MarshalerUtil.marshalRepeatedMessage(
+          InstrumentationLibraryMetrics.METRICS_FIELD_NUMBER, metricMarshalers, output);
+    }
+
+    private static int calculateSize(
+        InstrumentationLibraryMarshaler instrumentationLibrary,
+        List<MetricMarshaler> metricMarshalers) {
+      int size = 0;
+      size +=
+          MarshalerUtil.sizeMessage(
+              InstrumentationLibraryMetrics.INSTRUMENTATION_LIBRARY_FIELD_NUMBER,
+              instrumentationLibrary);
+      size +=
+          MarshalerUtil.sizeRepeatedMessage(
+              InstrumentationLibraryMetrics.METRICS_FIELD_NUMBER, metricMarshalers);
+      return size;
+    }
+  }
+
+  private static final class MetricMarshaler extends MarshalerWithSize {
+    private final byte[] name;
+    private final byte[] description;
+    private final byte[] unit;
+    // The field of the "data" oneof that is set.
+    private final int dataFieldNumber;
+    private final Marshaler dataMarshaler;
+
+    // Because MetricMarshaler is always part of a repeated field, it cannot return "null".
+    private static MetricMarshaler create(MetricData metricData) {
+      int dataFieldNumber;
+      Marshaler dataMarshaler;
+      switch (metricData.getType()) {
+        case LONG_SUM:
+          LongSumData longSumData = metricData.getLongSumData();
+          dataFieldNumber = Metric.SUM_FIELD_NUMBER;
+          dataMarshaler =
+              new SumMarshaler(
+                  NumberDataPointMarshaler.createLongs(longSumData.getPoints()),
+                  toProtoTemporality(longSumData.getAggregationTemporality()),
+                  longSumData.isMonotonic());
+          break;
+        case DOUBLE_SUM:
+          DoubleSumData doubleSumData = metricData.getDoubleSumData();
+          dataFieldNumber = Metric.SUM_FIELD_NUMBER;
+          dataMarshaler =
+              new SumMarshaler(
+                  NumberDataPointMarshaler.createDoubles(doubleSumData.getPoints()),
+                  toProtoTemporality(doubleSumData.getAggregationTemporality()),
+                  doubleSumData.isMonotonic());
+          break;
+        case LONG_GAUGE:
+          dataFieldNumber = Metric.GAUGE_FIELD_NUMBER;
+          dataMarshaler =
+              new GaugeMarshaler(
+                  NumberDataPointMarshaler.createLongs(metricData.getLongGaugeData().getPoints()));
+          break;
+        case DOUBLE_GAUGE:
+          dataFieldNumber = Metric.GAUGE_FIELD_NUMBER;
+          dataMarshaler =
+              new GaugeMarshaler(
+                  NumberDataPointMarshaler.createDoubles(
+                      metricData.getDoubleGaugeData().getPoints()));
+          break;
+        case SUMMARY:
+          dataFieldNumber = Metric.SUMMARY_FIELD_NUMBER;
+          dataMarshaler =
+              new SummaryMarshaler(
+                  SummaryDataPointMarshaler.createRepeated(
+                      metricData.getDoubleSummaryData().getPoints()));
+          break;
+        case HISTOGRAM:
+          dataFieldNumber = Metric.HISTOGRAM_FIELD_NUMBER;
+          dataMarshaler =
+              new HistogramMarshaler(
+                  HistogramDataPointMarshaler.createRepeated(
+                      metricData.getDoubleHistogramData().getPoints()),
+                  toProtoTemporality(
+                      metricData.getDoubleHistogramData().getAggregationTemporality()));
+          break;
+        case EXPONENTIAL_HISTOGRAM:
+          // Exported as an explicit bucket histogram, like MetricAdapter does.
+          ExponentialHistogramData exponentialHistogramData =
+              metricData.getExponentialHistogramData();
+          dataFieldNumber = Metric.HISTOGRAM_FIELD_NUMBER;
+          dataMarshaler =
+              new HistogramMarshaler(
+                  HistogramDataPointMarshaler.createRepeated(
+                      toDoubleHistogramPoints(exponentialHistogramData.getPoints())),
+                  toProtoTemporality(exponentialHistogramData.getAggregationTemporality()));
+          break;
+        default:
+          throw new IllegalArgumentException("Unsupported metric type " + metricData.getType());
+      }
+      return new MetricMarshaler(
+          MarshalerUtil.toBytes(metricData.getName()),
+          MarshalerUtil.toBytes(metricData.getDescription()),
+          MarshalerUtil.toBytes(metricData.getUnit()),
+          dataFieldNumber,
+          dataMarshaler);
+    }
+
+    private MetricMarshaler(
+        byte[] name,
+        byte[] description,
+        byte[] unit,
+        int dataFieldNumber,
+        Marshaler dataMarshaler) {
+      super(calculateSize(name, description, unit, dataFieldNumber, dataMarshaler));
+      this.name = name;
+      this.description = description;
+      this.unit = unit;
+      this.dataFieldNumber = dataFieldNumber;
+      this.dataMarshaler = dataMarshaler;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalBytes(Metric.NAME_FIELD_NUMBER, name, output);
+      MarshalerUtil.marshalBytes(Metric.DESCRIPTION_FIELD_NUMBER, description, output);
+      MarshalerUtil.marshalBytes(Metric.UNIT_FIELD_NUMBER, unit, output);
+      // A set oneof message is written even if it is empty.
+      MarshalerUtil.marshalMessage(dataFieldNumber, dataMarshaler, output);
+    }
+
+    private static int calculateSize(
+        byte[] name,
+        byte[] description,
+        byte[] unit,
+        int dataFieldNumber,
+        Marshaler dataMarshaler) {
+      int size = 0;
+      size += MarshalerUtil.sizeBytes(Metric.NAME_FIELD_NUMBER, name);
+      size += MarshalerUtil.sizeBytes(Metric.DESCRIPTION_FIELD_NUMBER, description);
+      size += MarshalerUtil.sizeBytes(Metric.UNIT_FIELD_NUMBER, unit);
+      size += MarshalerUtil.sizeMessage(dataFieldNumber, dataMarshaler);
+      return size;
+    }
+  }
+
+  private static final class SumMarshaler extends MarshalerWithSize {
+    private final NumberDataPointMarshaler[] dataPoints;
+    private final int aggregationTemporality;
+    private final boolean isMonotonic;
+
+    private SumMarshaler(
+        NumberDataPointMarshaler[] dataPoints, int aggregationTemporality, boolean isMonotonic) {
+      super(calculateSize(dataPoints, aggregationTemporality, isMonotonic));
+      this.dataPoints = dataPoints;
+      this.aggregationTemporality = aggregationTemporality;
+      this.isMonotonic = isMonotonic;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalRepeatedMessage(Sum.DATA_POINTS_FIELD_NUMBER, dataPoints, output);
+      MarshalerUtil.marshalEnum(
+          Sum.AGGREGATION_TEMPORALITY_FIELD_NUMBER, aggregationTemporality, output);
+      MarshalerUtil.marshalBool(Sum.IS_MONOTONIC_FIELD_NUMBER, isMonotonic, output);
+    }
+
+    private static int calculateSize(
+        NumberDataPointMarshaler[] dataPoints, int aggregationTemporality, boolean isMonotonic) {
+      int size = 0;
+      size += MarshalerUtil.sizeRepeatedMessage(Sum.DATA_POINTS_FIELD_NUMBER, dataPoints);
+      size +=
+          MarshalerUtil.sizeEnum(Sum.AGGREGATION_TEMPORALITY_FIELD_NUMBER, aggregationTemporality);
+      size += MarshalerUtil.sizeBool(Sum.IS_MONOTONIC_FIELD_NUMBER, isMonotonic);
+      return size;
+    }
+  }
+
+  private static final class GaugeMarshaler extends MarshalerWithSize {
+    private final NumberDataPointMarshaler[] dataPoints;
+
+    private GaugeMarshaler(NumberDataPointMarshaler[] dataPoints) {
+      super(MarshalerUtil.sizeRepeatedMessage(Gauge.DATA_POINTS_FIELD_NUMBER, dataPoints));
+      this.dataPoints = dataPoints;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalRepeatedMessage(Gauge.DATA_POINTS_FIELD_NUMBER, dataPoints, output);
+    }
+  }
+
+  private static final class HistogramMarshaler extends MarshalerWithSize {
+    private final HistogramDataPointMarshaler[] dataPoints;
+    private final int aggregationTemporality;
+
+    private HistogramMarshaler(
+        HistogramDataPointMarshaler[] dataPoints, int aggregationTemporality) {
+      super(calculateSize(dataPoints, aggregationTemporality));
+      this.dataPoints = dataPoints;
+      this.aggregationTemporality = aggregationTemporality;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalRepeatedMessage(Histogram.DATA_POINTS_FIELD_NUMBER, dataPoints, output);
+      MarshalerUtil.marshalEnum(
+          Histogram.AGGREGATION_TEMPORALITY_FIELD_NUMBER, aggregationTemporality, output);
+    }
+
+    private static int calculateSize(
+        HistogramDataPointMarshaler[] dataPoints, int aggregationTemporality) {
+      int size = 0;
+      size += MarshalerUtil.sizeRepeatedMessage(Histogram.DATA_POINTS_FIELD_NUMBER, dataPoints);
+      size +=
+          MarshalerUtil.sizeEnum(
+              Histogram.AGGREGATION_TEMPORALITY_FIELD_NUMBER, aggregationTemporality);
+      return size;
+    }
+  }
+
+  private static final class SummaryMarshaler extends MarshalerWithSize {
+    private final SummaryDataPointMarshaler[] dataPoints;
+
+    private SummaryMarshaler(SummaryDataPointMarshaler[] dataPoints) {
+      super(MarshalerUtil.sizeRepeatedMessage(Summary.DATA_POINTS_FIELD_NUMBER, dataPoints));
+      this.dataPoints = dataPoints;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalRepeatedMessage(Summary.DATA_POINTS_FIELD_NUMBER, dataPoints, output);
+    }
+  }
+
+  private static final class NumberDataPointMarshaler extends MarshalerWithSize {
+    private final long startEpochNanos;
+    private final long epochNanos;
+    private final boolean isDouble;
+    private final long longValue;
+    private final double doubleValue;
+    private final AttributeMarshaler[] attributes;
+
+    private static NumberDataPointMarshaler[] createLongs(Collection<LongPointData> points) {
+      NumberDataPointMarshaler[] marshalers = new NumberDataPointMarshaler[points.size()];
+      int index = 0;
+      for (LongPointData point : points) {
+        marshalers[index++] =
+            new NumberDataPointMarshaler(
+                point.getStartEpochNanos(),
+                point.getEpochNanos(),
+                /* isDouble= */ false,
+                point.getValue(),
+                0,
+                AttributeMarshaler.createRepeated(point.getLabels()));
+      }
+      return marshalers;
+    }
+
+    private static NumberDataPointMarshaler[] createDoubles(Collection<DoublePointData> points) {
+      NumberDataPointMarshaler[] marshalers = new NumberDataPointMarshaler[points.size()];
+      int index = 0;
+      for (DoublePointData point : points) {
+        marshalers[index++] =
+            new NumberDataPointMarshaler(
+                point.getStartEpochNanos(),
+                point.getEpochNanos(),
+                /* isDouble= */ true,
+                0,
+                point.getValue(),
+                AttributeMarshaler.createRepeated(point.getLabels()));
+      }
+      return marshalers;
+    }
+
+    private NumberDataPointMarshaler(
+        long startEpochNanos,
+        long epochNanos,
+        boolean isDouble,
+        long longValue,
+        double doubleValue,
+        AttributeMarshaler[] attributes) {
+      super(
+          calculateSize(startEpochNanos, epochNanos, isDouble, longValue, doubleValue, attributes));
+      this.startEpochNanos = startEpochNanos;
+      this.epochNanos = epochNanos;
+      this.isDouble = isDouble;
+      this.longValue = longValue;
+      this.doubleValue = doubleValue;
+      this.attributes = attributes;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalFixed64(
+          NumberDataPoint.START_TIME_UNIX_NANO_FIELD_NUMBER, startEpochNanos, output);
+      MarshalerUtil.marshalFixed64(NumberDataPoint.TIME_UNIX_NANO_FIELD_NUMBER, epochNanos, output);
+      // The value is a oneof, which is written even if it is 0.
+      if (isDouble) {
+        output.writeDouble(NumberDataPoint.AS_DOUBLE_FIELD_NUMBER, doubleValue);
+      } else {
+        output.writeSFixed64(NumberDataPoint.AS_INT_FIELD_NUMBER, longValue);
+      }
+      MarshalerUtil.marshalRepeatedMessage(
+          NumberDataPoint.ATTRIBUTES_FIELD_NUMBER, attributes, output);
+    }
+
+    private static int calculateSize(
+        long startEpochNanos,
+        long epochNanos,
+        boolean isDouble,
+        long longValue,
+        double doubleValue,
+        AttributeMarshaler[] attributes) {
+      int size = 0;
+      size +=
+          MarshalerUtil.sizeFixed64(
+              NumberDataPoint.START_TIME_UNIX_NANO_FIELD_NUMBER, startEpochNanos);
+      size += MarshalerUtil.sizeFixed64(NumberDataPoint.TIME_UNIX_NANO_FIELD_NUMBER, epochNanos);
+      if (isDouble) {
+        size +=
+            CodedOutputStream.computeDoubleSize(
+                NumberDataPoint.AS_DOUBLE_FIELD_NUMBER, doubleValue);
+      } else {
+        size +=
+            CodedOutputStream.computeSFixed64Size(NumberDataPoint.AS_INT_FIELD_NUMBER, longValue);
+      }
+      size +=
+          MarshalerUtil.sizeRepeatedMessage(NumberDataPoint.ATTRIBUTES_FIELD_NUMBER, attributes);
+      return size;
+    }
+  }
+
+  private static final class HistogramDataPointMarshaler extends MarshalerWithSize {
+    private final long startEpochNanos;
+    private final long epochNanos;
+    private final long count;
+    private final double sum;
+    private final List<Long> bucketCounts;
+    private final List<Double> explicitBounds;
+    private final AttributeMarshaler[] attributes;
+
+    private static HistogramDataPointMarshaler[] createRepeated(
+        Collection<DoubleHistogramPointData> points) {
+      HistogramDataPointMarshaler[] marshalers = new HistogramDataPointMarshaler[points.size()];
+      int index = 0;
+      for (DoubleHistogramPointData point : points) {
+        marshalers[index++] =
+            new HistogramDataPointMarshaler(
+                point.getStartEpochNanos(),
+                point.getEpochNanos(),
+                point.getCount(),
+                point.getSum(),
+                point.getCounts(),
+                point.getBoundaries(),
+                AttributeMarshaler.createRepeated(point.getLabels()));
+      }
+      return marshalers;
+    }
+
+    private HistogramDataPointMarshaler(
+        long startEpochNanos,
+        long epochNanos,
+        long count,
+        double sum,
+        List<Long> bucketCounts,
+        List<Double> explicitBounds,
+        AttributeMarshaler[] attributes) {
+      super(
+          calculateSize(
+              startEpochNanos,
+              epochNanos,
+              count,
+              sum,
+              bucketCounts,
+              explicitBounds,
+              attributes));
+      this.startEpochNanos = startEpochNanos;
+      this.epochNanos = epochNanos;
+      this.count = count;
+      this.sum = sum;
+      this.bucketCounts = bucketCounts;
+      this.explicitBounds = explicitBounds;
+      this.attributes = attributes;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalFixed64(
+          HistogramDataPoint.START_TIME_UNIX_NANO_FIELD_NUMBER, startEpochNanos, output);
+      MarshalerUtil.marshalFixed64(
+          HistogramDataPoint.TIME_UNIX_NANO_FIELD_NUMBER, epochNanos, output);
+      MarshalerUtil.marshalFixed64(HistogramDataPoint.COUNT_FIELD_NUMBER, count, output);
+      MarshalerUtil.marshalDouble(HistogramDataPoint.SUM_FIELD_NUMBER, sum, output);
+      MarshalerUtil.marshalRepeatedFixed64(
+          HistogramDataPoint.BUCKET_COUNTS_FIELD_NUMBER, bucketCounts, output);
+      MarshalerUtil.marshalRepeatedDouble(
+          HistogramDataPoint.EXPLICIT_BOUNDS_FIELD_NUMBER, explicitBounds, output);
+      MarshalerUtil.marshalRepeatedMessage(
+          HistogramDataPoint.ATTRIBUTES_FIELD_NUMBER, attributes, output);
+    }
+
+    private static int calculateSize(
+        long startEpochNanos,
+        long epochNanos,
+        long count,
+        double sum,
+        List<Long> bucketCounts,
+        List<Double> explicitBounds,
+        AttributeMarshaler[] attributes) {
+      int size = 0;
+      size +=
+          MarshalerUtil.sizeFixed64(
+              HistogramDataPoint.START_TIME_UNIX_NANO_FIELD_NUMBER, startEpochNanos);
+      size += MarshalerUtil.sizeFixed64(HistogramDataPoint.TIME_UNIX_NANO_FIELD_NUMBER, epochNanos);
+      size += MarshalerUtil.sizeFixed64(HistogramDataPoint.COUNT_FIELD_NUMBER, count);
+      size += MarshalerUtil.sizeDouble(HistogramDataPoint.SUM_FIELD_NUMBER, sum);
+      size +=
+          MarshalerUtil.sizeRepeatedFixed64(
+              HistogramDataPoint.BUCKET_COUNTS_FIELD_NUMBER, bucketCounts.size());
+      size +=
+          MarshalerUtil.sizeRepeatedFixed64(
+              HistogramDataPoint.EXPLICIT_BOUNDS_FIELD_NUMBER, explicitBounds.size());
+      size +=
+          MarshalerUtil.sizeRepeatedMessage(HistogramDataPoint.ATTRIBUTES_FIELD_NUMBER, attributes);
+      return size;
+    }
+  }
+
+  private static final class SummaryDataPointMarshaler extends MarshalerWithSize {
+    private final long startEpochNanos;
+    private final long epochNanos;
+    private final long count;
+    private final double sum;
+    private final ValueAtQuantileMarshaler[] quantileValues;
+    private final AttributeMarshaler[] attributes;
+
+    private static SummaryDataPointMarshaler[] createRepeated(
+        Collection<DoubleSummaryPointData> points) {
+      SummaryDataPointMarshaler[] marshalers = new SummaryDataPointMarshaler[points.size()];
+      int index = 0;
+      for (DoubleSummaryPointData point : points) {
+        marshalers[index++] =
+            new SummaryDataPointMarshaler(
+                point.getStartEpochNanos(),
+                point.getEpochNanos(),
+                point.getCount(),
+                point.getSum(),
+                ValueAtQuantileMarshaler.createRepeated(point.getPercentileValues()),
+                AttributeMarshaler.createRepeated(point.getLabels()));
+      }
+      return marshalers;
+    }
+
+    private SummaryDataPointMarshaler(
+        long startEpochNanos,
+        long epochNanos,
+        long count,
+        double sum,
+        ValueAtQuantileMarshaler[] quantileValues,
+        AttributeMarshaler[] attributes) {
+      super(calculateSize(startEpochNanos, epochNanos, count, sum, quantileValues, attributes));
+      this.startEpochNanos = startEpochNanos;
+      this.epochNanos = epochNanos;
+      this.count = count;
+      this.sum = sum;
+      this.quantileValues = quantileValues;
+      this.attributes = attributes;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalFixed64(
+          SummaryDataPoint.START_TIME_UNIX_NANO_FIELD_NUMBER, startEpochNanos, output);
+      MarshalerUtil.marshalFixed64(
+          SummaryDataPoint.TIME_UNIX_NANO_FIELD_NUMBER, epochNanos, output);
+      MarshalerUtil.marshalFixed64(SummaryDataPoint.COUNT_FIELD_NUMBER, count, output);
+      MarshalerUtil.marshalDouble(SummaryDataPoint.SUM_FIELD_NUMBER, sum, output);
+      MarshalerUtil.marshalRepeatedMessage(
+          SummaryDataPoint.QUANTILE_VALUES_FIELD_NUMBER, quantileValues, output);
+      MarshalerUtil.marshalRepeatedMessage(
+          SummaryDataPoint.ATTRIBUTES_FIELD_NUMBER, attributes, output);
+    }
+
+    private static int calculateSize(
+        long startEpochNanos,
+        long epochNanos,
+        long count,
+        double sum,
+        ValueAtQuantileMarshaler[] quantileValues,
+        AttributeMarshaler[] attributes) {
+      int size = 0;
+      size +=
+          MarshalerUtil.sizeFixed64(
+              SummaryDataPoint.START_TIME_UNIX_NANO_FIELD_NUMBER, startEpochNanos);
+      size += MarshalerUtil.sizeFixed64(SummaryDataPoint.TIME_UNIX_NANO_FIELD_NUMBER, epochNanos);
+      size += MarshalerUtil.sizeFixed64(SummaryDataPoint.COUNT_FIELD_NUMBER, count);
+      size += MarshalerUtil.sizeDouble(SummaryDataPoint.SUM_FIELD_NUMBER, sum);
+      size +=
+          MarshalerUtil.sizeRepeatedMessage(
+              SummaryDataPoint.QUANTILE_VALUES_FIELD_NUMBER, quantileValues);
+      size +=
+          MarshalerUtil.sizeRepeatedMessage(SummaryDataPoint.ATTRIBUTES_FIELD_NUMBER, attributes);
+      return size;
+    }
+  }
+
+  private static final class ValueAtQuantileMarshaler extends MarshalerWithSize {
+    private static final ValueAtQuantileMarshaler[] EMPTY = new ValueAtQuantileMarshaler[0];
+    private final double quantile;
+    private final double value;
+
+    private static ValueAtQuantileMarshaler[] createRepeated(List<ValueAtPercentile> values) {
+      if (values.isEmpty()) {
+        return EMPTY;
+      }
+      ValueAtQuantileMarshaler[] marshalers = new ValueAtQuantileMarshaler[values.size()];
+      int index = 0;
+      for (ValueAtPercentile value : values) {
+        marshalers[index++] =
+            new ValueAtQuantileMarshaler(value.getPercentile() / 100.0, value.getValue());
+      }
+      return marshalers;
+    }
+
+    private ValueAtQuantileMarshaler(double quantile, double value) {
+      super(calculateSize(quantile, value));
+      this.quantile = quantile;
+      this.value = value;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalDouble(
+          SummaryDataPoint.ValueAtQuantile.QUANTILE_FIELD_NUMBER, quantile, output);
+      MarshalerUtil.marshalDouble(
+          SummaryDataPoint.ValueAtQuantile.VALUE_FIELD_NUMBER, value, output);
+    }
+
+    private static int calculateSize(double quantile, double value) {
+      int size = 0;
+      size +=
+          MarshalerUtil.sizeDouble(
+              SummaryDataPoint.ValueAtQuantile.QUANTILE_FIELD_NUMBER, quantile);
+      size += MarshalerUtil.sizeDouble(SummaryDataPoint.ValueAtQuantile.VALUE_FIELD_NUMBER, value);
+      return size;
+    }
+  }
+
+  private static Map<Resource, Map<InstrumentationLibraryInfo, List<MetricMarshaler>>>
+      groupByResourceAndLibrary(Collection<MetricData> metricDataList) {
+    Map<Resource, Map<InstrumentationLibraryInfo, List<MetricMarshaler>>> result = new HashMap<>();
+    for (MetricData metricData : metricDataList) {
+      if (metricData.isEmpty()) {
+        // If no points available then ignore.
+        continue;
+      }
+
+      Resource resource = metricData.getResource();
+      Map<InstrumentationLibraryInfo, List<MetricMarshaler>> libraryInfoListMap =
+          result.get(metricData.getResource());
+      if (libraryInfoListMap == null) {
+        libraryInfoListMap = new HashMap<>();
+        result.put(resource, libraryInfoListMap);
+      }
+      List<MetricMarshaler> metricList =
+          libraryInfoListMap.computeIfAbsent(
+              metricData.getInstrumentationLibraryInfo(), k -> new ArrayList<>());
+      metricList.add(MetricMarshaler.create(metricData));
+    }
+    return result;
+  }
+
+  private static int toProtoTemporality(
+      io.opentelemetry.sdk.metrics.data.AggregationTemporality temporality) {
+    switch (temporality) {
+      case CUMULATIVE:
+        return AggregationTemporality.AGGREGATION_TEMPORALITY_CUMULATIVE.getNumber();
+      case DELTA:
+        return AggregationTemporality.AGGREGATION_TEMPORALITY_DELTA.getNumber();
+    }
+    return AggregationTemporality.AGGREGATION_TEMPORALITY_UNSPECIFIED.getNumber();
+  }
+
+  private static List<DoubleHistogramPointData> toDoubleHistogramPoints(
+      Collection<ExponentialHistogramPointData> points) {
+    List<DoubleHistogramPointData> result = new ArrayList<>(points.size());
+    for (ExponentialHistogramPointData point : points) {
+      result.add(point.toDoubleHistogramPointData());
+    }
+    return result;
+  }
+
+  private MetricsMarshaler() {}
+}
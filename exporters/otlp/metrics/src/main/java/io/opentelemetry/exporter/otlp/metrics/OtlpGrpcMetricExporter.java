@@ -7,14 +7,15 @@ package io.opentelemetry.exporter.otlp.metrics;
 
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import io.grpc.CallOptions;
 import io.grpc.ManagedChannel;
 import io.grpc.Status;
-import io.opentelemetry.exporter.otlp.internal.MetricAdapter;
-import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
+import io.opentelemetry.exporter.otlp.internal.ExportRetrier;
+import io.opentelemetry.exporter.otlp.internal.Marshaler;
 import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceResponse;
-import io.opentelemetry.proto.collector.metrics.v1.MetricsServiceGrpc;
-import io.opentelemetry.proto.collector.metrics.v1.MetricsServiceGrpc.MetricsServiceFutureStub;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.internal.ThrottlingLogger;
 import io.opentelemetry.sdk.metrics.data.MetricData;
@@ -33,9 +34,9 @@ public final class OtlpGrpcMetricExporter implements MetricExporter {
   private final ThrottlingLogger logger =
       new ThrottlingLogger(Logger.getLogger(OtlpGrpcMetricExporter.class.getName()));
 
-  private final MetricsServiceFutureStub metricsService;
   private final ManagedChannel managedChannel;
   private final long timeoutNanos;
+  private final ExportRetrier retrier;
 
   /**
    * Creates a new OTLP gRPC Metric Reporter with the given name, using the given channel.
@@ -43,11 +44,12 @@ public final class OtlpGrpcMetricExporter implements MetricExporter {
    * @param channel the channel to use when communicating with the OpenTelemetry Collector.
    * @param timeoutNanos max waiting time for the collector to process each metric batch. When set
    *     to 0 or to a negative value, the exporter will wait indefinitely.
+   * @param retrier the {@link ExportRetrier} retrying the failed batches.
    */
-  OtlpGrpcMetricExporter(ManagedChannel channel, long timeoutNanos) {
+  OtlpGrpcMetricExporter(ManagedChannel channel, long timeoutNanos, ExportRetrier retrier) {
     this.managedChannel = channel;
     this.timeoutNanos = timeoutNanos;
-    metricsService = MetricsServiceGrpc.newFutureStub(channel);
+    this.retrier = retrier;
   }
 
   /**
@@ -58,27 +60,50 @@ public final class OtlpGrpcMetricExporter implements MetricExporter {
    */
   @Override
   public CompletableResultCode export(Collection<MetricData> metrics) {
-    ExportMetricsServiceRequest exportMetricsServiceRequest =
-        ExportMetricsServiceRequest.newBuilder()
-            .addAllResourceMetrics(MetricAdapter.toProtoResourceMetrics(metrics))
-            .build();
-
-    final CompletableResultCode result = new CompletableResultCode();
-    MetricsServiceFutureStub exporter;
-    if (timeoutNanos > 0) {
-      exporter = metricsService.withDeadlineAfter(timeoutNanos, TimeUnit.NANOSECONDS);
-    } else {
-      exporter = metricsService;
-    }
-
+    // The request is serialized straight into the transport, without building the protobuf
+    // objects of the request.
+    CompletableResultCode result = new CompletableResultCode();
     Futures.addCallback(
-        exporter.export(exportMetricsServiceRequest),
+        send(MetricsMarshaler.RequestMarshaler.create(metrics)),
         new FutureCallback<ExportMetricsServiceResponse>() {
           @Override
           public void onSuccess(@Nullable ExportMetricsServiceResponse response) {
             result.succeed();
           }
 
+          @Override
+          public void onFailure(Throwable t) {
+            result.fail();
+          }
+        },
+        MoreExecutors.directExecutor());
+    return result;
+  }
+
+  /**
+   * Sends the given serialized request, e.g. one replayed by a {@link
+   * DiskBufferingMetricExporter}. The returned future fails with the error of the last attempt if
+   * the request could not be sent.
+   */
+  ListenableFuture<ExportMetricsServiceResponse> send(Marshaler request) {
+    SettableFuture<ExportMetricsServiceResponse> result = SettableFuture.create();
+
+    retrier.send(
+        request,
+        attempt -> {
+          // Each attempt has its own deadline.
+          CallOptions callOptions = CallOptions.DEFAULT;
+          if (timeoutNanos > 0) {
+            callOptions = callOptions.withDeadlineAfter(timeoutNanos, TimeUnit.NANOSECONDS);
+          }
+          return MarshalerMetricsServiceGrpc.export(managedChannel, callOptions, attempt);
+        },
+        new FutureCallback<ExportMetricsServiceResponse>() {
+          @Override
+          public void onSuccess(@Nullable ExportMetricsServiceResponse response) {
+            result.set(response);
+          }
+
           @Override
           public void onFailure(Throwable t) {
             Status status = Status.fromThrowable(t);
@@ -105,10 +130,9 @@ public final class OtlpGrpcMetricExporter implements MetricExporter {
                 break;
             }
             logger.log(Level.FINEST, "Failed to export metrics. Details follow: " + t);
-            result.fail();
+            result.setException(t);
           }
-        },
-        MoreExecutors.directExecutor());
+        });
     return result;
   }
 
@@ -148,6 +172,7 @@ public final class OtlpGrpcMetricExporter implements MetricExporter {
    */
   @Override
   public CompletableResultCode shutdown() {
+    retrier.shutdown();
     try {
       managedChannel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
     } catch (InterruptedException e) {
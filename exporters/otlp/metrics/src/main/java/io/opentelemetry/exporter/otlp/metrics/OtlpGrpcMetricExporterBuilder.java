@@ -13,6 +13,7 @@ import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
 import io.grpc.Metadata;
 import io.grpc.stub.MetadataUtils;
+import io.opentelemetry.exporter.otlp.internal.ExportRetrier;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Duration;
@@ -25,10 +26,18 @@ public final class OtlpGrpcMetricExporterBuilder {
   private static final String DEFAULT_ENDPOINT_URL = "http://localhost:4317";
   private static final URI DEFAULT_ENDPOINT = URI.create(DEFAULT_ENDPOINT_URL);
   private static final long DEFAULT_TIMEOUT_SECS = 10;
+  private static final int DEFAULT_MAX_RETRY_ATTEMPTS = 1;
+  private static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 1_000;
+  private static final long DEFAULT_MAX_BACKOFF_MILLIS = 5_000;
+  private static final long DEFAULT_MAX_RETRY_BUFFER_BYTES = 16 * 1024 * 1024;
 
   private ManagedChannel channel;
   private long timeoutNanos = TimeUnit.SECONDS.toNanos(DEFAULT_TIMEOUT_SECS);
   private URI endpoint = DEFAULT_ENDPOINT;
+  private int maxRetryAttempts = DEFAULT_MAX_RETRY_ATTEMPTS;
+  private long initialBackoffNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_INITIAL_BACKOFF_MILLIS);
+  private long maxBackoffNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MAX_BACKOFF_MILLIS);
+  private long maxRetryBufferBytes = DEFAULT_MAX_RETRY_BUFFER_BYTES;
 
   @Nullable private Metadata metadata;
 
@@ -64,6 +73,50 @@ public final class OtlpGrpcMetricExporterBuilder {
     return setTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
   }
 
+  /**
+   * Sets the maximum number of attempts to send a batch of metrics, including the first one.
+   * Batches failing with a retryable status, e.g. {@code UNAVAILABLE}, are retried after a jittered
+   * exponential backoff, or after the delay requested by the collector. If unset, defaults to
+   * {@value DEFAULT_MAX_RETRY_ATTEMPTS}, which disables retries.
+   */
+  public OtlpGrpcMetricExporterBuilder setMaxRetryAttempts(int maxRetryAttempts) {
+    checkArgument(maxRetryAttempts > 0, "maxRetryAttempts must be positive");
+    this.maxRetryAttempts = maxRetryAttempts;
+    return this;
+  }
+
+  /**
+   * Sets the maximum delay before the first retry of a batch, doubled for each following retry up
+   * to {@code maxBackoff}. The delay of each retry is picked randomly up to this maximum. If unset,
+   * defaults to {@value DEFAULT_INITIAL_BACKOFF_MILLIS}ms and {@value
+   * DEFAULT_MAX_BACKOFF_MILLIS}ms.
+   */
+  public OtlpGrpcMetricExporterBuilder setRetryBackoff(
+      Duration initialBackoff, Duration maxBackoff) {
+    requireNonNull(initialBackoff, "initialBackoff");
+    requireNonNull(maxBackoff, "maxBackoff");
+    checkArgument(
+        !initialBackoff.isNegative() && !initialBackoff.isZero(),
+        "initialBackoff must be positive");
+    checkArgument(
+        maxBackoff.compareTo(initialBackoff) >= 0,
+        "maxBackoff must not be less than initialBackoff");
+    this.initialBackoffNanos = initialBackoff.toNanos();
+    this.maxBackoffNanos = maxBackoff.toNanos();
+    return this;
+  }
+
+  /**
+   * Sets the maximum size, in bytes, of the serialized batches waiting to be retried. Batches
+   * failing while the buffer is full are not retried. If unset, defaults to {@value
+   * DEFAULT_MAX_RETRY_BUFFER_BYTES} bytes.
+   */
+  public OtlpGrpcMetricExporterBuilder setMaxRetryBufferBytes(long maxRetryBufferBytes) {
+    checkArgument(maxRetryBufferBytes > 0, "maxRetryBufferBytes must be positive");
+    this.maxRetryBufferBytes = maxRetryBufferBytes;
+    return this;
+  }
+
   /**
    * Sets the OTLP endpoint to connect to. If unset, defaults to {@value DEFAULT_ENDPOINT_URL}. The
    * endpoint must start with either http:// or https://.
@@ -126,7 +179,14 @@ public final class OtlpGrpcMetricExporterBuilder {
 
       channel = managedChannelBuilder.build();
     }
-    return new OtlpGrpcMetricExporter(channel, timeoutNanos);
+    ExportRetrier retrier =
+        new ExportRetrier(
+            OtlpGrpcMetricExporter.class.getSimpleName(),
+            maxRetryAttempts,
+            initialBackoffNanos,
+            maxBackoffNanos,
+            maxRetryBufferBytes);
+    return new OtlpGrpcMetricExporter(channel, timeoutNanos, retrier);
   }
 
   OtlpGrpcMetricExporterBuilder() {}
@@ -0,0 +1,184 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.io.Closer;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceResponse;
+import io.opentelemetry.proto.collector.metrics.v1.MetricsServiceGrpc;
+import io.opentelemetry.proto.metrics.v1.InstrumentationLibraryMetrics;
+import io.opentelemetry.proto.metrics.v1.Metric;
+import io.opentelemetry.proto.metrics.v1.ResourceMetrics;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.LongSumData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DiskBufferingMetricExporterTest {
+
+  private static final long MAX_DISK_BYTES = 2L * DiskBufferingMetricExporter.SEGMENT_SIZE;
+
+  private final FakeCollector fakeCollector = new FakeCollector();
+  private final String serverName = InProcessServerBuilder.generateName();
+  private final Closer closer = Closer.create();
+
+  @TempDir Path directory;
+
+  @BeforeEach
+  void setup() throws IOException {
+    Server server =
+        InProcessServerBuilder.forName(serverName)
+            .directExecutor()
+            .addService(fakeCollector)
+            .build()
+            .start();
+    closer.register(server::shutdownNow);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    closer.close();
+  }
+
+  @Test
+  void invalidConfig() {
+    OtlpGrpcMetricExporter delegate = newDelegate();
+    assertThatThrownBy(() -> DiskBufferingMetricExporter.create(null, directory, MAX_DISK_BYTES))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("delegate");
+    assertThatThrownBy(() -> DiskBufferingMetricExporter.create(delegate, null, MAX_DISK_BYTES))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("directory");
+    assertThatThrownBy(() -> DiskBufferingMetricExporter.create(delegate, directory, 1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxDiskBytes must be at least " + DiskBufferingMetricExporter.SEGMENT_SIZE);
+  }
+
+  @Test
+  void sendsStoredMetrics() throws IOException {
+    DiskBufferingMetricExporter exporter =
+        DiskBufferingMetricExporter.create(newDelegate(), directory, MAX_DISK_BYTES);
+    try {
+      assertThat(
+              exporter.export(Collections.singletonList(generateFakeMetric("metric"))).isSuccess())
+          .isTrue();
+      assertThat(exporter.flush().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+      assertThat(fakeCollector.getReceivedMetricNames()).containsExactly("metric");
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void dropsNonRetryableFailures() throws IOException {
+    fakeCollector.addReturnedStatus(Status.UNIMPLEMENTED);
+    DiskBufferingMetricExporter exporter =
+        DiskBufferingMetricExporter.create(newDelegate(), directory, MAX_DISK_BYTES);
+    try {
+      exporter.export(Collections.singletonList(generateFakeMetric("poison")));
+      exporter.export(Collections.singletonList(generateFakeMetric("metric")));
+      assertThat(exporter.flush().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+      assertThat(fakeCollector.getReceivedMetricNames()).containsExactly("poison", "metric");
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void retriesRetryableFailures() throws IOException {
+    fakeCollector.addReturnedStatus(Status.UNAVAILABLE);
+    DiskBufferingMetricExporter exporter =
+        DiskBufferingMetricExporter.create(newDelegate(), directory, MAX_DISK_BYTES);
+    try {
+      exporter.export(Collections.singletonList(generateFakeMetric("metric")));
+      assertThat(exporter.flush().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+      assertThat(fakeCollector.getReceivedMetricNames()).containsExactly("metric", "metric");
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  private OtlpGrpcMetricExporter newDelegate() {
+    ManagedChannel channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+    closer.register(channel::shutdownNow);
+    return OtlpGrpcMetricExporter.builder().setChannel(channel).build();
+  }
+
+  private static MetricData generateFakeMetric(String name) {
+    long startNs = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+    long endNs = startNs + TimeUnit.MILLISECONDS.toNanos(900);
+    return MetricData.createLongSum(
+        Resource.empty(),
+        InstrumentationLibraryInfo.empty(),
+        name,
+        "description",
+        "1",
+        LongSumData.create(
+            /* isMonotonic= */ true,
+            AggregationTemporality.CUMULATIVE,
+            Collections.singletonList(
+                LongPointData.create(startNs, endNs, Labels.of("k", "v"), 5))));
+  }
+
+  private static final class FakeCollector extends MetricsServiceGrpc.MetricsServiceImplBase {
+    // Written by the worker thread of the exporters.
+    private final List<String> receivedMetricNames = new CopyOnWriteArrayList<>();
+    private final Queue<Status> returnedStatuses = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void export(
+        ExportMetricsServiceRequest request,
+        StreamObserver<ExportMetricsServiceResponse> responseObserver) {
+      for (ResourceMetrics resourceMetrics : request.getResourceMetricsList()) {
+        for (InstrumentationLibraryMetrics libraryMetrics :
+            resourceMetrics.getInstrumentationLibraryMetricsList()) {
+          for (Metric metric : libraryMetrics.getMetricsList()) {
+            receivedMetricNames.add(metric.getName());
+          }
+        }
+      }
+      Status status = returnedStatuses.poll();
+      if (status != null) {
+        responseObserver.onError(status.asRuntimeException());
+        return;
+      }
+      responseObserver.onNext(ExportMetricsServiceResponse.newBuilder().build());
+      responseObserver.onCompleted();
+    }
+
+    List<String> getReceivedMetricNames() {
+      return receivedMetricNames;
+    }
+
+    void addReturnedStatus(Status status) {
+      returnedStatuses.add(status);
+    }
+  }
+}
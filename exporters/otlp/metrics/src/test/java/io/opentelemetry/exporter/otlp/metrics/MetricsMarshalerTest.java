@@ -0,0 +1,205 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.CodedOutputStream;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.exporter.otlp.internal.MetricAdapter;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.DoubleGaugeData;
+import io.opentelemetry.sdk.metrics.data.DoubleHistogramData;
+import io.opentelemetry.sdk.metrics.data.DoubleHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.DoubleSumData;
+import io.opentelemetry.sdk.metrics.data.DoubleSummaryData;
+import io.opentelemetry.sdk.metrics.data.DoubleSummaryPointData;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramBuckets;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramData;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.LongGaugeData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.LongSumData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.ValueAtPercentile;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MetricsMarshalerTest {
+  private static final Resource RESOURCE =
+      Resource.create(
+          Attributes.builder()
+              .put(AttributeKey.booleanKey("key_bool"), true)
+              .put(AttributeKey.stringKey("key_string"), "string")
+              .put(AttributeKey.longKey("key_int"), 100L)
+              .put(AttributeKey.doubleKey("key_double"), 100.3)
+              .build());
+
+  private static final InstrumentationLibraryInfo INSTRUMENTATION_LIBRARY_INFO =
+      InstrumentationLibraryInfo.create("name", "version");
+
+  @Test
+  void marshalAndSizeRequest() throws IOException {
+    assertMarshalAndSize(
+        Arrays.asList(
+            MetricData.createLongSum(
+                RESOURCE,
+                INSTRUMENTATION_LIBRARY_INFO,
+                "long_sum",
+                "description",
+                "1",
+                LongSumData.create(
+                    /* isMonotonic= */ true,
+                    AggregationTemporality.CUMULATIVE,
+                    Arrays.asList(
+                        LongPointData.create(123, 456, Labels.of("k", "v"), 5),
+                        LongPointData.create(123, 456, Labels.of("k", ""), 0),
+                        LongPointData.create(0, 0, Labels.empty(), -7)))),
+            MetricData.createDoubleSum(
+                RESOURCE,
+                INSTRUMENTATION_LIBRARY_INFO,
+                "double_sum",
+                "",
+                "",
+                DoubleSumData.create(
+                    /* isMonotonic= */ false,
+                    AggregationTemporality.DELTA,
+                    Arrays.asList(
+                        DoublePointData.create(123, 456, Labels.of("k1", "v1", "k2", "v2"), 5.1),
+                        DoublePointData.create(123, 456, Labels.empty(), 0)))),
+            MetricData.createLongGauge(
+                RESOURCE,
+                InstrumentationLibraryInfo.empty(),
+                "long_gauge",
+                "description",
+                "1",
+                LongGaugeData.create(
+                    Collections.singletonList(
+                        LongPointData.create(123, 456, Labels.of("k", "v"), 0)))),
+            MetricData.createDoubleGauge(
+                Resource.empty(),
+                INSTRUMENTATION_LIBRARY_INFO,
+                "double_gauge",
+                "description",
+                "1",
+                DoubleGaugeData.create(
+                    Collections.singletonList(
+                        DoublePointData.create(123, 456, Labels.of("k", "v"), 5.1)))),
+            MetricData.createDoubleSummary(
+                RESOURCE,
+                INSTRUMENTATION_LIBRARY_INFO,
+                "summary",
+                "description",
+                "1",
+                DoubleSummaryData.create(
+                    Arrays.asList(
+                        DoubleSummaryPointData.create(
+                            123, 456, Labels.empty(), 0, 0, Collections.emptyList()),
+                        DoubleSummaryPointData.create(
+                            123,
+                            456,
+                            Labels.of("k", "v"),
+                            5,
+                            14.2,
+                            Arrays.asList(
+                                ValueAtPercentile.create(0.0, 1.1),
+                                ValueAtPercentile.create(100.0, 20.3)))))),
+            MetricData.createDoubleHistogram(
+                RESOURCE,
+                INSTRUMENTATION_LIBRARY_INFO,
+                "histogram",
+                "description",
+                "1",
+                DoubleHistogramData.create(
+                    AggregationTemporality.DELTA,
+                    Arrays.asList(
+                        DoubleHistogramPointData.create(
+                            123,
+                            456,
+                            Labels.of("k", "v"),
+                            14.2,
+                            ImmutableList.of(1.0),
+                            ImmutableList.of(1L, 5L)),
+                        DoubleHistogramPointData.create(
+                            123,
+                            456,
+                            Labels.empty(),
+                            0,
+                            ImmutableList.of(),
+                            ImmutableList.of(0L))))),
+            MetricData.createExponentialHistogram(
+                RESOURCE,
+                INSTRUMENTATION_LIBRARY_INFO,
+                "exponential_histogram",
+                "description",
+                "1",
+                ExponentialHistogramData.create(
+                    AggregationTemporality.CUMULATIVE,
+                    Collections.singletonList(
+                        ExponentialHistogramPointData.create(
+                            123,
+                            456,
+                            Labels.of("k", "v"),
+                            /* scale= */ 0,
+                            5.0,
+                            /* zeroCount= */ 1,
+                            ExponentialHistogramBuckets.create(0, ImmutableList.of(1L, 2L)),
+                            ExponentialHistogramBuckets.empty()))))));
+  }
+
+  @Test
+  void marshalAndSizeRequest_Empty() throws IOException {
+    assertMarshalAndSize(Collections.emptyList());
+    assertMarshalAndSize(
+        Collections.singletonList(
+            MetricData.createLongSum(
+                RESOURCE,
+                INSTRUMENTATION_LIBRARY_INFO,
+                "long_sum",
+                "description",
+                "1",
+                LongSumData.create(
+                    /* isMonotonic= */ true,
+                    AggregationTemporality.CUMULATIVE,
+                    Collections.emptyList()))));
+  }
+
+  private static void assertMarshalAndSize(List<MetricData> metricDataList) throws IOException {
+    ExportMetricsServiceRequest protoRequest =
+        ExportMetricsServiceRequest.newBuilder()
+            .addAllResourceMetrics(MetricAdapter.toProtoResourceMetrics(metricDataList))
+            .build();
+    MetricsMarshaler.RequestMarshaler requestMarshaler =
+        MetricsMarshaler.RequestMarshaler.create(metricDataList);
+    int protoSize = protoRequest.getSerializedSize();
+    assertThat(requestMarshaler.getSerializedSize()).isEqualTo(protoSize);
+
+    ExportMetricsServiceRequest protoCustomRequest =
+        MetricsMarshaler.RequestMarshaler.create(metricDataList).toRequest();
+    assertThat(protoCustomRequest.getSerializedSize()).isEqualTo(protoRequest.getSerializedSize());
+
+    byte[] protoOutput = new byte[protoRequest.getSerializedSize()];
+    protoRequest.writeTo(CodedOutputStream.newInstance(protoOutput));
+
+    byte[] customOutput = new byte[requestMarshaler.getSerializedSize()];
+    requestMarshaler.writeTo(CodedOutputStream.newInstance(customOutput));
+    assertThat(customOutput).isEqualTo(protoOutput);
+
+    byte[] protoCustomOutput = new byte[protoRequest.getSerializedSize()];
+    protoCustomRequest.writeTo(CodedOutputStream.newInstance(protoCustomOutput));
+    assertThat(protoCustomOutput).isEqualTo(protoOutput);
+  }
+}
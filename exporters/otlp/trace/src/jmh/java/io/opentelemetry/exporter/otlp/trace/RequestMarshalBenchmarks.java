@@ -6,9 +6,14 @@
 package io.opentelemetry.exporter.otlp.trace;
 
 import com.google.protobuf.CodedOutputStream;
+import io.grpc.Drainable;
+import io.grpc.MethodDescriptor;
+import io.grpc.protobuf.ProtoUtils;
 import io.opentelemetry.exporter.otlp.internal.SpanAdapter;
 import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.concurrent.TimeUnit;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -26,6 +31,9 @@ import org.openjdk.jmh.annotations.Warmup;
 @Fork(1)
 public class RequestMarshalBenchmarks {
 
+  private static final MethodDescriptor.Marshaller<ExportTraceServiceRequest> PROTO_MARSHALLER =
+      ProtoUtils.marshaller(ExportTraceServiceRequest.getDefaultInstance());
+
   @Benchmark
   @Threads(1)
   public byte[] createProtoMarshal(RequestMarshalState state) {
@@ -75,4 +83,38 @@ public class RequestMarshalBenchmarks {
     protoRequest.writeTo(CodedOutputStream.newInstance(protoOutput));
     return protoOutput;
   }
+
+  // The two export paths as the gRPC transport runs them, which drains the marshalled request into
+  // its output stream.
+  @Benchmark
+  @Threads(1)
+  public int exportProto(RequestMarshalState state) throws IOException {
+    ExportTraceServiceRequest protoRequest =
+        ExportTraceServiceRequest.newBuilder()
+            .addAllResourceSpans(SpanAdapter.toProtoResourceSpans(state.spanDataList))
+            .build();
+    return drain(PROTO_MARSHALLER.stream(protoRequest));
+  }
+
+  @Benchmark
+  @Threads(1)
+  public int exportCustom(RequestMarshalState state) throws IOException {
+    TraceMarshaler.RequestMarshaler requestMarshaler =
+        TraceMarshaler.RequestMarshaler.create(state.spanDataList);
+    return drain(MarshalerTraceServiceGrpc.REQUEST_MARSHALLER.stream(requestMarshaler));
+  }
+
+  private static int drain(InputStream stream) throws IOException {
+    return ((Drainable) stream).drainTo(NullOutputStream.INSTANCE);
+  }
+
+  private static final class NullOutputStream extends OutputStream {
+    private static final NullOutputStream INSTANCE = new NullOutputStream();
+
+    @Override
+    public void write(int b) {}
+
+    @Override
+    public void write(byte[] b, int off, int len) {}
+  }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.trace;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.exporter.otlp.internal.DiskBuffer;
+import io.opentelemetry.exporter.otlp.internal.PersistentExportQueue;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link SpanExporter} which stores the serialized OTLP requests of the exported spans in
+ * memory-mapped files of a directory, and sends them from a background thread with an {@link
+ * OtlpGrpcSpanExporter}. Requests failing with a retryable error are retried with an exponential
+ * backoff, so spans are not lost while the collector is unavailable, nor when the process restarts
+ * before they could be sent. Requests failing with another error, e.g. {@code INVALID_ARGUMENT},
+ * are dropped.
+ *
+ * <p>The disk usage is bounded: when it is reached the oldest requests are dropped.
+ */
+@ThreadSafe
+public final class DiskBufferingSpanExporter implements SpanExporter {
+
+  // Visible for testing
+  static final int SEGMENT_SIZE = 8 * 1024 * 1024;
+
+  private final OtlpGrpcSpanExporter delegate;
+  private final PersistentExportQueue queue;
+
+  /**
+   * Returns a new {@link DiskBufferingSpanExporter} buffering spans in the given directory, which
+   * must not be used by another exporter, and sending them with the given {@code delegate}.
+   * Requests left in the directory by a previous process are sent first.
+   *
+   * @param maxDiskBytes the maximum size of the files of the directory, at least {@value
+   *     SEGMENT_SIZE} bytes.
+   */
+  public static DiskBufferingSpanExporter create(
+      OtlpGrpcSpanExporter delegate, Path directory, long maxDiskBytes) throws IOException {
+    requireNonNull(delegate, "delegate");
+    requireNonNull(directory, "directory");
+    checkArgument(maxDiskBytes >= SEGMENT_SIZE, "maxDiskBytes must be at least " + SEGMENT_SIZE);
+    DiskBuffer buffer = DiskBuffer.open(directory, maxDiskBytes, SEGMENT_SIZE);
+    // Replayed requests are not counted again in the metrics of the delegate.
+    PersistentExportQueue queue =
+        PersistentExportQueue.create(
+            buffer, request -> delegate.send(request, 0), "DiskBufferingSpanExporter_Worker");
+    return new DiskBufferingSpanExporter(delegate, queue);
+  }
+
+  private DiskBufferingSpanExporter(OtlpGrpcSpanExporter delegate, PersistentExportQueue queue) {
+    this.delegate = delegate;
+    this.queue = queue;
+  }
+
+  /**
+   * Stores the given spans on disk, to be sent to the collector in the background.
+   *
+   * @return success once the spans are stored, or failure if they could not be stored.
+   */
+  @Override
+  public CompletableResultCode export(Collection<SpanData> spans) {
+    if (queue.enqueue(TraceMarshaler.RequestMarshaler.create(spans))) {
+      return CompletableResultCode.ofSuccess();
+    }
+    return CompletableResultCode.ofFailure();
+  }
+
+  /** Waits for all the stored spans to be sent to the collector. */
+  @Override
+  public CompletableResultCode flush() {
+    return queue.flush();
+  }
+
+  /**
+   * Stops sending the stored spans, and shuts down the delegate exporter. The spans which have not
+   * been sent are left on disk.
+   */
+  @Override
+  public CompletableResultCode shutdown() {
+    queue.shutdown().join(10, TimeUnit.SECONDS);
+    return delegate.shutdown();
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.trace;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.MethodDescriptor;
+import io.grpc.protobuf.ProtoUtils;
+import io.grpc.stub.ClientCalls;
+import io.opentelemetry.exporter.otlp.internal.Marshaler;
+import io.opentelemetry.exporter.otlp.internal.MarshalerInputStream;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceResponse;
+import io.opentelemetry.proto.collector.trace.v1.TraceServiceGrpc;
+import java.io.InputStream;
+
+/**
+ * A client of the OTLP {@code TraceService} that sends a {@link Marshaler}, usually a {@link
+ * TraceMarshaler.RequestMarshaler}, instead of an {@link
+ * io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest}, so that the spans are
+ * serialized straight into the transport without building the protobuf objects of the request
+ * first.
+ */
+final class MarshalerTraceServiceGrpc {
+
+  // Visible for benchmarks
+  static final MethodDescriptor.Marshaller<Marshaler> REQUEST_MARSHALLER =
+      new MethodDescriptor.Marshaller<Marshaler>() {
+        @Override
+        public InputStream stream(Marshaler value) {
+          return new MarshalerInputStream(value);
+        }
+
+        @Override
+        public Marshaler parse(InputStream stream) {
+          throw new UnsupportedOperationException("Only for serializing");
+        }
+      };
+
+  private static final MethodDescriptor.Marshaller<ExportTraceServiceResponse>
+      RESPONSE_MARSHALLER = ProtoUtils.marshaller(ExportTraceServiceResponse.getDefaultInstance());
+
+  private static final MethodDescriptor<Marshaler, ExportTraceServiceResponse> EXPORT_METHOD =
+      MethodDescriptor.<Marshaler, ExportTraceServiceResponse>newBuilder()
+          .setType(MethodDescriptor.MethodType.UNARY)
+          .setFullMethodName(
+              MethodDescriptor.generateFullMethodName(TraceServiceGrpc.SERVICE_NAME, "Export"))
+          .setRequestMarshaller(REQUEST_MARSHALLER)
+          .setResponseMarshaller(RESPONSE_MARSHALLER)
+          .build();
+
+  private MarshalerTraceServiceGrpc() {}
+
+  /** Sends the given request with the given options, as {@code TraceService.Export} would. */
+  static ListenableFuture<ExportTraceServiceResponse> export(
+      Channel channel, CallOptions callOptions, Marshaler request) {
+    return ClientCalls.futureUnaryCall(channel.newCall(EXPORT_METHOD, callOptions), request);
+  }
+}
@@ -7,7 +7,10 @@ package io.opentelemetry.exporter.otlp.trace;
 
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import io.grpc.CallOptions;
 import io.grpc.ConnectivityState;
 import io.grpc.ManagedChannel;
 import io.grpc.Status;
@@ -16,11 +19,9 @@ import io.opentelemetry.api.metrics.GlobalMeterProvider;
 import io.opentelemetry.api.metrics.LongCounter;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.common.Labels;
-import io.opentelemetry.exporter.otlp.internal.SpanAdapter;
-import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.exporter.otlp.internal.ExportRetrier;
+import io.opentelemetry.exporter.otlp.internal.Marshaler;
 import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceResponse;
-import io.opentelemetry.proto.collector.trace.v1.TraceServiceGrpc;
-import io.opentelemetry.proto.collector.trace.v1.TraceServiceGrpc.TraceServiceFutureStub;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.internal.ThrottlingLogger;
 import io.opentelemetry.sdk.trace.data.SpanData;
@@ -46,10 +47,9 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
   private final ThrottlingLogger logger =
       new ThrottlingLogger(Logger.getLogger(OtlpGrpcSpanExporter.class.getName()));
 
-  private final TraceServiceFutureStub traceService;
-
   private final ManagedChannel managedChannel;
   private final long timeoutNanos;
+  private final ExportRetrier retrier;
   private final BoundLongCounter spansSeen;
   private final BoundLongCounter spansExportedSuccess;
   private final BoundLongCounter spansExportedFailure;
@@ -60,8 +60,9 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
    * @param channel the channel to use when communicating with the OpenTelemetry Collector.
    * @param timeoutNanos max waiting time for the collector to process each span batch. When set to
    *     0 or to a negative value, the exporter will wait indefinitely.
+   * @param retrier the {@link ExportRetrier} retrying the failed batches.
    */
-  OtlpGrpcSpanExporter(ManagedChannel channel, long timeoutNanos) {
+  OtlpGrpcSpanExporter(ManagedChannel channel, long timeoutNanos, ExportRetrier retrier) {
     Meter meter = GlobalMeterProvider.getMeter("io.opentelemetry.exporters.otlp");
     this.spansSeen =
         meter.longCounterBuilder("spansSeenByExporter").build().bind(EXPORTER_NAME_LABELS);
@@ -70,8 +71,7 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
     this.spansExportedFailure = spansExportedCounter.bind(EXPORT_FAILURE_LABELS);
     this.managedChannel = channel;
     this.timeoutNanos = timeoutNanos;
-
-    this.traceService = TraceServiceGrpc.newFutureStub(channel);
+    this.retrier = retrier;
   }
 
   /**
@@ -83,32 +83,54 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
   @Override
   public CompletableResultCode export(Collection<SpanData> spans) {
     spansSeen.add(spans.size());
-    ExportTraceServiceRequest exportTraceServiceRequest =
-        ExportTraceServiceRequest.newBuilder()
-            .addAllResourceSpans(SpanAdapter.toProtoResourceSpans(spans))
-            .build();
-
-    final CompletableResultCode result = new CompletableResultCode();
-
-    TraceServiceFutureStub exporter;
-    if (timeoutNanos > 0) {
-      exporter = traceService.withDeadlineAfter(timeoutNanos, TimeUnit.NANOSECONDS);
-    } else {
-      exporter = traceService;
-    }
-
+    // The request is serialized straight into the transport, without building the protobuf
+    // objects of the request.
+    CompletableResultCode result = new CompletableResultCode();
     Futures.addCallback(
-        exporter.export(exportTraceServiceRequest),
+        send(TraceMarshaler.RequestMarshaler.create(spans), spans.size()),
         new FutureCallback<ExportTraceServiceResponse>() {
           @Override
           public void onSuccess(@Nullable ExportTraceServiceResponse response) {
-            spansExportedSuccess.add(spans.size());
             result.succeed();
           }
 
           @Override
           public void onFailure(Throwable t) {
-            spansExportedFailure.add(spans.size());
+            result.fail();
+          }
+        },
+        MoreExecutors.directExecutor());
+    return result;
+  }
+
+  /**
+   * Sends the given serialized request, e.g. one replayed by a {@link DiskBufferingSpanExporter},
+   * counting {@code numSpans} exported spans in the exporter metrics. The returned future fails
+   * with the error of the last attempt if the request could not be sent.
+   */
+  ListenableFuture<ExportTraceServiceResponse> send(Marshaler request, int numSpans) {
+    SettableFuture<ExportTraceServiceResponse> result = SettableFuture.create();
+
+    retrier.send(
+        request,
+        attempt -> {
+          // Each attempt has its own deadline.
+          CallOptions callOptions = CallOptions.DEFAULT;
+          if (timeoutNanos > 0) {
+            callOptions = callOptions.withDeadlineAfter(timeoutNanos, TimeUnit.NANOSECONDS);
+          }
+          return MarshalerTraceServiceGrpc.export(managedChannel, callOptions, attempt);
+        },
+        new FutureCallback<ExportTraceServiceResponse>() {
+          @Override
+          public void onSuccess(@Nullable ExportTraceServiceResponse response) {
+            spansExportedSuccess.add(numSpans);
+            result.set(response);
+          }
+
+          @Override
+          public void onFailure(Throwable t) {
+            spansExportedFailure.add(numSpans);
             Status status = Status.fromThrowable(t);
             switch (status.getCode()) {
               case UNIMPLEMENTED:
@@ -136,10 +158,9 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
             if (logger.isLoggable(Level.FINEST)) {
               logger.log(Level.FINEST, "Failed to export spans. Details follow: " + t);
             }
-            result.fail();
+            result.setException(t);
           }
-        },
-        MoreExecutors.directExecutor());
+        });
     return result;
   }
 
@@ -179,6 +200,7 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
    */
   @Override
   public CompletableResultCode shutdown() {
+    retrier.shutdown();
     final CompletableResultCode result = new CompletableResultCode();
     managedChannel.notifyWhenStateChanged(ConnectivityState.SHUTDOWN, result::succeed);
     managedChannel.shutdown();
@@ -0,0 +1,206 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.trace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.io.Closer;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceResponse;
+import io.opentelemetry.proto.collector.trace.v1.TraceServiceGrpc;
+import io.opentelemetry.proto.trace.v1.InstrumentationLibrarySpans;
+import io.opentelemetry.proto.trace.v1.ResourceSpans;
+import io.opentelemetry.proto.trace.v1.Span;
+import io.opentelemetry.sdk.testing.trace.TestSpanData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DiskBufferingSpanExporterTest {
+
+  private static final long MAX_DISK_BYTES = 2L * DiskBufferingSpanExporter.SEGMENT_SIZE;
+
+  private final FakeCollector fakeCollector = new FakeCollector();
+  private final String serverName = InProcessServerBuilder.generateName();
+  private final Closer closer = Closer.create();
+
+  @TempDir Path directory;
+
+  @BeforeEach
+  void setup() throws IOException {
+    Server server =
+        InProcessServerBuilder.forName(serverName)
+            .directExecutor()
+            .addService(fakeCollector)
+            .build()
+            .start();
+    closer.register(server::shutdownNow);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    closer.close();
+  }
+
+  @Test
+  void invalidConfig() {
+    OtlpGrpcSpanExporter delegate = newDelegate();
+    assertThatThrownBy(() -> DiskBufferingSpanExporter.create(null, directory, MAX_DISK_BYTES))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("delegate");
+    assertThatThrownBy(() -> DiskBufferingSpanExporter.create(delegate, null, MAX_DISK_BYTES))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("directory");
+    assertThatThrownBy(() -> DiskBufferingSpanExporter.create(delegate, directory, 1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxDiskBytes must be at least " + DiskBufferingSpanExporter.SEGMENT_SIZE);
+  }
+
+  @Test
+  void sendsStoredSpans() throws IOException {
+    DiskBufferingSpanExporter exporter =
+        DiskBufferingSpanExporter.create(newDelegate(), directory, MAX_DISK_BYTES);
+    try {
+      assertThat(exporter.export(Collections.singletonList(generateFakeSpan("span"))).isSuccess())
+          .isTrue();
+      assertThat(exporter.flush().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+      assertThat(fakeCollector.getReceivedSpanNames()).containsExactly("span");
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void retriesRetryableFailures() throws IOException {
+    fakeCollector.addReturnedStatus(Status.UNAVAILABLE);
+    DiskBufferingSpanExporter exporter =
+        DiskBufferingSpanExporter.create(newDelegate(), directory, MAX_DISK_BYTES);
+    try {
+      exporter.export(Collections.singletonList(generateFakeSpan("span")));
+      assertThat(exporter.flush().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+      assertThat(fakeCollector.getReceivedSpanNames()).containsExactly("span", "span");
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void dropsNonRetryableFailures() throws IOException {
+    fakeCollector.addReturnedStatus(Status.INVALID_ARGUMENT);
+    DiskBufferingSpanExporter exporter =
+        DiskBufferingSpanExporter.create(newDelegate(), directory, MAX_DISK_BYTES);
+    try {
+      exporter.export(Collections.singletonList(generateFakeSpan("poison")));
+      exporter.export(Collections.singletonList(generateFakeSpan("span")));
+      assertThat(exporter.flush().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+      assertThat(fakeCollector.getReceivedSpanNames()).containsExactly("poison", "span");
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void sendsSpansLeftOnDisk() throws IOException {
+    fakeCollector.addReturnedStatus(Status.UNAVAILABLE);
+    DiskBufferingSpanExporter stopped =
+        DiskBufferingSpanExporter.create(newDelegate(), directory, MAX_DISK_BYTES);
+    stopped.export(Collections.singletonList(generateFakeSpan("span")));
+    stopped.shutdown().join(10, TimeUnit.SECONDS);
+
+    DiskBufferingSpanExporter exporter =
+        DiskBufferingSpanExporter.create(newDelegate(), directory, MAX_DISK_BYTES);
+    try {
+      assertThat(exporter.flush().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+      assertThat(fakeCollector.getReceivedSpanNames()).endsWith("span");
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  private OtlpGrpcSpanExporter newDelegate() {
+    ManagedChannel channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+    closer.register(channel::shutdownNow);
+    return OtlpGrpcSpanExporter.builder().setChannel(channel).build();
+  }
+
+  private static SpanData generateFakeSpan(String name) {
+    long startNs = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+    return TestSpanData.builder()
+        .setHasEnded(true)
+        .setSpanContext(
+            SpanContext.create(
+                "00000000000000000000000000abc123",
+                "0000000000def456",
+                TraceFlags.getDefault(),
+                TraceState.getDefault()))
+        .setName(name)
+        .setStartEpochNanos(startNs)
+        .setEndEpochNanos(startNs + TimeUnit.MILLISECONDS.toNanos(900))
+        .setStatus(StatusData.ok())
+        .setKind(SpanKind.SERVER)
+        .setLinks(Collections.emptyList())
+        .setTotalRecordedLinks(0)
+        .setTotalRecordedEvents(0)
+        .build();
+  }
+
+  private static final class FakeCollector extends TraceServiceGrpc.TraceServiceImplBase {
+    // Written by the worker thread of the exporters.
+    private final List<String> receivedSpanNames = new CopyOnWriteArrayList<>();
+    private final Queue<Status> returnedStatuses = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void export(
+        ExportTraceServiceRequest request,
+        StreamObserver<ExportTraceServiceResponse> responseObserver) {
+      for (ResourceSpans resourceSpans : request.getResourceSpansList()) {
+        for (InstrumentationLibrarySpans librarySpans :
+            resourceSpans.getInstrumentationLibrarySpansList()) {
+          for (Span span : librarySpans.getSpansList()) {
+            receivedSpanNames.add(span.getName());
+          }
+        }
+      }
+      Status status = returnedStatuses.poll();
+      if (status != null) {
+        responseObserver.onError(status.asRuntimeException());
+        return;
+      }
+      responseObserver.onNext(ExportTraceServiceResponse.newBuilder().build());
+      responseObserver.onCompleted();
+    }
+
+    List<String> getReceivedSpanNames() {
+      return receivedSpanNames;
+    }
+
+    void addReturnedStatus(Status status) {
+      returnedStatuses.add(status);
+    }
+  }
+}
@@ -10,13 +10,17 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.awaitility.Awaitility.await;
 
 import com.google.common.io.Closer;
+import com.google.protobuf.Any;
+import com.google.rpc.RetryInfo;
 import io.github.netmikey.logunit.api.LogCapturer;
 import io.grpc.ManagedChannel;
 import io.grpc.Server;
 import io.grpc.Status;
 import io.grpc.Status.Code;
+import io.grpc.StatusRuntimeException;
 import io.grpc.inprocess.InProcessChannelBuilder;
 import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.protobuf.StatusProto;
 import io.grpc.stub.StreamObserver;
 import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.api.trace.SpanKind;
@@ -37,6 +41,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -101,6 +106,23 @@ class OtlpGrpcSpanExporterTest {
     assertThatThrownBy(() -> OtlpGrpcSpanExporter.builder().setEndpoint("gopher://localhost"))
         .isInstanceOf(IllegalArgumentException.class)
         .hasMessage("Invalid endpoint, must start with http:// or https://: gopher://localhost");
+
+    assertThatThrownBy(() -> OtlpGrpcSpanExporter.builder().setMaxRetryAttempts(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxRetryAttempts must be positive");
+    assertThatThrownBy(
+            () -> OtlpGrpcSpanExporter.builder().setRetryBackoff(Duration.ZERO, Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("initialBackoff must be positive");
+    assertThatThrownBy(
+            () ->
+                OtlpGrpcSpanExporter.builder()
+                    .setRetryBackoff(Duration.ofSeconds(2), Duration.ofSeconds(1)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxBackoff must not be less than initialBackoff");
+    assertThatThrownBy(() -> OtlpGrpcSpanExporter.builder().setMaxRetryBufferBytes(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxRetryBufferBytes must be positive");
   }
 
   @Test
@@ -277,6 +299,123 @@ class OtlpGrpcSpanExporterTest {
     }
   }
 
+  @Test
+  void testExport_RetriesUnavailable() {
+    fakeCollector.setReturnedStatus(Status.UNAVAILABLE, 2);
+    OtlpGrpcSpanExporter exporter =
+        OtlpGrpcSpanExporter.builder()
+            .setChannel(inProcessChannel)
+            .setMaxRetryAttempts(3)
+            .setRetryBackoff(Duration.ofMillis(1), Duration.ofMillis(10))
+            .build();
+    try {
+      CompletableResultCode result = exporter.export(Collections.singletonList(generateFakeSpan()));
+      assertThat(result.join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+      assertThat(fakeCollector.getReceivedSpans()).hasSize(3);
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void testExport_RetriesExhausted() {
+    fakeCollector.setReturnedStatus(Status.UNAVAILABLE);
+    OtlpGrpcSpanExporter exporter =
+        OtlpGrpcSpanExporter.builder()
+            .setChannel(inProcessChannel)
+            .setMaxRetryAttempts(3)
+            .setRetryBackoff(Duration.ofMillis(1), Duration.ofMillis(10))
+            .build();
+    try {
+      CompletableResultCode result = exporter.export(Collections.singletonList(generateFakeSpan()));
+      assertThat(result.join(10, TimeUnit.SECONDS).isSuccess()).isFalse();
+      assertThat(fakeCollector.getReceivedSpans()).hasSize(3);
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void testExport_NotRetryable() {
+    fakeCollector.setReturnedStatus(Status.PERMISSION_DENIED);
+    OtlpGrpcSpanExporter exporter =
+        OtlpGrpcSpanExporter.builder()
+            .setChannel(inProcessChannel)
+            .setMaxRetryAttempts(3)
+            .setRetryBackoff(Duration.ofMillis(1), Duration.ofMillis(10))
+            .build();
+    try {
+      CompletableResultCode result = exporter.export(Collections.singletonList(generateFakeSpan()));
+      assertThat(result.join(10, TimeUnit.SECONDS).isSuccess()).isFalse();
+      assertThat(fakeCollector.getReceivedSpans()).hasSize(1);
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void testExport_ResourceExhaustedWithRetryInfo() {
+    com.google.rpc.Status status =
+        com.google.rpc.Status.newBuilder()
+            .setCode(Code.RESOURCE_EXHAUSTED.value())
+            .addDetails(
+                Any.pack(
+                    RetryInfo.newBuilder()
+                        .setRetryDelay(
+                            com.google.protobuf.Duration.newBuilder().setNanos(1_000_000))
+                        .build()))
+            .build();
+    fakeCollector.setReturnedError(StatusProto.toStatusRuntimeException(status), 1);
+    OtlpGrpcSpanExporter exporter =
+        OtlpGrpcSpanExporter.builder()
+            .setChannel(inProcessChannel)
+            .setMaxRetryAttempts(2)
+            .setRetryBackoff(Duration.ofMinutes(1), Duration.ofMinutes(1))
+            .build();
+    try {
+      CompletableResultCode result = exporter.export(Collections.singletonList(generateFakeSpan()));
+      assertThat(result.join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+      assertThat(fakeCollector.getReceivedSpans()).hasSize(2);
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void testExport_RetryBufferFull() {
+    fakeCollector.setReturnedStatus(Status.UNAVAILABLE, 1);
+    OtlpGrpcSpanExporter exporter =
+        OtlpGrpcSpanExporter.builder()
+            .setChannel(inProcessChannel)
+            .setMaxRetryAttempts(3)
+            .setRetryBackoff(Duration.ofMillis(1), Duration.ofMillis(10))
+            .setMaxRetryBufferBytes(1)
+            .build();
+    try {
+      CompletableResultCode result = exporter.export(Collections.singletonList(generateFakeSpan()));
+      assertThat(result.join(10, TimeUnit.SECONDS).isSuccess()).isFalse();
+      assertThat(fakeCollector.getReceivedSpans()).hasSize(1);
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void testExport_ShutdownDuringBackoff() {
+    fakeCollector.setReturnedStatus(Status.UNAVAILABLE);
+    OtlpGrpcSpanExporter exporter =
+        OtlpGrpcSpanExporter.builder()
+            .setChannel(inProcessChannel)
+            .setMaxRetryAttempts(3)
+            .setRetryBackoff(Duration.ofMinutes(1), Duration.ofMinutes(1))
+            .build();
+    CompletableResultCode result = exporter.export(Collections.singletonList(generateFakeSpan()));
+    assertThat(result.isDone()).isFalse();
+    exporter.shutdown();
+    assertThat(result.isDone()).isTrue();
+    assertThat(result.isSuccess()).isFalse();
+  }
+
   private static SpanData generateFakeSpan() {
     long duration = TimeUnit.MILLISECONDS.toNanos(900);
     long startNs = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
@@ -299,6 +438,8 @@ class OtlpGrpcSpanExporterTest {
   private static final class FakeCollector extends TraceServiceGrpc.TraceServiceImplBase {
     private final List<ResourceSpans> receivedSpans = new ArrayList<>();
     private Status returnedStatus = Status.OK;
+    @Nullable private Throwable returnedError;
+    private int remainingFailures;
 
     @Override
     public void export(
@@ -306,12 +447,14 @@ class OtlpGrpcSpanExporterTest {
         StreamObserver<ExportTraceServiceResponse> responseObserver) {
       receivedSpans.addAll(request.getResourceSpansList());
       responseObserver.onNext(ExportTraceServiceResponse.newBuilder().build());
-      if (!returnedStatus.isOk()) {
+      if (!returnedStatus.isOk() && remainingFailures > 0) {
+        remainingFailures--;
         if (returnedStatus.getCode() == Code.DEADLINE_EXCEEDED) {
           // Do not call onCompleted to simulate a deadline exceeded.
           return;
         }
-        responseObserver.onError(returnedStatus.asRuntimeException());
+        responseObserver.onError(
+            returnedError != null ? returnedError : returnedStatus.asRuntimeException());
         return;
       }
       responseObserver.onCompleted();
@@ -322,7 +465,19 @@ class OtlpGrpcSpanExporterTest {
     }
 
     void setReturnedStatus(Status returnedStatus) {
+      setReturnedStatus(returnedStatus, Integer.MAX_VALUE);
+    }
+
+    void setReturnedStatus(Status returnedStatus, int times) {
       this.returnedStatus = returnedStatus;
+      this.returnedError = null;
+      this.remainingFailures = times;
+    }
+
+    void setReturnedError(StatusRuntimeException returnedError, int times) {
+      this.returnedStatus = returnedError.getStatus();
+      this.returnedError = returnedError;
+      this.remainingFailures = times;
     }
   }
 }
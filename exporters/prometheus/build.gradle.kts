@@ -13,6 +13,8 @@ dependencies {
 
     api("io.prometheus:simpleclient")
 
+    compileOnly("org.codehaus.mojo:animal-sniffer-annotations")
+
     testImplementation("io.prometheus:simpleclient_common")
     testImplementation("com.google.guava:guava")
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.prometheus;
+
+import javax.annotation.Nullable;
+
+/** The formats metrics are exposed to Prometheus in. */
+enum ExpositionFormat {
+  /** The Prometheus text format, version 0.0.4. */
+  TEXT_004("text/plain; version=0.0.4; charset=utf-8"),
+  /** The OpenMetrics text format, version 1.0.0. */
+  OPEN_METRICS("application/openmetrics-text; version=1.0.0; charset=utf-8");
+
+  private final String contentType;
+
+  ExpositionFormat(String contentType) {
+    this.contentType = contentType;
+  }
+
+  String getContentType() {
+    return contentType;
+  }
+
+  /** Returns the format to respond with to a scrape with the given {@code Accept} header. */
+  static ExpositionFormat forAcceptHeader(@Nullable String acceptHeader) {
+    if (acceptHeader != null && acceptHeader.contains("application/openmetrics-text")) {
+      return OPEN_METRICS;
+    }
+    return TEXT_004;
+  }
+}
@@ -13,6 +13,7 @@ import io.opentelemetry.sdk.metrics.data.DoubleHistogramPointData;
 import io.opentelemetry.sdk.metrics.data.DoublePointData;
 import io.opentelemetry.sdk.metrics.data.DoubleSumData;
 import io.opentelemetry.sdk.metrics.data.DoubleSummaryPointData;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramPointData;
 import io.opentelemetry.sdk.metrics.data.LongPointData;
 import io.opentelemetry.sdk.metrics.data.LongSumData;
 import io.opentelemetry.sdk.metrics.data.MetricData;
@@ -89,6 +90,7 @@ final class MetricAdapter {
       case SUMMARY:
         return Collector.Type.SUMMARY;
       case HISTOGRAM:
+      case EXPONENTIAL_HISTOGRAM:
         return Collector.Type.HISTOGRAM;
     }
     return Collector.Type.UNKNOWN;
@@ -131,6 +133,14 @@ final class MetricAdapter {
           addHistogramSamples(
               (DoubleHistogramPointData) pointData, name, labelNames, labelValues, samples);
           break;
+        case EXPONENTIAL_HISTOGRAM:
+          addHistogramSamples(
+              ((ExponentialHistogramPointData) pointData).toDoubleHistogramPointData(),
+              name,
+              labelNames,
+              labelValues,
+              samples);
+          break;
       }
     }
     return samples;
@@ -222,7 +232,7 @@ final class MetricAdapter {
     return numPoints;
   }
 
-  private static Collection<? extends PointData> getPoints(MetricData metricData) {
+  static Collection<? extends PointData> getPoints(MetricData metricData) {
     switch (metricData.getType()) {
       case DOUBLE_GAUGE:
         return metricData.getDoubleGaugeData().getPoints();
@@ -236,6 +246,8 @@ final class MetricAdapter {
         return metricData.getDoubleSummaryData().getPoints();
       case HISTOGRAM:
         return metricData.getDoubleHistogramData().getPoints();
+      case EXPONENTIAL_HISTOGRAM:
+        return metricData.getExponentialHistogramData().getPoints();
     }
     return Collections.emptyList();
   }
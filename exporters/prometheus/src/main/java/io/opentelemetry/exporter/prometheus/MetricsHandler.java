@@ -0,0 +1,86 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.prometheus;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import io.opentelemetry.api.internal.GuardedBy;
+import io.opentelemetry.sdk.metrics.export.MetricProducer;
+import java.io.IOException;
+import java.io.OutputStream;
+import javax.annotation.concurrent.ThreadSafe;
+import org.codehaus.mojo.animal_sniffer.IgnoreJRERequirement;
+
+/**
+ * Serves the metrics of a {@link MetricProducer} to Prometheus scrapes. The scrapes arriving within
+ * the staleness window of the last rendering of a format are served that same rendering, so that
+ * the metrics are collected and written once for concurrent scrapes, e.g. by several Prometheus
+ * replicas.
+ */
+@ThreadSafe
+@IgnoreJRERequirement
+final class MetricsHandler implements HttpHandler {
+
+  private final MetricProducer metricProducer;
+  private final long stalenessNanos;
+  private final Object lock = new Object();
+
+  @GuardedBy("lock")
+  private final PrometheusWriter writer = new PrometheusWriter();
+
+  @GuardedBy("lock")
+  private final Rendering[] renderings = new Rendering[ExpositionFormat.values().length];
+
+  MetricsHandler(MetricProducer metricProducer, long stalenessNanos) {
+    this.metricProducer = metricProducer;
+    this.stalenessNanos = stalenessNanos;
+  }
+
+  @Override
+  public void handle(HttpExchange exchange) throws IOException {
+    try {
+      ExpositionFormat format =
+          ExpositionFormat.forAcceptHeader(exchange.getRequestHeaders().getFirst("Accept"));
+      byte[] body = render(format);
+      exchange.getResponseHeaders().set("Content-Type", format.getContentType());
+      if ("HEAD".equals(exchange.getRequestMethod())) {
+        exchange.sendResponseHeaders(200, -1);
+        return;
+      }
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+
+  /** Returns the metrics written in the given format, rendered within the staleness window. */
+  byte[] render(ExpositionFormat format) {
+    synchronized (lock) {
+      long now = System.nanoTime();
+      Rendering rendering = renderings[format.ordinal()];
+      if (rendering != null && now - rendering.renderedAtNanos < stalenessNanos) {
+        return rendering.bytes;
+      }
+      writer.write(metricProducer.collectAllMetrics(), format);
+      byte[] bytes = writer.toByteArray();
+      renderings[format.ordinal()] = new Rendering(now, bytes);
+      return bytes;
+    }
+  }
+
+  private static final class Rendering {
+    private final long renderedAtNanos;
+    private final byte[] bytes;
+
+    private Rendering(long renderedAtNanos, byte[] bytes) {
+      this.renderedAtNanos = renderedAtNanos;
+      this.bytes = bytes;
+    }
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.prometheus;
+
+import com.sun.net.httpserver.HttpServer;
+import io.opentelemetry.sdk.internal.DaemonThreadFactory;
+import io.opentelemetry.sdk.metrics.export.MetricProducer;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.codehaus.mojo.animal_sniffer.IgnoreJRERequirement;
+
+/**
+ * A lightweight HTTP server exposing the metrics of a {@link MetricProducer} to Prometheus scrapes,
+ * in the Prometheus text format or, if requested by the scraper, in the OpenMetrics format.
+ *
+ * <p>The metrics are written straight from the {@link
+ * io.opentelemetry.sdk.metrics.data.MetricData}, without the {@link PrometheusCollector} and the
+ * Prometheus client registry.
+ */
+@IgnoreJRERequirement // The JDK HTTP server is not available on Android.
+public final class PrometheusHttpServer implements Closeable {
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+
+  /**
+   * Returns a new builder instance for this server.
+   *
+   * @return a new builder instance for this server.
+   */
+  public static PrometheusHttpServerBuilder builder() {
+    return new PrometheusHttpServerBuilder();
+  }
+
+  PrometheusHttpServer(
+      String host, int port, int numThreads, MetricProducer metricProducer, long stalenessNanos)
+      throws IOException {
+    server = HttpServer.create(new InetSocketAddress(host, port), 3);
+    MetricsHandler handler = new MetricsHandler(metricProducer, stalenessNanos);
+    server.createContext("/", handler);
+    server.createContext("/metrics", handler);
+    executor = Executors.newFixedThreadPool(numThreads, new DaemonThreadFactory("prometheus-http"));
+    server.setExecutor(executor);
+    server.start();
+  }
+
+  /** Returns the address the server listens on. */
+  public InetSocketAddress getAddress() {
+    return server.getAddress();
+  }
+
+  /** Stops the server, and the threads serving the scrapes. */
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.prometheus;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.sdk.metrics.export.MetricProducer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/** Builder for {@link PrometheusHttpServer}. */
+public final class PrometheusHttpServerBuilder {
+
+  private static final String DEFAULT_HOST = "0.0.0.0";
+  private static final int DEFAULT_PORT = 9464;
+  private static final int DEFAULT_NUM_THREADS = 5;
+
+  private MetricProducer metricProducer;
+  private String host = DEFAULT_HOST;
+  private int port = DEFAULT_PORT;
+  private int numThreads = DEFAULT_NUM_THREADS;
+  private long stalenessNanos;
+
+  PrometheusHttpServerBuilder() {}
+
+  /**
+   * Sets the metric producer for the server. Required.
+   *
+   * @param metricProducer the {@link MetricProducer} to use.
+   * @return this builder's instance.
+   */
+  public PrometheusHttpServerBuilder setMetricProducer(MetricProducer metricProducer) {
+    this.metricProducer = requireNonNull(metricProducer, "metricProducer");
+    return this;
+  }
+
+  /** Sets the host to bind to. If unset, defaults to {@value DEFAULT_HOST}. */
+  public PrometheusHttpServerBuilder setHost(String host) {
+    requireNonNull(host, "host");
+    checkArgument(!host.isEmpty(), "host must not be empty");
+    this.host = host;
+    return this;
+  }
+
+  /**
+   * Sets the port to bind to, 0 for an ephemeral port. If unset, defaults to {@value
+   * DEFAULT_PORT}.
+   */
+  public PrometheusHttpServerBuilder setPort(int port) {
+    checkArgument(port >= 0 && port <= 65535, "port must be between 0 and 65535");
+    this.port = port;
+    return this;
+  }
+
+  /**
+   * Sets the number of threads serving scrapes. If unset, defaults to {@value
+   * DEFAULT_NUM_THREADS}.
+   */
+  public PrometheusHttpServerBuilder setNumThreads(int numThreads) {
+    checkArgument(numThreads > 0, "numThreads must be positive");
+    this.numThreads = numThreads;
+    return this;
+  }
+
+  /**
+   * Sets how long the metrics written for a scrape are served to the following scrapes, before the
+   * metrics are collected again. Useful when the metrics are scraped by several Prometheus
+   * replicas. If unset, defaults to 0, collecting the metrics for each scrape.
+   */
+  public PrometheusHttpServerBuilder setStaleness(long staleness, TimeUnit unit) {
+    requireNonNull(unit, "unit");
+    checkArgument(staleness >= 0, "staleness must be non-negative");
+    this.stalenessNanos = unit.toNanos(staleness);
+    return this;
+  }
+
+  /**
+   * Sets how long the metrics written for a scrape are served to the following scrapes, before the
+   * metrics are collected again. Useful when the metrics are scraped by several Prometheus
+   * replicas. If unset, defaults to 0, collecting the metrics for each scrape.
+   */
+  public PrometheusHttpServerBuilder setStaleness(Duration staleness) {
+    requireNonNull(staleness, "staleness");
+    return setStaleness(staleness.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Constructs and starts a new {@link PrometheusHttpServer} based on the builder's values.
+   *
+   * @return a new, started, {@link PrometheusHttpServer}.
+   * @throws UncheckedIOException if the server cannot bind to its address.
+   */
+  public PrometheusHttpServer build() {
+    requireNonNull(metricProducer, "metricProducer");
+    try {
+      return new PrometheusHttpServer(host, port, numThreads, metricProducer, stalenessNanos);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not create Prometheus HTTP server", e);
+    }
+  }
+}
@@ -0,0 +1,391 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.prometheus;
+
+import static io.prometheus.client.Collector.doubleToGoString;
+
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.sdk.metrics.data.DoubleHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.DoubleSummaryPointData;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.PointData;
+import io.opentelemetry.sdk.metrics.data.ValueAtPercentile;
+import io.prometheus.client.Collector;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Writes {@link MetricData} in a Prometheus exposition format, straight into a byte buffer reused
+ * across writes, without converting it to {@link Collector.MetricFamilySamples} first.
+ *
+ * <p>The sanitized metric and label names are cached, so that they are only sanitized and encoded
+ * once. The labels of a point are encoded once, and copied to each of the samples of the point.
+ * The samples are the same as the ones of {@link MetricAdapter}.
+ */
+@NotThreadSafe
+final class PrometheusWriter {
+
+  private static final byte[] TOTAL_SUFFIX = ascii("_total");
+  private static final byte[] COUNT_SUFFIX = ascii(MetricAdapter.SAMPLE_SUFFIX_COUNT);
+  private static final byte[] SUM_SUFFIX = ascii(MetricAdapter.SAMPLE_SUFFIX_SUM);
+  private static final byte[] BUCKET_SUFFIX = ascii(MetricAdapter.SAMPLE_SUFFIX_BUCKET);
+  private static final byte[] QUANTILE_LABEL = ascii(MetricAdapter.LABEL_NAME_QUANTILE + "=\"");
+  private static final byte[] LE_LABEL = ascii(MetricAdapter.LABEL_NAME_LE + "=\"");
+  private static final byte[] HELP = ascii("# HELP ");
+  private static final byte[] TYPE = ascii("# TYPE ");
+  private static final byte[] EOF = ascii("# EOF\n");
+
+  private final ByteArrayBuffer output = new ByteArrayBuffer(64 * 1024);
+  private final ByteArrayBuffer labels = new ByteArrayBuffer(256);
+  private final LabelWriter labelWriter = new LabelWriter();
+  private final Map<String, byte[]> metricNames = new HashMap<>();
+  private final Map<String, byte[]> labelPrefixes = new HashMap<>();
+
+  /** Writes the given metrics in the given format, replacing the previously written ones. */
+  void write(Collection<MetricData> metrics, ExpositionFormat format) {
+    output.reset();
+    for (MetricData metric : metrics) {
+      writeMetric(metric, format);
+    }
+    if (format == ExpositionFormat.OPEN_METRICS) {
+      output.write(EOF);
+    }
+  }
+
+  /** Returns a copy of the written bytes. */
+  byte[] toByteArray() {
+    return Arrays.copyOf(output.bytes, output.size);
+  }
+
+  private void writeMetric(MetricData metric, ExpositionFormat format) {
+    Collection<? extends PointData> points = MetricAdapter.getPoints(metric);
+    if (points.isEmpty()) {
+      return;
+    }
+    Collector.Type type = MetricAdapter.toMetricFamilyType(metric);
+    byte[] name = metricNames.computeIfAbsent(metric.getName(), PrometheusWriter::sanitizeName);
+    int nameLength = name.length;
+    if (type == Collector.Type.COUNTER && endsWith(name, TOTAL_SUFFIX)) {
+      // The suffix is added back below.
+      nameLength -= TOTAL_SUFFIX.length;
+    }
+    // Only the samples of counters are suffixed in OpenMetrics, both the samples and the family in
+    // the Prometheus text format.
+    boolean familyTotal = type == Collector.Type.COUNTER && format == ExpositionFormat.TEXT_004;
+
+    output.write(HELP);
+    output.write(name, nameLength);
+    if (familyTotal) {
+      output.write(TOTAL_SUFFIX);
+    }
+    output.write(' ');
+    output.writeEscaped(metric.getDescription(), format == ExpositionFormat.OPEN_METRICS);
+    output.write('\n');
+    output.write(TYPE);
+    output.write(name, nameLength);
+    if (familyTotal) {
+      output.write(TOTAL_SUFFIX);
+    }
+    output.write(' ');
+    output.writeAscii(typeName(type, format));
+    output.write('\n');
+
+    for (PointData point : points) {
+      writeLabels(point.getLabels());
+      switch (metric.getType()) {
+        case DOUBLE_SUM:
+        case DOUBLE_GAUGE:
+          writeSampleName(name, nameLength, type == Collector.Type.COUNTER ? TOTAL_SUFFIX : null);
+          writeLabelsBlock(null, null, format);
+          output.writeDouble(((DoublePointData) point).getValue());
+          output.write('\n');
+          break;
+        case LONG_SUM:
+        case LONG_GAUGE:
+          writeSampleName(name, nameLength, type == Collector.Type.COUNTER ? TOTAL_SUFFIX : null);
+          writeLabelsBlock(null, null, format);
+          output.writeLong(((LongPointData) point).getValue());
+          output.write('\n');
+          break;
+        case SUMMARY:
+          writeSummary((DoubleSummaryPointData) point, name, nameLength, format);
+          break;
+        case HISTOGRAM:
+          writeHistogram((DoubleHistogramPointData) point, name, nameLength, format);
+          break;
+        case EXPONENTIAL_HISTOGRAM:
+          writeHistogram(
+              ((ExponentialHistogramPointData) point).toDoubleHistogramPointData(),
+              name,
+              nameLength,
+              format);
+          break;
+      }
+    }
+  }
+
+  private void writeSummary(
+      DoubleSummaryPointData point, byte[] name, int nameLength, ExpositionFormat format) {
+    writeSampleName(name, nameLength, COUNT_SUFFIX);
+    writeLabelsBlock(null, null, format);
+    output.writeLong(point.getCount());
+    output.write('\n');
+    writeSampleName(name, nameLength, SUM_SUFFIX);
+    writeLabelsBlock(null, null, format);
+    output.writeDouble(point.getSum());
+    output.write('\n');
+    for (ValueAtPercentile valueAtPercentile : point.getPercentileValues()) {
+      writeSampleName(name, nameLength, null);
+      writeLabelsBlock(QUANTILE_LABEL, doubleToGoString(valueAtPercentile.getPercentile()), format);
+      output.writeDouble(valueAtPercentile.getValue());
+      output.write('\n');
+    }
+  }
+
+  private void writeHistogram(
+      DoubleHistogramPointData point, byte[] name, int nameLength, ExpositionFormat format) {
+    writeSampleName(name, nameLength, COUNT_SUFFIX);
+    writeLabelsBlock(null, null, format);
+    output.writeLong(point.getCount());
+    output.write('\n');
+    writeSampleName(name, nameLength, SUM_SUFFIX);
+    writeLabelsBlock(null, null, format);
+    output.writeDouble(point.getSum());
+    output.write('\n');
+    List<Double> boundaries = point.getBoundaries();
+    List<Long> counts = point.getCounts();
+    long cumulativeCount = 0;
+    for (int i = 0; i < counts.size(); i++) {
+      cumulativeCount += counts.get(i);
+      writeSampleName(name, nameLength, BUCKET_SUFFIX);
+      writeLabelsBlock(
+          LE_LABEL,
+          doubleToGoString(i < boundaries.size() ? boundaries.get(i) : Double.POSITIVE_INFINITY),
+          format);
+      output.writeLong(cumulativeCount);
+      output.write('\n');
+    }
+  }
+
+  private void writeSampleName(byte[] name, int nameLength, @Nullable byte[] suffix) {
+    output.write(name, nameLength);
+    if (suffix != null) {
+      output.write(suffix);
+    }
+  }
+
+  /** Encodes the given labels once, as {@code name="value",} pairs, to be copied to each sample. */
+  private void writeLabels(Labels pointLabels) {
+    labels.reset();
+    pointLabels.forEach(labelWriter);
+  }
+
+  /**
+   * Writes the labels of the current point, and the given extra label if any, followed by the space
+   * separating them from the value.
+   */
+  private void writeLabelsBlock(
+      @Nullable byte[] extraLabelPrefix,
+      @Nullable String extraLabelValue,
+      ExpositionFormat format) {
+    if (labels.size == 0 && extraLabelPrefix == null) {
+      output.write(' ');
+      return;
+    }
+    output.write('{');
+    if (extraLabelPrefix == null && format == ExpositionFormat.OPEN_METRICS) {
+      // No trailing comma in OpenMetrics.
+      output.write(labels.bytes, labels.size - 1);
+    } else {
+      output.write(labels.bytes, labels.size);
+    }
+    if (extraLabelPrefix != null && extraLabelValue != null) {
+      output.write(extraLabelPrefix);
+      output.writeAscii(extraLabelValue);
+      output.write('"');
+      if (format == ExpositionFormat.TEXT_004) {
+        output.write(',');
+      }
+    }
+    output.write('}');
+    output.write(' ');
+  }
+
+  private static String typeName(Collector.Type type, ExpositionFormat format) {
+    switch (type) {
+      case COUNTER:
+        return "counter";
+      case GAUGE:
+        return "gauge";
+      case SUMMARY:
+        return "summary";
+      case HISTOGRAM:
+        return "histogram";
+      default:
+        return format == ExpositionFormat.OPEN_METRICS ? "unknown" : "untyped";
+    }
+  }
+
+  private static byte[] sanitizeName(String name) {
+    return Collector.sanitizeMetricName(name).getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[] labelPrefix(String key) {
+    return (Collector.sanitizeMetricName(key) + "=\"").getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static boolean endsWith(byte[] bytes, byte[] suffix) {
+    if (bytes.length < suffix.length) {
+      return false;
+    }
+    for (int i = 0; i < suffix.length; i++) {
+      if (bytes[bytes.length - suffix.length + i] != suffix[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static byte[] ascii(String value) {
+    return value.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  private final class LabelWriter implements BiConsumer<String, String> {
+    @Override
+    public void accept(String key, @Nullable String value) {
+      labels.write(labelPrefixes.computeIfAbsent(key, PrometheusWriter::labelPrefix));
+      if (value != null) {
+        labels.writeEscaped(value, /* escapeQuote= */ true);
+      }
+      labels.write('"');
+      labels.write(',');
+    }
+  }
+
+  /** A growable byte array, which keeps its capacity when reset. */
+  private static final class ByteArrayBuffer {
+    private byte[] bytes;
+    private int size;
+
+    private ByteArrayBuffer(int initialCapacity) {
+      bytes = new byte[initialCapacity];
+    }
+
+    private void reset() {
+      size = 0;
+    }
+
+    private void ensureCapacity(int additional) {
+      if (size + additional > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+      }
+    }
+
+    private void write(int b) {
+      ensureCapacity(1);
+      bytes[size++] = (byte) b;
+    }
+
+    private void write(byte[] src) {
+      write(src, src.length);
+    }
+
+    private void write(byte[] src, int length) {
+      ensureCapacity(length);
+      System.arraycopy(src, 0, bytes, size, length);
+      size += length;
+    }
+
+    private void writeAscii(String value) {
+      int length = value.length();
+      ensureCapacity(length);
+      for (int i = 0; i < length; i++) {
+        bytes[size++] = (byte) value.charAt(i);
+      }
+    }
+
+    private void writeLong(long value) {
+      // Sample values are floats, so integers are written as such, e.g. 5.0, as the Prometheus
+      // client does.
+      if (value == Long.MIN_VALUE) {
+        writeAscii("-9223372036854775808.0");
+        return;
+      }
+      ensureCapacity(22);
+      if (value < 0) {
+        bytes[size++] = '-';
+        value = -value;
+      }
+      int start = size;
+      do {
+        bytes[size++] = (byte) ('0' + value % 10);
+        value /= 10;
+      } while (value != 0);
+      for (int i = start, j = size - 1; i < j; i++, j--) {
+        byte tmp = bytes[i];
+        bytes[i] = bytes[j];
+        bytes[j] = tmp;
+      }
+      bytes[size++] = '.';
+      bytes[size++] = '0';
+    }
+
+    private void writeDouble(double value) {
+      writeAscii(doubleToGoString(value));
+    }
+
+    /**
+     * Writes the given string in UTF-8, escaping backslashes and line feeds, and double quotes if
+     * {@code escapeQuote}.
+     */
+    private void writeEscaped(String value, boolean escapeQuote) {
+      int length = value.length();
+      for (int i = 0; i < length; i++) {
+        char c = value.charAt(i);
+        if (c == '\\') {
+          write('\\');
+          write('\\');
+        } else if (c == '\n') {
+          write('\\');
+          write('n');
+        } else if (c == '"' && escapeQuote) {
+          write('\\');
+          write('"');
+        } else if (c < 0x80) {
+          write(c);
+        } else if (c < 0x800) {
+          write(0xc0 | (c >> 6));
+          write(0x80 | (c & 0x3f));
+        } else if (Character.isHighSurrogate(c)
+            && i + 1 < length
+            && Character.isLowSurrogate(value.charAt(i + 1))) {
+          int codePoint = Character.toCodePoint(c, value.charAt(++i));
+          write(0xf0 | (codePoint >> 18));
+          write(0x80 | ((codePoint >> 12) & 0x3f));
+          write(0x80 | ((codePoint >> 6) & 0x3f));
+          write(0x80 | (codePoint & 0x3f));
+        } else if (Character.isSurrogate(c)) {
+          // Unpaired surrogate, as String.getBytes would.
+          write('?');
+        } else {
+          write(0xe0 | (c >> 12));
+          write(0x80 | ((c >> 6) & 0x3f));
+          write(0x80 | (c & 0x3f));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.prometheus;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.io.ByteStreams;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.LongSumData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.MetricProducer;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PrometheusHttpServerTest {
+
+  private static final MetricData COUNTER =
+      MetricData.createLongSum(
+          Resource.create(Attributes.of(stringKey("kr"), "vr")),
+          InstrumentationLibraryInfo.create("grpc", "version"),
+          "grpc.name",
+          "long_description",
+          "1",
+          LongSumData.create(
+              /* isMonotonic= */ true,
+              AggregationTemporality.CUMULATIVE,
+              Collections.singletonList(LongPointData.create(123, 456, Labels.of("kp", "vp"), 5))));
+
+  @Mock MetricProducer metricProducer;
+  PrometheusHttpServer server;
+
+  @AfterEach
+  void tearDown() {
+    if (server != null) {
+      server.close();
+    }
+  }
+
+  @Test
+  void invalidConfig() {
+    assertThatThrownBy(() -> PrometheusHttpServer.builder().setMetricProducer(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("metricProducer");
+    assertThatThrownBy(() -> PrometheusHttpServer.builder().setHost(""))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("host must not be empty");
+    assertThatThrownBy(() -> PrometheusHttpServer.builder().setPort(-1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("port must be between 0 and 65535");
+    assertThatThrownBy(() -> PrometheusHttpServer.builder().setNumThreads(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("numThreads must be positive");
+    assertThatThrownBy(() -> PrometheusHttpServer.builder().setStaleness(-1, TimeUnit.SECONDS))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("staleness must be non-negative");
+    assertThatThrownBy(() -> PrometheusHttpServer.builder().build())
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("metricProducer");
+  }
+
+  @Test
+  void scrapeText004() throws IOException {
+    server = startServer();
+
+    HttpURLConnection connection = scrape("/metrics", null);
+
+    assertThat(connection.getResponseCode()).isEqualTo(200);
+    assertThat(connection.getContentType()).isEqualTo("text/plain; version=0.0.4; charset=utf-8");
+    assertThat(body(connection))
+        .isEqualTo(
+            "# HELP grpc_name_total long_description\n"
+                + "# TYPE grpc_name_total counter\n"
+                + "grpc_name_total{kp=\"vp\",} 5.0\n");
+  }
+
+  @Test
+  void scrapeOpenMetrics() throws IOException {
+    server = startServer();
+
+    HttpURLConnection connection =
+        scrape("/", "application/openmetrics-text; version=1.0.0,text/plain;q=0.5");
+
+    assertThat(connection.getResponseCode()).isEqualTo(200);
+    assertThat(connection.getContentType())
+        .isEqualTo("application/openmetrics-text; version=1.0.0; charset=utf-8");
+    assertThat(body(connection))
+        .isEqualTo(
+            "# HELP grpc_name long_description\n"
+                + "# TYPE grpc_name counter\n"
+                + "grpc_name_total{kp=\"vp\"} 5.0\n"
+                + "# EOF\n");
+  }
+
+  @Test
+  void scrapeHead() throws IOException {
+    server = startServer();
+
+    HttpURLConnection connection = scrape("/metrics", null);
+    connection.setRequestMethod("HEAD");
+
+    assertThat(connection.getResponseCode()).isEqualTo(200);
+    assertThat(connection.getContentType()).isEqualTo("text/plain; version=0.0.4; charset=utf-8");
+    assertThat(body(connection)).isEmpty();
+  }
+
+  @Test
+  void renderedForEachScrape() throws IOException {
+    server = startServer();
+
+    assertThat(scrape("/metrics", null).getResponseCode()).isEqualTo(200);
+    assertThat(scrape("/metrics", null).getResponseCode()).isEqualTo(200);
+
+    verify(metricProducer, times(2)).collectAllMetrics();
+  }
+
+  @Test
+  void renderingReusedWithinStaleness() {
+    when(metricProducer.collectAllMetrics()).thenReturn(Collections.singletonList(COUNTER));
+    MetricsHandler handler = new MetricsHandler(metricProducer, TimeUnit.MINUTES.toNanos(1));
+
+    byte[] first = handler.render(ExpositionFormat.TEXT_004);
+    assertThat(handler.render(ExpositionFormat.TEXT_004)).isSameAs(first);
+    verify(metricProducer, times(1)).collectAllMetrics();
+
+    // Each format is rendered separately.
+    assertThat(handler.render(ExpositionFormat.OPEN_METRICS)).isNotEqualTo(first);
+    verify(metricProducer, times(2)).collectAllMetrics();
+  }
+
+  @Test
+  void renderingNotReusedWithoutStaleness() {
+    when(metricProducer.collectAllMetrics()).thenReturn(Collections.singletonList(COUNTER));
+    MetricsHandler handler = new MetricsHandler(metricProducer, 0);
+
+    byte[] first = handler.render(ExpositionFormat.TEXT_004);
+    byte[] second = handler.render(ExpositionFormat.TEXT_004);
+
+    assertThat(second).isNotSameAs(first).isEqualTo(first);
+    verify(metricProducer, times(2)).collectAllMetrics();
+  }
+
+  private PrometheusHttpServer startServer() {
+    when(metricProducer.collectAllMetrics()).thenReturn(Collections.singletonList(COUNTER));
+    return PrometheusHttpServer.builder()
+        .setMetricProducer(metricProducer)
+        .setHost("localhost")
+        .setPort(0)
+        .build();
+  }
+
+  private HttpURLConnection scrape(String path, @Nullable String accept) throws IOException {
+    URL url = new URL("http", "localhost", server.getAddress().getPort(), path);
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    if (accept != null) {
+      connection.setRequestProperty("Accept", accept);
+    }
+    return connection;
+  }
+
+  private static String body(HttpURLConnection connection) throws IOException {
+    try (InputStream in = connection.getInputStream()) {
+      return new String(ByteStreams.toByteArray(in), StandardCharsets.UTF_8);
+    }
+  }
+}
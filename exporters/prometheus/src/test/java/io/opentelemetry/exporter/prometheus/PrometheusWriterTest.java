@@ -0,0 +1,240 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.prometheus;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.DoubleGaugeData;
+import io.opentelemetry.sdk.metrics.data.DoubleHistogramData;
+import io.opentelemetry.sdk.metrics.data.DoubleHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.DoubleSumData;
+import io.opentelemetry.sdk.metrics.data.DoubleSummaryData;
+import io.opentelemetry.sdk.metrics.data.DoubleSummaryPointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.LongSumData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.ValueAtPercentile;
+import io.opentelemetry.sdk.resources.Resource;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+class PrometheusWriterTest {
+
+  private static final Resource RESOURCE = Resource.create(Attributes.of(stringKey("kr"), "vr"));
+  private static final InstrumentationLibraryInfo LIBRARY =
+      InstrumentationLibraryInfo.create("full", "version");
+
+  private static final MetricData LONG_COUNTER =
+      MetricData.createLongSum(
+          RESOURCE,
+          LIBRARY,
+          "grpc.name",
+          "long_description",
+          "1",
+          LongSumData.create(
+              /* isMonotonic= */ true,
+              AggregationTemporality.CUMULATIVE,
+              ImmutableList.of(
+                  LongPointData.create(123, 456, Labels.of("kp", "vp"), 5),
+                  LongPointData.create(123, 456, Labels.empty(), -7))));
+  private static final MetricData DOUBLE_GAUGE =
+      MetricData.createDoubleGauge(
+          RESOURCE,
+          LIBRARY,
+          "http.name",
+          "double_description",
+          "1",
+          DoubleGaugeData.create(
+              Collections.singletonList(
+                  DoublePointData.create(123, 456, Labels.of("kp", "vp", "kq", "vq"), 3.5))));
+  private static final MetricData SUMMARY =
+      MetricData.createDoubleSummary(
+          RESOURCE,
+          LIBRARY,
+          "summary.name",
+          "summary_description",
+          "ms",
+          DoubleSummaryData.create(
+              Collections.singletonList(
+                  DoubleSummaryPointData.create(
+                      123,
+                      456,
+                      Labels.of("kp", "vp"),
+                      5,
+                      7,
+                      ImmutableList.of(
+                          ValueAtPercentile.create(0.9, 0.1),
+                          ValueAtPercentile.create(0.99, 0.3))))));
+  private static final MetricData HISTOGRAM =
+      MetricData.createDoubleHistogram(
+          RESOURCE,
+          LIBRARY,
+          "histogram.name",
+          "histogram_description",
+          "ms",
+          DoubleHistogramData.create(
+              AggregationTemporality.CUMULATIVE,
+              Collections.singletonList(
+                  DoubleHistogramPointData.create(
+                      123,
+                      456,
+                      Labels.empty(),
+                      4.5,
+                      ImmutableList.of(1.0),
+                      ImmutableList.of(1L, 2L)))));
+
+  private final PrometheusWriter writer = new PrometheusWriter();
+
+  @Test
+  void writeText004() {
+    assertThat(
+            write(
+                ImmutableList.of(LONG_COUNTER, DOUBLE_GAUGE, SUMMARY, HISTOGRAM),
+                ExpositionFormat.TEXT_004))
+        .isEqualTo(
+            "# HELP grpc_name_total long_description\n"
+                + "# TYPE grpc_name_total counter\n"
+                + "grpc_name_total{kp=\"vp\",} 5.0\n"
+                + "grpc_name_total -7.0\n"
+                + "# HELP http_name double_description\n"
+                + "# TYPE http_name gauge\n"
+                + "http_name{kp=\"vp\",kq=\"vq\",} 3.5\n"
+                + "# HELP summary_name summary_description\n"
+                + "# TYPE summary_name summary\n"
+                + "summary_name_count{kp=\"vp\",} 5.0\n"
+                + "summary_name_sum{kp=\"vp\",} 7.0\n"
+                + "summary_name{kp=\"vp\",quantile=\"0.9\",} 0.1\n"
+                + "summary_name{kp=\"vp\",quantile=\"0.99\",} 0.3\n"
+                + "# HELP histogram_name histogram_description\n"
+                + "# TYPE histogram_name histogram\n"
+                + "histogram_name_count 3.0\n"
+                + "histogram_name_sum 4.5\n"
+                + "histogram_name_bucket{le=\"1.0\",} 1.0\n"
+                + "histogram_name_bucket{le=\"+Inf\",} 3.0\n");
+  }
+
+  @Test
+  void writeOpenMetrics() {
+    assertThat(
+            write(
+                ImmutableList.of(LONG_COUNTER, DOUBLE_GAUGE, SUMMARY, HISTOGRAM),
+                ExpositionFormat.OPEN_METRICS))
+        .isEqualTo(
+            "# HELP grpc_name long_description\n"
+                + "# TYPE grpc_name counter\n"
+                + "grpc_name_total{kp=\"vp\"} 5.0\n"
+                + "grpc_name_total -7.0\n"
+                + "# HELP http_name double_description\n"
+                + "# TYPE http_name gauge\n"
+                + "http_name{kp=\"vp\",kq=\"vq\"} 3.5\n"
+                + "# HELP summary_name summary_description\n"
+                + "# TYPE summary_name summary\n"
+                + "summary_name_count{kp=\"vp\"} 5.0\n"
+                + "summary_name_sum{kp=\"vp\"} 7.0\n"
+                + "summary_name{kp=\"vp\",quantile=\"0.9\"} 0.1\n"
+                + "summary_name{kp=\"vp\",quantile=\"0.99\"} 0.3\n"
+                + "# HELP histogram_name histogram_description\n"
+                + "# TYPE histogram_name histogram\n"
+                + "histogram_name_count 3.0\n"
+                + "histogram_name_sum 4.5\n"
+                + "histogram_name_bucket{le=\"1.0\"} 1.0\n"
+                + "histogram_name_bucket{le=\"+Inf\"} 3.0\n"
+                + "# EOF\n");
+  }
+
+  @Test
+  void counterTotalSuffix_NotDuplicated() {
+    MetricData counter =
+        MetricData.createDoubleSum(
+            RESOURCE,
+            LIBRARY,
+            "requests_total",
+            "description",
+            "1",
+            DoubleSumData.create(
+                /* isMonotonic= */ true,
+                AggregationTemporality.CUMULATIVE,
+                Collections.singletonList(DoublePointData.create(123, 456, Labels.empty(), 2))));
+
+    assertThat(write(Collections.singletonList(counter), ExpositionFormat.TEXT_004))
+        .isEqualTo(
+            "# HELP requests_total description\n"
+                + "# TYPE requests_total counter\n"
+                + "requests_total 2.0\n");
+    assertThat(write(Collections.singletonList(counter), ExpositionFormat.OPEN_METRICS))
+        .isEqualTo(
+            "# HELP requests description\n"
+                + "# TYPE requests counter\n"
+                + "requests_total 2.0\n"
+                + "# EOF\n");
+  }
+
+  @Test
+  void escaping() {
+    MetricData gauge =
+        MetricData.createDoubleGauge(
+            RESOURCE,
+            LIBRARY,
+            "name",
+            "multi\nline \"quoted\" \\ description",
+            "1",
+            DoubleGaugeData.create(
+                Collections.singletonList(
+                    DoublePointData.create(
+                        123, 456, Labels.of("k.p", "a\"b\\c\nd é"), Double.NaN))));
+
+    assertThat(write(Collections.singletonList(gauge), ExpositionFormat.TEXT_004))
+        .isEqualTo(
+            "# HELP name multi\\nline \"quoted\" \\\\ description\n"
+                + "# TYPE name gauge\n"
+                + "name{k_p=\"a\\\"b\\\\c\\nd é\",} NaN\n");
+    assertThat(write(Collections.singletonList(gauge), ExpositionFormat.OPEN_METRICS))
+        .isEqualTo(
+            "# HELP name multi\\nline \\\"quoted\\\" \\\\ description\n"
+                + "# TYPE name gauge\n"
+                + "name{k_p=\"a\\\"b\\\\c\\nd é\"} NaN\n"
+                + "# EOF\n");
+  }
+
+  @Test
+  void emptyPointsSkipped() {
+    MetricData empty =
+        MetricData.createDoubleGauge(
+            RESOURCE,
+            LIBRARY,
+            "name",
+            "description",
+            "1",
+            DoubleGaugeData.create(Collections.emptyList()));
+
+    assertThat(write(Collections.singletonList(empty), ExpositionFormat.TEXT_004)).isEmpty();
+    assertThat(write(Collections.singletonList(empty), ExpositionFormat.OPEN_METRICS))
+        .isEqualTo("# EOF\n");
+  }
+
+  @Test
+  void reusedAcrossWrites() {
+    String first = write(ImmutableList.of(LONG_COUNTER, HISTOGRAM), ExpositionFormat.TEXT_004);
+    write(ImmutableList.of(DOUBLE_GAUGE, SUMMARY), ExpositionFormat.OPEN_METRICS);
+
+    assertThat(write(ImmutableList.of(LONG_COUNTER, HISTOGRAM), ExpositionFormat.TEXT_004))
+        .isEqualTo(first);
+  }
+
+  private String write(Collection<MetricData> metrics, ExpositionFormat format) {
+    writer.write(metrics, format);
+    return new String(writer.toByteArray(), StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,747 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.zipkin;
+
+import static io.opentelemetry.exporter.zipkin.ZipkinSpanExporter.toEpochMicros;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.AttributeType;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import zipkin2.Endpoint;
+import zipkin2.Span;
+import zipkin2.codec.BytesEncoder;
+import zipkin2.codec.Encoding;
+import zipkin2.codec.SpanBytesEncoder;
+
+/**
+ * Encodes {@link SpanData} in the Zipkin v2 JSON or proto3 format, straight into a buffer pooled
+ * per thread, producing the same bytes as {@link ZipkinSpanExporter#generateSpan(SpanData)}
+ * encoded by {@link SpanBytesEncoder#JSON_V2} or {@link SpanBytesEncoder#PROTO3}, without building
+ * a {@link Span} first.
+ *
+ * <p>The local endpoint only depends on the {@link Resource} of the spans, so it is encoded once,
+ * by the Zipkin encoder, and the encoded bytes are copied into each span of that resource.
+ */
+@ThreadSafe
+final class SpanDataBytesEncoder implements BytesEncoder<SpanData> {
+
+  // Buffers that grew past this size, e.g. for a span with huge attributes, are not kept.
+  private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+
+  private static final ThreadLocal<SpanWriter> WRITERS = ThreadLocal.withInitial(SpanWriter::new);
+
+  private final Encoding encoding;
+  @Nullable private final InetAddress localAddress;
+  @Nullable private volatile EncodedEndpoint encodedEndpoint;
+
+  /**
+   * Returns an encoder writing the same bytes as the given {@link Span} encoder, or {@code null} if
+   * it is not one of {@link SpanBytesEncoder#JSON_V2} or {@link SpanBytesEncoder#PROTO3}.
+   */
+  @Nullable
+  static SpanDataBytesEncoder forSpanEncoder(
+      BytesEncoder<Span> encoder, @Nullable InetAddress localAddress) {
+    if (encoder == SpanBytesEncoder.JSON_V2) {
+      return new SpanDataBytesEncoder(Encoding.JSON, localAddress);
+    }
+    if (encoder == SpanBytesEncoder.PROTO3) {
+      return new SpanDataBytesEncoder(Encoding.PROTO3, localAddress);
+    }
+    return null;
+  }
+
+  private SpanDataBytesEncoder(Encoding encoding, @Nullable InetAddress localAddress) {
+    this.encoding = encoding;
+    this.localAddress = localAddress;
+  }
+
+  @Override
+  public Encoding encoding() {
+    return encoding;
+  }
+
+  @Override
+  public int sizeInBytes(SpanData span) {
+    SpanWriter writer = WRITERS.get();
+    writer.reset();
+    writeSpan(writer, span);
+    int size = writer.size;
+    release(writer);
+    return size;
+  }
+
+  @Override
+  public byte[] encode(SpanData span) {
+    SpanWriter writer = WRITERS.get();
+    writer.reset();
+    writeSpan(writer, span);
+    byte[] bytes = writer.toByteArray();
+    release(writer);
+    return bytes;
+  }
+
+  @Override
+  public byte[] encodeList(List<SpanData> spans) {
+    SpanWriter writer = WRITERS.get();
+    writer.reset();
+    if (encoding == Encoding.JSON) {
+      writer.write('[');
+    }
+    for (int i = 0; i < spans.size(); i++) {
+      if (i > 0 && encoding == Encoding.JSON) {
+        writer.write(',');
+      }
+      writeSpan(writer, spans.get(i));
+    }
+    if (encoding == Encoding.JSON) {
+      writer.write(']');
+    }
+    byte[] bytes = writer.toByteArray();
+    release(writer);
+    return bytes;
+  }
+
+  private void writeSpan(SpanWriter writer, SpanData span) {
+    writer.collectTags(span);
+    writer.collectAnnotations(span.getEvents());
+    byte[] endpoint = localEndpoint(span.getResource());
+    if (encoding == Encoding.JSON) {
+      writer.writeJsonSpan(span, endpoint);
+    } else {
+      writer.writeProto3Span(span, endpoint);
+    }
+    writer.clearValues();
+  }
+
+  /** Returns the encoded local endpoint field of the spans of the given resource. */
+  private byte[] localEndpoint(Resource resource) {
+    EncodedEndpoint encodedEndpoint = this.encodedEndpoint;
+    if (encodedEndpoint == null || encodedEndpoint.resource != resource) {
+      Endpoint endpoint = ZipkinSpanExporter.getEndpoint(resource, localAddress);
+      encodedEndpoint = new EncodedEndpoint(resource, encodeLocalEndpoint(endpoint));
+      this.encodedEndpoint = encodedEndpoint;
+    }
+    return encodedEndpoint.bytes;
+  }
+
+  /**
+   * Encodes the given endpoint as the local endpoint field of a span, by encoding a span with only
+   * that endpoint with the Zipkin encoder, and extracting the field from it.
+   */
+  private byte[] encodeLocalEndpoint(Endpoint endpoint) {
+    Span span = Span.newBuilder().traceId(0, 1).id(1).localEndpoint(endpoint).build();
+    if (encoding == Encoding.JSON) {
+      // {"traceId":"0000000000000001","id":"0000000000000001","localEndpoint":{...}}
+      String json = new String(SpanBytesEncoder.JSON_V2.encode(span), StandardCharsets.UTF_8);
+      int start = json.indexOf(",\"localEndpoint\":");
+      if (start < 0) {
+        return new byte[0];
+      }
+      return json.substring(start, json.length() - 1).getBytes(StandardCharsets.UTF_8);
+    }
+    // The span is the first field of a ListOfSpans, and the endpoint field 8 of the span.
+    byte[] proto = SpanBytesEncoder.PROTO3.encode(span);
+    int[] position = {1};
+    readVarint(proto, position);
+    while (position[0] < proto.length) {
+      int start = position[0];
+      int key = (int) readVarint(proto, position);
+      int length = (int) readVarint(proto, position);
+      position[0] += length;
+      if (key == SpanWriter.LOCAL_ENDPOINT_KEY) {
+        return Arrays.copyOfRange(proto, start, position[0]);
+      }
+    }
+    return new byte[0];
+  }
+
+  private static long readVarint(byte[] bytes, int[] position) {
+    long value = 0;
+    for (int shift = 0; ; shift += 7) {
+      byte b = bytes[position[0]++];
+      value |= (long) (b & 0x7f) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+  }
+
+  private static void release(SpanWriter writer) {
+    if (writer.bytes.length > MAX_POOLED_BUFFER_SIZE) {
+      WRITERS.remove();
+    }
+  }
+
+  private static final class EncodedEndpoint {
+    private final Resource resource;
+    private final byte[] bytes;
+
+    private EncodedEndpoint(Resource resource, byte[] bytes) {
+      this.resource = resource;
+      this.bytes = bytes;
+    }
+  }
+
+  /**
+   * Writes spans into a growable byte array. The tags and annotations of the span are collected
+   * first, to be written sorted and deduplicated as {@link Span.Builder} does.
+   */
+  private static final class SpanWriter implements BiConsumer<AttributeKey<?>, Object> {
+
+    private static final int SPAN_KEY = (1 << 3) | 2;
+    private static final int TRACE_ID_KEY = (1 << 3) | 2;
+    private static final int PARENT_ID_KEY = (2 << 3) | 2;
+    private static final int ID_KEY = (3 << 3) | 2;
+    private static final int KIND_KEY = 4 << 3;
+    private static final int NAME_KEY = (5 << 3) | 2;
+    private static final int TIMESTAMP_KEY = (6 << 3) | 1;
+    private static final int DURATION_KEY = 7 << 3;
+    private static final int LOCAL_ENDPOINT_KEY = (8 << 3) | 2;
+    private static final int ANNOTATION_KEY = (10 << 3) | 2;
+    private static final int TAG_KEY = (11 << 3) | 2;
+    private static final int ANNOTATION_TIMESTAMP_KEY = (1 << 3) | 1;
+    private static final int ANNOTATION_VALUE_KEY = (2 << 3) | 2;
+    private static final int TAG_KEY_KEY = (1 << 3) | 2;
+    private static final int TAG_VALUE_KEY = (2 << 3) | 2;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private byte[] bytes = new byte[4096];
+    private int size;
+
+    private int tagCount;
+    private String[] tagKeys = new String[32];
+    private AttributeType[] tagTypes = new AttributeType[32];
+    private Object[] tagValues = new Object[32];
+    private int[] tagOrder = new int[32];
+
+    private int annotationCount;
+    private long[] annotationTimestamps = new long[16];
+    private String[] annotationValues = new String[16];
+    private int[] annotationOrder = new int[16];
+
+    private void reset() {
+      size = 0;
+    }
+
+    private byte[] toByteArray() {
+      return Arrays.copyOf(bytes, size);
+    }
+
+    /** Clears the collected values, not to keep the span's attributes reachable from the pool. */
+    private void clearValues() {
+      Arrays.fill(tagKeys, 0, tagCount, null);
+      Arrays.fill(tagValues, 0, tagCount, null);
+      Arrays.fill(annotationValues, 0, annotationCount, null);
+    }
+
+    private void collectTags(SpanData span) {
+      tagCount = 0;
+      Attributes attributes = span.getAttributes();
+      attributes.forEach(this);
+      int droppedAttributes = span.getTotalAttributeCount() - attributes.size();
+      if (droppedAttributes > 0) {
+        addTag(ZipkinSpanExporter.OTEL_DROPPED_ATTRIBUTES_COUNT, String.valueOf(droppedAttributes));
+      }
+      StatusData status = span.getStatus();
+      if (status.getStatusCode() != StatusCode.UNSET) {
+        addTag(ZipkinSpanExporter.OTEL_STATUS_CODE, status.getStatusCode().toString());
+        if (status.getStatusCode() == StatusCode.ERROR
+            && attributes.get(ZipkinSpanExporter.STATUS_ERROR) == null) {
+          String description = status.getDescription();
+          addTag(ZipkinSpanExporter.STATUS_ERROR.getKey(), description != null ? description : "");
+        }
+      }
+      InstrumentationLibraryInfo instrumentationLibraryInfo = span.getInstrumentationLibraryInfo();
+      if (!instrumentationLibraryInfo.getName().isEmpty()) {
+        addTag(
+            ZipkinSpanExporter.KEY_INSTRUMENTATION_LIBRARY_NAME,
+            instrumentationLibraryInfo.getName());
+      }
+      String version = instrumentationLibraryInfo.getVersion();
+      if (version != null) {
+        addTag(ZipkinSpanExporter.KEY_INSTRUMENTATION_LIBRARY_VERSION, version);
+      }
+      int droppedEvents = span.getTotalRecordedEvents() - span.getEvents().size();
+      if (droppedEvents > 0) {
+        addTag(ZipkinSpanExporter.OTEL_DROPPED_EVENTS_COUNT, String.valueOf(droppedEvents));
+      }
+      // Insertion sort, stable so that the last value of a key wins as in a map. The attributes
+      // are sorted by key already.
+      for (int i = 0; i < tagCount; i++) {
+        int index = i;
+        int j = i - 1;
+        while (j >= 0 && tagKeys[tagOrder[j]].compareTo(tagKeys[index]) > 0) {
+          tagOrder[j + 1] = tagOrder[j];
+          j--;
+        }
+        tagOrder[j + 1] = index;
+      }
+    }
+
+    @Override
+    public void accept(AttributeKey<?> key, Object value) {
+      addTag(key.getKey(), key.getType(), value);
+    }
+
+    private void addTag(String key, String value) {
+      addTag(key, AttributeType.STRING, value);
+    }
+
+    private void addTag(String key, AttributeType type, Object value) {
+      if (tagCount == tagKeys.length) {
+        int capacity = tagCount * 2;
+        tagKeys = Arrays.copyOf(tagKeys, capacity);
+        tagTypes = Arrays.copyOf(tagTypes, capacity);
+        tagValues = Arrays.copyOf(tagValues, capacity);
+        tagOrder = Arrays.copyOf(tagOrder, capacity);
+      }
+      tagKeys[tagCount] = key;
+      tagTypes[tagCount] = type;
+      tagValues[tagCount] = value;
+      tagCount++;
+    }
+
+    /** Returns whether the tag at the given sorted position is replaced by the following one. */
+    private boolean isOverridden(int position) {
+      return position + 1 < tagCount
+          && tagKeys[tagOrder[position]].equals(tagKeys[tagOrder[position + 1]]);
+    }
+
+    private void collectAnnotations(List<EventData> events) {
+      annotationCount = 0;
+      for (int i = 0; i < events.size(); i++) {
+        if (annotationCount == annotationValues.length) {
+          int capacity = annotationCount * 2;
+          annotationTimestamps = Arrays.copyOf(annotationTimestamps, capacity);
+          annotationValues = Arrays.copyOf(annotationValues, capacity);
+          annotationOrder = Arrays.copyOf(annotationOrder, capacity);
+        }
+        EventData event = events.get(i);
+        annotationTimestamps[annotationCount] = toEpochMicros(event.getEpochNanos());
+        annotationValues[annotationCount] = event.getName();
+        annotationCount++;
+      }
+      // Sorted by timestamp then value, usually in that order already.
+      for (int i = 0; i < annotationCount; i++) {
+        int j = i - 1;
+        while (j >= 0 && compareAnnotations(annotationOrder[j], i) > 0) {
+          annotationOrder[j + 1] = annotationOrder[j];
+          j--;
+        }
+        annotationOrder[j + 1] = i;
+      }
+    }
+
+    private int compareAnnotations(int first, int second) {
+      int result = Long.compare(annotationTimestamps[first], annotationTimestamps[second]);
+      return result != 0 ? result : annotationValues[first].compareTo(annotationValues[second]);
+    }
+
+    /** Returns whether the annotation at the given sorted position duplicates the previous one. */
+    private boolean isDuplicate(int position) {
+      return position > 0
+          && compareAnnotations(annotationOrder[position - 1], annotationOrder[position]) == 0;
+    }
+
+    private void writeJsonSpan(SpanData span, byte[] localEndpoint) {
+      writeAscii("{\"traceId\":\"");
+      String traceId = span.getTraceId();
+      writeAscii(traceId, traceIdOffset(traceId), traceId.length());
+      write('"');
+      if (span.getParentSpanContext().isValid()) {
+        writeAscii(",\"parentId\":\"");
+        writeAscii(span.getParentSpanId());
+        write('"');
+      }
+      writeAscii(",\"id\":\"");
+      writeAscii(span.getSpanId());
+      write('"');
+      Span.Kind kind = ZipkinSpanExporter.toSpanKind(span);
+      if (kind != null) {
+        writeAscii(",\"kind\":\"");
+        writeAscii(kind.name());
+        write('"');
+      }
+      String name = span.getName();
+      if (!name.isEmpty()) {
+        writeAscii(",\"name\":\"");
+        writeJsonEscaped(name.toLowerCase(Locale.ROOT));
+        write('"');
+      }
+      long timestamp = toEpochMicros(span.getStartEpochNanos());
+      if (timestamp != 0) {
+        writeAscii(",\"timestamp\":");
+        writeLong(timestamp);
+      }
+      writeAscii(",\"duration\":");
+      writeLong(duration(span));
+      write(localEndpoint);
+
+      if (annotationCount > 0) {
+        writeAscii(",\"annotations\":[");
+        for (int i = 0; i < annotationCount; i++) {
+          if (isDuplicate(i)) {
+            continue;
+          }
+          if (i > 0) {
+            write(',');
+          }
+          int annotation = annotationOrder[i];
+          writeAscii("{\"timestamp\":");
+          writeLong(annotationTimestamps[annotation]);
+          writeAscii(",\"value\":\"");
+          writeJsonEscaped(annotationValues[annotation]);
+          writeAscii("\"}");
+        }
+        write(']');
+      }
+
+      if (tagCount > 0) {
+        writeAscii(",\"tags\":{");
+        boolean first = true;
+        for (int i = 0; i < tagCount; i++) {
+          if (isOverridden(i)) {
+            continue;
+          }
+          if (!first) {
+            write(',');
+          }
+          first = false;
+          int tag = tagOrder[i];
+          write('"');
+          writeJsonEscaped(tagKeys[tag]);
+          writeAscii("\":\"");
+          writeTagValue(tagTypes[tag], tagValues[tag], /* json= */ true);
+          write('"');
+        }
+        write('}');
+      }
+      write('}');
+    }
+
+    private void writeProto3Span(SpanData span, byte[] localEndpoint) {
+      writeVarint(SPAN_KEY);
+      int spanStart = startLengthDelimited();
+
+      String traceId = span.getTraceId();
+      int traceIdOffset = traceIdOffset(traceId);
+      writeVarint(TRACE_ID_KEY);
+      writeVarint((traceId.length() - traceIdOffset) / 2);
+      writeHexBytes(traceId, traceIdOffset);
+      if (span.getParentSpanContext().isValid()) {
+        writeVarint(PARENT_ID_KEY);
+        writeVarint(8);
+        writeHexBytes(span.getParentSpanId(), 0);
+      }
+      writeVarint(ID_KEY);
+      writeVarint(8);
+      writeHexBytes(span.getSpanId(), 0);
+      Span.Kind kind = ZipkinSpanExporter.toSpanKind(span);
+      if (kind != null) {
+        writeVarint(KIND_KEY);
+        writeVarint(kind.ordinal() + 1);
+      }
+      String name = span.getName();
+      if (!name.isEmpty()) {
+        writeVarint(NAME_KEY);
+        int nameStart = startLengthDelimited();
+        writeUtf8(name.toLowerCase(Locale.ROOT), /* json= */ false);
+        endLengthDelimited(nameStart);
+      }
+      long timestamp = toEpochMicros(span.getStartEpochNanos());
+      if (timestamp != 0) {
+        writeVarint(TIMESTAMP_KEY);
+        writeFixed64(timestamp);
+      }
+      writeVarint(DURATION_KEY);
+      writeVarint(duration(span));
+      write(localEndpoint);
+
+      for (int i = 0; i < annotationCount; i++) {
+        if (isDuplicate(i)) {
+          continue;
+        }
+        int annotation = annotationOrder[i];
+        writeVarint(ANNOTATION_KEY);
+        int annotationStart = startLengthDelimited();
+        long annotationTimestamp = annotationTimestamps[annotation];
+        if (annotationTimestamp != 0) {
+          writeVarint(ANNOTATION_TIMESTAMP_KEY);
+          writeFixed64(annotationTimestamp);
+        }
+        writeVarint(ANNOTATION_VALUE_KEY);
+        int valueStart = startLengthDelimited();
+        writeUtf8(annotationValues[annotation], /* json= */ false);
+        endLengthDelimited(valueStart);
+        endLengthDelimited(annotationStart);
+      }
+
+      for (int i = 0; i < tagCount; i++) {
+        if (isOverridden(i)) {
+          continue;
+        }
+        int tag = tagOrder[i];
+        writeVarint(TAG_KEY);
+        int tagStart = startLengthDelimited();
+        writeVarint(TAG_KEY_KEY);
+        int keyStart = startLengthDelimited();
+        writeUtf8(tagKeys[tag], /* json= */ false);
+        endLengthDelimited(keyStart);
+        writeVarint(TAG_VALUE_KEY);
+        int valueStart = startLengthDelimited();
+        writeTagValue(tagTypes[tag], tagValues[tag], /* json= */ false);
+        endLengthDelimited(valueStart);
+        endLengthDelimited(tagStart);
+      }
+
+      endLengthDelimited(spanStart);
+    }
+
+    /** Writes the value of a tag as {@code ZipkinSpanExporter.valueToString} formats it. */
+    private void writeTagValue(AttributeType type, Object value, boolean json) {
+      switch (type) {
+        case STRING:
+          writeUtf8((String) value, json);
+          return;
+        case BOOLEAN:
+          writeAscii(((Boolean) value) ? "true" : "false");
+          return;
+        case LONG:
+          writeLongValue((Long) value);
+          return;
+        case DOUBLE:
+          writeAscii(String.valueOf(value));
+          return;
+        case STRING_ARRAY:
+        case BOOLEAN_ARRAY:
+        case LONG_ARRAY:
+        case DOUBLE_ARRAY:
+          List<?> values = (List<?>) value;
+          for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+              write(',');
+            }
+            Object element = values.get(i);
+            if (element instanceof Long) {
+              writeLongValue((Long) element);
+            } else {
+              writeUtf8(String.valueOf(element), json);
+            }
+          }
+          return;
+      }
+      throw new IllegalStateException("Unknown attribute type: " + type);
+    }
+
+    // Reserves a byte for the length of a length delimited value, which usually needs only one.
+    private int startLengthDelimited() {
+      ensureCapacity(1);
+      return size++;
+    }
+
+    private void endLengthDelimited(int start) {
+      int length = size - start - 1;
+      int lengthSize = varintSize(length);
+      if (lengthSize > 1) {
+        ensureCapacity(lengthSize - 1);
+        System.arraycopy(bytes, start + 1, bytes, start + lengthSize, length);
+        size += lengthSize - 1;
+      }
+      int end = size;
+      size = start;
+      writeVarint(length);
+      size = end;
+    }
+
+    private void writeVarint(long value) {
+      ensureCapacity(10);
+      while ((value & ~0x7fL) != 0) {
+        bytes[size++] = (byte) ((value & 0x7f) | 0x80);
+        value >>>= 7;
+      }
+      bytes[size++] = (byte) value;
+    }
+
+    private static int varintSize(int value) {
+      int result = 1;
+      while ((value & ~0x7f) != 0) {
+        value >>>= 7;
+        result++;
+      }
+      return result;
+    }
+
+    private void writeFixed64(long value) {
+      ensureCapacity(8);
+      for (int i = 0; i < 8; i++) {
+        bytes[size++] = (byte) (value >>> (8 * i));
+      }
+    }
+
+    private void writeHexBytes(String hex, int offset) {
+      int length = hex.length();
+      ensureCapacity((length - offset) / 2);
+      for (int i = offset; i < length; i += 2) {
+        bytes[size++] = (byte) ((hexValue(hex.charAt(i)) << 4) | hexValue(hex.charAt(i + 1)));
+      }
+    }
+
+    private static int hexValue(char c) {
+      return c <= '9' ? c - '0' : c - 'a' + 10;
+    }
+
+    private void ensureCapacity(int additional) {
+      if (size + additional > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+      }
+    }
+
+    private void write(int b) {
+      ensureCapacity(1);
+      bytes[size++] = (byte) b;
+    }
+
+    private void write(byte[] src) {
+      ensureCapacity(src.length);
+      System.arraycopy(src, 0, bytes, size, src.length);
+      size += src.length;
+    }
+
+    private void writeAscii(String value) {
+      writeAscii(value, 0, value.length());
+    }
+
+    private void writeAscii(String value, int start, int end) {
+      ensureCapacity(end - start);
+      for (int i = start; i < end; i++) {
+        bytes[size++] = (byte) value.charAt(i);
+      }
+    }
+
+    private void writeLongValue(Long value) {
+      long longValue = value;
+      if (longValue == Long.MIN_VALUE) {
+        writeAscii(String.valueOf(longValue));
+      } else {
+        writeLong(longValue);
+      }
+    }
+
+    private void writeLong(long value) {
+      ensureCapacity(20);
+      if (value < 0) {
+        bytes[size++] = '-';
+        value = -value;
+      }
+      int start = size;
+      do {
+        bytes[size++] = (byte) ('0' + value % 10);
+        value /= 10;
+      } while (value != 0);
+      for (int i = start, j = size - 1; i < j; i++, j--) {
+        byte tmp = bytes[i];
+        bytes[i] = bytes[j];
+        bytes[j] = tmp;
+      }
+    }
+
+    private void writeJsonEscaped(String value) {
+      writeUtf8(value, /* json= */ true);
+    }
+
+    /** Writes the given string in UTF-8, escaped as a JSON string if {@code json}. */
+    private void writeUtf8(String value, boolean json) {
+      int length = value.length();
+      for (int i = 0; i < length; i++) {
+        char c = value.charAt(i);
+        if (json && (c < 0x20 || c == '"' || c == '\\' || c == '\u2028' || c == '\u2029')) {
+          writeJsonEscape(c);
+        } else if (c < 0x80) {
+          write(c);
+        } else if (c < 0x800) {
+          write(0xc0 | (c >> 6));
+          write(0x80 | (c & 0x3f));
+        } else if (Character.isHighSurrogate(c)
+            && i + 1 < length
+            && Character.isLowSurrogate(value.charAt(i + 1))) {
+          int codePoint = Character.toCodePoint(c, value.charAt(++i));
+          write(0xf0 | (codePoint >> 18));
+          write(0x80 | ((codePoint >> 12) & 0x3f));
+          write(0x80 | ((codePoint >> 6) & 0x3f));
+          write(0x80 | (codePoint & 0x3f));
+        } else if (Character.isSurrogate(c)) {
+          // Unpaired surrogate, as Zipkin writes it.
+          write('?');
+        } else {
+          write(0xe0 | (c >> 12));
+          write(0x80 | ((c >> 6) & 0x3f));
+          write(0x80 | (c & 0x3f));
+        }
+      }
+    }
+
+    private void writeJsonEscape(char c) {
+      write('\\');
+      switch (c) {
+        case '"':
+        case '\\':
+          write(c);
+          return;
+        case '\b':
+          write('b');
+          return;
+        case '\f':
+          write('f');
+          return;
+        case '\n':
+          write('n');
+          return;
+        case '\r':
+          write('r');
+          return;
+        case '\t':
+          write('t');
+          return;
+        default:
+          write('u');
+          write(HEX[(c >> 12) & 0xf]);
+          write(HEX[(c >> 8) & 0xf]);
+          write(HEX[(c >> 4) & 0xf]);
+          write(HEX[c & 0xf]);
+      }
+    }
+
+    /** Returns where the trace ID starts, skipping the high half of 64-bit trace IDs as Zipkin. */
+    private static int traceIdOffset(String traceId) {
+      for (int i = 0; i < 16; i++) {
+        if (traceId.charAt(i) != '0') {
+          return 0;
+        }
+      }
+      return 16;
+    }
+
+    private static long duration(SpanData span) {
+      return Math.max(
+          1, toEpochMicros(span.getEndEpochNanos()) - toEpochMicros(span.getStartEpochNanos()));
+    }
+  }
+}
@@ -56,6 +56,8 @@ public final class ZipkinSpanExporter implements SpanExporter {
   static final String KEY_INSTRUMENTATION_LIBRARY_VERSION = "otel.library.version";
 
   private final BytesEncoder<Span> encoder;
+  // Writes the spans straight from the SpanData, if the encoder is one of SpanBytesEncoder.
+  @Nullable private final SpanDataBytesEncoder spanDataEncoder;
   private final Sender sender;
   @Nullable private final InetAddress localAddress;
 
@@ -63,6 +65,7 @@ public final class ZipkinSpanExporter implements SpanExporter {
     this.encoder = encoder;
     this.sender = sender;
     localAddress = produceLocalIp();
+    spanDataEncoder = SpanDataBytesEncoder.forSpanEncoder(encoder, localAddress);
   }
 
   /** Logic borrowed from brave.internal.Platform.produceLocalEndpoint */
@@ -87,7 +90,7 @@ public final class ZipkinSpanExporter implements SpanExporter {
   }
 
   Span generateSpan(SpanData spanData) {
-    Endpoint endpoint = getEndpoint(spanData);
+    Endpoint endpoint = getEndpoint(spanData.getResource(), localAddress);
 
     long startTimestamp = toEpochMicros(spanData.getStartEpochNanos());
     long endTimestamp = toEpochMicros(spanData.getEndEpochNanos());
@@ -152,8 +155,8 @@ public final class ZipkinSpanExporter implements SpanExporter {
     return value != null ? value : "";
   }
 
-  private Endpoint getEndpoint(SpanData spanData) {
-    Attributes resourceAttributes = spanData.getResource().getAttributes();
+  static Endpoint getEndpoint(Resource resource, @Nullable InetAddress localAddress) {
+    Attributes resourceAttributes = resource.getAttributes();
 
     // use the service.name from the Resource, if it's been set.
     String serviceNameValue = resourceAttributes.get(ResourceAttributes.SERVICE_NAME);
@@ -164,7 +167,7 @@ public final class ZipkinSpanExporter implements SpanExporter {
   }
 
   @Nullable
-  private static Span.Kind toSpanKind(SpanData spanData) {
+  static Span.Kind toSpanKind(SpanData spanData) {
     switch (spanData.getKind()) {
       case SERVER:
         return Span.Kind.SERVER;
@@ -180,7 +183,7 @@ public final class ZipkinSpanExporter implements SpanExporter {
     return null;
   }
 
-  private static long toEpochMicros(long epochNanos) {
+  static long toEpochMicros(long epochNanos) {
     return NANOSECONDS.toMicros(epochNanos);
   }
 
@@ -215,8 +218,13 @@ public final class ZipkinSpanExporter implements SpanExporter {
   @Override
   public CompletableResultCode export(final Collection<SpanData> spanDataList) {
     List<byte[]> encodedSpans = new ArrayList<>(spanDataList.size());
+    SpanDataBytesEncoder spanDataEncoder = this.spanDataEncoder;
     for (SpanData spanData : spanDataList) {
-      encodedSpans.add(encoder.encode(generateSpan(spanData)));
+      if (spanDataEncoder != null) {
+        encodedSpans.add(spanDataEncoder.encode(spanData));
+      } else {
+        encodedSpans.add(encoder.encode(generateSpan(spanData)));
+      }
     }
 
     final CompletableResultCode result = new CompletableResultCode();
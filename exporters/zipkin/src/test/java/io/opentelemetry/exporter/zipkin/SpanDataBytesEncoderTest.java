@@ -0,0 +1,241 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.zipkin;
+
+import static io.opentelemetry.api.common.AttributeKey.booleanArrayKey;
+import static io.opentelemetry.api.common.AttributeKey.booleanKey;
+import static io.opentelemetry.api.common.AttributeKey.doubleArrayKey;
+import static io.opentelemetry.api.common.AttributeKey.doubleKey;
+import static io.opentelemetry.api.common.AttributeKey.longArrayKey;
+import static io.opentelemetry.api.common.AttributeKey.longKey;
+import static io.opentelemetry.api.common.AttributeKey.stringArrayKey;
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.testing.trace.TestSpanData;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import io.opentelemetry.semconv.resource.attributes.ResourceAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import zipkin2.Span;
+import zipkin2.codec.SpanBytesDecoder;
+import zipkin2.codec.SpanBytesEncoder;
+
+class SpanDataBytesEncoderTest {
+
+  private static final String TRACE_ID = "d239036e7d5cec116b562147388b35bf";
+  private static final String SPAN_ID = "9cc1e3049173be09";
+  private static final String PARENT_SPAN_ID = "8b03ab423da481c5";
+
+  private final ZipkinSpanExporter exporter = ZipkinSpanExporter.builder().build();
+  private final SpanDataBytesEncoder jsonEncoder =
+      SpanDataBytesEncoder.forSpanEncoder(
+          SpanBytesEncoder.JSON_V2, exporter.getLocalAddressForTest());
+  private final SpanDataBytesEncoder protoEncoder =
+      SpanDataBytesEncoder.forSpanEncoder(
+          SpanBytesEncoder.PROTO3, exporter.getLocalAddressForTest());
+
+  @Test
+  void forSpanEncoder() {
+    assertThat(jsonEncoder).isNotNull();
+    assertThat(protoEncoder).isNotNull();
+    assertThat(SpanDataBytesEncoder.forSpanEncoder(SpanBytesEncoder.JSON_V1, null)).isNull();
+    assertThat(SpanDataBytesEncoder.forSpanEncoder(SpanBytesEncoder.THRIFT, null)).isNull();
+  }
+
+  @Test
+  void standardSpan() {
+    assertEncodedAsZipkinSpan(buildStandardSpan().build());
+  }
+
+  @Test
+  void allKinds() {
+    for (SpanKind kind : SpanKind.values()) {
+      assertEncodedAsZipkinSpan(buildStandardSpan().setKind(kind).build());
+    }
+  }
+
+  @Test
+  void rootSpan_64BitTraceId() {
+    assertEncodedAsZipkinSpan(
+        buildStandardSpan()
+            .setSpanContext(
+                SpanContext.create(
+                    "00000000000000006b562147388b35bf",
+                    SPAN_ID,
+                    TraceFlags.getSampled(),
+                    TraceState.getDefault()))
+            .setParentSpanContext(SpanContext.getInvalid())
+            .build());
+  }
+
+  @Test
+  void emptyNameAndServiceName() {
+    assertEncodedAsZipkinSpan(
+        buildStandardSpan()
+            .setName("")
+            .setResource(Resource.create(Attributes.of(ResourceAttributes.SERVICE_NAME, "")))
+            .build());
+  }
+
+  @Test
+  void attributes() {
+    Attributes attributes =
+        Attributes.builder()
+            .put(stringKey("string"), "string value")
+            .put(booleanKey("boolean"), false)
+            .put(longKey("long"), 9999L)
+            .put(longKey("negative"), Long.MIN_VALUE)
+            .put(doubleKey("double"), 222.333d)
+            .put(booleanArrayKey("booleanArray"), Arrays.asList(true, false))
+            .put(stringArrayKey("stringArray"), Arrays.asList("Hello", "wörld"))
+            .put(doubleArrayKey("doubleArray"), Arrays.asList(32.33d, -98.3d))
+            .put(longArrayKey("longArray"), Arrays.asList(33L, -999L))
+            // Replaced by the tags of the exporter.
+            .put(stringKey(ZipkinSpanExporter.OTEL_STATUS_CODE), "status")
+            .put(stringKey(ZipkinSpanExporter.KEY_INSTRUMENTATION_LIBRARY_NAME), "library")
+            .build();
+
+    assertEncodedAsZipkinSpan(
+        buildStandardSpan()
+            .setAttributes(attributes)
+            .setTotalAttributeCount(28)
+            .setTotalRecordedEvents(3)
+            .setInstrumentationLibraryInfo(
+                InstrumentationLibraryInfo.create("io.opentelemetry.auto", "1.0.0"))
+            .build());
+  }
+
+  @Test
+  void errorStatus() {
+    assertEncodedAsZipkinSpan(
+        buildStandardSpan().setStatus(StatusData.create(StatusCode.ERROR, "timeout")).build());
+    assertEncodedAsZipkinSpan(buildStandardSpan().setStatus(StatusData.error()).build());
+    assertEncodedAsZipkinSpan(
+        buildStandardSpan()
+            .setStatus(StatusData.error())
+            .setAttributes(Attributes.of(stringKey("error"), "user error"))
+            .setTotalAttributeCount(1)
+            .build());
+    assertEncodedAsZipkinSpan(buildStandardSpan().setStatus(StatusData.unset()).build());
+  }
+
+  @Test
+  void unsortedAndDuplicateEvents() {
+    List<EventData> events =
+        Arrays.asList(
+            EventData.create(1505855799_459486280L, "SENT", Attributes.empty()),
+            EventData.create(1505855799_433901068L, "RECEIVED", Attributes.empty()),
+            EventData.create(1505855799_433901999L, "RECEIVED", Attributes.empty()),
+            EventData.create(1505855799_433901068L, "ACKED", Attributes.empty()));
+
+    assertEncodedAsZipkinSpan(
+        buildStandardSpan().setEvents(events).setTotalRecordedEvents(events.size()).build());
+  }
+
+  @Test
+  void escaping() {
+    assertEncodedAsZipkinSpan(
+        buildStandardSpan()
+            .setName("GET /api/\"quoted\"\\path")
+            .setAttributes(
+                Attributes.of(
+                    stringKey("key\n\"quoted\""), "line\nfeed\ttab\u0001\u2028\u2029 é 😀"))
+            .setTotalAttributeCount(1)
+            .setEvents(
+                Collections.singletonList(
+                    EventData.create(1505855799_459486280L, "ünïcode\r", Attributes.empty())))
+            .setTotalRecordedEvents(1)
+            .build());
+  }
+
+  @Test
+  void largeSpan() {
+    // Lengths which need several bytes in proto3.
+    StringBuilder value = new StringBuilder();
+    for (int i = 0; i < 20000; i++) {
+      value.append((char) ('a' + i % 26));
+    }
+    Attributes attributes =
+        Attributes.builder()
+            .put(stringKey("short"), "value")
+            .put(stringKey("long"), value.toString())
+            .build();
+
+    assertEncodedAsZipkinSpan(
+        buildStandardSpan().setAttributes(attributes).setTotalAttributeCount(2).build());
+  }
+
+  @Test
+  void encodeList() {
+    List<SpanData> spans = new ArrayList<>();
+    List<Span> zipkinSpans = new ArrayList<>();
+    for (SpanKind kind : SpanKind.values()) {
+      SpanData span = buildStandardSpan().setKind(kind).build();
+      spans.add(span);
+      zipkinSpans.add(exporter.generateSpan(span));
+    }
+
+    assertThat(jsonEncoder.encodeList(spans))
+        .isEqualTo(SpanBytesEncoder.JSON_V2.encodeList(zipkinSpans));
+    assertThat(SpanBytesDecoder.PROTO3.decodeList(protoEncoder.encodeList(spans)))
+        .isEqualTo(zipkinSpans);
+    assertThat(jsonEncoder.encodeList(Collections.emptyList()))
+        .isEqualTo(SpanBytesEncoder.JSON_V2.encodeList(Collections.emptyList()));
+  }
+
+  private void assertEncodedAsZipkinSpan(SpanData spanData) {
+    Span span = exporter.generateSpan(spanData);
+
+    byte[] json = jsonEncoder.encode(spanData);
+    assertThat(json).isEqualTo(SpanBytesEncoder.JSON_V2.encode(span));
+    assertThat(jsonEncoder.sizeInBytes(spanData)).isEqualTo(json.length);
+
+    byte[] proto = protoEncoder.encode(spanData);
+    assertThat(SpanBytesDecoder.PROTO3.decodeOne(proto)).isEqualTo(span);
+    assertThat(protoEncoder.sizeInBytes(spanData)).isEqualTo(proto.length);
+  }
+
+  private static TestSpanData.Builder buildStandardSpan() {
+    List<EventData> events =
+        Arrays.asList(
+            EventData.create(1505855799_433901068L, "RECEIVED", Attributes.empty()),
+            EventData.create(1505855799_459486280L, "SENT", Attributes.empty()));
+    return TestSpanData.builder()
+        .setSpanContext(
+            SpanContext.create(TRACE_ID, SPAN_ID, TraceFlags.getSampled(), TraceState.getDefault()))
+        .setParentSpanContext(
+            SpanContext.create(
+                TRACE_ID, PARENT_SPAN_ID, TraceFlags.getDefault(), TraceState.getDefault()))
+        .setResource(
+            Resource.create(
+                Attributes.builder().put(ResourceAttributes.SERVICE_NAME, "tweetiebird").build()))
+        .setStatus(StatusData.ok())
+        .setKind(SpanKind.SERVER)
+        .setName("Recv.helloworld.Greeter.SayHello")
+        .setStartEpochNanos(1505855794_194009601L)
+        .setEndEpochNanos(1505855799_465726528L)
+        .setAttributes(Attributes.empty())
+        .setTotalAttributeCount(0)
+        .setTotalRecordedEvents(events.size())
+        .setEvents(events)
+        .setLinks(Collections.emptyList())
+        .setHasEnded(true);
+  }
+}
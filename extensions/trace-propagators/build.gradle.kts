@@ -12,6 +12,7 @@ extra["moduleName"] = "io.opentelemetry.extension.trace.propagation"
 dependencies {
     api(project(":api:all"))
 
+    testImplementation(project(":extensions:aws"))
     testImplementation("io.jaegertracing:jaeger-client")
     testImplementation("com.google.guava:guava")
 
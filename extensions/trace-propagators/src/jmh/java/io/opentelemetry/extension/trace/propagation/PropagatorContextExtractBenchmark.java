@@ -6,8 +6,10 @@
 package io.opentelemetry.extension.trace.propagation;
 
 import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
 import io.opentelemetry.extension.aws.AwsXrayPropagator;
 import java.util.Arrays;
 import java.util.Collections;
@@ -312,4 +314,104 @@ public class PropagatorContextExtractBenchmark {
       return traceHeaders;
     }
   }
+
+  /**
+   * Common part of the benchmarks extracting context from a carrier with the headers of several
+   * formats, among other headers, as a service accepting all of them could receive.
+   */
+  public abstract static class AbstractMultipleFormatsContextExtractBenchmark
+      extends AbstractContextExtractBenchmark {
+
+    private static final List<Map<String, String>> traceHeaders =
+        Arrays.asList(
+            createHeaders("905734c59b913b4a905734c59b913b4a", "9909983295041501", "1"),
+            createHeaders("21196a77f299580e21196a77f299580e", "993a97ee3691eb26", "0"),
+            createHeaders("2e7d0ad2390617702e7d0ad239061770", "d49582a2de984b86", "1"),
+            createHeaders("905734c59b913b4a905734c59b913b4a", "776ff807b787538a", "0"),
+            createHeaders("68ec932c33b3f2ee68ec932c33b3f2ee", "68ec932c33b3f2ee", "0"));
+
+    private static Map<String, String> createHeaders(
+        String traceId, String spanId, String sampled) {
+      Map<String, String> headers = new HashMap<>();
+      headers.put("accept", "application/json");
+      headers.put("accept-encoding", "gzip");
+      headers.put("content-type", "application/json");
+      headers.put("user-agent", "benchmark");
+      headers.put("traceparent", "00-" + traceId + "-" + spanId + "-0" + sampled);
+      headers.put(B3Propagator.COMBINED_HEADER, traceId + "-" + spanId + "-" + sampled);
+      headers.put(JaegerPropagator.PROPAGATION_HEADER, traceId + ":" + spanId + ":0:" + sampled);
+      headers.put(
+          "X-Amzn-Trace-Id",
+          "Root=1-"
+              + traceId.substring(0, 8)
+              + "-"
+              + traceId.substring(8)
+              + ";Parent="
+              + spanId
+              + ";Sampled="
+              + sampled);
+      return headers;
+    }
+
+    protected final TextMapGetter<Map<String, String>> getter =
+        new TextMapGetter<Map<String, String>>() {
+          @Override
+          public Iterable<String> keys(Map<String, String> carrier) {
+            return carrier.keySet();
+          }
+
+          @Override
+          public String get(Map<String, String> carrier, String key) {
+            return carrier.get(key);
+          }
+        };
+
+    @Override
+    protected List<Map<String, String>> getHeaders() {
+      return traceHeaders;
+    }
+  }
+
+  /**
+   * Benchmark for extracting context from the headers of several formats with a composite of their
+   * propagators, where each one looks up and parses its own headers.
+   */
+  public static class MultipleFormatsCompositeContextExtractBenchmark
+      extends AbstractMultipleFormatsContextExtractBenchmark {
+
+    // The last propagator of a composite has the priority.
+    private final TextMapPropagator propagator =
+        TextMapPropagator.composite(
+            AwsXrayPropagator.getInstance(),
+            OtTracePropagator.getInstance(),
+            JaegerPropagator.getInstance(),
+            B3Propagator.injectingSingleHeader(),
+            W3CTraceContextPropagator.getInstance());
+
+    @Override
+    protected Context doExtract() {
+      return propagator.extract(Context.current(), getCarrier(), getter);
+    }
+  }
+
+  /**
+   * Benchmark for extracting context from the headers of several formats with a {@link
+   * MultiFormatPropagator}, which reads the carrier once.
+   */
+  public static class MultipleFormatsSinglePassContextExtractBenchmark
+      extends AbstractMultipleFormatsContextExtractBenchmark {
+
+    private final TextMapPropagator propagator =
+        MultiFormatPropagator.create(
+            W3CTraceContextPropagator.getInstance(),
+            B3Propagator.injectingSingleHeader(),
+            JaegerPropagator.getInstance(),
+            OtTracePropagator.getInstance(),
+            AwsXrayPropagator.getInstance());
+
+    @Override
+    protected Context doExtract() {
+      return propagator.extract(Context.current(), getCarrier(), getter);
+    }
+  }
 }
@@ -0,0 +1,588 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.extension.trace.propagation;
+
+import io.opentelemetry.api.internal.OtelEncodingUtils;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanId;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceId;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A {@link TextMapPropagator} for several trace context formats which reads the carrier only once.
+ * The keys of the carrier are walked a single time to look up the headers of all the formats, and
+ * the usual shapes of the headers are parsed in place instead of being split into strings.
+ *
+ * <p>The formats are given by their propagators, in priority order: the span context of the first
+ * format found valid in the carrier is extracted. This is the context a {@link
+ * TextMapPropagator#composite(TextMapPropagator...)} of the same propagators in the reverse order
+ * would extract, and the carriers it cannot parse alone, e.g. with baggage headers, are handed to
+ * the propagators that way. The propagators of {@link W3CTraceContextPropagator}, {@link
+ * B3Propagator}, {@link JaegerPropagator}, {@link OtTracePropagator} and {@code AwsXrayPropagator}
+ * are supported.
+ *
+ * <p>The headers are matched ignoring case, and they are only found through {@link
+ * TextMapGetter#keys(Object)}, which must return all the keys of the carrier.
+ *
+ * <pre>{@code
+ * TextMapPropagator propagator =
+ *     MultiFormatPropagator.create(
+ *         W3CTraceContextPropagator.getInstance(),
+ *         B3Propagator.injectingSingleHeader(),
+ *         AwsXrayPropagator.getInstance());
+ * }</pre>
+ */
+@Immutable
+public final class MultiFormatPropagator implements TextMapPropagator {
+
+  private static final int TRACE_PARENT = 0;
+  private static final int TRACE_STATE = 1;
+  private static final int B3_COMBINED = 2;
+  private static final int B3_TRACE_ID = 3;
+  private static final int B3_SPAN_ID = 4;
+  private static final int B3_SAMPLED = 5;
+  private static final int B3_DEBUG = 6;
+  private static final int UBER_TRACE_ID = 7;
+  private static final int OT_TRACE_ID = 8;
+  private static final int OT_SPAN_ID = 9;
+  private static final int OT_SAMPLED = 10;
+  private static final int XRAY_TRACE_ID = 11;
+
+  private static final String[] HEADER_NAMES = {
+    "traceparent",
+    "tracestate",
+    B3Propagator.COMBINED_HEADER,
+    B3Propagator.TRACE_ID_HEADER,
+    B3Propagator.SPAN_ID_HEADER,
+    B3Propagator.SAMPLED_HEADER,
+    B3Propagator.DEBUG_HEADER,
+    JaegerPropagator.PROPAGATION_HEADER,
+    OtTracePropagator.TRACE_ID_HEADER,
+    OtTracePropagator.SPAN_ID_HEADER,
+    OtTracePropagator.SAMPLED_HEADER,
+    "X-Amzn-Trace-Id"
+  };
+
+  private static final TextMapGetter<String[]> HEADERS_GETTER =
+      new TextMapGetter<String[]>() {
+        @Override
+        public Iterable<String> keys(String[] carrier) {
+          return Collections.emptyList();
+        }
+
+        @Nullable
+        @Override
+        public String get(@Nullable String[] carrier, String key) {
+          int header = headerIndex(key);
+          return carrier == null || header == -1 ? null : carrier[header];
+        }
+      };
+
+  private static final String AWS_XRAY_PROPAGATOR =
+      "io.opentelemetry.extension.aws.AwsXrayPropagator";
+
+  private static final int MAX_ID_LENGTH = 16;
+  private static final int XRAY_TRACE_ID_LENGTH = 35;
+  private static final int XRAY_EPOCH_OFFSET = 2;
+  private static final int XRAY_EPOCH_LENGTH = 8;
+  private static final int XRAY_UNIQUE_OFFSET = 11;
+
+  private final TextMapPropagator[] propagators;
+  private final Format[] formats;
+  private final int[] headers;
+  private final String[] baggagePrefixes;
+  private final Collection<String> fields;
+
+  /**
+   * Returns a {@link MultiFormatPropagator} for the formats of the given propagators, in priority
+   * order.
+   *
+   * @throws IllegalArgumentException if one of the propagators is not supported.
+   */
+  public static MultiFormatPropagator create(TextMapPropagator... propagators) {
+    return create(Arrays.asList(propagators));
+  }
+
+  /**
+   * Returns a {@link MultiFormatPropagator} for the formats of the given propagators, in priority
+   * order.
+   *
+   * @throws IllegalArgumentException if one of the propagators is not supported.
+   */
+  public static MultiFormatPropagator create(Iterable<TextMapPropagator> propagators) {
+    List<TextMapPropagator> propagatorsList = new ArrayList<>();
+    for (TextMapPropagator propagator : propagators) {
+      propagatorsList.add(propagator);
+    }
+    return new MultiFormatPropagator(propagatorsList);
+  }
+
+  private MultiFormatPropagator(List<TextMapPropagator> propagators) {
+    this.propagators = propagators.toArray(new TextMapPropagator[0]);
+    this.formats = new Format[this.propagators.length];
+    Set<Integer> headers = new LinkedHashSet<>();
+    Set<String> baggagePrefixes = new LinkedHashSet<>();
+    Set<String> fields = new LinkedHashSet<>();
+    for (int i = 0; i < this.propagators.length; i++) {
+      Format format = Format.of(this.propagators[i]);
+      formats[i] = format;
+      for (int header : format.headers) {
+        headers.add(header);
+      }
+      baggagePrefixes.addAll(Arrays.asList(format.baggagePrefixes));
+      fields.addAll(this.propagators[i].fields());
+    }
+    this.headers = new int[headers.size()];
+    int i = 0;
+    for (int header : headers) {
+      this.headers[i++] = header;
+    }
+    this.baggagePrefixes = baggagePrefixes.toArray(new String[0]);
+    this.fields = Collections.unmodifiableList(new ArrayList<>(fields));
+  }
+
+  @Override
+  public Collection<String> fields() {
+    return fields;
+  }
+
+  @Override
+  public <C> void inject(Context context, @Nullable C carrier, TextMapSetter<C> setter) {
+    if (context == null || setter == null) {
+      return;
+    }
+    for (TextMapPropagator propagator : propagators) {
+      propagator.inject(context, carrier, setter);
+    }
+  }
+
+  @Override
+  public <C> Context extract(Context context, @Nullable C carrier, TextMapGetter<C> getter) {
+    if (context == null) {
+      return Context.root();
+    }
+    if (getter == null) {
+      return context;
+    }
+    if (carrier == null) {
+      return extractEach(context, carrier, getter);
+    }
+
+    String[] values = new String[HEADER_NAMES.length];
+    for (String key : getter.keys(carrier)) {
+      int header = findHeader(key);
+      if (header != -1) {
+        values[header] = getter.get(carrier, key);
+      } else if (isBaggage(key)) {
+        // Only the propagators extract the baggage.
+        return extractEach(context, carrier, getter);
+      }
+    }
+
+    SpanContext spanContext = SpanContext.getInvalid();
+    for (Format format : formats) {
+      SpanContext extracted = format.extract(values);
+      if (extracted == null) {
+        return extractEach(context, values, HEADERS_GETTER);
+      }
+      if (!spanContext.isValid()) {
+        spanContext = extracted;
+      }
+    }
+    if (!spanContext.isValid()) {
+      return context;
+    }
+    return context.with(Span.wrap(spanContext));
+  }
+
+  // Extracts as a composite of the propagators in the reverse order, where the last one wins.
+  private <C> Context extractEach(Context context, @Nullable C carrier, TextMapGetter<C> getter) {
+    for (int i = propagators.length - 1; i >= 0; i--) {
+      context = propagators[i].extract(context, carrier, getter);
+    }
+    return context;
+  }
+
+  private int findHeader(String key) {
+    for (int header : headers) {
+      if (HEADER_NAMES[header].equalsIgnoreCase(key)) {
+        return header;
+      }
+    }
+    return -1;
+  }
+
+  private boolean isBaggage(String key) {
+    for (String prefix : baggagePrefixes) {
+      if (key.regionMatches(/* ignoreCase= */ true, 0, prefix, 0, prefix.length())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int headerIndex(String key) {
+    for (int i = 0; i < HEADER_NAMES.length; i++) {
+      if (HEADER_NAMES[i].equalsIgnoreCase(key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * A trace context format. {@link #extract(String[])} returns the span context of the headers,
+   * which is invalid when the propagator would not extract any, or {@code null} when only the
+   * propagator knows how to extract the headers.
+   */
+  private abstract static class Format {
+    static final Format W3C_TRACE_CONTEXT =
+        new Format(new int[] {TRACE_PARENT, TRACE_STATE}) {
+          @Override
+          SpanContext extract(String[] values) {
+            if (values[TRACE_PARENT] == null) {
+              return SpanContext.getInvalid();
+            }
+            // The W3C propagator already decodes the headers in place.
+            return Span.fromContext(
+                    W3CTraceContextPropagator.getInstance()
+                        .extract(Context.root(), values, HEADERS_GETTER))
+                .getSpanContext();
+          }
+        };
+
+    static final Format B3 =
+        new Format(new int[] {B3_COMBINED, B3_TRACE_ID, B3_SPAN_ID, B3_SAMPLED, B3_DEBUG}) {
+          @Nullable
+          @Override
+          SpanContext extract(String[] values) {
+            String combined = values[B3_COMBINED];
+            if (combined != null) {
+              return extractB3SingleHeader(combined);
+            }
+            if (values[B3_TRACE_ID] == null && values[B3_SPAN_ID] == null) {
+              return SpanContext.getInvalid();
+            }
+            return extractB3MultipleHeaders(
+                values[B3_TRACE_ID], values[B3_SPAN_ID], values[B3_SAMPLED], values[B3_DEBUG]);
+          }
+        };
+
+    static final Format JAEGER =
+        new Format(
+            new int[] {UBER_TRACE_ID},
+            JaegerPropagator.BAGGAGE_PREFIX,
+            JaegerPropagator.BAGGAGE_HEADER) {
+          @Nullable
+          @Override
+          SpanContext extract(String[] values) {
+            String value = values[UBER_TRACE_ID];
+            if (value == null) {
+              return SpanContext.getInvalid();
+            }
+            return extractJaeger(value);
+          }
+        };
+
+    static final Format OT_TRACE =
+        new Format(
+            new int[] {OT_TRACE_ID, OT_SPAN_ID, OT_SAMPLED},
+            OtTracePropagator.PREFIX_BAGGAGE_HEADER) {
+          @Nullable
+          @Override
+          SpanContext extract(String[] values) {
+            String traceId = values[OT_TRACE_ID];
+            if (traceId == null) {
+              return SpanContext.getInvalid();
+            }
+            return extractOtTrace(traceId, values[OT_SPAN_ID], values[OT_SAMPLED]);
+          }
+        };
+
+    static final Format AWS_XRAY =
+        new Format(new int[] {XRAY_TRACE_ID}) {
+          @Nullable
+          @Override
+          SpanContext extract(String[] values) {
+            String value = values[XRAY_TRACE_ID];
+            if (value == null) {
+              return SpanContext.getInvalid();
+            }
+            return extractXray(value);
+          }
+        };
+
+    final int[] headers;
+    final String[] baggagePrefixes;
+
+    private Format(int[] headers, String... baggagePrefixes) {
+      this.headers = headers;
+      this.baggagePrefixes = baggagePrefixes;
+    }
+
+    @Nullable
+    abstract SpanContext extract(String[] values);
+
+    static Format of(TextMapPropagator propagator) {
+      if (propagator instanceof W3CTraceContextPropagator) {
+        return W3C_TRACE_CONTEXT;
+      }
+      if (propagator instanceof B3Propagator) {
+        return B3;
+      }
+      if (propagator instanceof JaegerPropagator) {
+        return JAEGER;
+      }
+      if (propagator instanceof OtTracePropagator) {
+        return OT_TRACE;
+      }
+      // Not depending on the AWS extension for its class.
+      if (propagator.getClass().getName().equals(AWS_XRAY_PROPAGATOR)) {
+        return AWS_XRAY;
+      }
+      throw new IllegalArgumentException("Unsupported propagator: " + propagator);
+    }
+  }
+
+  // traceId-spanId, optionally followed by -sampled and -parentSpanId.
+  @Nullable
+  private static SpanContext extractB3SingleHeader(String value) {
+    char delimiter = B3Propagator.COMBINED_HEADER_DELIMITER_CHAR;
+    int traceIdEnd = value.indexOf(delimiter);
+    if (traceIdEnd != TraceId.getLength() && traceIdEnd != MAX_ID_LENGTH) {
+      return null;
+    }
+    int spanIdStart = traceIdEnd + 1;
+    int spanIdEnd = spanIdStart + SpanId.getLength();
+    if (value.length() < spanIdEnd) {
+      return null;
+    }
+    boolean sampled = false;
+    if (value.length() > spanIdEnd) {
+      if (value.charAt(spanIdEnd) != delimiter) {
+        return null;
+      }
+      int sampledStart = spanIdEnd + 1;
+      int sampledEnd = value.indexOf(delimiter, sampledStart);
+      // The parent span id, if any, is not used but there must not be more parts.
+      if (sampledEnd == -1) {
+        sampledEnd = value.length();
+      } else if (sampledEnd == value.length() - 1
+          || value.indexOf(delimiter, sampledEnd + 1) != -1) {
+        return null;
+      }
+      if (sampledEnd == sampledStart
+          || (sampledEnd == sampledStart + 1
+              && value.charAt(sampledStart) == B3Propagator.DEBUG_SAMPLED)) {
+        return null;
+      }
+      sampled = isSampled(value, sampledStart, sampledEnd);
+    }
+    return buildSpanContext(value, 0, traceIdEnd, value, spanIdStart, spanIdEnd, sampled);
+  }
+
+  @Nullable
+  private static SpanContext extractB3MultipleHeaders(
+      @Nullable String traceId,
+      @Nullable String spanId,
+      @Nullable String sampled,
+      @Nullable String debug) {
+    if (traceId == null
+        || (traceId.length() != TraceId.getLength() && traceId.length() != MAX_ID_LENGTH)
+        || spanId == null
+        || spanId.length() != SpanId.getLength()
+        || debug != null) {
+      return null;
+    }
+    boolean isSampled = sampled != null && isSampled(sampled, 0, sampled.length());
+    return buildSpanContext(traceId, 0, traceId.length(), spanId, 0, spanId.length(), isSampled);
+  }
+
+  // traceId:spanId:parentSpanId:flags, with ids which can be shorter than their usual length.
+  @Nullable
+  private static SpanContext extractJaeger(String value) {
+    char delimiter = JaegerPropagator.PROPAGATION_HEADER_DELIMITER;
+    int spanIdStart = value.indexOf(delimiter) + 1;
+    if (spanIdStart == 0) {
+      // Url encoded
+      return null;
+    }
+    int spanIdEnd = value.indexOf(delimiter, spanIdStart);
+    if (spanIdEnd == -1) {
+      return null;
+    }
+    int flagsStart = value.indexOf(delimiter, spanIdEnd + 1) + 1;
+    if (flagsStart == 0 || value.indexOf(delimiter, flagsStart) != -1) {
+      return null;
+    }
+    int flagsLength = value.length() - flagsStart;
+    if (flagsLength < 1 || flagsLength > 2) {
+      return null;
+    }
+    for (int i = flagsStart; i < value.length(); i++) {
+      if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+        return null;
+      }
+    }
+    // The sampled bit of the flags.
+    boolean sampled = (value.charAt(value.length() - 1) - '0') % 2 == 1;
+    return buildSpanContext(value, 0, spanIdStart - 1, value, spanIdStart, spanIdEnd, sampled);
+  }
+
+  @Nullable
+  private static SpanContext extractOtTrace(
+      String traceId, @Nullable String spanId, @Nullable String sampled) {
+    if (spanId == null || spanId.length() != SpanId.getLength()) {
+      return null;
+    }
+    boolean isSampled = sampled != null && isSampled(sampled, 0, sampled.length());
+    return buildSpanContext(traceId, 0, traceId.length(), spanId, 0, spanId.length(), isSampled);
+  }
+
+  // Root=1-{8 hex}-{24 hex};Parent={16 hex};Sampled={0|1}, in any order.
+  @Nullable
+  private static SpanContext extractXray(String value) {
+    int root = -1;
+    int parent = -1;
+    boolean sampled = false;
+    int pos = 0;
+    while (pos < value.length()) {
+      int end = value.indexOf(';', pos);
+      if (end == -1) {
+        end = value.length();
+      }
+      int start = pos;
+      pos = end + 1;
+      // As String.trim()
+      while (start < end && value.charAt(start) <= ' ') {
+        start++;
+      }
+      while (end > start && value.charAt(end - 1) <= ' ') {
+        end--;
+      }
+      int equals = value.indexOf('=', start);
+      if (equals == -1 || equals >= end) {
+        return null;
+      }
+      int valueStart = equals + 1;
+      int valueLength = end - valueStart;
+      if (isKey(value, start, equals, "Root") && valueLength == XRAY_TRACE_ID_LENGTH) {
+        root = valueStart;
+      } else if (isKey(value, start, equals, "Parent") && valueLength == SpanId.getLength()) {
+        parent = valueStart;
+      } else if (isKey(value, start, equals, "Sampled")
+          && valueLength == 1
+          && (value.charAt(valueStart) == '0' || value.charAt(valueStart) == '1')) {
+        sampled = value.charAt(valueStart) == '1';
+      } else {
+        // Baggage or values only the propagator knows how to handle.
+        return null;
+      }
+    }
+    if (root == -1 || parent == -1) {
+      return null;
+    }
+    // The trace id is the epoch followed by the unique part.
+    int epochStart = root + XRAY_EPOCH_OFFSET;
+    int uniqueStart = root + XRAY_UNIQUE_OFFSET;
+    if (value.charAt(root) != '1'
+        || value.charAt(epochStart - 1) != '-'
+        || value.charAt(uniqueStart - 1) != '-'
+        || !OtelEncodingUtils.isValidBase16String(value, epochStart, XRAY_EPOCH_LENGTH)
+        || !OtelEncodingUtils.isValidBase16String(
+            value, uniqueStart, XRAY_TRACE_ID_LENGTH - XRAY_UNIQUE_OFFSET)
+        || !OtelEncodingUtils.isValidBase16String(value, parent, SpanId.getLength())) {
+      return null;
+    }
+    long traceIdHighPart =
+        decodeHex(value, epochStart, epochStart + XRAY_EPOCH_LENGTH) << 32
+            | decodeHex(value, uniqueStart, uniqueStart + XRAY_EPOCH_LENGTH);
+    long traceIdLowPart =
+        OtelEncodingUtils.longFromBase16String(value, uniqueStart + XRAY_EPOCH_LENGTH);
+    long spanId = OtelEncodingUtils.longFromBase16String(value, parent);
+    if ((traceIdHighPart == 0 && traceIdLowPart == 0) || spanId == 0) {
+      return null;
+    }
+    return SpanContext.createFromRemoteParent(
+        traceIdHighPart,
+        traceIdLowPart,
+        spanId,
+        sampled ? TraceFlags.getSampled() : TraceFlags.getDefault(),
+        TraceState.getDefault());
+  }
+
+  private static boolean isKey(String value, int start, int end, String key) {
+    return end - start == key.length() && value.startsWith(key, start);
+  }
+
+  // As Common.buildSpanContext, "1" or "true" ignoring case.
+  private static boolean isSampled(String value, int start, int end) {
+    int length = end - start;
+    return (length == 1 && value.charAt(start) == '1')
+        || (length == 4 && value.regionMatches(/* ignoreCase= */ true, start, "true", 0, 4));
+  }
+
+  // Builds the span context of hex ids which may be shorter than their usual length, as if they
+  // were padded with zeros, or returns null when they are not valid.
+  @Nullable
+  private static SpanContext buildSpanContext(
+      String traceId,
+      int traceIdStart,
+      int traceIdEnd,
+      String spanId,
+      int spanIdStart,
+      int spanIdEnd,
+      boolean sampled) {
+    int traceIdLength = traceIdEnd - traceIdStart;
+    int spanIdLength = spanIdEnd - spanIdStart;
+    if (traceIdLength == 0
+        || traceIdLength > TraceId.getLength()
+        || spanIdLength == 0
+        || spanIdLength > SpanId.getLength()
+        || !OtelEncodingUtils.isValidBase16String(traceId, traceIdStart, traceIdLength)
+        || !OtelEncodingUtils.isValidBase16String(spanId, spanIdStart, spanIdLength)) {
+      return null;
+    }
+    int traceIdLowPartStart = Math.max(traceIdStart, traceIdEnd - MAX_ID_LENGTH);
+    long traceIdHighPart = decodeHex(traceId, traceIdStart, traceIdLowPartStart);
+    long traceIdLowPart = decodeHex(traceId, traceIdLowPartStart, traceIdEnd);
+    long spanIdValue = decodeHex(spanId, spanIdStart, spanIdEnd);
+    if ((traceIdHighPart == 0 && traceIdLowPart == 0) || spanIdValue == 0) {
+      return null;
+    }
+    return SpanContext.createFromRemoteParent(
+        traceIdHighPart,
+        traceIdLowPart,
+        spanIdValue,
+        sampled ? TraceFlags.getSampled() : TraceFlags.getDefault(),
+        TraceState.getDefault());
+  }
+
+  // Decodes at most 16 valid hex chars.
+  private static long decodeHex(CharSequence value, int start, int end) {
+    long result = 0;
+    for (int i = start; i < end; i++) {
+      result = result << 4 | Character.digit(value.charAt(i), 16);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.extension.trace.propagation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import io.opentelemetry.extension.aws.AwsXrayPropagator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+class MultiFormatPropagatorTest {
+
+  private static final String TRACE_ID = "ff000000000000000000000000000041";
+  private static final String SHORT_TRACE_ID = "ff00000000000041";
+  private static final String SPAN_ID = "ff00000000000041";
+  private static final String OTHER_TRACE_ID = "905734c59b913b4a905734c59b913b4a";
+  private static final String OTHER_SPAN_ID = "9909983295041501";
+  private static final String XRAY_HEADER = "X-Amzn-Trace-Id";
+  private static final TextMapSetter<Map<String, String>> setter = Map::put;
+  private static final List<TextMapPropagator> PROPAGATORS =
+      Arrays.asList(
+          W3CTraceContextPropagator.getInstance(),
+          B3Propagator.injectingMultiHeaders(),
+          JaegerPropagator.getInstance(),
+          OtTracePropagator.getInstance(),
+          AwsXrayPropagator.getInstance());
+
+  private final CountingGetter getter = new CountingGetter();
+  private final MultiFormatPropagator propagator = MultiFormatPropagator.create(PROPAGATORS);
+
+  private static SpanContext getSpanContext(Context context) {
+    return Span.fromContext(context).getSpanContext();
+  }
+
+  private static SpanContext remoteSpanContext(
+      String traceId, String spanId, TraceFlags traceFlags) {
+    return SpanContext.createFromRemoteParent(traceId, spanId, traceFlags, TraceState.getDefault());
+  }
+
+  @Test
+  void create_unsupportedPropagator() {
+    assertThatThrownBy(() -> MultiFormatPropagator.create(TextMapPropagator.noop()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void fields() {
+    assertThat(propagator.fields())
+        .containsExactly(
+            "traceparent",
+            "tracestate",
+            B3Propagator.TRACE_ID_HEADER,
+            B3Propagator.SPAN_ID_HEADER,
+            B3Propagator.SAMPLED_HEADER,
+            JaegerPropagator.PROPAGATION_HEADER,
+            OtTracePropagator.TRACE_ID_HEADER,
+            OtTracePropagator.SPAN_ID_HEADER,
+            OtTracePropagator.SAMPLED_HEADER,
+            XRAY_HEADER);
+  }
+
+  @Test
+  void inject_allFormats() {
+    Map<String, String> carrier = new LinkedHashMap<>();
+    Context context =
+        Context.root()
+            .with(
+                Span.wrap(
+                    SpanContext.create(
+                        TRACE_ID, SPAN_ID, TraceFlags.getSampled(), TraceState.getDefault())));
+    propagator.inject(context, carrier, setter);
+
+    Map<String, String> expected = new LinkedHashMap<>();
+    TextMapPropagator.composite(PROPAGATORS).inject(context, expected, setter);
+    assertThat(carrier).isEqualTo(expected);
+  }
+
+  @Test
+  void extract_Nothing() {
+    Map<String, String> carrier = Collections.singletonMap("content-type", "text/plain");
+    assertThat(propagator.extract(Context.root(), carrier, getter)).isSameAs(Context.root());
+  }
+
+  @Test
+  void extract_nullContext() {
+    assertThat(propagator.extract(null, Collections.emptyMap(), getter)).isSameAs(Context.root());
+  }
+
+  @Test
+  void extract_nullGetter() {
+    Context context = Context.root().with(Baggage.builder().put("foo", "bar").build());
+    assertThat(propagator.extract(context, Collections.emptyMap(), null)).isSameAs(context);
+  }
+
+  @Test
+  void extract_EachFormat() {
+    assertExtracted(
+        Collections.singletonMap("traceparent", "00-" + TRACE_ID + "-" + SPAN_ID + "-01"),
+        remoteSpanContext(TRACE_ID, SPAN_ID, TraceFlags.getSampled()));
+    assertExtracted(
+        Collections.singletonMap(B3Propagator.COMBINED_HEADER, TRACE_ID + "-" + SPAN_ID + "-1"),
+        remoteSpanContext(TRACE_ID, SPAN_ID, TraceFlags.getSampled()));
+    assertExtracted(
+        Collections.singletonMap(
+            B3Propagator.COMBINED_HEADER, SHORT_TRACE_ID + "-" + SPAN_ID + "-0-" + OTHER_SPAN_ID),
+        remoteSpanContext("0000000000000000" + SHORT_TRACE_ID, SPAN_ID, TraceFlags.getDefault()));
+
+    Map<String, String> b3 = new LinkedHashMap<>();
+    b3.put(B3Propagator.TRACE_ID_HEADER, TRACE_ID);
+    b3.put(B3Propagator.SPAN_ID_HEADER, SPAN_ID);
+    b3.put(B3Propagator.SAMPLED_HEADER, "true");
+    assertExtracted(b3, remoteSpanContext(TRACE_ID, SPAN_ID, TraceFlags.getSampled()));
+
+    assertExtracted(
+        Collections.singletonMap(JaegerPropagator.PROPAGATION_HEADER, "abc:def:0:3"),
+        remoteSpanContext(
+            "00000000000000000000000000000abc", "0000000000000def", TraceFlags.getSampled()));
+
+    Map<String, String> ot = new LinkedHashMap<>();
+    ot.put(OtTracePropagator.TRACE_ID_HEADER, SHORT_TRACE_ID);
+    ot.put(OtTracePropagator.SPAN_ID_HEADER, SPAN_ID);
+    ot.put(OtTracePropagator.SAMPLED_HEADER, "false");
+    assertExtracted(
+        ot,
+        remoteSpanContext("0000000000000000" + SHORT_TRACE_ID, SPAN_ID, TraceFlags.getDefault()));
+
+    assertExtracted(
+        Collections.singletonMap(
+            XRAY_HEADER,
+            "Root=1-8a3c60f7-d188f8fa79d48a391a778fa6; Parent=53995c3f42cd8ad8;Sampled=1"),
+        remoteSpanContext(
+            "8a3c60f7d188f8fa79d48a391a778fa6", "53995c3f42cd8ad8", TraceFlags.getSampled()));
+  }
+
+  @Test
+  void extract_LooksUpEachHeaderOnce() {
+    Map<String, String> carrier = new LinkedHashMap<>();
+    carrier.put("traceparent", "00-" + TRACE_ID + "-" + SPAN_ID + "-01");
+    carrier.put(B3Propagator.COMBINED_HEADER, OTHER_TRACE_ID + "-" + OTHER_SPAN_ID);
+    carrier.put(JaegerPropagator.PROPAGATION_HEADER, OTHER_TRACE_ID + ":" + OTHER_SPAN_ID + ":0:1");
+    carrier.put("content-type", "text/plain");
+
+    assertThat(getSpanContext(propagator.extract(Context.root(), carrier, getter)))
+        .isEqualTo(remoteSpanContext(TRACE_ID, SPAN_ID, TraceFlags.getSampled()));
+    assertThat(getter.lookups).isEqualTo(3);
+  }
+
+  @Test
+  void extract_Priority() {
+    Map<String, String> carrier = new LinkedHashMap<>();
+    carrier.put("traceparent", "00-" + TRACE_ID + "-" + SPAN_ID + "-01");
+    carrier.put(B3Propagator.COMBINED_HEADER, OTHER_TRACE_ID + "-" + OTHER_SPAN_ID);
+
+    assertThat(getSpanContext(propagator.extract(Context.root(), carrier, getter)))
+        .isEqualTo(remoteSpanContext(TRACE_ID, SPAN_ID, TraceFlags.getSampled()));
+    assertThat(
+            getSpanContext(
+                MultiFormatPropagator.create(
+                        B3Propagator.injectingSingleHeader(),
+                        W3CTraceContextPropagator.getInstance())
+                    .extract(Context.root(), carrier, getter)))
+        .isEqualTo(remoteSpanContext(OTHER_TRACE_ID, OTHER_SPAN_ID, TraceFlags.getDefault()));
+
+    // The next format is used when the first one is not valid.
+    carrier.put("traceparent", "00-" + TRACE_ID + "-" + SPAN_ID + "-0g");
+    assertThat(getSpanContext(propagator.extract(Context.root(), carrier, getter)))
+        .isEqualTo(remoteSpanContext(OTHER_TRACE_ID, OTHER_SPAN_ID, TraceFlags.getDefault()));
+  }
+
+  @Test
+  void extract_HeadersIgnoringCase() {
+    Map<String, String> carrier = new LinkedHashMap<>();
+    carrier.put("x-b3-traceid", TRACE_ID);
+    carrier.put("x-b3-spanid", SPAN_ID);
+
+    assertThat(getSpanContext(propagator.extract(Context.root(), carrier, getter)))
+        .isEqualTo(remoteSpanContext(TRACE_ID, SPAN_ID, TraceFlags.getDefault()));
+  }
+
+  @Test
+  void extract_AsComposite() {
+    // Headers parsed by the propagators, the composite gives the priority to the last one.
+    TextMapPropagator composite =
+        TextMapPropagator.composite(
+            AwsXrayPropagator.getInstance(),
+            OtTracePropagator.getInstance(),
+            JaegerPropagator.getInstance(),
+            B3Propagator.injectingMultiHeaders(),
+            W3CTraceContextPropagator.getInstance());
+    List<Map<String, String>> carriers = new ArrayList<>();
+    carriers.add(
+        carrier(
+            JaegerPropagator.PROPAGATION_HEADER, OTHER_TRACE_ID + "%3A" + SPAN_ID + "%3A0%3A1"));
+    carriers.add(carrier(JaegerPropagator.PROPAGATION_HEADER, OTHER_TRACE_ID + ":0:0:1"));
+    carriers.add(
+        carrier(
+            JaegerPropagator.PROPAGATION_HEADER,
+            OTHER_TRACE_ID + ":" + SPAN_ID + ":0:1",
+            JaegerPropagator.BAGGAGE_PREFIX + "foo",
+            "bar"));
+    carriers.add(carrier(B3Propagator.COMBINED_HEADER, TRACE_ID + "-" + SPAN_ID + "-d"));
+    carriers.add(
+        carrier(
+            B3Propagator.COMBINED_HEADER,
+            "invalid",
+            B3Propagator.TRACE_ID_HEADER,
+            TRACE_ID,
+            B3Propagator.SPAN_ID_HEADER,
+            SPAN_ID));
+    carriers.add(
+        carrier(
+            OtTracePropagator.TRACE_ID_HEADER,
+            TRACE_ID,
+            OtTracePropagator.SPAN_ID_HEADER,
+            SPAN_ID,
+            OtTracePropagator.PREFIX_BAGGAGE_HEADER + "foo",
+            "bar"));
+    carriers.add(
+        carrier(
+            XRAY_HEADER,
+            "Root=1-8a3c60f7-d188f8fa79d48a391a778fa6;Parent=53995c3f42cd8ad8;Foo=Bar",
+            "traceparent",
+            "00-" + TRACE_ID + "-" + SPAN_ID + "-01"));
+    carriers.add(carrier(XRAY_HEADER, "Root=1-8a3c60f7;Sampled=2"));
+
+    for (Map<String, String> carrier : carriers) {
+      Context expected = composite.extract(Context.root(), carrier, getter);
+      Context extracted = propagator.extract(Context.root(), carrier, getter);
+      assertThat(getSpanContext(extracted)).isEqualTo(getSpanContext(expected));
+      assertThat(Baggage.fromContext(extracted)).isEqualTo(Baggage.fromContext(expected));
+      assertThat(extracted.get(B3Propagator.DEBUG_CONTEXT_KEY))
+          .isEqualTo(expected.get(B3Propagator.DEBUG_CONTEXT_KEY));
+    }
+  }
+
+  private void assertExtracted(Map<String, String> carrier, SpanContext expected) {
+    assertThat(getSpanContext(propagator.extract(Context.root(), carrier, getter)))
+        .isEqualTo(expected);
+  }
+
+  private static Map<String, String> carrier(String... keysAndValues) {
+    Map<String, String> carrier = new LinkedHashMap<>();
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      carrier.put(keysAndValues[i], keysAndValues[i + 1]);
+    }
+    return carrier;
+  }
+
+  private static final class CountingGetter implements TextMapGetter<Map<String, String>> {
+    private int lookups;
+
+    @Override
+    public Iterable<String> keys(Map<String, String> carrier) {
+      return carrier.keySet();
+    }
+
+    @Nullable
+    @Override
+    public String get(Map<String, String> carrier, String key) {
+      lookups++;
+      return carrier.get(key);
+    }
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides whether a trace buffered by a {@link TailSamplingSpanProcessor} is exported, once its
+ * local root span has ended or its decision wait has elapsed.
+ *
+ * <p>Implementations must be thread-safe and return quickly, as decisions are made on the single
+ * worker thread of the processor.
+ */
+@FunctionalInterface
+public interface TailSamplingPolicy {
+
+  /** Returns a {@link TailSamplingPolicy} keeping the traces with a span with an error status. */
+  static TailSamplingPolicy errorStatus() {
+    return spans -> {
+      for (SpanData span : spans) {
+        if (span.getStatus().getStatusCode() == StatusCode.ERROR) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  /**
+   * Returns a {@link TailSamplingPolicy} keeping the traces with a span that took at least the
+   * given duration.
+   */
+  static TailSamplingPolicy latencyAtLeast(long threshold, TimeUnit unit) {
+    requireNonNull(unit, "unit");
+    long thresholdNanos = unit.toNanos(threshold);
+    return spans -> {
+      for (SpanData span : spans) {
+        if (span.getEndEpochNanos() - span.getStartEpochNanos() >= thresholdNanos) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  /**
+   * Returns a {@link TailSamplingPolicy} keeping the traces with a span that took at least the
+   * given duration.
+   */
+  static TailSamplingPolicy latencyAtLeast(Duration threshold) {
+    requireNonNull(threshold, "threshold");
+    return latencyAtLeast(threshold.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Returns a {@link TailSamplingPolicy} keeping the traces with a span with the given attribute
+   * value.
+   */
+  static <T> TailSamplingPolicy attributeEquals(AttributeKey<T> key, T value) {
+    requireNonNull(key, "key");
+    requireNonNull(value, "value");
+    return spans -> {
+      for (SpanData span : spans) {
+        if (value.equals(span.getAttributes().get(key))) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  /**
+   * Returns whether the trace made of the given spans is exported.
+   *
+   * @param spans the spans of the trace which ended in this process, in the order they ended.
+   * @return {@code true} to export the spans, {@code false} to drop them.
+   */
+  boolean shouldKeep(List<SpanData> spans);
+}
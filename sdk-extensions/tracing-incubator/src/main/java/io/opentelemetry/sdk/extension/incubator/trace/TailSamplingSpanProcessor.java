@@ -0,0 +1,451 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.internal.GuardedBy;
+import io.opentelemetry.api.metrics.BoundLongCounter;
+import io.opentelemetry.api.metrics.GlobalMeterProvider;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.internal.DaemonThreadFactory;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link SpanProcessor} which samples whole traces after their spans have ended, so that only
+ * the traces of interest, e.g. the failed or slow ones, are exported.
+ *
+ * <p>The ended spans of sampled traces are buffered per trace ID. A trace is decided when its local
+ * root span, i.e. the first span of the trace in this process, ends, or when its decision wait has
+ * elapsed since its first span ended. The trace is exported if any of the configured {@link
+ * TailSamplingPolicy} keeps it, otherwise it is dropped. Spans of a trace which end after the trace
+ * has been decided follow the same decision, as long as it is among the most recent decisions.
+ *
+ * <p>The memory used by the buffered spans is estimated and bounded by {@code maxBufferedBytes}.
+ * Spans ending while the buffer is full are dropped.
+ *
+ * <p>As only the spans of this process are known, a trace spanning several services can be kept
+ * in one service and dropped in another. The traces which must be kept whole should be sampled
+ * where they all end, e.g. in the collector.
+ */
+public final class TailSamplingSpanProcessor implements SpanProcessor {
+
+  private static final Logger logger = Logger.getLogger(TailSamplingSpanProcessor.class.getName());
+
+  private static final String WORKER_THREAD_NAME =
+      TailSamplingSpanProcessor.class.getSimpleName() + "_WorkerThread";
+  private static final String SPAN_PROCESSOR_TYPE_LABEL = "spanProcessorType";
+  private static final String SPAN_PROCESSOR_TYPE_VALUE =
+      TailSamplingSpanProcessor.class.getSimpleName();
+  private static final String DECISION_LABEL = "decision";
+
+  // Visible for testing
+  static final int MAX_REMEMBERED_DECISIONS = 10_000;
+  // How often the worker thread checks for traces to decide, at most.
+  private static final long WORKER_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  // Rough footprints, in bytes, of the parts of the SpanData of a span.
+  private static final long SPAN_BYTES = 400;
+  private static final long ATTRIBUTE_BYTES = 64;
+  private static final long EVENT_BYTES = 128;
+  private static final long LINK_BYTES = 128;
+
+  private final SpanExporter spanExporter;
+  private final List<TailSamplingPolicy> policies;
+  private final long decisionWaitNanos;
+  private final long maxBufferedBytes;
+  private final int maxExportBatchSize;
+  private final long exporterTimeoutNanos;
+
+  private final ConcurrentHashMap<String, Trace> traces = new ConcurrentHashMap<>();
+  // The traces in the order they were first buffered, which is also the order of their deadlines.
+  private final Queue<Trace> tracesByAge = new ConcurrentLinkedQueue<>();
+  // The traces whose local root span has ended.
+  private final BlockingQueue<Trace> completedTraces = new LinkedBlockingQueue<>();
+  // The spans of kept traces which ended after the trace was decided.
+  private final Queue<SpanData> lateSpans = new ConcurrentLinkedQueue<>();
+  private final Map<String, Boolean> decisions =
+      Collections.synchronizedMap(
+          new LinkedHashMap<String, Boolean>() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+              return size() > MAX_REMEMBERED_DECISIONS;
+            }
+          });
+  private final AtomicLong bufferedBytes = new AtomicLong();
+
+  private final BoundLongCounter keptSpans;
+  private final BoundLongCounter droppedSpans;
+  private final BoundLongCounter overflowSpans;
+
+  private final AtomicReference<CompletableResultCode> flushRequested = new AtomicReference<>();
+  private final AtomicBoolean isShutdown = new AtomicBoolean(false);
+  private volatile boolean continueWork = true;
+
+  /**
+   * Returns a new Builder for {@link TailSamplingSpanProcessor}.
+   *
+   * @param spanExporter the {@code SpanExporter} to where the spans of kept traces are pushed.
+   * @return a new {@link TailSamplingSpanProcessorBuilder}.
+   * @throws NullPointerException if the {@code spanExporter} is {@code null}.
+   */
+  public static TailSamplingSpanProcessorBuilder builder(SpanExporter spanExporter) {
+    return new TailSamplingSpanProcessorBuilder(spanExporter);
+  }
+
+  TailSamplingSpanProcessor(
+      SpanExporter spanExporter,
+      List<TailSamplingPolicy> policies,
+      long decisionWaitNanos,
+      long maxBufferedBytes,
+      int maxExportBatchSize,
+      long exporterTimeoutNanos) {
+    this.spanExporter = spanExporter;
+    this.policies = policies;
+    this.decisionWaitNanos = decisionWaitNanos;
+    this.maxBufferedBytes = maxBufferedBytes;
+    this.maxExportBatchSize = maxExportBatchSize;
+    this.exporterTimeoutNanos = exporterTimeoutNanos;
+
+    Meter meter = GlobalMeterProvider.getMeter("io.opentelemetry.sdk.trace");
+    LongCounter tailSampledSpansCounter =
+        meter
+            .longCounterBuilder("tailSampledSpans")
+            .setUnit("1")
+            .setDescription(
+                "The number of spans sampled by the TailSamplingSpanProcessor. "
+                    + "[decision=kept or dropped by the policies, "
+                    + "or overflow if the buffer was full]")
+            .build();
+    Labels labels = Labels.of(SPAN_PROCESSOR_TYPE_LABEL, SPAN_PROCESSOR_TYPE_VALUE);
+    keptSpans =
+        tailSampledSpansCounter.bind(labels.toBuilder().put(DECISION_LABEL, "kept").build());
+    droppedSpans =
+        tailSampledSpansCounter.bind(labels.toBuilder().put(DECISION_LABEL, "dropped").build());
+    overflowSpans =
+        tailSampledSpansCounter.bind(labels.toBuilder().put(DECISION_LABEL, "overflow").build());
+    meter
+        .longValueObserverBuilder("bufferedBytes")
+        .setDescription("The estimated memory of the spans buffered until their trace is decided")
+        .setUnit("By")
+        .setUpdater(result -> result.observe(bufferedBytes.get(), labels))
+        .build();
+
+    new DaemonThreadFactory(WORKER_THREAD_NAME).newThread(new Worker()).start();
+  }
+
+  @Override
+  public void onStart(Context parentContext, ReadWriteSpan span) {}
+
+  @Override
+  public boolean isStartRequired() {
+    return false;
+  }
+
+  @Override
+  public void onEnd(ReadableSpan span) {
+    if (!span.getSpanContext().isSampled()) {
+      return;
+    }
+    SpanData spanData = span.toSpanData();
+    String traceId = spanData.getTraceId();
+    Boolean decision = decisions.get(traceId);
+    if (decision != null) {
+      addLateSpan(spanData, decision);
+      return;
+    }
+
+    long size = estimateSize(spanData);
+    if (bufferedBytes.addAndGet(size) > maxBufferedBytes) {
+      bufferedBytes.addAndGet(-size);
+      overflowSpans.add(1);
+      return;
+    }
+    Trace trace = traces.computeIfAbsent(traceId, this::newTrace);
+    synchronized (trace) {
+      if (trace.decision == null && trace.spans.isEmpty()) {
+        // The trace may have been decided, and removed from traces, since the decisions were read
+        // above, in which case this new trace must follow that decision instead of waiting for
+        // another one.
+        Boolean previousDecision = decisions.get(traceId);
+        if (previousDecision != null) {
+          trace.decision = previousDecision;
+          traces.remove(traceId, trace);
+        }
+      }
+      if (trace.decision == null) {
+        trace.spans.add(spanData);
+        trace.bufferedBytes += size;
+        if (isLocalRoot(spanData)) {
+          completedTraces.offer(trace);
+        }
+        return;
+      }
+      decision = trace.decision;
+    }
+    // The trace was decided while this span was ending.
+    bufferedBytes.addAndGet(-size);
+    addLateSpan(spanData, decision);
+  }
+
+  @Override
+  public boolean isEndRequired() {
+    return true;
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    if (isShutdown.getAndSet(true)) {
+      return CompletableResultCode.ofSuccess();
+    }
+    final CompletableResultCode result = new CompletableResultCode();
+
+    final CompletableResultCode flushResult = forceFlush();
+    flushResult.whenComplete(
+        () -> {
+          continueWork = false;
+          final CompletableResultCode shutdownResult = spanExporter.shutdown();
+          shutdownResult.whenComplete(
+              () -> {
+                if (!flushResult.isSuccess() || !shutdownResult.isSuccess()) {
+                  result.fail();
+                } else {
+                  result.succeed();
+                }
+              });
+        });
+
+    return result;
+  }
+
+  /** Decides all the buffered traces, even those not complete yet, and exports the kept ones. */
+  @Override
+  public CompletableResultCode forceFlush() {
+    CompletableResultCode flushResult = new CompletableResultCode();
+    flushRequested.compareAndSet(null, flushResult);
+    CompletableResultCode possibleResult = flushRequested.get();
+    // there's a race here where the flush happening in the worker loop could complete before we
+    // get what's in the atomic. In that case, just return success, since we know it succeeded in
+    // the interim.
+    return possibleResult == null ? CompletableResultCode.ofSuccess() : possibleResult;
+  }
+
+  private Trace newTrace(String traceId) {
+    Trace trace = new Trace(traceId, System.nanoTime() + decisionWaitNanos);
+    tracesByAge.offer(trace);
+    return trace;
+  }
+
+  // Visible for testing
+  int getBufferedSpanCount() {
+    int count = 0;
+    for (Trace trace : tracesByAge) {
+      synchronized (trace) {
+        count += trace.spans.size();
+      }
+    }
+    return count;
+  }
+
+  private void addLateSpan(SpanData span, boolean keep) {
+    if (keep) {
+      lateSpans.offer(span);
+    } else {
+      droppedSpans.add(1);
+    }
+  }
+
+  private static boolean isLocalRoot(SpanData span) {
+    SpanContext parent = span.getParentSpanContext();
+    return !parent.isValid() || parent.isRemote();
+  }
+
+  // Visible for testing
+  static long estimateSize(SpanData span) {
+    long size = SPAN_BYTES + 2L * span.getName().length() + estimateSize(span.getAttributes());
+    // The attributes of events are not read, which would render the stack traces of exceptions.
+    size += EVENT_BYTES * span.getEvents().size();
+    for (LinkData link : span.getLinks()) {
+      size += LINK_BYTES + estimateSize(link.getAttributes());
+    }
+    return size;
+  }
+
+  private static long estimateSize(Attributes attributes) {
+    long[] size = {ATTRIBUTE_BYTES * attributes.size()};
+    attributes.forEach(
+        (key, value) -> {
+          size[0] += 2L * key.getKey().length();
+          if (value instanceof String) {
+            size[0] += 2L * ((String) value).length();
+          } else if (value instanceof List) {
+            size[0] += 16L * ((List<?>) value).size();
+          }
+        });
+    return size[0];
+  }
+
+  private static final class Trace {
+    private final String traceId;
+    private final long deadlineNanos;
+
+    // Handed off to the worker once the trace is decided.
+    @GuardedBy("this")
+    private List<SpanData> spans = new ArrayList<>();
+
+    @GuardedBy("this")
+    private long bufferedBytes;
+
+    @GuardedBy("this")
+    @Nullable
+    private Boolean decision;
+
+    private Trace(String traceId, long deadlineNanos) {
+      this.traceId = traceId;
+      this.deadlineNanos = deadlineNanos;
+    }
+  }
+
+  // Worker is a thread that decides the traces that are complete or whose decision wait has
+  // elapsed, and exports the spans of the kept ones.
+  private final class Worker implements Runnable {
+
+    // Only accessed by the worker thread.
+    private List<SpanData> batch = new ArrayList<>();
+
+    @Override
+    public void run() {
+      while (continueWork) {
+        CompletableResultCode flushResult = flushRequested.get();
+        try {
+          Trace trace = completedTraces.poll(WORKER_INTERVAL_NANOS, TimeUnit.NANOSECONDS);
+          while (trace != null) {
+            decide(trace);
+            trace = completedTraces.poll();
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        long now = System.nanoTime();
+        Trace oldest;
+        while ((oldest = tracesByAge.peek()) != null
+            && (flushResult != null || now - oldest.deadlineNanos >= 0)) {
+          tracesByAge.poll();
+          decide(oldest);
+        }
+        SpanData lateSpan;
+        while ((lateSpan = lateSpans.poll()) != null) {
+          addToBatch(lateSpan);
+        }
+        exportCurrentBatch();
+        if (flushResult != null) {
+          flushResult.succeed();
+          flushRequested.set(null);
+        }
+      }
+    }
+
+    private void decide(Trace trace) {
+      List<SpanData> spans;
+      boolean keep;
+      long traceBytes;
+      synchronized (trace) {
+        if (trace.decision != null) {
+          return;
+        }
+        spans = trace.spans;
+        keep = shouldKeep(spans);
+        trace.decision = keep;
+        traceBytes = trace.bufferedBytes;
+        // The trace stays in tracesByAge until its deadline, so its spans must not be kept there.
+        trace.spans = Collections.emptyList();
+        trace.bufferedBytes = 0;
+        // Remembered before the trace is removed, so that its later spans find the decision.
+        decisions.put(trace.traceId, keep);
+      }
+      traces.remove(trace.traceId, trace);
+      bufferedBytes.addAndGet(-traceBytes);
+      if (keep) {
+        for (SpanData span : spans) {
+          addToBatch(span);
+        }
+      } else {
+        droppedSpans.add(spans.size());
+      }
+    }
+
+    private boolean shouldKeep(List<SpanData> spans) {
+      List<SpanData> unmodifiableSpans = Collections.unmodifiableList(spans);
+      for (TailSamplingPolicy policy : policies) {
+        try {
+          if (policy.shouldKeep(unmodifiableSpans)) {
+            return true;
+          }
+        } catch (RuntimeException e) {
+          logger.log(Level.WARNING, "Tail sampling policy threw an Exception", e);
+        }
+      }
+      return false;
+    }
+
+    private void addToBatch(SpanData span) {
+      batch.add(span);
+      if (batch.size() >= maxExportBatchSize) {
+        exportCurrentBatch();
+      }
+    }
+
+    private void exportCurrentBatch() {
+      if (batch.isEmpty()) {
+        return;
+      }
+
+      try {
+        CompletableResultCode result = spanExporter.export(Collections.unmodifiableList(batch));
+        result.join(exporterTimeoutNanos, TimeUnit.NANOSECONDS);
+        if (result.isSuccess()) {
+          keptSpans.add(batch.size());
+        } else {
+          logger.log(Level.FINE, "Exporter failed");
+        }
+      } catch (RuntimeException e) {
+        logger.log(Level.WARNING, "Exporter threw an Exception", e);
+      } finally {
+        // The exporter may still be reading the batch if the export timed out.
+        batch = new ArrayList<>();
+      }
+    }
+  }
+}
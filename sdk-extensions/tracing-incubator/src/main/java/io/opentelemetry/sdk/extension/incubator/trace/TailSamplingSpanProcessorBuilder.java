@@ -0,0 +1,157 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builder class for the {@link TailSamplingSpanProcessor}.
+ *
+ * @see TailSamplingSpanProcessor#builder(SpanExporter)
+ */
+public final class TailSamplingSpanProcessorBuilder {
+
+  // Visible for testing
+  static final long DEFAULT_DECISION_WAIT_MILLIS = 30_000;
+  // Visible for testing
+  static final long DEFAULT_MAX_BUFFERED_BYTES = 64 * 1024 * 1024;
+  // Visible for testing
+  static final int DEFAULT_MAX_EXPORT_BATCH_SIZE = 512;
+  // Visible for testing
+  static final int DEFAULT_EXPORT_TIMEOUT_MILLIS = 30_000;
+
+  private final SpanExporter spanExporter;
+  private final List<TailSamplingPolicy> policies = new ArrayList<>();
+  private long decisionWaitNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_DECISION_WAIT_MILLIS);
+  private long maxBufferedBytes = DEFAULT_MAX_BUFFERED_BYTES;
+  private int maxExportBatchSize = DEFAULT_MAX_EXPORT_BATCH_SIZE;
+  private long exporterTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_EXPORT_TIMEOUT_MILLIS);
+
+  TailSamplingSpanProcessorBuilder(SpanExporter spanExporter) {
+    this.spanExporter = requireNonNull(spanExporter, "spanExporter");
+  }
+
+  /**
+   * Adds a {@link TailSamplingPolicy}. A trace is exported if any of the policies keeps it, so a
+   * processor without policies drops every trace.
+   */
+  public TailSamplingSpanProcessorBuilder addPolicy(TailSamplingPolicy policy) {
+    requireNonNull(policy, "policy");
+    policies.add(policy);
+    return this;
+  }
+
+  // Visible for testing
+  List<TailSamplingPolicy> getPolicies() {
+    return policies;
+  }
+
+  /**
+   * Sets how long a trace is buffered, from its first ended span, before it is decided even though
+   * its local root span has not ended. If unset, defaults to {@value
+   * DEFAULT_DECISION_WAIT_MILLIS}ms.
+   */
+  public TailSamplingSpanProcessorBuilder setDecisionWait(long wait, TimeUnit unit) {
+    requireNonNull(unit, "unit");
+    checkArgument(wait >= 0, "wait must be non-negative");
+    decisionWaitNanos = unit.toNanos(wait);
+    return this;
+  }
+
+  /**
+   * Sets how long a trace is buffered, from its first ended span, before it is decided even though
+   * its local root span has not ended. If unset, defaults to {@value
+   * DEFAULT_DECISION_WAIT_MILLIS}ms.
+   */
+  public TailSamplingSpanProcessorBuilder setDecisionWait(Duration wait) {
+    requireNonNull(wait, "wait");
+    return setDecisionWait(wait.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  // Visible for testing
+  long getDecisionWaitNanos() {
+    return decisionWaitNanos;
+  }
+
+  /**
+   * Sets the maximum estimated memory, in bytes, of the spans buffered while waiting for the
+   * decision on their trace. Spans ending while the buffer is full are dropped. If unset, defaults
+   * to {@value DEFAULT_MAX_BUFFERED_BYTES} bytes.
+   */
+  public TailSamplingSpanProcessorBuilder setMaxBufferedBytes(long maxBufferedBytes) {
+    checkArgument(maxBufferedBytes > 0, "maxBufferedBytes must be positive.");
+    this.maxBufferedBytes = maxBufferedBytes;
+    return this;
+  }
+
+  // Visible for testing
+  long getMaxBufferedBytes() {
+    return maxBufferedBytes;
+  }
+
+  /**
+   * Sets the maximum number of spans of kept traces exported at once. The spans of a large trace
+   * are split into several exports. If unset, defaults to {@value DEFAULT_MAX_EXPORT_BATCH_SIZE}.
+   */
+  public TailSamplingSpanProcessorBuilder setMaxExportBatchSize(int maxExportBatchSize) {
+    checkArgument(maxExportBatchSize > 0, "maxExportBatchSize must be positive.");
+    this.maxExportBatchSize = maxExportBatchSize;
+    return this;
+  }
+
+  // Visible for testing
+  int getMaxExportBatchSize() {
+    return maxExportBatchSize;
+  }
+
+  /**
+   * Sets the maximum time an export will be allowed to run before being cancelled. If unset,
+   * defaults to {@value DEFAULT_EXPORT_TIMEOUT_MILLIS}ms.
+   */
+  public TailSamplingSpanProcessorBuilder setExporterTimeout(long timeout, TimeUnit unit) {
+    requireNonNull(unit, "unit");
+    checkArgument(timeout >= 0, "timeout must be non-negative");
+    exporterTimeoutNanos = unit.toNanos(timeout);
+    return this;
+  }
+
+  /**
+   * Sets the maximum time an export will be allowed to run before being cancelled. If unset,
+   * defaults to {@value DEFAULT_EXPORT_TIMEOUT_MILLIS}ms.
+   */
+  public TailSamplingSpanProcessorBuilder setExporterTimeout(Duration timeout) {
+    requireNonNull(timeout, "timeout");
+    return setExporterTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  // Visible for testing
+  long getExporterTimeoutNanos() {
+    return exporterTimeoutNanos;
+  }
+
+  /**
+   * Returns a new {@link TailSamplingSpanProcessor} that buffers spans per trace and forwards the
+   * traces kept by the policies to the given {@code spanExporter}.
+   *
+   * @return a new {@link TailSamplingSpanProcessor}.
+   */
+  public TailSamplingSpanProcessor build() {
+    return new TailSamplingSpanProcessor(
+        spanExporter,
+        new ArrayList<>(policies),
+        decisionWaitNanos,
+        maxBufferedBytes,
+        maxExportBatchSize,
+        exporterTimeoutNanos);
+  }
+}
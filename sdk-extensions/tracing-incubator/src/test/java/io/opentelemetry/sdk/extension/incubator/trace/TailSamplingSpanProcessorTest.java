@@ -0,0 +1,291 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.metrics.GlobalMeterProvider;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TailSamplingSpanProcessorTest {
+
+  private static final AttributeKey<String> KEEP = stringKey("keep");
+
+  private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+  private SdkTracerProvider sdkTracerProvider;
+  private Tracer tracer;
+
+  @AfterEach
+  void cleanup() {
+    if (sdkTracerProvider != null) {
+      sdkTracerProvider.shutdown();
+    }
+  }
+
+  private TailSamplingSpanProcessor setUp(TailSamplingSpanProcessorBuilder builder) {
+    TailSamplingSpanProcessor processor = builder.build();
+    sdkTracerProvider = SdkTracerProvider.builder().addSpanProcessor(processor).build();
+    tracer = sdkTracerProvider.get(getClass().getName());
+    return processor;
+  }
+
+  @Test
+  void configTest_EmptyOptions() {
+    TailSamplingSpanProcessorBuilder config = TailSamplingSpanProcessor.builder(exporter);
+    assertThat(config.getPolicies()).isEmpty();
+    assertThat(config.getDecisionWaitNanos())
+        .isEqualTo(
+            TimeUnit.MILLISECONDS.toNanos(
+                TailSamplingSpanProcessorBuilder.DEFAULT_DECISION_WAIT_MILLIS));
+    assertThat(config.getMaxBufferedBytes())
+        .isEqualTo(TailSamplingSpanProcessorBuilder.DEFAULT_MAX_BUFFERED_BYTES);
+    assertThat(config.getMaxExportBatchSize())
+        .isEqualTo(TailSamplingSpanProcessorBuilder.DEFAULT_MAX_EXPORT_BATCH_SIZE);
+    assertThat(config.getExporterTimeoutNanos())
+        .isEqualTo(
+            TimeUnit.MILLISECONDS.toNanos(
+                TailSamplingSpanProcessorBuilder.DEFAULT_EXPORT_TIMEOUT_MILLIS));
+  }
+
+  @Test
+  void invalidConfig() {
+    assertThatThrownBy(() -> TailSamplingSpanProcessor.builder(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("spanExporter");
+    TailSamplingSpanProcessorBuilder builder = TailSamplingSpanProcessor.builder(exporter);
+    assertThatThrownBy(() -> builder.addPolicy(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("policy");
+    assertThatThrownBy(() -> builder.setDecisionWait(-1, TimeUnit.MILLISECONDS))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("wait must be non-negative");
+    assertThatThrownBy(() -> builder.setMaxBufferedBytes(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxBufferedBytes must be positive.");
+    assertThatThrownBy(() -> builder.setMaxExportBatchSize(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxExportBatchSize must be positive.");
+    assertThatThrownBy(() -> builder.setExporterTimeout(-1, TimeUnit.MILLISECONDS))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("timeout must be non-negative");
+  }
+
+  @Test
+  void metricsDoNotConflictWithBatchSpanProcessor() {
+    SdkMeterProvider.builder().buildAndRegisterGlobal();
+    try {
+      BatchSpanProcessor batchProcessor = BatchSpanProcessor.builder(exporter).build();
+      setUp(TailSamplingSpanProcessor.builder(exporter));
+      batchProcessor.shutdown().join(10, TimeUnit.SECONDS);
+    } finally {
+      GlobalMeterProvider.set(null);
+    }
+  }
+
+  @Test
+  void exportsKeptTraces() {
+    TailSamplingSpanProcessor processor =
+        setUp(
+            TailSamplingSpanProcessor.builder(exporter)
+                .addPolicy(TailSamplingPolicy.errorStatus()));
+
+    Span failedRoot = tracer.spanBuilder("failedRoot").startSpan();
+    Span failedChild =
+        tracer.spanBuilder("failedChild").setParent(Context.root().with(failedRoot)).startSpan();
+    failedChild.setStatus(StatusCode.ERROR);
+    failedChild.end();
+    failedRoot.end();
+
+    Span okRoot = tracer.spanBuilder("okRoot").startSpan();
+    tracer.spanBuilder("okChild").setParent(Context.root().with(okRoot)).startSpan().end();
+    okRoot.end();
+
+    await().untilAsserted(() -> assertThat(exportedSpanNames()).hasSize(2));
+    processor.forceFlush().join(10, TimeUnit.SECONDS);
+    assertThat(exportedSpanNames()).containsExactly("failedChild", "failedRoot");
+  }
+
+  @Test
+  void releasesDecidedTraces() {
+    TailSamplingSpanProcessor processor =
+        setUp(
+            TailSamplingSpanProcessor.builder(exporter)
+                .addPolicy(TailSamplingPolicy.attributeEquals(KEEP, "yes")));
+
+    Span keptRoot = tracer.spanBuilder("keptRoot").setAttribute(KEEP, "yes").startSpan();
+    tracer.spanBuilder("keptChild").setParent(Context.root().with(keptRoot)).startSpan().end();
+    keptRoot.end();
+    Span droppedRoot = tracer.spanBuilder("droppedRoot").startSpan();
+    tracer
+        .spanBuilder("droppedChild")
+        .setParent(Context.root().with(droppedRoot))
+        .startSpan()
+        .end();
+    assertThat(processor.getBufferedSpanCount()).isPositive();
+    droppedRoot.end();
+
+    // Both traces are decided when their root ends, long before their decision wait elapses.
+    await().untilAsserted(() -> assertThat(processor.getBufferedSpanCount()).isZero());
+    await().untilAsserted(() -> assertThat(exportedSpanNames()).hasSize(2));
+  }
+
+  @Test
+  void splitsLargeTracesIntoBatches() {
+    List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    TailSamplingSpanProcessor processor =
+        setUp(
+            TailSamplingSpanProcessor.builder(
+                    new SpanExporter() {
+                      @Override
+                      public CompletableResultCode export(Collection<SpanData> spans) {
+                        batchSizes.add(spans.size());
+                        return CompletableResultCode.ofSuccess();
+                      }
+
+                      @Override
+                      public CompletableResultCode flush() {
+                        return CompletableResultCode.ofSuccess();
+                      }
+
+                      @Override
+                      public CompletableResultCode shutdown() {
+                        return CompletableResultCode.ofSuccess();
+                      }
+                    })
+                .addPolicy(spans -> true)
+                .setMaxExportBatchSize(2));
+
+    Span root = tracer.spanBuilder("root").startSpan();
+    for (int i = 0; i < 4; i++) {
+      tracer.spanBuilder("child").setParent(Context.root().with(root)).startSpan().end();
+    }
+    root.end();
+    processor.forceFlush().join(10, TimeUnit.SECONDS);
+
+    assertThat(batchSizes).containsExactly(2, 2, 1);
+  }
+
+  @Test
+  void decidesIncompleteTracesAfterDecisionWait() {
+    setUp(
+        TailSamplingSpanProcessor.builder(exporter)
+            .addPolicy(TailSamplingPolicy.attributeEquals(KEEP, "yes"))
+            .setDecisionWait(Duration.ofMillis(10)));
+
+    Span root = tracer.spanBuilder("root").startSpan();
+    tracer
+        .spanBuilder("child")
+        .setParent(Context.root().with(root))
+        .setAttribute(KEEP, "yes")
+        .startSpan()
+        .end();
+
+    await().untilAsserted(() -> assertThat(exportedSpanNames()).containsExactly("child"));
+  }
+
+  @Test
+  void lateSpansFollowDecision() {
+    TailSamplingSpanProcessor processor =
+        setUp(
+            TailSamplingSpanProcessor.builder(exporter)
+                .addPolicy(TailSamplingPolicy.attributeEquals(KEEP, "yes")));
+
+    Span keptRoot = tracer.spanBuilder("keptRoot").setAttribute(KEEP, "yes").startSpan();
+    Span keptChild =
+        tracer.spanBuilder("keptChild").setParent(Context.root().with(keptRoot)).startSpan();
+    Span droppedRoot = tracer.spanBuilder("droppedRoot").startSpan();
+    Span droppedChild =
+        tracer.spanBuilder("droppedChild").setParent(Context.root().with(droppedRoot)).startSpan();
+    keptRoot.end();
+    droppedRoot.end();
+    await().untilAsserted(() -> assertThat(exportedSpanNames()).containsExactly("keptRoot"));
+
+    keptChild.end();
+    droppedChild.end();
+    processor.forceFlush().join(10, TimeUnit.SECONDS);
+    assertThat(exportedSpanNames()).containsExactly("keptRoot", "keptChild");
+  }
+
+  @Test
+  void forceFlushDecidesAllTraces() {
+    TailSamplingSpanProcessor processor =
+        setUp(TailSamplingSpanProcessor.builder(exporter).addPolicy(spans -> true));
+
+    Span root = tracer.spanBuilder("root").startSpan();
+    tracer.spanBuilder("child").setParent(Context.root().with(root)).startSpan().end();
+    processor.forceFlush().join(10, TimeUnit.SECONDS);
+
+    assertThat(exportedSpanNames()).containsExactly("child");
+  }
+
+  @Test
+  void dropsSpansWhenBufferFull() {
+    TailSamplingSpanProcessor processor =
+        setUp(
+            TailSamplingSpanProcessor.builder(exporter)
+                .addPolicy(spans -> true)
+                .setMaxBufferedBytes(1));
+
+    tracer.spanBuilder("span").startSpan().end();
+    processor.forceFlush().join(10, TimeUnit.SECONDS);
+
+    assertThat(exportedSpanNames()).isEmpty();
+  }
+
+  @Test
+  void failingPolicyIgnored() {
+    TailSamplingSpanProcessor processor =
+        setUp(
+            TailSamplingSpanProcessor.builder(exporter)
+                .addPolicy(
+                    spans -> {
+                      throw new IllegalStateException("policy failed");
+                    })
+                .addPolicy(TailSamplingPolicy.latencyAtLeast(Duration.ofMillis(5))));
+
+    tracer
+        .spanBuilder("fast")
+        .setStartTimestamp(1, TimeUnit.MILLISECONDS)
+        .startSpan()
+        .end(2, TimeUnit.MILLISECONDS);
+    tracer
+        .spanBuilder("slow")
+        .setStartTimestamp(1, TimeUnit.MILLISECONDS)
+        .startSpan()
+        .end(6, TimeUnit.MILLISECONDS);
+    processor.forceFlush().join(10, TimeUnit.SECONDS);
+
+    assertThat(exportedSpanNames()).containsExactly("slow");
+  }
+
+  private List<String> exportedSpanNames() {
+    return exporter.getFinishedSpanItems().stream()
+        .map(SpanData::getName)
+        .collect(Collectors.toList());
+  }
+}
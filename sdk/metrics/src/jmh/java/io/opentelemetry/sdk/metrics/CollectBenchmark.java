@@ -0,0 +1,87 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics;
+
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.sdk.metrics.aggregator.AggregatorFactory;
+import io.opentelemetry.sdk.metrics.common.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.view.InstrumentSelector;
+import io.opentelemetry.sdk.metrics.view.View;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures one collection cycle of a counter with the given number of series, each of which has
+ * been recorded to since the previous cycle.
+ */
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CollectBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkState {
+
+    @Param({"1000", "100000"})
+    int seriesCount;
+
+    @Param AggregationTemporality temporality;
+
+    SdkMeterProvider meterProvider;
+    LongCounter counter;
+    Labels[] labels;
+
+    @Setup
+    public void setup() {
+      meterProvider =
+          SdkMeterProvider.builder()
+              .registerView(
+                  InstrumentSelector.builder().setInstrumentType(InstrumentType.COUNTER).build(),
+                  View.builder()
+                      .setAggregatorFactory(AggregatorFactory.sum(temporality))
+                      .setMaxLabelSets(seriesCount)
+                      .build())
+              .build();
+      counter =
+          meterProvider.get("io.opentelemetry.sdk.metrics").longCounterBuilder("counter").build();
+      labels = new Labels[seriesCount];
+      for (int i = 0; i < seriesCount; i++) {
+        labels[i] = Labels.of("KEY", "VALUE", "INDEX", String.valueOf(i));
+      }
+    }
+
+    @Setup(Level.Invocation)
+    public void record() {
+      for (Labels labelSet : labels) {
+        counter.add(1, labelSet);
+      }
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Collection<MetricData> collect(BenchmarkState state) {
+    return state.meterProvider.collectAllMetrics();
+  }
+}
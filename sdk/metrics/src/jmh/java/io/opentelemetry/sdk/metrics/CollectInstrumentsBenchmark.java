@@ -0,0 +1,113 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics;
+
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.sdk.metrics.aggregator.AggregatorFactory;
+import io.opentelemetry.sdk.metrics.common.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.view.InstrumentSelector;
+import io.opentelemetry.sdk.metrics.view.View;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency of one collection cycle depending on the number of instruments, collected
+ * serially or in parallel, and when only a fraction of the instruments was recorded to.
+ */
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CollectInstrumentsBenchmark {
+  private static final int SERIES_PER_INSTRUMENT = 10;
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkState {
+
+    @Param({"100", "1000", "10000"})
+    int instrumentCount;
+
+    @Param({"false", "true"})
+    boolean parallel;
+
+    // Percentage of the instruments recorded to before each collection.
+    @Param({"1", "100"})
+    int recordedPercent;
+
+    ForkJoinPool pool;
+    SdkMeterProvider meterProvider;
+    LongCounter[] counters;
+    Labels[] labels;
+
+    @Setup
+    public void setup() {
+      SdkMeterProviderBuilder builder =
+          SdkMeterProvider.builder()
+              .registerView(
+                  InstrumentSelector.builder().setInstrumentType(InstrumentType.COUNTER).build(),
+                  View.builder()
+                      .setAggregatorFactory(AggregatorFactory.sum(AggregationTemporality.DELTA))
+                      .build());
+      if (parallel) {
+        pool = new ForkJoinPool();
+        builder.setCollectionPool(pool);
+      }
+      meterProvider = builder.build();
+      Meter meter = meterProvider.get("io.opentelemetry.sdk.metrics");
+      counters = new LongCounter[instrumentCount];
+      for (int i = 0; i < instrumentCount; i++) {
+        counters[i] = meter.longCounterBuilder("counter" + i).build();
+      }
+      labels = new Labels[SERIES_PER_INSTRUMENT];
+      for (int i = 0; i < SERIES_PER_INSTRUMENT; i++) {
+        labels[i] = Labels.of("KEY", "VALUE", "INDEX", String.valueOf(i));
+      }
+    }
+
+    @Setup(Level.Invocation)
+    public void record() {
+      int recorded = instrumentCount * recordedPercent / 100;
+      for (int i = 0; i < recorded; i++) {
+        for (Labels labelSet : labels) {
+          counters[i].add(1, labelSet);
+        }
+      }
+    }
+
+    @TearDown
+    public void tearDown() {
+      if (pool != null) {
+        pool.shutdown();
+      }
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Collection<MetricData> collect(BenchmarkState state) {
+    return state.meterProvider.collectAllMetrics();
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics;
+
+import io.opentelemetry.api.metrics.BoundLongCounter;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.common.Labels;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares recording through a bound instrument with recording through the unbound instrument,
+ * which has to look up the aggregator for the labels on every call. Run with the gc profiler to see
+ * the allocation rate of each path.
+ */
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SynchronousInstrumentRecordBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkState {
+
+    // Number of distinct label sets already recorded in the instrument.
+    @Param({"1", "100", "10000"})
+    int labelSetCount;
+
+    LongCounter counter;
+    BoundLongCounter boundCounter;
+    Labels[] labels;
+
+    @Setup
+    public void setup() {
+      Meter meter = TestSdk.SDK.getMeter();
+      counter = meter.longCounterBuilder("long_counter").build();
+      labels = new Labels[labelSetCount];
+      for (int i = 0; i < labelSetCount; i++) {
+        labels[i] = Labels.of("KEY", "VALUE", "INDEX", String.valueOf(i));
+        counter.add(1, labels[i]);
+      }
+      boundCounter = counter.bind(labels[0]);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    int index;
+
+    Labels next(BenchmarkState state) {
+      Labels[] labels = state.labels;
+      int i = index;
+      index = i + 1 == labels.length ? 0 : i + 1;
+      return labels[i];
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void bound_01Thread(BenchmarkState state) {
+    state.boundCounter.add(5);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void unbound_01Thread(BenchmarkState state, ThreadState threadState) {
+    state.counter.add(5, threadState.next(state));
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void bound_08Threads(BenchmarkState state) {
+    state.boundCounter.add(5);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void unbound_08Threads(BenchmarkState state, ThreadState threadState) {
+    state.counter.add(5, threadState.next(state));
+  }
+}
@@ -9,12 +9,7 @@ import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
 import io.opentelemetry.sdk.internal.SystemClock;
-import io.opentelemetry.sdk.metrics.common.InstrumentType;
-import io.opentelemetry.sdk.metrics.view.View;
 import io.opentelemetry.sdk.resources.Resource;
-import java.util.EnumMap;
-import java.util.LinkedHashMap;
-import java.util.regex.Pattern;
 
 @SuppressWarnings("ImmutableEnumChecker")
 public enum TestSdk {
@@ -31,11 +26,7 @@ public enum TestSdk {
         Meter build() {
           MeterProviderSharedState meterProviderSharedState =
               MeterProviderSharedState.create(
-                  SystemClock.getInstance(),
-                  Resource.empty(),
-                  new ViewRegistry(
-                      new EnumMap<InstrumentType, LinkedHashMap<Pattern, View>>(
-                          InstrumentType.class)));
+                  SystemClock.getInstance(), Resource.empty(), ViewRegistry.builder().build());
           InstrumentationLibraryInfo instrumentationLibraryInfo =
               InstrumentationLibraryInfo.create("io.opentelemetry.sdk.metrics", null);
 
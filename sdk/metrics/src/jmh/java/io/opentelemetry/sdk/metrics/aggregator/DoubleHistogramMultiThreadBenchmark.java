@@ -0,0 +1,100 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics.aggregator;
+
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.metrics.common.InstrumentDescriptor;
+import io.opentelemetry.sdk.metrics.common.InstrumentType;
+import io.opentelemetry.sdk.metrics.common.InstrumentValueType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how recording into a single shared histogram handle scales with the number of recording
+ * threads. JMH cannot parameterize {@code @Threads}, so every invocation splits a fixed number of
+ * recordings between {@code numThreads} threads of a pool, and the score is per recording.
+ */
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class DoubleHistogramMultiThreadBenchmark {
+  private static final int RECORDINGS = 64 * 1024;
+  private static final Aggregator<HistogramAccumulation> aggregator =
+      AggregatorFactory.histogram(
+              Arrays.asList(5.0, 10.0, 25.0, 50.0, 100.0, 250.0, 500.0, 1_000.0),
+              AggregationTemporality.DELTA)
+          .create(
+              Resource.getDefault(),
+              InstrumentationLibraryInfo.empty(),
+              InstrumentDescriptor.create(
+                  "name",
+                  "description",
+                  "1",
+                  InstrumentType.VALUE_RECORDER,
+                  InstrumentValueType.DOUBLE));
+  private static final double[] VALUES = {1.5, 7.0, 20.0, 42.0, 99.9, 120.0, 480.0, 1_200.0};
+
+  @Param({"1", "2", "4", "8", "16", "32", "64"})
+  int numThreads;
+
+  private AggregatorHandle<HistogramAccumulation> aggregatorHandle;
+  private ExecutorService executor;
+  private Future<?>[] recorders;
+  private Runnable recordTask;
+
+  @Setup(Level.Trial)
+  public final void setup() {
+    aggregatorHandle = aggregator.createHandle();
+    executor = Executors.newFixedThreadPool(numThreads);
+    recorders = new Future<?>[numThreads];
+    int recordingsPerThread = RECORDINGS / numThreads;
+    recordTask =
+        () -> {
+          for (int i = 0; i < recordingsPerThread; i++) {
+            aggregatorHandle.recordDouble(VALUES[i & (VALUES.length - 1)]);
+          }
+        };
+  }
+
+  @TearDown(Level.Trial)
+  public final void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDINGS)
+  public void record() throws ExecutionException, InterruptedException {
+    for (int i = 0; i < numThreads; i++) {
+      recorders[i] = executor.submit(recordTask);
+    }
+    for (Future<?> recorder : recorders) {
+      recorder.get();
+    }
+  }
+}
@@ -5,6 +5,9 @@
 
 package io.opentelemetry.sdk.metrics;
 
+import io.opentelemetry.api.metrics.BoundLongCounter;
+import io.opentelemetry.api.metrics.GlobalMeterProvider;
+import io.opentelemetry.api.metrics.common.Labels;
 import io.opentelemetry.sdk.metrics.aggregator.Aggregator;
 import io.opentelemetry.sdk.metrics.common.InstrumentDescriptor;
 import io.opentelemetry.sdk.metrics.data.MetricData;
@@ -25,7 +28,7 @@ abstract class AbstractAccumulator {
       InstrumentDescriptor descriptor) {
     return meterProviderSharedState
         .getViewRegistry()
-        .findView(descriptor)
+        .findView(meterSharedState.getInstrumentationLibraryInfo(), descriptor)
         .getAggregatorFactory()
         .create(
             meterProviderSharedState.getResource(),
@@ -39,11 +42,35 @@ abstract class AbstractAccumulator {
       InstrumentDescriptor descriptor) {
     return meterProviderSharedState
         .getViewRegistry()
-        .findView(descriptor)
+        .findView(meterSharedState.getInstrumentationLibraryInfo(), descriptor)
         .getLabelsProcessorFactory()
         .create(
             meterProviderSharedState.getResource(),
             meterSharedState.getInstrumentationLibraryInfo(),
             descriptor);
   }
+
+  static int getMaxLabelSets(
+      MeterProviderSharedState meterProviderSharedState,
+      MeterSharedState meterSharedState,
+      InstrumentDescriptor descriptor) {
+    return meterProviderSharedState
+        .getViewRegistry()
+        .findView(meterSharedState.getInstrumentationLibraryInfo(), descriptor)
+        .getMaxLabelSets();
+  }
+
+  /**
+   * Returns a counter of the SDK itself, reported through the global meter provider, bound to the
+   * given instrument.
+   */
+  static BoundLongCounter createSelfMetricCounter(
+      String name, String description, InstrumentDescriptor descriptor) {
+    return GlobalMeterProvider.getMeter("io.opentelemetry.sdk.metrics")
+        .longCounterBuilder(name)
+        .setUnit("1")
+        .setDescription(description)
+        .build()
+        .bind(Labels.of("instrument", descriptor.getName()));
+  }
 }
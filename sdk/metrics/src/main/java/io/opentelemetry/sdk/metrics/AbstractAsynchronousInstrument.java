@@ -22,4 +22,9 @@ abstract class AbstractAsynchronousInstrument extends AbstractInstrument {
   final List<MetricData> collectAll(long epochNanos) {
     return accumulator.collectAll(epochNanos);
   }
+
+  /** Starts running the callback ahead of the collection, if it runs on an executor. */
+  final void startCallback() {
+    accumulator.startCallback();
+  }
 }
@@ -5,21 +5,50 @@
 
 package io.opentelemetry.sdk.metrics;
 
+import io.opentelemetry.api.internal.GuardedBy;
 import io.opentelemetry.api.metrics.AsynchronousInstrument;
+import io.opentelemetry.api.metrics.BoundLongCounter;
+import io.opentelemetry.api.metrics.common.Labels;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.metrics.aggregator.Aggregator;
 import io.opentelemetry.sdk.metrics.common.InstrumentDescriptor;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.metrics.processor.LabelsProcessor;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import javax.annotation.Nullable;
 
 final class AsynchronousInstrumentAccumulator extends AbstractAccumulator {
   private final ReentrantLock collectLock = new ReentrantLock();
-  private final InstrumentProcessor<?> instrumentProcessor;
-  private final Runnable metricUpdater;
+  private final InstrumentDescriptor descriptor;
+  private final Callback<?> callback;
+  @Nullable private final ExecutorService callbackExecutor;
+  private final long callbackTimeoutNanos;
+
+  @GuardedBy("collectLock")
+  @Nullable
+  private PendingCallback<?> pendingCallback;
+
+  @GuardedBy("collectLock")
+  private long pendingCallbackDeadline;
+
+  // Whether the executor rejected the callback of the current collection cycle, so that it is not
+  // submitted, and counted as dropped, a second time.
+  @GuardedBy("collectLock")
+  private boolean callbackRejected;
+
+  @GuardedBy("collectLock")
+  @Nullable
+  private BoundLongCounter droppedCallbacks;
 
   static <T> AsynchronousInstrumentAccumulator doubleAsynchronousAccumulator(
       MeterProviderSharedState meterProviderSharedState,
@@ -29,22 +58,28 @@ final class AsynchronousInstrumentAccumulator extends AbstractAccumulator {
     Aggregator<T> aggregator =
         getAggregator(meterProviderSharedState, meterSharedState, descriptor);
     InstrumentProcessor<T> instrumentProcessor =
-        new InstrumentProcessor<>(aggregator, meterProviderSharedState.getStartEpochNanos());
+        new InstrumentProcessor<>(
+            aggregator,
+            meterProviderSharedState.getStartEpochNanos(),
+            getMaxLabelSets(meterProviderSharedState, meterSharedState, descriptor));
     // TODO: Decide what to do with null updater.
     if (metricUpdater == null) {
-      return new AsynchronousInstrumentAccumulator(instrumentProcessor, () -> {});
+      return new AsynchronousInstrumentAccumulator(
+          meterProviderSharedState, descriptor, new Callback<>(instrumentProcessor, sink -> {}));
     }
 
     LabelsProcessor labelsProcessor =
         getLabelsProcessor(meterProviderSharedState, meterSharedState, descriptor);
-    AsynchronousInstrument.DoubleResult result =
-        (value, labels) ->
-            instrumentProcessor.batch(
-                labelsProcessor.onLabelsBound(Context.current(), labels),
-                aggregator.accumulateDouble(value));
+    Consumer<BiConsumer<Labels, T>> observer =
+        sink ->
+            metricUpdater.accept(
+                (value, labels) ->
+                    sink.accept(
+                        labelsProcessor.onLabelsBound(Context.current(), labels),
+                        aggregator.accumulateDouble(value)));
 
     return new AsynchronousInstrumentAccumulator(
-        instrumentProcessor, () -> metricUpdater.accept(result));
+        meterProviderSharedState, descriptor, new Callback<>(instrumentProcessor, observer));
   }
 
   static <T> AsynchronousInstrumentAccumulator longAsynchronousAccumulator(
@@ -55,38 +90,182 @@ final class AsynchronousInstrumentAccumulator extends AbstractAccumulator {
     Aggregator<T> aggregator =
         getAggregator(meterProviderSharedState, meterSharedState, descriptor);
     InstrumentProcessor<T> instrumentProcessor =
-        new InstrumentProcessor<>(aggregator, meterProviderSharedState.getStartEpochNanos());
+        new InstrumentProcessor<>(
+            aggregator,
+            meterProviderSharedState.getStartEpochNanos(),
+            getMaxLabelSets(meterProviderSharedState, meterSharedState, descriptor));
     // TODO: Decide what to do with null updater.
     if (metricUpdater == null) {
-      return new AsynchronousInstrumentAccumulator(instrumentProcessor, () -> {});
+      return new AsynchronousInstrumentAccumulator(
+          meterProviderSharedState, descriptor, new Callback<>(instrumentProcessor, sink -> {}));
     }
 
     LabelsProcessor labelsProcessor =
         getLabelsProcessor(meterProviderSharedState, meterSharedState, descriptor);
-    AsynchronousInstrument.LongResult result =
-        (value, labels) ->
-            instrumentProcessor.batch(
-                labelsProcessor.onLabelsBound(Context.current(), labels),
-                aggregator.accumulateLong(value));
+    Consumer<BiConsumer<Labels, T>> observer =
+        sink ->
+            metricUpdater.accept(
+                (value, labels) ->
+                    sink.accept(
+                        labelsProcessor.onLabelsBound(Context.current(), labels),
+                        aggregator.accumulateLong(value)));
 
     return new AsynchronousInstrumentAccumulator(
-        instrumentProcessor, () -> metricUpdater.accept(result));
+        meterProviderSharedState, descriptor, new Callback<>(instrumentProcessor, observer));
   }
 
   private AsynchronousInstrumentAccumulator(
-      InstrumentProcessor<?> instrumentProcessor, Runnable metricUpdater) {
-    this.instrumentProcessor = instrumentProcessor;
-    this.metricUpdater = metricUpdater;
+      MeterProviderSharedState meterProviderSharedState,
+      InstrumentDescriptor descriptor,
+      Callback<?> callback) {
+    this.descriptor = descriptor;
+    this.callback = callback;
+    this.callbackExecutor = meterProviderSharedState.getCallbackExecutor();
+    this.callbackTimeoutNanos = meterProviderSharedState.getCallbackTimeoutNanos();
+  }
+
+  /**
+   * Starts running the callback on the callback executor, if one is configured, so that the
+   * callbacks of all the instruments run in parallel before they are collected.
+   */
+  void startCallback() {
+    if (callbackExecutor == null) {
+      return;
+    }
+    collectLock.lock();
+    try {
+      submitCallback(callbackExecutor);
+    } finally {
+      collectLock.unlock();
+    }
   }
 
   @Override
   List<MetricData> collectAll(long epochNanos) {
     collectLock.lock();
     try {
-      metricUpdater.run();
-      return instrumentProcessor.completeCollectionCycle(epochNanos);
+      if (callbackExecutor == null) {
+        callback.run();
+      } else {
+        submitCallback(callbackExecutor);
+        awaitCallback();
+      }
+      return callback.instrumentProcessor.completeCollectionCycle(epochNanos);
     } finally {
       collectLock.unlock();
     }
   }
+
+  @GuardedBy("collectLock")
+  private void submitCallback(ExecutorService executor) {
+    if (pendingCallback != null || callbackRejected) {
+      return;
+    }
+    pendingCallbackDeadline = System.nanoTime() + callbackTimeoutNanos;
+    try {
+      pendingCallback = callback.submit(executor);
+    } catch (RejectedExecutionException e) {
+      callbackRejected = true;
+      recordDroppedCallback();
+    }
+  }
+
+  @GuardedBy("collectLock")
+  private void awaitCallback() {
+    callbackRejected = false;
+    PendingCallback<?> pending = pendingCallback;
+    if (pending == null) {
+      return;
+    }
+    pendingCallback = null;
+    try {
+      pending.future.get(
+          Math.max(0, pendingCallbackDeadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+      pending.batch();
+    } catch (TimeoutException e) {
+      // The observations the callback makes from now on go to a buffer that is never read.
+      pending.future.cancel(/* mayInterruptIfRunning= */ true);
+      recordDroppedCallback();
+    } catch (InterruptedException e) {
+      pending.future.cancel(/* mayInterruptIfRunning= */ true);
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      // Surface the failure like a callback running on the collecting thread does.
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  @GuardedBy("collectLock")
+  private void recordDroppedCallback() {
+    BoundLongCounter counter = droppedCallbacks;
+    if (counter == null) {
+      counter =
+          createSelfMetricCounter(
+              "droppedCallbacks",
+              "The number of asynchronous instrument callbacks whose observations were dropped "
+                  + "because they did not complete in time",
+              descriptor);
+      droppedCallbacks = counter;
+    }
+    counter.add(1);
+  }
+
+  /** The callback of an instrument, with the processor its observations are batched in. */
+  private static final class Callback<T> {
+    private final InstrumentProcessor<T> instrumentProcessor;
+    // Runs the callback, passing every observation to the given consumer.
+    private final Consumer<BiConsumer<Labels, T>> observer;
+
+    private Callback(
+        InstrumentProcessor<T> instrumentProcessor, Consumer<BiConsumer<Labels, T>> observer) {
+      this.instrumentProcessor = instrumentProcessor;
+      this.observer = observer;
+    }
+
+    private void run() {
+      observer.accept(instrumentProcessor::batch);
+    }
+
+    private PendingCallback<T> submit(ExecutorService executor) {
+      PendingCallback<T> pending = new PendingCallback<>(instrumentProcessor);
+      // The labels processor sees the context of the collecting thread, not the executor's one.
+      pending.future =
+          executor.submit(Context.current().wrap(() -> observer.accept(pending::observe)));
+      return pending;
+    }
+  }
+
+  /**
+   * A callback running on the callback executor. The observations are buffered and only batched
+   * once the callback completes in time, because the processor is not thread safe.
+   */
+  private static final class PendingCallback<T> {
+    private final InstrumentProcessor<T> instrumentProcessor;
+    private final List<Labels> labels = new ArrayList<>();
+    private final List<T> accumulations = new ArrayList<>();
+    private Future<?> future;
+
+    private PendingCallback(InstrumentProcessor<T> instrumentProcessor) {
+      this.instrumentProcessor = instrumentProcessor;
+    }
+
+    private void observe(Labels labelSet, T accumulation) {
+      labels.add(labelSet);
+      accumulations.add(accumulation);
+    }
+
+    // Only called after the future completed, which makes the buffered observations visible.
+    private void batch() {
+      for (int i = 0; i < labels.size(); i++) {
+        instrumentProcessor.batch(labels.get(i), accumulations.get(i));
+      }
+    }
+  }
 }
@@ -5,6 +5,7 @@
 
 package io.opentelemetry.sdk.metrics;
 
+import io.opentelemetry.api.internal.GuardedBy;
 import io.opentelemetry.api.metrics.BatchRecorder;
 import io.opentelemetry.api.metrics.DoubleCounter;
 import io.opentelemetry.api.metrics.DoubleUpDownCounter;
@@ -14,21 +15,49 @@ import io.opentelemetry.api.metrics.LongCounter;
 import io.opentelemetry.api.metrics.LongUpDownCounter;
 import io.opentelemetry.api.metrics.LongValueRecorder;
 import io.opentelemetry.api.metrics.common.Labels;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.LinkedTransferQueue;
-import java.util.concurrent.TransferQueue;
+import io.opentelemetry.sdk.metrics.aggregator.AggregatorHandle;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * Minimal implementation of the {@link BatchRecorder} that simply redirects the calls to the
- * instruments.
+ * Implementation of the {@link BatchRecorder} that buffers the recordings in primitive arrays and
+ * records them through the aggregator handles of the instruments, acquiring the handle only once
+ * per instrument for each {@link #record()}.
+ *
+ * <p>The buffer is bounded. Once it is full, the pending recordings are recorded before the next
+ * one is accepted.
  */
 final class BatchRecorderSdk implements BatchRecorder {
+  private static final int INITIAL_CAPACITY = 8;
+  // Visible for testing
+  static final int MAX_CAPACITY = 128;
+
+  private static final byte LONG = 0;
+  private static final byte DOUBLE = 1;
+  // Monotonic instruments reject negative values.
+  private static final byte MONOTONIC_LONG = 2;
+  private static final byte MONOTONIC_DOUBLE = 3;
+
   private final Labels labelSet;
+  private final ReentrantLock lock = new ReentrantLock();
+
+  @GuardedBy("lock")
+  private Instrument[] instruments = new Instrument[INITIAL_CAPACITY];
+
+  @GuardedBy("lock")
+  private byte[] types = new byte[INITIAL_CAPACITY];
+
+  @GuardedBy("lock")
+  private long[] longValues = new long[INITIAL_CAPACITY];
+
+  @GuardedBy("lock")
+  private double[] doubleValues = new double[INITIAL_CAPACITY];
 
-  // todo: this queue is unbounded; should we make it bounded and drop recordings after it gets
-  // full?
-  private final TransferQueue<Recording> pendingRecordings = new LinkedTransferQueue<>();
+  @GuardedBy("lock")
+  private AggregatorHandle<?>[] handles = new AggregatorHandle<?>[INITIAL_CAPACITY];
+
+  @GuardedBy("lock")
+  private int size;
 
   BatchRecorderSdk(String... keyValuePairs) {
     this.labelSet = Labels.of(keyValuePairs);
@@ -36,119 +65,168 @@ final class BatchRecorderSdk implements BatchRecorder {
 
   @Override
   public BatchRecorder put(LongValueRecorder valueRecorder, long value) {
-    pendingRecordings.offer(new LongRecording(valueRecorder, value));
+    putLong(valueRecorder, LONG, value);
     return this;
   }
 
   @Override
   public BatchRecorder put(DoubleValueRecorder valueRecorder, double value) {
-    pendingRecordings.offer(new DoubleRecording(valueRecorder, value));
+    putDouble(valueRecorder, DOUBLE, value);
     return this;
   }
 
   @Override
   public BatchRecorder put(LongCounter counter, long value) {
-    pendingRecordings.offer(new LongRecording(counter, value));
+    putLong(counter, MONOTONIC_LONG, value);
     return this;
   }
 
   @Override
   public BatchRecorder put(DoubleCounter counter, double value) {
-    pendingRecordings.offer(new DoubleRecording(counter, value));
+    putDouble(counter, MONOTONIC_DOUBLE, value);
     return this;
   }
 
   @Override
   public BatchRecorder put(LongUpDownCounter upDownCounter, long value) {
-    pendingRecordings.offer(new LongRecording(upDownCounter, value));
+    putLong(upDownCounter, LONG, value);
     return this;
   }
 
   @Override
   public BatchRecorder put(DoubleUpDownCounter upDownCounter, double value) {
-    pendingRecordings.offer(new DoubleRecording(upDownCounter, value));
+    putDouble(upDownCounter, DOUBLE, value);
     return this;
   }
 
   @Override
   public void record() {
-    List<Recording> recordings = new ArrayList<>();
-    pendingRecordings.drainTo(recordings);
-
-    recordings.forEach(
-        (recording) -> {
-          Instrument instrument = recording.getInstrument();
-          if (instrument instanceof DoubleUpDownCounter) {
-            ((DoubleUpDownCounter) instrument).add(recording.getDoubleValue(), labelSet);
-          } else if (instrument instanceof DoubleCounter) {
-            ((DoubleCounter) instrument).add(recording.getDoubleValue(), labelSet);
-          } else if (instrument instanceof DoubleValueRecorder) {
-            ((DoubleValueRecorder) instrument).record(recording.getDoubleValue(), labelSet);
-          } else if (instrument instanceof LongUpDownCounter) {
-            ((LongUpDownCounter) instrument).add(recording.getLongValue(), labelSet);
-          } else if (instrument instanceof LongCounter) {
-            ((LongCounter) instrument).add(recording.getLongValue(), labelSet);
-          } else if (instrument instanceof LongValueRecorder) {
-            ((LongValueRecorder) instrument).record(recording.getLongValue(), labelSet);
-          }
-        });
-  }
-
-  private interface Recording {
-    Instrument getInstrument();
-
-    long getLongValue();
-
-    double getDoubleValue();
-  }
-
-  private static class LongRecording implements Recording {
-    private final Instrument instrument;
-    private final long value;
-
-    private LongRecording(Instrument instrument, long value) {
-      this.instrument = instrument;
-      this.value = value;
+    lock.lock();
+    try {
+      recordPending();
+    } finally {
+      lock.unlock();
     }
+  }
 
-    @Override
-    public Instrument getInstrument() {
-      return instrument;
+  private void putLong(Instrument instrument, byte type, long value) {
+    lock.lock();
+    try {
+      int index = nextIndex();
+      instruments[index] = instrument;
+      types[index] = type;
+      longValues[index] = value;
+    } finally {
+      lock.unlock();
     }
+  }
 
-    @Override
-    public long getLongValue() {
-      return value;
+  private void putDouble(Instrument instrument, byte type, double value) {
+    lock.lock();
+    try {
+      int index = nextIndex();
+      instruments[index] = instrument;
+      types[index] = type;
+      doubleValues[index] = value;
+    } finally {
+      lock.unlock();
     }
+  }
 
-    @Override
-    public double getDoubleValue() {
-      throw new UnsupportedOperationException();
+  @GuardedBy("lock")
+  private int nextIndex() {
+    if (size == instruments.length) {
+      if (size == MAX_CAPACITY) {
+        recordPending();
+      } else {
+        int capacity = Math.min(size * 2, MAX_CAPACITY);
+        instruments = Arrays.copyOf(instruments, capacity);
+        types = Arrays.copyOf(types, capacity);
+        longValues = Arrays.copyOf(longValues, capacity);
+        doubleValues = Arrays.copyOf(doubleValues, capacity);
+        handles = Arrays.copyOf(handles, capacity);
+      }
     }
+    return size++;
   }
 
-  private static class DoubleRecording implements Recording {
-    private final Instrument instrument;
-    private final double value;
-
-    private DoubleRecording(Instrument instrument, double value) {
-      this.instrument = instrument;
-      this.value = value;
+  @GuardedBy("lock")
+  private void recordPending() {
+    int pending = size;
+    // Reset first, so that a failing recording does not leave the recorder in a broken state.
+    size = 0;
+    try {
+      for (int i = 0; i < pending; i++) {
+        Instrument instrument = instruments[i];
+        if (!(instrument instanceof AbstractSynchronousInstrument)) {
+          recordUnknown(instrument, longValues[i], doubleValues[i]);
+          continue;
+        }
+        AggregatorHandle<?> aggregatorHandle = acquireHandle(i);
+        handles[i] = aggregatorHandle;
+        switch (types[i]) {
+          case MONOTONIC_LONG:
+            checkMonotonic(longValues[i] < 0);
+            aggregatorHandle.recordLong(longValues[i]);
+            break;
+          case LONG:
+            aggregatorHandle.recordLong(longValues[i]);
+            break;
+          case MONOTONIC_DOUBLE:
+            checkMonotonic(doubleValues[i] < 0);
+            aggregatorHandle.recordDouble(doubleValues[i]);
+            break;
+          default:
+            aggregatorHandle.recordDouble(doubleValues[i]);
+            break;
+        }
+      }
+    } finally {
+      for (int i = 0; i < pending; i++) {
+        AggregatorHandle<?> aggregatorHandle = handles[i];
+        if (aggregatorHandle != null) {
+          aggregatorHandle.release();
+          handles[i] = null;
+        }
+        instruments[i] = null;
+      }
     }
+  }
 
-    @Override
-    public Instrument getInstrument() {
-      return instrument;
+  // Reuses the handle if the same instrument was already recorded to in this batch, so the labels
+  // are looked up only once per instrument. Each recording still holds its own reference.
+  @GuardedBy("lock")
+  private AggregatorHandle<?> acquireHandle(int index) {
+    Instrument instrument = instruments[index];
+    for (int i = 0; i < index; i++) {
+      AggregatorHandle<?> aggregatorHandle = handles[i];
+      if (instruments[i] == instrument && aggregatorHandle != null && aggregatorHandle.acquire()) {
+        return aggregatorHandle;
+      }
     }
+    return ((AbstractSynchronousInstrument) instrument).acquireHandle(labelSet);
+  }
 
-    @Override
-    public long getLongValue() {
-      throw new UnsupportedOperationException();
+  private static void checkMonotonic(boolean negative) {
+    if (negative) {
+      throw new IllegalArgumentException("Counters can only increase");
     }
+  }
 
-    @Override
-    public double getDoubleValue() {
-      return value;
+  // Instruments from a different SDK can only be recorded to through the API.
+  private void recordUnknown(Instrument instrument, long longValue, double doubleValue) {
+    if (instrument instanceof DoubleUpDownCounter) {
+      ((DoubleUpDownCounter) instrument).add(doubleValue, labelSet);
+    } else if (instrument instanceof DoubleCounter) {
+      ((DoubleCounter) instrument).add(doubleValue, labelSet);
+    } else if (instrument instanceof DoubleValueRecorder) {
+      ((DoubleValueRecorder) instrument).record(doubleValue, labelSet);
+    } else if (instrument instanceof LongUpDownCounter) {
+      ((LongUpDownCounter) instrument).add(longValue, labelSet);
+    } else if (instrument instanceof LongCounter) {
+      ((LongCounter) instrument).add(longValue, labelSet);
+    } else if (instrument instanceof LongValueRecorder) {
+      ((LongValueRecorder) instrument).record(longValue, labelSet);
     }
   }
 }
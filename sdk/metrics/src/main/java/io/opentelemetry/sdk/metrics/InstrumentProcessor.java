@@ -12,6 +12,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
 
 /**
  * An {@code InstrumentProcessor} represents an internal instance of an {@code Accumulator} for a
@@ -22,32 +23,57 @@ import java.util.Map;
  * multiple calls to {@code #batch(...)} followed by one {@code #completeCollectionCycle(...)};
  */
 final class InstrumentProcessor<T> {
+  // Accumulations for label sets over the limit are batched with these labels instead.
+  static final Labels OVERFLOW_LABELS = Labels.of("otel.metric.overflow", "true");
+
   private final Aggregator<T> aggregator;
   private final long startEpochNanos;
+  private final int maxLabelSets;
+  private final BiFunction<T, T, T> merger;
+  // Reused across collection cycles, only cleared for aggregators that are not stateful.
+  // TODO: The accumulations are still immutable values, so each cycle boxes and merges a new one
+  // for every label set. Sums and last values could instead be recorded into mutable primitive
+  // slots kept here and reset in place, which needs a way for handles to drain into such a slot.
+  private final Map<Labels, T> accumulationMap;
   private long lastEpochNanos;
-  private Map<Labels, T> accumulationMap;
 
-  InstrumentProcessor(Aggregator<T> aggregator, long startEpochNanos) {
+  InstrumentProcessor(Aggregator<T> aggregator, long startEpochNanos, int maxLabelSets) {
     this.aggregator = aggregator;
     this.startEpochNanos = startEpochNanos;
+    this.maxLabelSets = maxLabelSets;
+    this.merger = aggregator::merge;
     this.lastEpochNanos = startEpochNanos;
     this.accumulationMap = new HashMap<>();
   }
 
   /**
    * Batches multiple entries together that are part of the same metric. It may remove labels from
-   * the {@link Labels} and merge aggregations together.
+   * the {@link Labels} and merge aggregations together. Once the maximum number of label sets is
+   * reached, accumulations for new label sets are merged into the {@link #OVERFLOW_LABELS} series.
    *
    * @param labelSet the {@link Labels} associated with this {@code Aggregator}.
    * @param accumulation the accumulation produced by this instrument.
    */
   void batch(Labels labelSet, T accumulation) {
-    T currentAccumulation = accumulationMap.get(labelSet);
-    if (currentAccumulation == null) {
-      accumulationMap.put(labelSet, accumulation);
-      return;
+    if (isFull() && !accumulationMap.containsKey(labelSet)) {
+      // Stateful aggregators keep every label set across collection cycles, so this map needs to be
+      // bounded as well.
+      labelSet = OVERFLOW_LABELS;
+    }
+    accumulationMap.merge(labelSet, accumulation, merger);
+  }
+
+  // The overflow series does not count against the limit, so the label sets kept by the accumulator
+  // are never redirected here regardless of the order they are batched in.
+  private boolean isFull() {
+    int size = accumulationMap.size();
+    if (size < maxLabelSets) {
+      return false;
+    }
+    if (accumulationMap.containsKey(OVERFLOW_LABELS)) {
+      size--;
     }
-    accumulationMap.put(labelSet, aggregator.merge(currentAccumulation, accumulation));
+    return size >= maxLabelSets;
   }
 
   /**
@@ -70,7 +96,7 @@ final class InstrumentProcessor<T> {
 
     lastEpochNanos = epochNanos;
     if (!aggregator.isStateful()) {
-      accumulationMap = new HashMap<>();
+      accumulationMap.clear();
     }
 
     return metricData == null ? Collections.emptyList() : Collections.singletonList(metricData);
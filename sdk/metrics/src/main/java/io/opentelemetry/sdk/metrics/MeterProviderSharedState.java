@@ -8,6 +8,8 @@ package io.opentelemetry.sdk.metrics;
 import com.google.auto.value.AutoValue;
 import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.resources.Resource;
+import java.util.concurrent.ExecutorService;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
 @AutoValue
@@ -15,7 +17,17 @@ import javax.annotation.concurrent.Immutable;
 abstract class MeterProviderSharedState {
   static MeterProviderSharedState create(
       Clock clock, Resource resource, ViewRegistry viewRegistry) {
-    return new AutoValue_MeterProviderSharedState(clock, resource, viewRegistry, clock.now());
+    return create(clock, resource, viewRegistry, null, 0);
+  }
+
+  static MeterProviderSharedState create(
+      Clock clock,
+      Resource resource,
+      ViewRegistry viewRegistry,
+      @Nullable ExecutorService callbackExecutor,
+      long callbackTimeoutNanos) {
+    return new AutoValue_MeterProviderSharedState(
+        clock, resource, viewRegistry, clock.now(), callbackExecutor, callbackTimeoutNanos);
   }
 
   abstract Clock getClock();
@@ -25,4 +37,14 @@ abstract class MeterProviderSharedState {
   abstract ViewRegistry getViewRegistry();
 
   abstract long getStartEpochNanos();
+
+  /**
+   * Returns the executor the callbacks of asynchronous instruments run on, or {@code null} if they
+   * run on the collecting thread.
+   */
+  @Nullable
+  abstract ExecutorService getCallbackExecutor();
+
+  /** Returns how long a callback running on the callback executor may take before it is dropped. */
+  abstract long getCallbackTimeoutNanos();
 }
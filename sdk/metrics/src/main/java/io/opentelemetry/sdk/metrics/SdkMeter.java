@@ -95,12 +95,16 @@ final class SdkMeter implements Meter {
 
   /** Collects all the metric recordings that changed since the previous call. */
   Collection<MetricData> collectAll(long epochNanos) {
-    InstrumentRegistry instrumentRegistry = meterSharedState.getInstrumentRegistry();
-    Collection<AbstractInstrument> instruments = instrumentRegistry.getInstruments();
+    Collection<AbstractInstrument> instruments = getInstruments();
     List<MetricData> result = new ArrayList<>(instruments.size());
     for (AbstractInstrument instrument : instruments) {
       result.addAll(instrument.collectAll(epochNanos));
     }
     return result;
   }
+
+  /** Returns all the instruments created by this meter. */
+  Collection<AbstractInstrument> getInstruments() {
+    return meterSharedState.getInstrumentRegistry().getInstruments();
+  }
 }
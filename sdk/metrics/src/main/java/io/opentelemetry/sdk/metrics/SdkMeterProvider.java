@@ -17,6 +17,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
 
@@ -37,9 +40,19 @@ public final class SdkMeterProvider implements MeterProvider, MetricProducer {
   static final String DEFAULT_METER_NAME = "unknown";
   private final ComponentRegistry<SdkMeter> registry;
   private final MeterProviderSharedState sharedState;
+  @Nullable private final ForkJoinPool collectionPool;
 
-  SdkMeterProvider(Clock clock, Resource resource, ViewRegistry viewRegistry) {
-    this.sharedState = MeterProviderSharedState.create(clock, resource, viewRegistry);
+  SdkMeterProvider(
+      Clock clock,
+      Resource resource,
+      ViewRegistry viewRegistry,
+      @Nullable ForkJoinPool collectionPool,
+      @Nullable ExecutorService callbackExecutor,
+      long callbackTimeoutNanos) {
+    this.sharedState =
+        MeterProviderSharedState.create(
+            clock, resource, viewRegistry, callbackExecutor, callbackTimeoutNanos);
+    this.collectionPool = collectionPool;
     this.registry =
         new ComponentRegistry<>(
             instrumentationLibraryInfo -> new SdkMeter(sharedState, instrumentationLibraryInfo));
@@ -63,6 +76,25 @@ public final class SdkMeterProvider implements MeterProvider, MetricProducer {
   @Override
   public Collection<MetricData> collectAllMetrics() {
     Collection<SdkMeter> meters = registry.getComponents();
+    if (sharedState.getCallbackExecutor() != null) {
+      // Run all the callbacks in parallel, each collection below then waits for its own.
+      for (SdkMeter meter : meters) {
+        for (AbstractInstrument instrument : meter.getInstruments()) {
+          if (instrument instanceof AbstractAsynchronousInstrument) {
+            ((AbstractAsynchronousInstrument) instrument).startCallback();
+          }
+        }
+      }
+    }
+    if (collectionPool != null) {
+      List<AbstractInstrument> instruments = new ArrayList<>();
+      for (SdkMeter meter : meters) {
+        instruments.addAll(meter.getInstruments());
+      }
+      return Collections.unmodifiableCollection(
+          collectionPool.invoke(
+              new CollectTask(instruments, 0, instruments.size(), sharedState.getClock().now())));
+    }
     List<MetricData> result = new ArrayList<>(meters.size());
     for (SdkMeter meter : meters) {
       result.addAll(meter.collectAll(sharedState.getClock().now()));
@@ -78,4 +110,44 @@ public final class SdkMeterProvider implements MeterProvider, MetricProducer {
   public static SdkMeterProviderBuilder builder() {
     return new SdkMeterProviderBuilder();
   }
+
+  /** Collects a range of instruments, splitting it in halves to be collected in parallel. */
+  private static final class CollectTask extends RecursiveTask<List<MetricData>> {
+    private static final long serialVersionUID = 0L;
+    // Instruments usually have few series, so collecting only one per task is not worth the
+    // overhead of forking.
+    private static final int INSTRUMENTS_PER_TASK = 8;
+
+    private final List<AbstractInstrument> instruments;
+    private final int fromIndex;
+    private final int toIndex;
+    private final long epochNanos;
+
+    private CollectTask(
+        List<AbstractInstrument> instruments, int fromIndex, int toIndex, long epochNanos) {
+      this.instruments = instruments;
+      this.fromIndex = fromIndex;
+      this.toIndex = toIndex;
+      this.epochNanos = epochNanos;
+    }
+
+    @Override
+    protected List<MetricData> compute() {
+      if (toIndex - fromIndex <= INSTRUMENTS_PER_TASK) {
+        List<MetricData> result = new ArrayList<>(toIndex - fromIndex);
+        for (int i = fromIndex; i < toIndex; i++) {
+          result.addAll(instruments.get(i).collectAll(epochNanos));
+        }
+        return result;
+      }
+      int middle = (fromIndex + toIndex) >>> 1;
+      CollectTask first = new CollectTask(instruments, fromIndex, middle, epochNanos);
+      first.fork();
+      List<MetricData> second =
+          new CollectTask(instruments, middle, toIndex, epochNanos).compute();
+      List<MetricData> result = first.join();
+      result.addAll(second);
+      return result;
+    }
+  }
 }
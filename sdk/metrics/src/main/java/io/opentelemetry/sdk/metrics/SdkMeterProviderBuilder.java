@@ -5,25 +5,36 @@
 
 package io.opentelemetry.sdk.metrics;
 
+import io.opentelemetry.api.internal.Utils;
 import io.opentelemetry.api.metrics.GlobalMeterProvider;
 import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.internal.SystemClock;
 import io.opentelemetry.sdk.metrics.view.InstrumentSelector;
 import io.opentelemetry.sdk.metrics.view.View;
 import io.opentelemetry.sdk.resources.Resource;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 
 /**
  * Builder class for the {@link SdkMeterProvider}. Has fully functional default implementations of
  * all three required interfaces.
  */
 public final class SdkMeterProviderBuilder {
+  private static final long DEFAULT_CALLBACK_TIMEOUT_MILLIS = 1000;
 
   private Clock clock = SystemClock.getInstance();
   private Resource resource = Resource.getDefault();
   private final Map<InstrumentSelector, View> instrumentSelectorViews = new HashMap<>();
+  @Nullable private ForkJoinPool collectionPool;
+  @Nullable private ExecutorService callbackExecutor;
+  private long callbackTimeoutNanos =
+      TimeUnit.MILLISECONDS.toNanos(DEFAULT_CALLBACK_TIMEOUT_MILLIS);
 
   SdkMeterProviderBuilder() {}
 
@@ -51,6 +62,64 @@ public final class SdkMeterProviderBuilder {
     return this;
   }
 
+  /**
+   * Assign a {@link ForkJoinPool} used to collect the instruments in parallel. By default the
+   * instruments are collected one after the other on the thread that collects the metrics.
+   *
+   * @param collectionPool The pool to collect the instruments with.
+   * @return this
+   */
+  public SdkMeterProviderBuilder setCollectionPool(ForkJoinPool collectionPool) {
+    Objects.requireNonNull(collectionPool, "collectionPool");
+    this.collectionPool = collectionPool;
+    return this;
+  }
+
+  /**
+   * Assign an {@link ExecutorService} to run the callbacks of asynchronous instruments on. The
+   * callbacks of all instruments then run in parallel during a collection, and the observations of
+   * a callback that does not complete within the {@linkplain #setCallbackTimeout(long, TimeUnit)
+   * callback timeout} are dropped. By default the callbacks run one after the other on the thread
+   * that collects the metrics, without a timeout.
+   *
+   * @param callbackExecutor The executor to run the callbacks on.
+   * @return this
+   */
+  public SdkMeterProviderBuilder setCallbackExecutor(ExecutorService callbackExecutor) {
+    Objects.requireNonNull(callbackExecutor, "callbackExecutor");
+    this.callbackExecutor = callbackExecutor;
+    return this;
+  }
+
+  /**
+   * Sets how long the callback of an asynchronous instrument may run on the {@linkplain
+   * #setCallbackExecutor(ExecutorService) callback executor} before its observations are dropped.
+   * If unset, defaults to {@value DEFAULT_CALLBACK_TIMEOUT_MILLIS}ms.
+   *
+   * @param timeout the maximum duration of a callback.
+   * @param unit the unit of the timeout.
+   * @return this
+   */
+  public SdkMeterProviderBuilder setCallbackTimeout(long timeout, TimeUnit unit) {
+    Objects.requireNonNull(unit, "unit");
+    Utils.checkArgument(timeout >= 0, "timeout must be non-negative");
+    this.callbackTimeoutNanos = unit.toNanos(timeout);
+    return this;
+  }
+
+  /**
+   * Sets how long the callback of an asynchronous instrument may run on the {@linkplain
+   * #setCallbackExecutor(ExecutorService) callback executor} before its observations are dropped.
+   * If unset, defaults to {@value DEFAULT_CALLBACK_TIMEOUT_MILLIS}ms.
+   *
+   * @param timeout the maximum duration of a callback.
+   * @return this
+   */
+  public SdkMeterProviderBuilder setCallbackTimeout(Duration timeout) {
+    Objects.requireNonNull(timeout, "timeout");
+    return setCallbackTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
   /**
    * Register a view with the given {@link InstrumentSelector}.
    *
@@ -109,6 +178,7 @@ public final class SdkMeterProviderBuilder {
     ViewRegistryBuilder viewRegistryBuilder = ViewRegistry.builder();
     instrumentSelectorViews.forEach(viewRegistryBuilder::addView);
     ViewRegistry viewRegistry = viewRegistryBuilder.build();
-    return new SdkMeterProvider(clock, resource, viewRegistry);
+    return new SdkMeterProvider(
+        clock, resource, viewRegistry, collectionPool, callbackExecutor, callbackTimeoutNanos);
   }
 }
@@ -5,6 +5,7 @@
 
 package io.opentelemetry.sdk.metrics;
 
+import io.opentelemetry.api.metrics.BoundLongCounter;
 import io.opentelemetry.api.metrics.common.Labels;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.metrics.aggregator.Aggregator;
@@ -12,11 +13,14 @@ import io.opentelemetry.sdk.metrics.aggregator.AggregatorHandle;
 import io.opentelemetry.sdk.metrics.common.InstrumentDescriptor;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.metrics.processor.LabelsProcessor;
+import io.opentelemetry.sdk.metrics.processor.NoopLabelsProcessor;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
 
 final class SynchronousInstrumentAccumulator<T> extends AbstractAccumulator {
   private final ConcurrentHashMap<Labels, AggregatorHandle<T>> aggregatorLabels;
@@ -24,6 +28,16 @@ final class SynchronousInstrumentAccumulator<T> extends AbstractAccumulator {
   private final Aggregator<T> aggregator;
   private final InstrumentProcessor<T> instrumentProcessor;
   private final LabelsProcessor labelsProcessor;
+  // The no-op processor ignores the Context, so there is no need to look it up.
+  private final boolean hasNoopLabelsProcessor;
+  private final InstrumentDescriptor descriptor;
+  private final int maxLabelSets;
+  private final AtomicBoolean rejectedLabelSetsRequested = new AtomicBoolean();
+  @Nullable private volatile BoundLongCounter rejectedLabelSets;
+  // Set when a handle may have been recorded to since the last collection. Handles are only
+  // removed by the collection, so the handle map only needs to be walked again if it is not empty
+  // or if a handle was bound since.
+  private volatile boolean dirty;
 
   static <T> SynchronousInstrumentAccumulator<T> create(
       MeterProviderSharedState meterProviderSharedState,
@@ -31,36 +45,63 @@ final class SynchronousInstrumentAccumulator<T> extends AbstractAccumulator {
       InstrumentDescriptor descriptor) {
     Aggregator<T> aggregator =
         getAggregator(meterProviderSharedState, meterSharedState, descriptor);
+    int maxLabelSets = getMaxLabelSets(meterProviderSharedState, meterSharedState, descriptor);
     return new SynchronousInstrumentAccumulator<>(
+        descriptor,
         aggregator,
-        new InstrumentProcessor<>(aggregator, meterProviderSharedState.getStartEpochNanos()),
-        getLabelsProcessor(meterProviderSharedState, meterSharedState, descriptor));
+        new InstrumentProcessor<>(
+            aggregator, meterProviderSharedState.getStartEpochNanos(), maxLabelSets),
+        getLabelsProcessor(meterProviderSharedState, meterSharedState, descriptor),
+        maxLabelSets);
   }
 
   SynchronousInstrumentAccumulator(
+      InstrumentDescriptor descriptor,
       Aggregator<T> aggregator,
       InstrumentProcessor<T> instrumentProcessor,
-      LabelsProcessor labelsProcessor) {
+      LabelsProcessor labelsProcessor,
+      int maxLabelSets) {
     aggregatorLabels = new ConcurrentHashMap<>();
     collectLock = new ReentrantLock();
     this.aggregator = aggregator;
     this.instrumentProcessor = instrumentProcessor;
     this.labelsProcessor = labelsProcessor;
+    // Compare the exact class, a subclass may override onLabelsBound.
+    this.hasNoopLabelsProcessor = labelsProcessor.getClass() == NoopLabelsProcessor.class;
+    this.descriptor = descriptor;
+    this.maxLabelSets = maxLabelSets;
   }
 
   AggregatorHandle<?> bind(Labels labels) {
     Objects.requireNonNull(labels, "labels");
-    labels = labelsProcessor.onLabelsBound(Context.current(), labels);
+    if (!hasNoopLabelsProcessor) {
+      labels = labelsProcessor.onLabelsBound(Context.current(), labels);
+    }
+    AggregatorHandle<T> aggregatorHandle = acquireHandle(labels);
+    // Only after the handle is mapped, so that a concurrent collection either sees the handle or
+    // leaves this flag set.
+    if (!dirty) {
+      dirty = true;
+    }
+    return aggregatorHandle;
+  }
+
+  private AggregatorHandle<T> acquireHandle(Labels labels) {
     AggregatorHandle<T> aggregatorHandle = aggregatorLabels.get(labels);
     if (aggregatorHandle != null && aggregatorHandle.acquire()) {
       // At this moment it is guaranteed that the Bound is in the map and will not be removed.
       return aggregatorHandle;
     }
 
-    // Missing entry or no longer mapped, try to add a new entry.
+    // Missing entry or no longer mapped, try to add a new entry. The size check races with other
+    // threads adding entries, so the limit may be exceeded by at most the number of such threads.
+    if (isFull() && !labels.equals(InstrumentProcessor.OVERFLOW_LABELS)) {
+      recordRejectedLabelSet();
+      return acquireHandle(InstrumentProcessor.OVERFLOW_LABELS);
+    }
     aggregatorHandle = aggregator.createHandle();
     while (true) {
-      AggregatorHandle<?> boundAggregatorHandle =
+      AggregatorHandle<T> boundAggregatorHandle =
           aggregatorLabels.putIfAbsent(labels, aggregatorHandle);
       if (boundAggregatorHandle != null) {
         if (boundAggregatorHandle.acquire()) {
@@ -76,10 +117,48 @@ final class SynchronousInstrumentAccumulator<T> extends AbstractAccumulator {
     }
   }
 
+  // Like InstrumentProcessor, the overflow series does not count against the limit, so that
+  // instruments keep maxLabelSets label sets plus the overflow one.
+  private boolean isFull() {
+    int size = aggregatorLabels.size();
+    if (size < maxLabelSets) {
+      return false;
+    }
+    if (aggregatorLabels.containsKey(InstrumentProcessor.OVERFLOW_LABELS)) {
+      size--;
+    }
+    return size >= maxLabelSets;
+  }
+
+  private void recordRejectedLabelSet() {
+    BoundLongCounter counter = rejectedLabelSets;
+    if (counter == null) {
+      // Only one caller creates the counter, the others skip recording until it is available. This
+      // also stops the recursion when the SDK is the global provider and the counter is itself over
+      // the limit.
+      if (!rejectedLabelSetsRequested.compareAndSet(false, true)) {
+        return;
+      }
+      counter =
+          createSelfMetricCounter(
+              "rejectedLabelSets",
+              "The number of measurements recorded in the overflow series because the "
+                  + "instrument reached its maximum number of label sets",
+              descriptor);
+      rejectedLabelSets = counter;
+    }
+    counter.add(1);
+  }
+
   @Override
   List<MetricData> collectAll(long epochNanos) {
     collectLock.lock();
     try {
+      if (!dirty) {
+        // Still complete the cycle, stateful aggregators report their previous accumulations.
+        return instrumentProcessor.completeCollectionCycle(epochNanos);
+      }
+      dirty = false;
       for (Map.Entry<Labels, AggregatorHandle<T>> entry : aggregatorLabels.entrySet()) {
         boolean unmappedEntry = entry.getValue().tryUnmap();
         if (unmappedEntry) {
@@ -93,6 +172,10 @@ final class SynchronousInstrumentAccumulator<T> extends AbstractAccumulator {
         }
         instrumentProcessor.batch(entry.getKey(), accumulation);
       }
+      if (!aggregatorLabels.isEmpty()) {
+        // Bound handles can be recorded to without going through this accumulator.
+        dirty = true;
+      }
       return instrumentProcessor.completeCollectionCycle(epochNanos);
     } finally {
       collectLock.unlock();
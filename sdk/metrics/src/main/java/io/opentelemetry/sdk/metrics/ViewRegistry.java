@@ -5,22 +5,28 @@
 
 package io.opentelemetry.sdk.metrics;
 
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
 import io.opentelemetry.sdk.metrics.aggregator.AggregatorFactory;
 import io.opentelemetry.sdk.metrics.common.InstrumentDescriptor;
 import io.opentelemetry.sdk.metrics.common.InstrumentType;
 import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.view.InstrumentSelector;
 import io.opentelemetry.sdk.metrics.view.View;
+import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
-import javax.annotation.concurrent.Immutable;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Central location for Views to be registered. Registration of a view is done via the {@link
  * SdkMeterProviderBuilder}.
  */
-@Immutable
+@ThreadSafe
 final class ViewRegistry {
   static final View CUMULATIVE_SUM =
       View.builder()
@@ -31,25 +37,54 @@ final class ViewRegistry {
   static final View LAST_VALUE =
       View.builder().setAggregatorFactory(AggregatorFactory.lastValue()).build();
 
-  private final EnumMap<InstrumentType, LinkedHashMap<Pattern, View>> configuration;
+  private final EnumMap<InstrumentType, List<RegisteredView>> configuration;
+  // Views are selected for each accumulator of an instrument, and instruments may be created
+  // dynamically, so remember the selected view instead of matching all selectors again.
+  private final ConcurrentMap<InstrumentationLibraryInfo, ConcurrentMap<InstrumentDescriptor, View>>
+      viewCache = new ConcurrentHashMap<>();
 
-  ViewRegistry(EnumMap<InstrumentType, LinkedHashMap<Pattern, View>> configuration) {
+  ViewRegistry(EnumMap<InstrumentType, LinkedHashMap<InstrumentSelector, View>> configuration) {
     this.configuration = new EnumMap<>(InstrumentType.class);
-    // make a copy for safety
+    // compile the selectors, in the order they are matched
     configuration.forEach(
-        (instrumentType, patternViewLinkedHashMap) ->
-            this.configuration.put(instrumentType, new LinkedHashMap<>(patternViewLinkedHashMap)));
+        (instrumentType, selectorViewLinkedHashMap) -> {
+          List<RegisteredView> registeredViews = new ArrayList<>(selectorViewLinkedHashMap.size());
+          selectorViewLinkedHashMap.forEach(
+              (selector, view) -> registeredViews.add(new RegisteredView(selector, view)));
+          this.configuration.put(instrumentType, registeredViews);
+        });
   }
 
   static ViewRegistryBuilder builder() {
     return new ViewRegistryBuilder();
   }
 
-  View findView(InstrumentDescriptor descriptor) {
-    LinkedHashMap<Pattern, View> configPerType = configuration.get(descriptor.getType());
-    for (Map.Entry<Pattern, View> entry : configPerType.entrySet()) {
-      if (entry.getKey().matcher(descriptor.getName()).matches()) {
-        return entry.getValue();
+  View findView(
+      InstrumentationLibraryInfo instrumentationLibraryInfo, InstrumentDescriptor descriptor) {
+    ConcurrentMap<InstrumentDescriptor, View> viewByDescriptor =
+        viewCache.get(instrumentationLibraryInfo);
+    if (viewByDescriptor == null) {
+      viewByDescriptor =
+          viewCache.computeIfAbsent(
+              instrumentationLibraryInfo, unused -> new ConcurrentHashMap<>());
+    }
+    View view = viewByDescriptor.get(descriptor);
+    if (view == null) {
+      // Selection is deterministic, so it does not matter which thread wins a race here.
+      view = selectView(instrumentationLibraryInfo, descriptor);
+      viewByDescriptor.putIfAbsent(descriptor, view);
+    }
+    return view;
+  }
+
+  private View selectView(
+      InstrumentationLibraryInfo instrumentationLibraryInfo, InstrumentDescriptor descriptor) {
+    List<RegisteredView> registeredViews = configuration.get(descriptor.getType());
+    if (registeredViews != null) {
+      for (RegisteredView registeredView : registeredViews) {
+        if (registeredView.matches(instrumentationLibraryInfo, descriptor)) {
+          return registeredView.view;
+        }
       }
     }
 
@@ -70,4 +105,75 @@ final class ViewRegistry {
     }
     throw new IllegalArgumentException("Unknown descriptor type: " + descriptor.getType());
   }
+
+  /**
+   * An {@link InstrumentSelector} compiled for matching. Instrument name regexes that are a literal
+   * or a literal followed by {@code .*} are matched without running the regex.
+   */
+  private static final class RegisteredView {
+    private static final String MATCH_ANY_SUFFIX = ".*";
+    private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+
+    private final View view;
+    @Nullable private final String instrumentName;
+    @Nullable private final String instrumentNamePrefix;
+    @Nullable private final Pattern instrumentNamePattern;
+    @Nullable private final String instrumentUnit;
+    @Nullable private final String meterName;
+    @Nullable private final String meterVersion;
+
+    private RegisteredView(InstrumentSelector selector, View view) {
+      this.view = view;
+      Pattern pattern = selector.getInstrumentNamePattern();
+      String regex = pattern.pattern();
+      String prefix =
+          regex.endsWith(MATCH_ANY_SUFFIX)
+              ? regex.substring(0, regex.length() - MATCH_ANY_SUFFIX.length())
+              : null;
+      if (pattern.flags() == 0 && isLiteral(regex)) {
+        this.instrumentName = regex;
+        this.instrumentNamePrefix = null;
+        this.instrumentNamePattern = null;
+      } else if (pattern.flags() == 0 && prefix != null && isLiteral(prefix)) {
+        // Instrument names cannot contain line terminators, so .* matches any suffix.
+        this.instrumentName = null;
+        this.instrumentNamePrefix = prefix;
+        this.instrumentNamePattern = null;
+      } else {
+        this.instrumentName = null;
+        this.instrumentNamePrefix = null;
+        this.instrumentNamePattern = pattern;
+      }
+      this.instrumentUnit = selector.getInstrumentUnit();
+      this.meterName = selector.getMeterName();
+      this.meterVersion = selector.getMeterVersion();
+    }
+
+    private boolean matches(
+        InstrumentationLibraryInfo instrumentationLibraryInfo, InstrumentDescriptor descriptor) {
+      return matchesName(descriptor.getName())
+          && (instrumentUnit == null || instrumentUnit.equals(descriptor.getUnit()))
+          && (meterName == null || meterName.equals(instrumentationLibraryInfo.getName()))
+          && (meterVersion == null || meterVersion.equals(instrumentationLibraryInfo.getVersion()));
+    }
+
+    private boolean matchesName(String name) {
+      if (instrumentName != null) {
+        return instrumentName.equals(name);
+      }
+      if (instrumentNamePrefix != null) {
+        return name.startsWith(instrumentNamePrefix);
+      }
+      return instrumentNamePattern.matcher(name).matches();
+    }
+
+    private static boolean isLiteral(String regex) {
+      for (int i = 0; i < regex.length(); i++) {
+        if (REGEX_METACHARACTERS.indexOf(regex.charAt(i)) >= 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
 }
@@ -10,12 +10,11 @@ import io.opentelemetry.sdk.metrics.view.InstrumentSelector;
 import io.opentelemetry.sdk.metrics.view.View;
 import java.util.EnumMap;
 import java.util.LinkedHashMap;
-import java.util.regex.Pattern;
 
 class ViewRegistryBuilder {
-  private final EnumMap<InstrumentType, LinkedHashMap<Pattern, View>> configuration =
+  private final EnumMap<InstrumentType, LinkedHashMap<InstrumentSelector, View>> configuration =
       new EnumMap<>(InstrumentType.class);
-  private static final LinkedHashMap<Pattern, View> EMPTY_CONFIG = new LinkedHashMap<>();
+  private static final LinkedHashMap<InstrumentSelector, View> EMPTY_CONFIG = new LinkedHashMap<>();
 
   ViewRegistryBuilder() {
     for (InstrumentType type : InstrumentType.values()) {
@@ -28,18 +27,19 @@ class ViewRegistryBuilder {
   }
 
   ViewRegistryBuilder addView(InstrumentSelector selector, View view) {
-    LinkedHashMap<Pattern, View> parentConfiguration =
+    LinkedHashMap<InstrumentSelector, View> parentConfiguration =
         configuration.get(selector.getInstrumentType());
     configuration.put(
-        selector.getInstrumentType(),
-        newLinkedHashMap(selector.getInstrumentNamePattern(), view, parentConfiguration));
+        selector.getInstrumentType(), newLinkedHashMap(selector, view, parentConfiguration));
     return this;
   }
 
-  private static LinkedHashMap<Pattern, View> newLinkedHashMap(
-      Pattern pattern, View view, LinkedHashMap<Pattern, View> parentConfiguration) {
-    LinkedHashMap<Pattern, View> result = new LinkedHashMap<>();
-    result.put(pattern, view);
+  private static LinkedHashMap<InstrumentSelector, View> newLinkedHashMap(
+      InstrumentSelector selector,
+      View view,
+      LinkedHashMap<InstrumentSelector, View> parentConfiguration) {
+    LinkedHashMap<InstrumentSelector, View> result = new LinkedHashMap<>();
+    result.put(selector, view);
     result.putAll(parentConfiguration);
     return result;
   }
@@ -109,6 +109,24 @@ public interface AggregatorFactory {
     return new HistogramAggregatorFactory(boundaries, temporality);
   }
 
+  /**
+   * Returns an {@code AggregatorFactory} that calculates an approximation of the distribution of
+   * the measurements taken, using base-2 exponential buckets.
+   *
+   * <p>The histogram starts at the highest resolution and reduces it whenever the recorded values
+   * would not fit in {@code maxBuckets} buckets, so no bucket boundaries need to be configured and
+   * memory use is bounded.
+   *
+   * @param maxBuckets the maximum number of buckets for each of the positive and negative ranges.
+   * @param temporality configures what temporality to be produced for the Histogram metrics.
+   * @return an {@code AggregationFactory} that calculates exponential histogram of recorded
+   *     measurements.
+   */
+  static AggregatorFactory exponentialHistogram(
+      int maxBuckets, AggregationTemporality temporality) {
+    return new ExponentialHistogramAggregatorFactory(maxBuckets, temporality);
+  }
+
   /**
    * Returns a new {@link Aggregator}.
    *
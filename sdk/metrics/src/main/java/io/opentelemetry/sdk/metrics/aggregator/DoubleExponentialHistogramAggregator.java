@@ -0,0 +1,120 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics.aggregator;
+
+import io.opentelemetry.api.internal.GuardedBy;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.metrics.common.InstrumentDescriptor;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+final class DoubleExponentialHistogramAggregator
+    extends AbstractAggregator<ExponentialHistogramAccumulation> {
+  private final int maxBuckets;
+
+  DoubleExponentialHistogramAggregator(
+      Resource resource,
+      InstrumentationLibraryInfo instrumentationLibraryInfo,
+      InstrumentDescriptor instrumentDescriptor,
+      int maxBuckets,
+      boolean stateful) {
+    super(resource, instrumentationLibraryInfo, instrumentDescriptor, stateful);
+    this.maxBuckets = maxBuckets;
+  }
+
+  @Override
+  public AggregatorHandle<ExponentialHistogramAccumulation> createHandle() {
+    return new Handle(maxBuckets);
+  }
+
+  /**
+   * Return the result of the merge of two histogram accumulations. The accumulations may have
+   * different scales, the result has the greatest scale at which both fit in {@code maxBuckets}.
+   */
+  @Override
+  public final ExponentialHistogramAccumulation merge(
+      ExponentialHistogramAccumulation x, ExponentialHistogramAccumulation y) {
+    ExponentialHistogramState state = new ExponentialHistogramState(maxBuckets);
+    state.merge(x);
+    state.merge(y);
+    return state.toAccumulation();
+  }
+
+  @Override
+  public final MetricData toMetricData(
+      Map<Labels, ExponentialHistogramAccumulation> accumulationByLabels,
+      long startEpochNanos,
+      long lastCollectionEpoch,
+      long epochNanos) {
+    return MetricData.createExponentialHistogram(
+        getResource(),
+        getInstrumentationLibraryInfo(),
+        getInstrumentDescriptor().getName(),
+        getInstrumentDescriptor().getDescription(),
+        getInstrumentDescriptor().getUnit(),
+        ExponentialHistogramData.create(
+            isStateful() ? AggregationTemporality.CUMULATIVE : AggregationTemporality.DELTA,
+            MetricDataUtils.toExponentialHistogramPointList(
+                accumulationByLabels,
+                isStateful() ? startEpochNanos : lastCollectionEpoch,
+                epochNanos)));
+  }
+
+  @Override
+  public ExponentialHistogramAccumulation accumulateDouble(double value) {
+    ExponentialHistogramState state = new ExponentialHistogramState(maxBuckets);
+    state.record(value);
+    return state.toAccumulation();
+  }
+
+  @Override
+  public ExponentialHistogramAccumulation accumulateLong(long value) {
+    return accumulateDouble((double) value);
+  }
+
+  static final class Handle extends AggregatorHandle<ExponentialHistogramAccumulation> {
+    @GuardedBy("lock")
+    private final ExponentialHistogramState state;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    Handle(int maxBuckets) {
+      this.state = new ExponentialHistogramState(maxBuckets);
+    }
+
+    @Override
+    protected ExponentialHistogramAccumulation doAccumulateThenReset() {
+      lock.lock();
+      try {
+        ExponentialHistogramAccumulation acc = state.toAccumulation();
+        state.reset();
+        return acc;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    protected void doRecordDouble(double value) {
+      lock.lock();
+      try {
+        state.record(value);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    protected void doRecordLong(long value) {
+      doRecordDouble((double) value);
+    }
+  }
+}
@@ -5,7 +5,6 @@
 
 package io.opentelemetry.sdk.metrics.aggregator;
 
-import io.opentelemetry.api.internal.GuardedBy;
 import io.opentelemetry.api.metrics.common.Labels;
 import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
 import io.opentelemetry.sdk.metrics.common.InstrumentDescriptor;
@@ -14,11 +13,12 @@ import io.opentelemetry.sdk.metrics.data.DoubleHistogramData;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.resources.Resource;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 final class DoubleHistogramAggregator extends AbstractAggregator<HistogramAccumulation> {
   private final double[] boundaries;
@@ -106,53 +106,113 @@ final class DoubleHistogramAggregator extends AbstractAggregator<HistogramAccumu
   }
 
   static final class Handle extends AggregatorHandle<HistogramAccumulation> {
+    // Recordings are spread over a power-of-two number of cells, sized to the number of
+    // processors, so that concurrent recorders rarely touch the same cache lines.
+    private static final int MAX_CELLS = 64;
+    private static final int NUM_CELLS = numCells(Runtime.getRuntime().availableProcessors());
+
     // read-only
     private final double[] boundaries;
 
-    @GuardedBy("lock")
-    private double sum;
-
-    @GuardedBy("lock")
-    private final long[] counts;
-
-    private final ReentrantLock lock = new ReentrantLock();
+    // Cells are created lazily on first use by a thread mapped to them, so a handle only recorded
+    // from a single thread costs a single cell.
+    private final AtomicReferenceArray<Cell> cells;
 
     Handle(double[] boundaries) {
+      this(boundaries, NUM_CELLS);
+    }
+
+    // Visible for testing
+    Handle(double[] boundaries, int numCells) {
       this.boundaries = boundaries;
-      this.counts = new long[this.boundaries.length + 1];
-      this.sum = 0;
+      this.cells = new AtomicReferenceArray<>(numCells);
     }
 
     @Override
     protected HistogramAccumulation doAccumulateThenReset() {
-      lock.lock();
-      try {
-        HistogramAccumulation acc =
-            HistogramAccumulation.create(sum, Arrays.copyOf(counts, counts.length));
-        this.sum = 0;
-        Arrays.fill(this.counts, 0);
-        return acc;
-      } finally {
-        lock.unlock();
+      // Like LongAdder.sumThenReset, this is not an atomic snapshot: a recording that races with
+      // the reset may have its sum and count split between two consecutive accumulations, but it
+      // is never lost.
+      double sum = 0;
+      long[] counts = new long[this.boundaries.length + 1];
+      for (int i = 0; i < cells.length(); ++i) {
+        Cell cell = cells.get(i);
+        if (cell != null) {
+          sum += cell.sumThenReset();
+          cell.addCountsThenReset(counts);
+        }
       }
+      return HistogramAccumulation.create(sum, counts);
     }
 
     @Override
     protected void doRecordDouble(double value) {
-      int bucketIndex = findBucketIndex(this.boundaries, value);
+      recordInCell(value, cellIndex(Thread.currentThread().getId()));
+    }
 
-      lock.lock();
-      try {
-        this.sum += value;
-        this.counts[bucketIndex]++;
-      } finally {
-        lock.unlock();
-      }
+    // Visible for testing
+    void recordInCell(double value, int cellIndex) {
+      int bucketIndex = findBucketIndex(this.boundaries, value);
+      Cell cell = getCell(cellIndex);
+      cell.add(value);
+      cell.counts.getAndIncrement(bucketIndex);
     }
 
     @Override
     protected void doRecordLong(long value) {
       doRecordDouble((double) value);
     }
+
+    private Cell getCell(int index) {
+      Cell cell = cells.get(index);
+      if (cell == null) {
+        cells.compareAndSet(index, null, new Cell(this.boundaries.length + 1));
+        cell = cells.get(index);
+      }
+      return cell;
+    }
+
+    // Spreads sequential thread ids over the cells.
+    private int cellIndex(long threadId) {
+      long h = threadId * 0x9E3779B97F4A7C15L;
+      return (int) (h ^ (h >>> 32)) & (cells.length() - 1);
+    }
+
+    private static int numCells(int processors) {
+      int numCells = 1;
+      while (numCells < processors && numCells < MAX_CELLS) {
+        numCells <<= 1;
+      }
+      return numCells;
+    }
+
+    private static final class Cell {
+      private final AtomicLongArray counts;
+      // The raw long bits of the double sum, updated with a CAS loop as DoubleAdder does.
+      private final AtomicLong sumBits = new AtomicLong(Double.doubleToRawLongBits(0));
+
+      private Cell(int numBuckets) {
+        this.counts = new AtomicLongArray(numBuckets);
+      }
+
+      private void add(double value) {
+        long current;
+        long next;
+        do {
+          current = sumBits.get();
+          next = Double.doubleToRawLongBits(Double.longBitsToDouble(current) + value);
+        } while (!sumBits.compareAndSet(current, next));
+      }
+
+      private double sumThenReset() {
+        return Double.longBitsToDouble(sumBits.getAndSet(Double.doubleToRawLongBits(0)));
+      }
+
+      private void addCountsThenReset(long[] result) {
+        for (int i = 0; i < result.length; ++i) {
+          result[i] += counts.getAndSet(i, 0);
+        }
+      }
+    }
   }
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics.aggregator;
+
+import java.util.Arrays;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * The counts of a contiguous window of at most {@code maxBuckets} exponential histogram buckets,
+ * stored in a fixed size circular array so that the window can grow in both directions without
+ * moving the existing counts.
+ */
+@NotThreadSafe
+final class ExponentialBucketCounts {
+  private long[] counts;
+  private boolean empty = true;
+  // The bucket index stored at position 0 of counts.
+  private int baseIndex;
+  private int startIndex;
+  private int endIndex;
+
+  ExponentialBucketCounts(int maxBuckets) {
+    this.counts = new long[maxBuckets];
+  }
+
+  /**
+   * Adds {@code delta} to the bucket with the given index. Returns {@code false}, without changing
+   * anything, if the bucket does not fit in the window of at most {@code maxBuckets} buckets.
+   */
+  boolean increment(int index, long delta) {
+    if (empty) {
+      baseIndex = index;
+      startIndex = index;
+      endIndex = index;
+      empty = false;
+    } else if (index > endIndex) {
+      if ((long) index - startIndex >= counts.length) {
+        return false;
+      }
+      endIndex = index;
+    } else if (index < startIndex) {
+      if ((long) endIndex - index >= counts.length) {
+        return false;
+      }
+      startIndex = index;
+    }
+    counts[position(index)] += delta;
+    return true;
+  }
+
+  /** Merges every {@code 2^by} adjacent buckets, as needed to reduce the scale by {@code by}. */
+  void downscale(int by) {
+    if (by == 0 || empty) {
+      return;
+    }
+    long[] downscaled = new long[counts.length];
+    int newStartIndex = startIndex >> by;
+    for (int index = startIndex; index <= endIndex; index++) {
+      downscaled[(index >> by) - newStartIndex] += counts[position(index)];
+    }
+    counts = downscaled;
+    baseIndex = newStartIndex;
+    startIndex = newStartIndex;
+    endIndex = endIndex >> by;
+  }
+
+  boolean isEmpty() {
+    return empty;
+  }
+
+  int getStartIndex() {
+    return startIndex;
+  }
+
+  int getEndIndex() {
+    return endIndex;
+  }
+
+  /** Returns the counts from {@link #getStartIndex()} to {@link #getEndIndex()}. */
+  long[] toArray() {
+    if (empty) {
+      return new long[0];
+    }
+    long[] result = new long[endIndex - startIndex + 1];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = counts[position(startIndex + i)];
+    }
+    return result;
+  }
+
+  void clear() {
+    Arrays.fill(counts, 0);
+    empty = true;
+  }
+
+  private int position(int index) {
+    return (int) Math.floorMod((long) index - baseIndex, (long) counts.length);
+  }
+}
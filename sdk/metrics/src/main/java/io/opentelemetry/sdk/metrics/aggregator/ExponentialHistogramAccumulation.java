@@ -0,0 +1,86 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics.aggregator;
+
+import com.google.auto.value.AutoValue;
+import javax.annotation.concurrent.Immutable;
+
+@Immutable
+@AutoValue
+abstract class ExponentialHistogramAccumulation {
+  /**
+   * Creates a new {@link ExponentialHistogramAccumulation} with the given values. Assume the counts
+   * are read-only so we don't need a defensive-copy here.
+   *
+   * @return a new {@link ExponentialHistogramAccumulation} with the given values.
+   */
+  static ExponentialHistogramAccumulation create(
+      int scale,
+      double sum,
+      long zeroCount,
+      int positiveOffset,
+      long[] positiveCounts,
+      int negativeOffset,
+      long[] negativeCounts) {
+    return new AutoValue_ExponentialHistogramAccumulation(
+        scale, sum, zeroCount, positiveOffset, positiveCounts, negativeOffset, negativeCounts);
+  }
+
+  ExponentialHistogramAccumulation() {}
+
+  /**
+   * The scale of the buckets, the base of the histogram is {@code 2^(2^-scale)}.
+   *
+   * @return the scale of the buckets.
+   */
+  abstract int getScale();
+
+  /**
+   * The sum of all measurements recorded.
+   *
+   * @return the sum of recorded measurements.
+   */
+  abstract double getSum();
+
+  /**
+   * The number of measurements that were exactly zero.
+   *
+   * @return the count of zero measurements.
+   */
+  abstract long getZeroCount();
+
+  /**
+   * The bucket index of the first entry in {@link #getPositiveCounts()}.
+   *
+   * @return the index of the first positive bucket.
+   */
+  abstract int getPositiveOffset();
+
+  /**
+   * The counts in each positive bucket. The returned type is a mutable object, but it should be
+   * fine because the class is only used internally.
+   *
+   * @return the counts in each positive bucket. <b>do not mutate</b> the returned object.
+   */
+  @SuppressWarnings("mutable")
+  abstract long[] getPositiveCounts();
+
+  /**
+   * The bucket index of the first entry in {@link #getNegativeCounts()}.
+   *
+   * @return the index of the first negative bucket.
+   */
+  abstract int getNegativeOffset();
+
+  /**
+   * The counts in each negative bucket, indexed by absolute value. The returned type is a mutable
+   * object, but it should be fine because the class is only used internally.
+   *
+   * @return the counts in each negative bucket. <b>do not mutate</b> the returned object.
+   */
+  @SuppressWarnings("mutable")
+  abstract long[] getNegativeCounts();
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics.aggregator;
+
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.metrics.common.InstrumentDescriptor;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.resources.Resource;
+
+final class ExponentialHistogramAggregatorFactory implements AggregatorFactory {
+  // At the minimum scale the whole range of doubles fits in 3 buckets, so the histogram can always
+  // make room for a new measurement by reducing its scale.
+  private static final int MIN_MAX_BUCKETS = 4;
+
+  private final int maxBuckets;
+  private final AggregationTemporality temporality;
+
+  ExponentialHistogramAggregatorFactory(int maxBuckets, AggregationTemporality temporality) {
+    if (maxBuckets < MIN_MAX_BUCKETS) {
+      throw new IllegalArgumentException(
+          "invalid maxBuckets: " + maxBuckets + " < " + MIN_MAX_BUCKETS);
+    }
+    this.maxBuckets = maxBuckets;
+    this.temporality = temporality;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> Aggregator<T> create(
+      Resource resource,
+      InstrumentationLibraryInfo instrumentationLibraryInfo,
+      InstrumentDescriptor descriptor) {
+    final boolean stateful = this.temporality == AggregationTemporality.CUMULATIVE;
+    switch (descriptor.getValueType()) {
+      case LONG:
+      case DOUBLE:
+        return (Aggregator<T>)
+            new DoubleExponentialHistogramAggregator(
+                resource, instrumentationLibraryInfo, descriptor, this.maxBuckets, stateful);
+    }
+    throw new IllegalArgumentException("Invalid instrument value type");
+  }
+}
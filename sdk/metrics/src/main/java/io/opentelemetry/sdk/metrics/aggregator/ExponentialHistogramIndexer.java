@@ -0,0 +1,74 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics.aggregator;
+
+/**
+ * Maps positive values to the index of the base-2 exponential histogram bucket that contains them.
+ * At a given {@code scale} the base of the histogram is {@code 2^(2^-scale)}, and the bucket with
+ * index {@code i} contains the values in {@code (base^i, base^(i+1)]}.
+ *
+ * <p>The index is computed in constant time from the exponent and significand bits of the value.
+ * For {@code scale <= 0} the exponent alone determines the index; for {@code scale > 0} the
+ * logarithm is only used to find the sub-bucket within the power of two given by the exponent.
+ */
+final class ExponentialHistogramIndexer {
+  /** The finest supported resolution, about 1.000000661 between adjacent boundaries. */
+  static final int MAX_SCALE = 20;
+
+  /** At this resolution the whole range of positive doubles fits in 3 buckets. */
+  static final int MIN_SCALE = -10;
+
+  private static final long EXPONENT_MASK = 0x7FF0000000000000L;
+  private static final long SIGNIFICAND_MASK = 0x000FFFFFFFFFFFFFL;
+  private static final int SIGNIFICAND_WIDTH = 52;
+  private static final int EXPONENT_BIAS = 1023;
+  private static final double LOG2E = 1 / Math.log(2);
+
+  private ExponentialHistogramIndexer() {}
+
+  /**
+   * Returns the bucket index of the given value at the given scale. The value must be positive and
+   * finite.
+   */
+  static int computeIndex(double value, int scale) {
+    long bits = Double.doubleToRawLongBits(value);
+    int exponent = getBase2Exponent(bits);
+    boolean powerOfTwo = isPowerOfTwo(bits);
+
+    if (scale <= 0) {
+      // Buckets are upper-inclusive, so exact powers of two belong to the bucket below.
+      return (powerOfTwo ? exponent - 1 : exponent) >> -scale;
+    }
+
+    if (powerOfTwo) {
+      return (exponent << scale) - 1;
+    }
+    // The value is in (2^exponent, 2^(exponent+1)), so the result must be within the sub-buckets of
+    // that power of two. Clamp to correct for the imprecision of Math.log near the boundaries.
+    int index = (int) Math.floor(Math.log(value) * Math.scalb(LOG2E, scale));
+    int lowestIndex = exponent << scale;
+    int highestIndex = ((exponent + 1) << scale) - 1;
+    return Math.max(lowestIndex, Math.min(highestIndex, index));
+  }
+
+  // Returns the exponent e such that 2^e <= value < 2^(e+1), including for subnormal values.
+  private static int getBase2Exponent(long bits) {
+    int rawExponent = (int) ((bits & EXPONENT_MASK) >>> SIGNIFICAND_WIDTH);
+    if (rawExponent == 0) {
+      long significand = bits & SIGNIFICAND_MASK;
+      return -(EXPONENT_BIAS - 1) - (Long.numberOfLeadingZeros(significand) - 11);
+    }
+    return rawExponent - EXPONENT_BIAS;
+  }
+
+  private static boolean isPowerOfTwo(long bits) {
+    long significand = bits & SIGNIFICAND_MASK;
+    if ((bits & EXPONENT_MASK) == 0) {
+      return Long.bitCount(significand) == 1;
+    }
+    return significand == 0;
+  }
+}
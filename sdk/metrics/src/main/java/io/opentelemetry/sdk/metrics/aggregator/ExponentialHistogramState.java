@@ -0,0 +1,119 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics.aggregator;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * The mutable state of a base-2 exponential histogram. The histogram starts at the finest scale and
+ * automatically reduces its scale whenever a measurement would not fit in {@code maxBuckets}
+ * buckets, so its memory use is bounded regardless of the range of the recorded values.
+ */
+@NotThreadSafe
+final class ExponentialHistogramState {
+  private final int maxBuckets;
+  private final ExponentialBucketCounts positiveBuckets;
+  private final ExponentialBucketCounts negativeBuckets;
+  private int scale = ExponentialHistogramIndexer.MAX_SCALE;
+  private double sum;
+  private long zeroCount;
+
+  ExponentialHistogramState(int maxBuckets) {
+    this.maxBuckets = maxBuckets;
+    this.positiveBuckets = new ExponentialBucketCounts(maxBuckets);
+    this.negativeBuckets = new ExponentialBucketCounts(maxBuckets);
+  }
+
+  /** Records the given value. Non-finite values are ignored. */
+  void record(double value) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      return;
+    }
+    sum += value;
+    if (value == 0) {
+      zeroCount++;
+      return;
+    }
+    ExponentialBucketCounts buckets = value > 0 ? positiveBuckets : negativeBuckets;
+    increment(buckets, ExponentialHistogramIndexer.computeIndex(Math.abs(value), scale), 1);
+  }
+
+  /** Adds all the measurements of the given accumulation to this histogram. */
+  void merge(ExponentialHistogramAccumulation accumulation) {
+    sum += accumulation.getSum();
+    zeroCount += accumulation.getZeroCount();
+    if (accumulation.getScale() < scale) {
+      downscale(scale - accumulation.getScale());
+    }
+    mergeBuckets(
+        positiveBuckets,
+        accumulation.getScale(),
+        accumulation.getPositiveOffset(),
+        accumulation.getPositiveCounts());
+    mergeBuckets(
+        negativeBuckets,
+        accumulation.getScale(),
+        accumulation.getNegativeOffset(),
+        accumulation.getNegativeCounts());
+  }
+
+  ExponentialHistogramAccumulation toAccumulation() {
+    return ExponentialHistogramAccumulation.create(
+        scale,
+        sum,
+        zeroCount,
+        positiveBuckets.isEmpty() ? 0 : positiveBuckets.getStartIndex(),
+        positiveBuckets.toArray(),
+        negativeBuckets.isEmpty() ? 0 : negativeBuckets.getStartIndex(),
+        negativeBuckets.toArray());
+  }
+
+  void reset() {
+    positiveBuckets.clear();
+    negativeBuckets.clear();
+    scale = ExponentialHistogramIndexer.MAX_SCALE;
+    sum = 0;
+    zeroCount = 0;
+  }
+
+  private void mergeBuckets(
+      ExponentialBucketCounts buckets, int countsScale, int offset, long[] counts) {
+    for (int i = 0; i < counts.length; i++) {
+      if (counts[i] != 0) {
+        // The shift is recomputed for every bucket because incrementing may reduce the scale.
+        increment(buckets, (offset + i) >> (countsScale - scale), counts[i]);
+      }
+    }
+  }
+
+  private void increment(ExponentialBucketCounts buckets, int index, long delta) {
+    if (!buckets.increment(index, delta)) {
+      int reduction = getScaleReduction(buckets, index);
+      downscale(reduction);
+      buckets.increment(index >> reduction, delta);
+    }
+  }
+
+  // Returns by how much the scale must be reduced for the bucket with the given index to fit in
+  // the same window as the existing buckets.
+  private int getScaleReduction(ExponentialBucketCounts buckets, int index) {
+    int low = Math.min(buckets.getStartIndex(), index);
+    int high = Math.max(buckets.getEndIndex(), index);
+    int reduction = 0;
+    while ((long) high - low >= maxBuckets) {
+      low >>= 1;
+      high >>= 1;
+      reduction++;
+    }
+    return reduction;
+  }
+
+  private void downscale(int by) {
+    positiveBuckets.downscale(by);
+    negativeBuckets.downscale(by);
+    scale -= by;
+  }
+}
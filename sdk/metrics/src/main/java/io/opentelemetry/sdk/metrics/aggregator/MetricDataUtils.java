@@ -9,6 +9,8 @@ import io.opentelemetry.api.metrics.common.Labels;
 import io.opentelemetry.sdk.metrics.data.DoubleHistogramPointData;
 import io.opentelemetry.sdk.metrics.data.DoublePointData;
 import io.opentelemetry.sdk.metrics.data.DoubleSummaryPointData;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramBuckets;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramPointData;
 import io.opentelemetry.sdk.metrics.data.LongPointData;
 import java.util.ArrayList;
 import java.util.List;
@@ -64,4 +66,35 @@ final class MetricDataUtils {
         });
     return points;
   }
+
+  static List<ExponentialHistogramPointData> toExponentialHistogramPointList(
+      Map<Labels, ExponentialHistogramAccumulation> accumulationMap,
+      long startEpochNanos,
+      long epochNanos) {
+    List<ExponentialHistogramPointData> points = new ArrayList<>(accumulationMap.size());
+    accumulationMap.forEach(
+        (labels, aggregator) ->
+            points.add(
+                ExponentialHistogramPointData.create(
+                    startEpochNanos,
+                    epochNanos,
+                    labels,
+                    aggregator.getScale(),
+                    aggregator.getSum(),
+                    aggregator.getZeroCount(),
+                    toBuckets(aggregator.getPositiveOffset(), aggregator.getPositiveCounts()),
+                    toBuckets(aggregator.getNegativeOffset(), aggregator.getNegativeCounts()))));
+    return points;
+  }
+
+  private static ExponentialHistogramBuckets toBuckets(int offset, long[] counts) {
+    if (counts.length == 0) {
+      return ExponentialHistogramBuckets.empty();
+    }
+    List<Long> bucketCounts = new ArrayList<>(counts.length);
+    for (long v : counts) {
+      bucketCounts.add(v);
+    }
+    return ExponentialHistogramBuckets.create(offset, bucketCounts);
+  }
 }
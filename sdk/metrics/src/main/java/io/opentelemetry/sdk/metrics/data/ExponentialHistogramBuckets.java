@@ -0,0 +1,70 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics.data;
+
+import com.google.auto.value.AutoValue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * ExponentialHistogramBuckets represents a contiguous range of buckets of an exponential histogram,
+ * for either the positive or the negative range of recorded values.
+ */
+@Immutable
+@AutoValue
+public abstract class ExponentialHistogramBuckets {
+  private static final ExponentialHistogramBuckets EMPTY =
+      new AutoValue_ExponentialHistogramBuckets(0, Collections.emptyList(), 0);
+
+  /**
+   * Creates an ExponentialHistogramBuckets.
+   *
+   * @return an ExponentialHistogramBuckets.
+   */
+  public static ExponentialHistogramBuckets create(int offset, List<Long> bucketCounts) {
+    long totalCount = 0;
+    for (long c : bucketCounts) {
+      totalCount += c;
+    }
+    return new AutoValue_ExponentialHistogramBuckets(
+        offset, Collections.unmodifiableList(new ArrayList<>(bucketCounts)), totalCount);
+  }
+
+  /**
+   * Returns an empty ExponentialHistogramBuckets.
+   *
+   * @return an empty ExponentialHistogramBuckets.
+   */
+  public static ExponentialHistogramBuckets empty() {
+    return EMPTY;
+  }
+
+  ExponentialHistogramBuckets() {}
+
+  /**
+   * The bucket index of the first entry in {@link #getBucketCounts()}.
+   *
+   * @return the index of the first bucket.
+   */
+  public abstract int getOffset();
+
+  /**
+   * The counts in each bucket, starting at bucket index {@link #getOffset()}. The bucket with index
+   * {@code i} counts the values in {@code (base^i, base^(i+1)]}.
+   *
+   * @return the read-only counts in each bucket. <b>do not mutate</b> the returned object.
+   */
+  public abstract List<Long> getBucketCounts();
+
+  /**
+   * The number of measurements counted in these buckets.
+   *
+   * @return the total count of these buckets.
+   */
+  public abstract long getTotalCount();
+}
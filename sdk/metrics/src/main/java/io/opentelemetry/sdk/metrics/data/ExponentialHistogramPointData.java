@@ -0,0 +1,137 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics.data;
+
+import com.google.auto.value.AutoValue;
+import io.opentelemetry.api.metrics.common.Labels;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * ExponentialHistogramPointData represents an approximate representation of the distribution of
+ * measurements, using buckets whose boundaries grow exponentially with a base of {@code
+ * 2^(2^-scale)}.
+ */
+@Immutable
+@AutoValue
+public abstract class ExponentialHistogramPointData implements PointData {
+  /**
+   * Creates an ExponentialHistogramPointData.
+   *
+   * @return an ExponentialHistogramPointData.
+   */
+  public static ExponentialHistogramPointData create(
+      long startEpochNanos,
+      long epochNanos,
+      Labels labels,
+      int scale,
+      double sum,
+      long zeroCount,
+      ExponentialHistogramBuckets positiveBuckets,
+      ExponentialHistogramBuckets negativeBuckets) {
+    long count = zeroCount + positiveBuckets.getTotalCount() + negativeBuckets.getTotalCount();
+    return new AutoValue_ExponentialHistogramPointData(
+        startEpochNanos,
+        epochNanos,
+        labels,
+        scale,
+        sum,
+        count,
+        zeroCount,
+        positiveBuckets,
+        negativeBuckets);
+  }
+
+  ExponentialHistogramPointData() {}
+
+  /**
+   * The resolution of the histogram. Adjacent bucket boundaries differ by a factor of {@code
+   * 2^(2^-scale)}.
+   *
+   * @return the scale of the histogram.
+   */
+  public abstract int getScale();
+
+  /**
+   * The sum of all measurements recorded.
+   *
+   * @return the sum of recorded measurements.
+   */
+  public abstract double getSum();
+
+  /**
+   * The number of measurements taken.
+   *
+   * @return the count of recorded measurements.
+   */
+  public abstract long getCount();
+
+  /**
+   * The number of measurements that were exactly zero.
+   *
+   * @return the count of zero measurements.
+   */
+  public abstract long getZeroCount();
+
+  /**
+   * The buckets of the positive measurements.
+   *
+   * @return the positive buckets.
+   */
+  public abstract ExponentialHistogramBuckets getPositiveBuckets();
+
+  /**
+   * The buckets of the negative measurements, indexed by their absolute value.
+   *
+   * @return the negative buckets.
+   */
+  public abstract ExponentialHistogramBuckets getNegativeBuckets();
+
+  /**
+   * Returns this point as an explicit bucket histogram point with a boundary at every exponential
+   * bucket boundary, for exporting to protocols that do not support exponential histograms. The
+   * bucket counts are preserved, but a value exactly equal to the boundary of a negative bucket is
+   * reported in the bucket below it.
+   *
+   * @return this point as an explicit bucket histogram point.
+   */
+  public final DoubleHistogramPointData toDoubleHistogramPointData() {
+    ExponentialHistogramBuckets negative = getNegativeBuckets();
+    ExponentialHistogramBuckets positive = getPositiveBuckets();
+    int numBuckets = negative.getBucketCounts().size() + 1 + positive.getBucketCounts().size();
+    List<Double> boundaries = new ArrayList<>(numBuckets - 1);
+    List<Long> counts = new ArrayList<>(numBuckets);
+
+    // From the most negative bucket to zero, each bucket is bounded above by -base^index.
+    List<Long> negativeCounts = negative.getBucketCounts();
+    for (int i = negativeCounts.size() - 1; i >= 0; i--) {
+      boundaries.add(-getBoundary(negative.getOffset() + i));
+      counts.add(negativeCounts.get(i));
+    }
+    boundaries.add(0.0);
+    counts.add(getZeroCount());
+    List<Long> positiveCounts = positive.getBucketCounts();
+    for (int i = 0; i < positiveCounts.size(); i++) {
+      // The upper bound of the last bucket is implicitly +Inf.
+      if (i < positiveCounts.size() - 1) {
+        boundaries.add(getBoundary(positive.getOffset() + i + 1));
+      }
+      counts.add(positiveCounts.get(i));
+    }
+    if (positiveCounts.isEmpty()) {
+      // The zero bucket is the last one, so its upper bound is implicitly +Inf.
+      boundaries.remove(boundaries.size() - 1);
+    }
+    return DoubleHistogramPointData.create(
+        getStartEpochNanos(), getEpochNanos(), getLabels(), getSum(), boundaries, counts);
+  }
+
+  // Returns base^index, the lower bound of the bucket with the given index.
+  private double getBoundary(int index) {
+    return Math.pow(2, Math.scalb((double) index, -getScale()));
+  }
+}
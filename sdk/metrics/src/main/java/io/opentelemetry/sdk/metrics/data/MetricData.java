@@ -31,6 +31,8 @@ public abstract class MetricData {
       DoubleSummaryData.create(Collections.emptyList());
   private static final DoubleHistogramData DEFAULT_DOUBLE_HISTOGRAM_DATA =
       DoubleHistogramData.create(AggregationTemporality.CUMULATIVE, Collections.emptyList());
+  private static final ExponentialHistogramData DEFAULT_EXPONENTIAL_HISTOGRAM_DATA =
+      ExponentialHistogramData.create(AggregationTemporality.CUMULATIVE, Collections.emptyList());
 
   /**
    * Returns a new MetricData wih a {@link MetricDataType#DOUBLE_GAUGE} type.
@@ -164,6 +166,28 @@ public abstract class MetricData {
         data);
   }
 
+  /**
+   * Returns a new MetricData with a {@link MetricDataType#EXPONENTIAL_HISTOGRAM} type.
+   *
+   * @return a new MetricData wih a {@link MetricDataType#EXPONENTIAL_HISTOGRAM} type.
+   */
+  public static MetricData createExponentialHistogram(
+      Resource resource,
+      InstrumentationLibraryInfo instrumentationLibraryInfo,
+      String name,
+      String description,
+      String unit,
+      ExponentialHistogramData data) {
+    return new AutoValue_MetricData(
+        resource,
+        instrumentationLibraryInfo,
+        name,
+        description,
+        unit,
+        MetricDataType.EXPONENTIAL_HISTOGRAM,
+        data);
+  }
+
   MetricData() {}
 
   /**
@@ -303,4 +327,18 @@ public abstract class MetricData {
     }
     return DEFAULT_DOUBLE_HISTOGRAM_DATA;
   }
+
+  /**
+   * Returns the {@code ExponentialHistogramData} if type is {@link
+   * MetricDataType#EXPONENTIAL_HISTOGRAM}, otherwise a default empty data.
+   *
+   * @return the {@code ExponentialHistogramData} if type is {@link
+   *     MetricDataType#EXPONENTIAL_HISTOGRAM}, otherwise a default empty data.
+   */
+  public final ExponentialHistogramData getExponentialHistogramData() {
+    if (getType() == MetricDataType.EXPONENTIAL_HISTOGRAM) {
+      return (ExponentialHistogramData) getData();
+    }
+    return DEFAULT_EXPONENTIAL_HISTOGRAM_DATA;
+  }
 }
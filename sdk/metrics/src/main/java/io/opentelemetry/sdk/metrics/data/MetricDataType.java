@@ -36,4 +36,11 @@ public enum MetricDataType {
    * recorded.
    */
   HISTOGRAM,
+
+  /**
+   * An ExponentialHistogram represents an approximate representation of the distribution of
+   * measurements recorded, using exponentially sized buckets. Reports {@link
+   * ExponentialHistogramData} data.
+   */
+  EXPONENTIAL_HISTOGRAM,
 }
@@ -9,6 +9,7 @@ import com.google.auto.value.AutoValue;
 import io.opentelemetry.sdk.metrics.common.InstrumentType;
 import java.util.Objects;
 import java.util.regex.Pattern;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
 /**
@@ -41,6 +42,27 @@ public abstract class InstrumentSelector {
    */
   public abstract Pattern getInstrumentNamePattern();
 
+  /**
+   * Returns the exact instrument unit that should be selected, or {@code null} if instruments of
+   * any unit are selected.
+   */
+  @Nullable
+  public abstract String getInstrumentUnit();
+
+  /**
+   * Returns the exact name of the {@link io.opentelemetry.api.metrics.Meter} whose instruments
+   * should be selected, or {@code null} if instruments of any meter are selected.
+   */
+  @Nullable
+  public abstract String getMeterName();
+
+  /**
+   * Returns the exact version of the {@link io.opentelemetry.api.metrics.Meter} whose instruments
+   * should be selected, or {@code null} if instruments of any meter version are selected.
+   */
+  @Nullable
+  public abstract String getMeterVersion();
+
   /** Builder for {@link InstrumentSelector} instances. */
   @AutoValue.Builder
   public abstract static class Builder {
@@ -54,6 +76,15 @@ public abstract class InstrumentSelector {
       return setInstrumentNamePattern(Pattern.compile(Objects.requireNonNull(regex, "regex")));
     }
 
+    /** Sets a specifier for selecting Instruments by their exact unit. */
+    public abstract Builder setInstrumentUnit(String unit);
+
+    /** Sets a specifier for selecting Instruments by the exact name of their Meter. */
+    public abstract Builder setMeterName(String meterName);
+
+    /** Sets a specifier for selecting Instruments by the exact version of their Meter. */
+    public abstract Builder setMeterVersion(String meterVersion);
+
     /** Returns an InstrumentSelector instance with the content of this builder. */
     public abstract InstrumentSelector build();
   }
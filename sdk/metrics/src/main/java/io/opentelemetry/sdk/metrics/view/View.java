@@ -18,12 +18,22 @@ public abstract class View {
 
   public abstract LabelsProcessorFactory getLabelsProcessorFactory();
 
+  /**
+   * Returns the maximum number of distinct label sets an instrument keeps per collection cycle.
+   * Measurements for any further label set are recorded in a single overflow series instead.
+   *
+   * @return the maximum number of distinct label sets.
+   */
+  public abstract int getMaxLabelSets();
+
   public static ViewBuilder builder() {
     return new ViewBuilder();
   }
 
   static View create(
-      AggregatorFactory aggregatorFactory, LabelsProcessorFactory labelsProcessorFactory) {
-    return new AutoValue_View(aggregatorFactory, labelsProcessorFactory);
+      AggregatorFactory aggregatorFactory,
+      LabelsProcessorFactory labelsProcessorFactory,
+      int maxLabelSets) {
+    return new AutoValue_View(aggregatorFactory, labelsProcessorFactory, maxLabelSets);
   }
 }
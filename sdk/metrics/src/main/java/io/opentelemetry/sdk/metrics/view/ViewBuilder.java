@@ -5,12 +5,16 @@
 
 package io.opentelemetry.sdk.metrics.view;
 
+import io.opentelemetry.api.internal.Utils;
 import io.opentelemetry.sdk.metrics.aggregator.AggregatorFactory;
 import io.opentelemetry.sdk.metrics.processor.LabelsProcessorFactory;
 
 public final class ViewBuilder {
+  private static final int DEFAULT_MAX_LABEL_SETS = 2000;
+
   private AggregatorFactory aggregatorFactory;
   private LabelsProcessorFactory labelsProcessorFactory = LabelsProcessorFactory.noop();
+  private int maxLabelSets = DEFAULT_MAX_LABEL_SETS;
 
   ViewBuilder() {}
 
@@ -36,7 +40,26 @@ public final class ViewBuilder {
     return this;
   }
 
+  /**
+   * Sets the maximum number of distinct label sets an instrument keeps per collection cycle. Once
+   * the limit is reached, measurements for new label sets are recorded in a single overflow series
+   * labeled {@code otel.metric.overflow=true}, so that memory and collection time stay bounded. The
+   * overflow series does not count against the limit.
+   *
+   * <p>Default value is {@value DEFAULT_MAX_LABEL_SETS}. Instruments used to keep an unbounded
+   * number of label sets, so set a higher value if an instrument legitimately records more.
+   *
+   * @param maxLabelSets the maximum number of distinct label sets. Must be positive.
+   * @return this Builder.
+   * @throws IllegalArgumentException if {@code maxLabelSets} is not positive.
+   */
+  public ViewBuilder setMaxLabelSets(int maxLabelSets) {
+    Utils.checkArgument(maxLabelSets > 0, "maxLabelSets must be greater than 0");
+    this.maxLabelSets = maxLabelSets;
+    return this;
+  }
+
   public View build() {
-    return View.create(this.aggregatorFactory, this.labelsProcessorFactory);
+    return View.create(this.aggregatorFactory, this.labelsProcessorFactory, this.maxLabelSets);
   }
 }
@@ -5,18 +5,28 @@
 
 package io.opentelemetry.sdk.metrics;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import io.opentelemetry.api.metrics.common.Labels;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.Scope;
 import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
 import io.opentelemetry.sdk.internal.TestClock;
 import io.opentelemetry.sdk.metrics.aggregator.AggregatorFactory;
 import io.opentelemetry.sdk.metrics.common.InstrumentDescriptor;
 import io.opentelemetry.sdk.metrics.common.InstrumentType;
 import io.opentelemetry.sdk.metrics.common.InstrumentValueType;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
 import io.opentelemetry.sdk.metrics.processor.LabelsProcessor;
 import io.opentelemetry.sdk.metrics.view.InstrumentSelector;
 import io.opentelemetry.sdk.metrics.view.View;
 import io.opentelemetry.sdk.resources.Resource;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -27,6 +37,7 @@ public class AsynchronousInstrumentAccumulatorTest {
   private final MeterSharedState meterSharedState =
       MeterSharedState.create(InstrumentationLibraryInfo.empty());
   private LabelsProcessor spyLabelProcessor;
+  private ViewRegistry viewRegistry;
 
   @BeforeEach
   void setup() {
@@ -39,7 +50,7 @@ public class AsynchronousInstrumentAccumulatorTest {
                 return labels.toBuilder().build();
               }
             });
-    ViewRegistry viewRegistry =
+    viewRegistry =
         ViewRegistry.builder()
             .addView(
                 InstrumentSelector.builder()
@@ -87,4 +98,137 @@ public class AsynchronousInstrumentAccumulatorTest {
         .collectAll(testClock.nanoTime());
     Mockito.verify(spyLabelProcessor).onLabelsBound(Context.current(), Labels.empty());
   }
+
+  @Test
+  void callbackExecutor_collectsObservations() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      MeterProviderSharedState sharedState =
+          MeterProviderSharedState.create(
+              testClock,
+              Resource.empty(),
+              ViewRegistry.builder().build(),
+              executor,
+              TimeUnit.SECONDS.toNanos(10));
+      AsynchronousInstrumentAccumulator accumulator =
+          AsynchronousInstrumentAccumulator.longAsynchronousAccumulator(
+              sharedState,
+              meterSharedState,
+              InstrumentDescriptor.create(
+                  "name",
+                  "description",
+                  "unit",
+                  InstrumentType.VALUE_OBSERVER,
+                  InstrumentValueType.LONG),
+              value -> value.observe(1, Labels.of("K", "V")));
+      accumulator.startCallback();
+      assertThat(accumulator.collectAll(testClock.now()))
+          .flatExtracting(metricData -> metricData.getLongGaugeData().getPoints())
+          .extracting(LongPointData::getValue)
+          .containsExactly(1L);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void callbackExecutor_dropsLateObservations() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    CountDownLatch latch = new CountDownLatch(1);
+    try {
+      MeterProviderSharedState sharedState =
+          MeterProviderSharedState.create(
+              testClock,
+              Resource.empty(),
+              ViewRegistry.builder().build(),
+              executor,
+              TimeUnit.MILLISECONDS.toNanos(10));
+      AsynchronousInstrumentAccumulator accumulator =
+          AsynchronousInstrumentAccumulator.longAsynchronousAccumulator(
+              sharedState,
+              meterSharedState,
+              InstrumentDescriptor.create(
+                  "name",
+                  "description",
+                  "unit",
+                  InstrumentType.VALUE_OBSERVER,
+                  InstrumentValueType.LONG),
+              value -> {
+                try {
+                  latch.await();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+                value.observe(1, Labels.of("K", "V"));
+              });
+      assertThat(accumulator.collectAll(testClock.now())).isEmpty();
+    } finally {
+      latch.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void callbackExecutor_usesCollectingContext() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    Context context = Context.root().with(ContextKey.named("key"), "value");
+    try {
+      MeterProviderSharedState sharedState =
+          MeterProviderSharedState.create(
+              testClock, Resource.empty(), viewRegistry, executor, TimeUnit.SECONDS.toNanos(10));
+      AsynchronousInstrumentAccumulator accumulator =
+          AsynchronousInstrumentAccumulator.longAsynchronousAccumulator(
+              sharedState,
+              meterSharedState,
+              InstrumentDescriptor.create(
+                  "name",
+                  "description",
+                  "unit",
+                  InstrumentType.VALUE_OBSERVER,
+                  InstrumentValueType.LONG),
+              value -> value.observe(1, Labels.empty()));
+      try (Scope ignored = context.makeCurrent()) {
+        accumulator.startCallback();
+        accumulator.collectAll(testClock.now());
+      }
+      Mockito.verify(spyLabelProcessor).onLabelsBound(context, Labels.empty());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void callbackExecutor_rejectedOncePerCycle() {
+    ExecutorService executor = Mockito.mock(ExecutorService.class);
+    Mockito.when(executor.submit(Mockito.any(Runnable.class)))
+        .thenThrow(new RejectedExecutionException());
+    MeterProviderSharedState sharedState =
+        MeterProviderSharedState.create(
+            testClock,
+            Resource.empty(),
+            ViewRegistry.builder().build(),
+            executor,
+            TimeUnit.SECONDS.toNanos(10));
+    AsynchronousInstrumentAccumulator accumulator =
+        AsynchronousInstrumentAccumulator.longAsynchronousAccumulator(
+            sharedState,
+            meterSharedState,
+            InstrumentDescriptor.create(
+                "name",
+                "description",
+                "unit",
+                InstrumentType.VALUE_OBSERVER,
+                InstrumentValueType.LONG),
+            value -> value.observe(1, Labels.of("K", "V")));
+
+    accumulator.startCallback();
+    assertThat(accumulator.collectAll(testClock.now())).isEmpty();
+    // Every rejected submission is counted as a dropped callback.
+    Mockito.verify(executor, Mockito.times(1)).submit(Mockito.any(Runnable.class));
+
+    // The next cycle tries again.
+    accumulator.startCallback();
+    assertThat(accumulator.collectAll(testClock.now())).isEmpty();
+    Mockito.verify(executor, Mockito.times(2)).submit(Mockito.any(Runnable.class));
+  }
 }
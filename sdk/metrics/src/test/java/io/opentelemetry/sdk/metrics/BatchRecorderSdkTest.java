@@ -108,6 +108,45 @@ class BatchRecorderSdkTest {
         /* shouldHaveDeltas=*/ false);
   }
 
+  @Test
+  void batchRecorder_recordsWhenFull() {
+    LongCounter longCounter = sdkMeter.longCounterBuilder("testLongCounter").build();
+    Labels labelSet = Labels.of("key", "value");
+
+    BatchRecorder batchRecorder = sdkMeter.newBatchRecorder("key", "value");
+    for (int i = 0; i < BatchRecorderSdk.MAX_CAPACITY + 1; i++) {
+      batchRecorder.put(longCounter, 1);
+    }
+    // the first MAX_CAPACITY recordings are recorded to make room for the last one.
+    assertThat(((AbstractInstrument) longCounter).collectAll(testClock.now()))
+        .flatExtracting(metricData -> metricData.getLongSumData().getPoints())
+        .containsExactly(
+            LongPointData.create(
+                testClock.now(), testClock.now(), labelSet, BatchRecorderSdk.MAX_CAPACITY));
+
+    batchRecorder.record();
+    assertThat(((AbstractInstrument) longCounter).collectAll(testClock.now()))
+        .flatExtracting(metricData -> metricData.getLongSumData().getPoints())
+        .containsExactly(
+            LongPointData.create(
+                testClock.now(), testClock.now(), labelSet, BatchRecorderSdk.MAX_CAPACITY + 1));
+  }
+
+  @Test
+  void batchRecorder_negativeCounterValue() {
+    LongCounter longCounter = sdkMeter.longCounterBuilder("testLongCounter").build();
+    BatchRecorder batchRecorder = sdkMeter.newBatchRecorder("key", "value").put(longCounter, -1);
+    assertThatThrownBy(batchRecorder::record)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Counters can only increase");
+    // the recorder can still be used afterwards.
+    batchRecorder.put(longCounter, 1).record();
+    assertThat(((AbstractInstrument) longCounter).collectAll(testClock.now()))
+        .flatExtracting(metricData -> metricData.getLongSumData().getPoints())
+        .extracting(LongPointData::getValue)
+        .containsExactly(1L);
+  }
+
   private void assertBatchRecordings(
       DoubleCounter doubleCounter,
       LongCounter longCounter,
@@ -0,0 +1,64 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.metrics.aggregator.Aggregator;
+import io.opentelemetry.sdk.metrics.aggregator.AggregatorFactory;
+import io.opentelemetry.sdk.metrics.common.InstrumentDescriptor;
+import io.opentelemetry.sdk.metrics.common.InstrumentType;
+import io.opentelemetry.sdk.metrics.common.InstrumentValueType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.resources.Resource;
+import org.junit.jupiter.api.Test;
+
+class InstrumentProcessorTest {
+  private static final InstrumentDescriptor DESCRIPTOR =
+      InstrumentDescriptor.create(
+          "name", "description", "unit", InstrumentType.COUNTER, InstrumentValueType.LONG);
+
+  private final Aggregator<Long> aggregator =
+      AggregatorFactory.sum(AggregationTemporality.DELTA)
+          .create(Resource.empty(), InstrumentationLibraryInfo.empty(), DESCRIPTOR);
+
+  @Test
+  void maxLabelSets_overflow() {
+    InstrumentProcessor<Long> processor = new InstrumentProcessor<>(aggregator, 0, 2);
+    processor.batch(Labels.of("K", "V0"), 1L);
+    processor.batch(Labels.of("K", "V1"), 2L);
+    processor.batch(Labels.of("K", "V2"), 3L);
+    processor.batch(Labels.of("K", "V3"), 4L);
+    processor.batch(Labels.of("K", "V1"), 5L);
+
+    assertThat(processor.completeCollectionCycle(100))
+        .flatExtracting(metricData -> metricData.getLongSumData().getPoints())
+        .containsExactlyInAnyOrder(
+            LongPointData.create(0, 100, Labels.of("K", "V0"), 1),
+            LongPointData.create(0, 100, Labels.of("K", "V1"), 7),
+            LongPointData.create(0, 100, InstrumentProcessor.OVERFLOW_LABELS, 7));
+  }
+
+  @Test
+  void maxLabelSets_overflowNotCounted() {
+    InstrumentProcessor<Long> processor = new InstrumentProcessor<>(aggregator, 0, 2);
+    // The accumulator may batch its overflow series before the other label sets.
+    processor.batch(InstrumentProcessor.OVERFLOW_LABELS, 1L);
+    processor.batch(Labels.of("K", "V0"), 2L);
+    processor.batch(Labels.of("K", "V1"), 3L);
+    processor.batch(Labels.of("K", "V2"), 4L);
+
+    assertThat(processor.completeCollectionCycle(100))
+        .flatExtracting(metricData -> metricData.getLongSumData().getPoints())
+        .containsExactlyInAnyOrder(
+            LongPointData.create(0, 100, Labels.of("K", "V0"), 2),
+            LongPointData.create(0, 100, Labels.of("K", "V1"), 3),
+            LongPointData.create(0, 100, InstrumentProcessor.OVERFLOW_LABELS, 5));
+  }
+}
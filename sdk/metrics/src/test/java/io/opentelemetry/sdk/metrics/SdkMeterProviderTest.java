@@ -37,6 +37,9 @@ import io.opentelemetry.sdk.metrics.view.View;
 import io.opentelemetry.sdk.resources.Resource;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
 public class SdkMeterProviderTest {
@@ -161,6 +164,53 @@ public class SdkMeterProviderTest {
                                 ValueAtPercentile.create(100, 10.1d)))))));
   }
 
+  @Test
+  void collectAllSyncInstruments_Parallel() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      SdkMeterProvider sdkMeterProvider = sdkMeterProviderBuilder.setCollectionPool(pool).build();
+      Meter sdkMeter = sdkMeterProvider.get(SdkMeterProviderTest.class.getName());
+      for (int i = 0; i < 100; i++) {
+        sdkMeter.longCounterBuilder("testLongCounter" + i).build().add(i, Labels.empty());
+      }
+
+      assertThat(sdkMeterProvider.collectAllMetrics())
+          .extracting(MetricData::getName)
+          .containsExactlyInAnyOrderElementsOf(
+              IntStream.range(0, 100)
+                  .mapToObj(i -> "testLongCounter" + i)
+                  .collect(Collectors.toList()));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void collectAllSyncInstruments_NoRecordings() {
+    SdkMeterProvider sdkMeterProvider = sdkMeterProviderBuilder.build();
+    Meter sdkMeter = sdkMeterProvider.get(SdkMeterProviderTest.class.getName());
+    LongCounter longCounter = sdkMeter.longCounterBuilder("testLongCounter").build();
+    longCounter.add(10, Labels.empty());
+    testClock.advanceNanos(50);
+
+    // The counter is cumulative, so it is still reported when nothing was recorded since the
+    // previous collection.
+    assertThat(sdkMeterProvider.collectAllMetrics())
+        .flatExtracting(metricData -> metricData.getLongSumData().getPoints())
+        .extracting(LongPointData::getValue)
+        .containsExactly(10L);
+    assertThat(sdkMeterProvider.collectAllMetrics())
+        .flatExtracting(metricData -> metricData.getLongSumData().getPoints())
+        .extracting(LongPointData::getValue)
+        .containsExactly(10L);
+
+    longCounter.add(5, Labels.empty());
+    assertThat(sdkMeterProvider.collectAllMetrics())
+        .flatExtracting(metricData -> metricData.getLongSumData().getPoints())
+        .extracting(LongPointData::getValue)
+        .containsExactly(15L);
+  }
+
   @Test
   void collectAllSyncInstruments_OverwriteTemporality() {
     sdkMeterProviderBuilder.registerView(
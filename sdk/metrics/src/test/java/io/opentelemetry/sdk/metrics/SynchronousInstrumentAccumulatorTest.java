@@ -18,6 +18,7 @@ import io.opentelemetry.sdk.metrics.common.InstrumentDescriptor;
 import io.opentelemetry.sdk.metrics.common.InstrumentType;
 import io.opentelemetry.sdk.metrics.common.InstrumentValueType;
 import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.PointData;
 import io.opentelemetry.sdk.metrics.processor.LabelsProcessor;
 import io.opentelemetry.sdk.metrics.processor.LabelsProcessorFactory;
 import io.opentelemetry.sdk.resources.Resource;
@@ -29,6 +30,7 @@ public class SynchronousInstrumentAccumulatorTest {
   private static final InstrumentDescriptor DESCRIPTOR =
       InstrumentDescriptor.create(
           "name", "description", "unit", InstrumentType.COUNTER, InstrumentValueType.DOUBLE);
+  private static final int MAX_LABEL_SETS = 2000;
   private final TestClock testClock = TestClock.create();
   private final Aggregator<Long> aggregator =
       AggregatorFactory.lastValue()
@@ -42,7 +44,11 @@ public class SynchronousInstrumentAccumulatorTest {
     LabelsProcessor spyLabelsProcessor = Mockito.spy(this.labelsProcessor);
     SynchronousInstrumentAccumulator<?> accumulator =
         new SynchronousInstrumentAccumulator<>(
-            aggregator, new InstrumentProcessor<>(aggregator, testClock.now()), spyLabelsProcessor);
+            DESCRIPTOR,
+            aggregator,
+            new InstrumentProcessor<>(aggregator, testClock.now(), MAX_LABEL_SETS),
+            spyLabelsProcessor,
+            MAX_LABEL_SETS);
     accumulator.bind(Labels.empty());
     Mockito.verify(spyLabelsProcessor).onLabelsBound(Context.current(), Labels.empty());
   }
@@ -60,7 +66,11 @@ public class SynchronousInstrumentAccumulatorTest {
     LabelsProcessor spyLabelsProcessor = Mockito.spy(labelsProcessor);
     SynchronousInstrumentAccumulator<?> accumulator =
         new SynchronousInstrumentAccumulator<>(
-            aggregator, new InstrumentProcessor<>(aggregator, testClock.now()), spyLabelsProcessor);
+            DESCRIPTOR,
+            aggregator,
+            new InstrumentProcessor<>(aggregator, testClock.now(), MAX_LABEL_SETS),
+            spyLabelsProcessor,
+            MAX_LABEL_SETS);
     AggregatorHandle<?> aggregatorHandle = accumulator.bind(labels);
     aggregatorHandle.recordDouble(1);
     List<MetricData> md = accumulator.collectAll(testClock.now());
@@ -76,7 +86,11 @@ public class SynchronousInstrumentAccumulatorTest {
   void sameAggregator_ForSameLabelSet() {
     SynchronousInstrumentAccumulator<?> accumulator =
         new SynchronousInstrumentAccumulator<>(
-            aggregator, new InstrumentProcessor<>(aggregator, testClock.now()), labelsProcessor);
+            DESCRIPTOR,
+            aggregator,
+            new InstrumentProcessor<>(aggregator, testClock.now(), MAX_LABEL_SETS),
+            labelsProcessor,
+            MAX_LABEL_SETS);
     AggregatorHandle<?> aggregatorHandle = accumulator.bind(Labels.of("K", "V"));
     AggregatorHandle<?> duplicateAggregatorHandle = accumulator.bind(Labels.of("K", "V"));
     try {
@@ -97,4 +111,67 @@ public class SynchronousInstrumentAccumulatorTest {
     // internal detail we cannot call collectAll after this anymore.
     assertThat(aggregatorHandle.tryUnmap()).isTrue();
   }
+
+  @Test
+  void maxLabelSets_overflow() {
+    SynchronousInstrumentAccumulator<?> accumulator =
+        new SynchronousInstrumentAccumulator<>(
+            DESCRIPTOR,
+            aggregator,
+            new InstrumentProcessor<>(aggregator, testClock.now(), 2),
+            labelsProcessor,
+            2);
+    for (int i = 0; i < 5; i++) {
+      AggregatorHandle<?> aggregatorHandle = accumulator.bind(Labels.of("K", "V" + i));
+      aggregatorHandle.recordDouble(i);
+      aggregatorHandle.release();
+    }
+    List<MetricData> md = accumulator.collectAll(testClock.now());
+    assertThat(md)
+        .flatExtracting(m -> m.getDoubleGaugeData().getPoints())
+        .extracting(PointData::getLabels)
+        .containsExactlyInAnyOrder(
+            Labels.of("K", "V0"), Labels.of("K", "V1"), InstrumentProcessor.OVERFLOW_LABELS);
+
+    // The aggregator is stateful, so the label sets from the previous cycle still count.
+    AggregatorHandle<?> aggregatorHandle = accumulator.bind(Labels.of("K", "V5"));
+    aggregatorHandle.recordDouble(5);
+    aggregatorHandle.release();
+    md = accumulator.collectAll(testClock.now());
+    assertThat(md)
+        .flatExtracting(m -> m.getDoubleGaugeData().getPoints())
+        .extracting(PointData::getLabels)
+        .containsExactlyInAnyOrder(
+            Labels.of("K", "V0"), Labels.of("K", "V1"), InstrumentProcessor.OVERFLOW_LABELS);
+  }
+
+  @Test
+  void maxLabelSets_overflowNotCounted() {
+    SynchronousInstrumentAccumulator<?> accumulator =
+        new SynchronousInstrumentAccumulator<>(
+            DESCRIPTOR,
+            aggregator,
+            new InstrumentProcessor<>(aggregator, testClock.now(), 2),
+            labelsProcessor,
+            2);
+    accumulator.bind(Labels.of("K", "V0")).release();
+    accumulator.bind(Labels.of("K", "V1")).release();
+    AggregatorHandle<?> overflowHandle = accumulator.bind(Labels.of("K", "V2"));
+    try {
+      // The handles of V0 and V1 are removed, the overflow handle is still bound.
+      accumulator.collectAll(testClock.now());
+
+      AggregatorHandle<?> aggregatorHandle = accumulator.bind(Labels.of("K", "V3"));
+      assertThat(aggregatorHandle).isNotSameAs(overflowHandle);
+      aggregatorHandle.release();
+      aggregatorHandle = accumulator.bind(Labels.of("K", "V4"));
+      assertThat(aggregatorHandle).isNotSameAs(overflowHandle);
+      aggregatorHandle.release();
+      aggregatorHandle = accumulator.bind(Labels.of("K", "V5"));
+      assertThat(aggregatorHandle).isSameAs(overflowHandle);
+      aggregatorHandle.release();
+    } finally {
+      overflowHandle.release();
+    }
+  }
 }
@@ -7,6 +7,7 @@ package io.opentelemetry.sdk.metrics;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
 import io.opentelemetry.sdk.metrics.aggregator.AggregatorFactory;
 import io.opentelemetry.sdk.metrics.common.InstrumentDescriptor;
 import io.opentelemetry.sdk.metrics.common.InstrumentType;
@@ -16,6 +17,9 @@ import io.opentelemetry.sdk.metrics.view.View;
 import org.junit.jupiter.api.Test;
 
 class ViewRegistryTest {
+  private static final InstrumentationLibraryInfo INSTRUMENTATION_LIBRARY_INFO =
+      InstrumentationLibraryInfo.create(ViewRegistryTest.class.getName(), null);
+
   @Test
   void selection_onType() {
     AggregatorFactory factory = AggregatorFactory.lastValue();
@@ -32,12 +36,14 @@ class ViewRegistryTest {
             .build();
     assertThat(
             viewRegistry.findView(
+                INSTRUMENTATION_LIBRARY_INFO,
                 InstrumentDescriptor.create(
                     "", "", "", InstrumentType.COUNTER, InstrumentValueType.LONG)))
         .isEqualTo(view);
     // this one hasn't been configured, so it gets the default still.
     assertThat(
             viewRegistry.findView(
+                INSTRUMENTATION_LIBRARY_INFO,
                 InstrumentDescriptor.create(
                     "", "", "", InstrumentType.UP_DOWN_COUNTER, InstrumentValueType.LONG)))
         .isSameAs(ViewRegistry.CUMULATIVE_SUM);
@@ -59,12 +65,14 @@ class ViewRegistryTest {
             .build();
     assertThat(
             viewRegistry.findView(
+                INSTRUMENTATION_LIBRARY_INFO,
                 InstrumentDescriptor.create(
                     "overridden", "", "", InstrumentType.COUNTER, InstrumentValueType.LONG)))
         .isSameAs(view);
     // this one hasn't been configured, so it gets the default still.
     assertThat(
             viewRegistry.findView(
+                INSTRUMENTATION_LIBRARY_INFO,
                 InstrumentDescriptor.create(
                     "default", "", "", InstrumentType.COUNTER, InstrumentValueType.LONG)))
         .isSameAs(ViewRegistry.CUMULATIVE_SUM);
@@ -95,11 +103,13 @@ class ViewRegistryTest {
 
     assertThat(
             viewRegistry.findView(
+                INSTRUMENTATION_LIBRARY_INFO,
                 InstrumentDescriptor.create(
                     "overridden", "", "", InstrumentType.COUNTER, InstrumentValueType.LONG)))
         .isEqualTo(view2);
     assertThat(
             viewRegistry.findView(
+                INSTRUMENTATION_LIBRARY_INFO,
                 InstrumentDescriptor.create(
                     "default", "", "", InstrumentType.COUNTER, InstrumentValueType.LONG)))
         .isEqualTo(view1);
@@ -122,52 +132,140 @@ class ViewRegistryTest {
 
     assertThat(
             viewRegistry.findView(
+                INSTRUMENTATION_LIBRARY_INFO,
                 InstrumentDescriptor.create(
                     "overridden", "", "", InstrumentType.COUNTER, InstrumentValueType.LONG)))
         .isEqualTo(view);
     assertThat(
             viewRegistry.findView(
+                INSTRUMENTATION_LIBRARY_INFO,
                 InstrumentDescriptor.create(
                     "overrides", "", "", InstrumentType.COUNTER, InstrumentValueType.LONG)))
         .isEqualTo(view);
     // this one hasn't been configured, so it gets the default still..
     assertThat(
             viewRegistry.findView(
+                INSTRUMENTATION_LIBRARY_INFO,
                 InstrumentDescriptor.create(
                     "default", "", "", InstrumentType.UP_DOWN_COUNTER, InstrumentValueType.LONG)))
         .isSameAs(ViewRegistry.CUMULATIVE_SUM);
   }
 
+  @Test
+  void selection_prefix() {
+    AggregatorFactory factory = AggregatorFactory.lastValue();
+    View view = View.builder().setAggregatorFactory(factory).build();
+
+    ViewRegistry viewRegistry =
+        ViewRegistry.builder()
+            .addView(
+                InstrumentSelector.builder()
+                    .setInstrumentNameRegex("http\\.server\\..*")
+                    .setInstrumentType(InstrumentType.COUNTER)
+                    .build(),
+                view)
+            .addView(
+                InstrumentSelector.builder()
+                    .setInstrumentNameRegex("rpc.*")
+                    .setInstrumentType(InstrumentType.COUNTER)
+                    .build(),
+                view)
+            .build();
+
+    assertThat(
+            viewRegistry.findView(
+                INSTRUMENTATION_LIBRARY_INFO,
+                InstrumentDescriptor.create(
+                    "http.server.duration",
+                    "",
+                    "",
+                    InstrumentType.COUNTER,
+                    InstrumentValueType.LONG)))
+        .isSameAs(view);
+    assertThat(
+            viewRegistry.findView(
+                INSTRUMENTATION_LIBRARY_INFO,
+                InstrumentDescriptor.create(
+                    "rpc.calls", "", "", InstrumentType.COUNTER, InstrumentValueType.LONG)))
+        .isSameAs(view);
+    assertThat(
+            viewRegistry.findView(
+                INSTRUMENTATION_LIBRARY_INFO,
+                InstrumentDescriptor.create(
+                    "http_server", "", "", InstrumentType.COUNTER, InstrumentValueType.LONG)))
+        .isSameAs(ViewRegistry.CUMULATIVE_SUM);
+  }
+
+  @Test
+  void selection_onMeterAndUnit() {
+    AggregatorFactory factory = AggregatorFactory.lastValue();
+    View view = View.builder().setAggregatorFactory(factory).build();
+
+    ViewRegistry viewRegistry =
+        ViewRegistry.builder()
+            .addView(
+                InstrumentSelector.builder()
+                    .setInstrumentType(InstrumentType.COUNTER)
+                    .setInstrumentUnit("ms")
+                    .setMeterName("meter")
+                    .setMeterVersion("1.0")
+                    .build(),
+                view)
+            .build();
+
+    InstrumentDescriptor descriptor =
+        InstrumentDescriptor.create(
+            "name", "", "ms", InstrumentType.COUNTER, InstrumentValueType.LONG);
+    assertThat(viewRegistry.findView(InstrumentationLibraryInfo.create("meter", "1.0"), descriptor))
+        .isSameAs(view);
+    assertThat(viewRegistry.findView(InstrumentationLibraryInfo.create("meter", "2.0"), descriptor))
+        .isSameAs(ViewRegistry.CUMULATIVE_SUM);
+    assertThat(viewRegistry.findView(InstrumentationLibraryInfo.create("other", "1.0"), descriptor))
+        .isSameAs(ViewRegistry.CUMULATIVE_SUM);
+    assertThat(
+            viewRegistry.findView(
+                InstrumentationLibraryInfo.create("meter", "1.0"),
+                InstrumentDescriptor.create(
+                    "name", "", "s", InstrumentType.COUNTER, InstrumentValueType.LONG)))
+        .isSameAs(ViewRegistry.CUMULATIVE_SUM);
+  }
+
   @Test
   void defaults() {
     ViewRegistry viewRegistry = ViewRegistry.builder().build();
     assertThat(
             viewRegistry.findView(
+                INSTRUMENTATION_LIBRARY_INFO,
                 InstrumentDescriptor.create(
                     "", "", "", InstrumentType.COUNTER, InstrumentValueType.LONG)))
         .isSameAs(ViewRegistry.CUMULATIVE_SUM);
     assertThat(
             viewRegistry.findView(
+                INSTRUMENTATION_LIBRARY_INFO,
                 InstrumentDescriptor.create(
                     "", "", "", InstrumentType.UP_DOWN_COUNTER, InstrumentValueType.LONG)))
         .isSameAs(ViewRegistry.CUMULATIVE_SUM);
     assertThat(
             viewRegistry.findView(
+                INSTRUMENTATION_LIBRARY_INFO,
                 InstrumentDescriptor.create(
                     "", "", "", InstrumentType.VALUE_RECORDER, InstrumentValueType.LONG)))
         .isSameAs(ViewRegistry.SUMMARY);
     assertThat(
             viewRegistry.findView(
+                INSTRUMENTATION_LIBRARY_INFO,
                 InstrumentDescriptor.create(
                     "", "", "", InstrumentType.SUM_OBSERVER, InstrumentValueType.LONG)))
         .isSameAs(ViewRegistry.CUMULATIVE_SUM);
     assertThat(
             viewRegistry.findView(
+                INSTRUMENTATION_LIBRARY_INFO,
                 InstrumentDescriptor.create(
                     "", "", "", InstrumentType.VALUE_OBSERVER, InstrumentValueType.LONG)))
         .isSameAs(ViewRegistry.LAST_VALUE);
     assertThat(
             viewRegistry.findView(
+                INSTRUMENTATION_LIBRARY_INFO,
                 InstrumentDescriptor.create(
                     "", "", "", InstrumentType.UP_DOWN_SUM_OBSERVER, InstrumentValueType.LONG)))
         .isSameAs(ViewRegistry.CUMULATIVE_SUM);
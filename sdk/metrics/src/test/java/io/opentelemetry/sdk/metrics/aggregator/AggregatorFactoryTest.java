@@ -208,4 +208,52 @@ class AggregatorFactoryTest {
         .isInstanceOf(IllegalArgumentException.class)
         .hasMessage("invalid bucket boundary: 2.0 >= 1.0");
   }
+
+  @Test
+  void getExponentialHistogramAggregatorFactory() {
+    AggregatorFactory exponentialHistogram =
+        AggregatorFactory.exponentialHistogram(160, AggregationTemporality.DELTA);
+    assertThat(
+            exponentialHistogram.create(
+                Resource.getDefault(),
+                InstrumentationLibraryInfo.empty(),
+                InstrumentDescriptor.create(
+                    "name",
+                    "description",
+                    "unit",
+                    InstrumentType.VALUE_RECORDER,
+                    InstrumentValueType.LONG)))
+        .isInstanceOf(DoubleExponentialHistogramAggregator.class);
+    assertThat(
+            exponentialHistogram
+                .create(
+                    Resource.getDefault(),
+                    InstrumentationLibraryInfo.empty(),
+                    InstrumentDescriptor.create(
+                        "name",
+                        "description",
+                        "unit",
+                        InstrumentType.VALUE_RECORDER,
+                        InstrumentValueType.DOUBLE))
+                .isStateful())
+        .isFalse();
+    assertThat(
+            AggregatorFactory.exponentialHistogram(160, AggregationTemporality.CUMULATIVE)
+                .create(
+                    Resource.getDefault(),
+                    InstrumentationLibraryInfo.empty(),
+                    InstrumentDescriptor.create(
+                        "name",
+                        "description",
+                        "unit",
+                        InstrumentType.VALUE_RECORDER,
+                        InstrumentValueType.DOUBLE))
+                .isStateful())
+        .isTrue();
+
+    assertThatThrownBy(
+            () -> AggregatorFactory.exponentialHistogram(3, AggregationTemporality.DELTA))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("invalid maxBuckets: 3 < 4");
+  }
 }
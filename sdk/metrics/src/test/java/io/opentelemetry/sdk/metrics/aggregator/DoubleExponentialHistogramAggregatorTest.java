@@ -0,0 +1,265 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics.aggregator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.metrics.common.InstrumentDescriptor;
+import io.opentelemetry.sdk.metrics.common.InstrumentType;
+import io.opentelemetry.sdk.metrics.common.InstrumentValueType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.MetricDataType;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+public class DoubleExponentialHistogramAggregatorTest {
+  private static final DoubleExponentialHistogramAggregator aggregator =
+      new DoubleExponentialHistogramAggregator(
+          Resource.getDefault(),
+          InstrumentationLibraryInfo.empty(),
+          InstrumentDescriptor.create(
+              "name",
+              "description",
+              "unit",
+              InstrumentType.VALUE_RECORDER,
+              InstrumentValueType.DOUBLE),
+          /* maxBuckets= */ 160,
+          /* stateful= */ false);
+
+  @Test
+  void createHandle() {
+    assertThat(aggregator.createHandle())
+        .isInstanceOf(DoubleExponentialHistogramAggregator.Handle.class);
+  }
+
+  @Test
+  void computeIndex() {
+    // At scale 0 the buckets are (2^i, 2^(i+1)].
+    assertThat(ExponentialHistogramIndexer.computeIndex(1, 0)).isEqualTo(-1);
+    assertThat(ExponentialHistogramIndexer.computeIndex(1.5, 0)).isEqualTo(0);
+    assertThat(ExponentialHistogramIndexer.computeIndex(2, 0)).isEqualTo(0);
+    assertThat(ExponentialHistogramIndexer.computeIndex(3, 0)).isEqualTo(1);
+    assertThat(ExponentialHistogramIndexer.computeIndex(0.5, 0)).isEqualTo(-2);
+    // At scale 1 the boundaries are the powers of sqrt(2).
+    assertThat(ExponentialHistogramIndexer.computeIndex(1.4, 1)).isEqualTo(0);
+    assertThat(ExponentialHistogramIndexer.computeIndex(1.5, 1)).isEqualTo(1);
+    assertThat(ExponentialHistogramIndexer.computeIndex(2, 1)).isEqualTo(1);
+    // At scale -1 each bucket spans two powers of two.
+    assertThat(ExponentialHistogramIndexer.computeIndex(3, -1)).isEqualTo(0);
+    assertThat(ExponentialHistogramIndexer.computeIndex(4, -1)).isEqualTo(0);
+    assertThat(ExponentialHistogramIndexer.computeIndex(5, -1)).isEqualTo(1);
+    // Subnormal and extreme values.
+    assertThat(ExponentialHistogramIndexer.computeIndex(Double.MIN_VALUE, 0)).isEqualTo(-1075);
+    assertThat(ExponentialHistogramIndexer.computeIndex(Double.MAX_VALUE, 0)).isEqualTo(1023);
+    assertThat(ExponentialHistogramIndexer.computeIndex(Double.MAX_VALUE, 20))
+        .isEqualTo((1024 << 20) - 1);
+  }
+
+  @Test
+  void testRecordings() {
+    AggregatorHandle<ExponentialHistogramAccumulation> aggregatorHandle =
+        aggregator.createHandle();
+    aggregatorHandle.recordLong(1);
+    aggregatorHandle.recordLong(2);
+    aggregatorHandle.recordLong(4);
+    ExponentialHistogramAccumulation accumulation = aggregatorHandle.accumulateThenReset();
+    assertThat(accumulation).isNotNull();
+    // Scale 6 is the greatest scale at which [1, 4] fits in 160 buckets.
+    assertThat(accumulation.getScale()).isEqualTo(6);
+    assertThat(accumulation.getSum()).isEqualTo(7);
+    assertThat(accumulation.getZeroCount()).isEqualTo(0);
+    assertThat(accumulation.getPositiveOffset()).isEqualTo(-1);
+    long[] counts = accumulation.getPositiveCounts();
+    assertThat(counts).hasSize(129);
+    assertThat(counts[0]).isEqualTo(1);
+    assertThat(counts[64]).isEqualTo(1);
+    assertThat(counts[128]).isEqualTo(1);
+    assertThat(accumulation.getNegativeCounts()).isEmpty();
+  }
+
+  @Test
+  void testZeroAndNegativeRecordings() {
+    AggregatorHandle<ExponentialHistogramAccumulation> aggregatorHandle =
+        aggregator.createHandle();
+    aggregatorHandle.recordDouble(0);
+    aggregatorHandle.recordDouble(-1.5);
+    aggregatorHandle.recordDouble(Double.NaN);
+    aggregatorHandle.recordDouble(Double.POSITIVE_INFINITY);
+    int scale = ExponentialHistogramIndexer.MAX_SCALE;
+    assertThat(aggregatorHandle.accumulateThenReset())
+        .isEqualTo(
+            ExponentialHistogramAccumulation.create(
+                scale,
+                -1.5,
+                1,
+                0,
+                new long[0],
+                ExponentialHistogramIndexer.computeIndex(1.5, scale),
+                new long[] {1}));
+  }
+
+  @Test
+  void testDownscaleKeepsBucketCountBounded() {
+    DoubleExponentialHistogramAggregator smallAggregator =
+        new DoubleExponentialHistogramAggregator(
+            Resource.getDefault(),
+            InstrumentationLibraryInfo.empty(),
+            InstrumentDescriptor.create(
+                "name",
+                "description",
+                "unit",
+                InstrumentType.VALUE_RECORDER,
+                InstrumentValueType.DOUBLE),
+            /* maxBuckets= */ 4,
+            /* stateful= */ false);
+    AggregatorHandle<ExponentialHistogramAccumulation> aggregatorHandle =
+        smallAggregator.createHandle();
+    aggregatorHandle.recordDouble(Double.MIN_VALUE);
+    aggregatorHandle.recordDouble(1);
+    aggregatorHandle.recordDouble(Double.MAX_VALUE);
+    ExponentialHistogramAccumulation accumulation = aggregatorHandle.accumulateThenReset();
+    assertThat(accumulation).isNotNull();
+    assertThat(accumulation.getScale()).isEqualTo(ExponentialHistogramIndexer.MIN_SCALE);
+    assertThat(accumulation.getPositiveCounts()).hasSizeLessThanOrEqualTo(4);
+    assertThat(Arrays.stream(accumulation.getPositiveCounts()).sum()).isEqualTo(3);
+  }
+
+  @Test
+  void toAccumulationAndReset() {
+    AggregatorHandle<ExponentialHistogramAccumulation> aggregatorHandle =
+        aggregator.createHandle();
+    assertThat(aggregatorHandle.accumulateThenReset()).isNull();
+
+    aggregatorHandle.recordDouble(1000);
+    ExponentialHistogramAccumulation first = aggregatorHandle.accumulateThenReset();
+    assertThat(first).isEqualTo(aggregator.accumulateDouble(1000));
+    assertThat(aggregatorHandle.accumulateThenReset()).isNull();
+
+    // The scale is restored to the maximum after a reset.
+    aggregatorHandle.recordDouble(1);
+    assertThat(aggregatorHandle.accumulateThenReset()).isEqualTo(aggregator.accumulateDouble(1));
+  }
+
+  @Test
+  void mergeDifferentScales() {
+    AggregatorHandle<ExponentialHistogramAccumulation> wide = aggregator.createHandle();
+    AggregatorHandle<ExponentialHistogramAccumulation> narrow = aggregator.createHandle();
+    AggregatorHandle<ExponentialHistogramAccumulation> all = aggregator.createHandle();
+    for (int i = 1; i <= 1000; i++) {
+      wide.recordLong(i);
+      all.recordLong(i);
+    }
+    narrow.recordDouble(1.5);
+    all.recordDouble(1.5);
+    narrow.recordDouble(1e6);
+    all.recordDouble(1e6);
+
+    ExponentialHistogramAccumulation merged =
+        aggregator.merge(wide.accumulateThenReset(), narrow.accumulateThenReset());
+    assertThat(merged).isEqualTo(all.accumulateThenReset());
+  }
+
+  @Test
+  void toMetricData() {
+    AggregatorHandle<ExponentialHistogramAccumulation> aggregatorHandle =
+        aggregator.createHandle();
+    aggregatorHandle.recordDouble(10);
+    aggregatorHandle.recordDouble(-10);
+    aggregatorHandle.recordDouble(0);
+
+    MetricData metricData =
+        aggregator.toMetricData(
+            Collections.singletonMap(Labels.empty(), aggregatorHandle.accumulateThenReset()),
+            0,
+            10,
+            100);
+    assertThat(metricData).isNotNull();
+    assertThat(metricData.getType()).isEqualTo(MetricDataType.EXPONENTIAL_HISTOGRAM);
+    assertThat(metricData.getExponentialHistogramData().getAggregationTemporality())
+        .isEqualTo(AggregationTemporality.DELTA);
+    assertThat(metricData.getExponentialHistogramData().getPoints())
+        .satisfiesExactly(
+            point -> {
+              assertThat(point.getStartEpochNanos()).isEqualTo(10);
+              assertThat(point.getEpochNanos()).isEqualTo(100);
+              assertThat(point.getCount()).isEqualTo(3);
+              assertThat(point.getZeroCount()).isEqualTo(1);
+              assertThat(point.getSum()).isEqualTo(0);
+              assertThat(point.getPositiveBuckets().getBucketCounts()).containsExactly(1L);
+              assertThat(point.getNegativeBuckets().getBucketCounts()).containsExactly(1L);
+            });
+  }
+
+  @Test
+  void testMultithreadedUpdates() throws InterruptedException {
+    final AggregatorHandle<ExponentialHistogramAccumulation> aggregatorHandle =
+        aggregator.createHandle();
+    final Histogram summarizer = new Histogram();
+    final ImmutableList<Long> updates =
+        ImmutableList.of(1L, 2L, 3L, 5L, 7L, 11L, 13L, 17L, 19L, 23L);
+    final int numberOfThreads = updates.size();
+    final int numberOfUpdates = 10000;
+    final ThreadPoolExecutor executor =
+        (ThreadPoolExecutor) Executors.newFixedThreadPool(numberOfThreads);
+
+    executor.invokeAll(
+        updates.stream()
+            .map(
+                v ->
+                    Executors.callable(
+                        () -> {
+                          for (int j = 0; j < numberOfUpdates; j++) {
+                            aggregatorHandle.recordLong(v);
+                            if (ThreadLocalRandom.current().nextInt(10) == 0) {
+                              summarizer.process(aggregatorHandle.accumulateThenReset());
+                            }
+                          }
+                        }))
+            .collect(Collectors.toList()));
+
+    // make sure everything gets merged when all the aggregation is done.
+    summarizer.process(aggregatorHandle.accumulateThenReset());
+
+    ExponentialHistogramPointData point =
+        MetricDataUtils.toExponentialHistogramPointList(
+                Collections.singletonMap(Labels.empty(), summarizer.accumulation), 0, 1)
+            .get(0);
+    assertThat(point.getSum()).isEqualTo(1010000);
+    assertThat(point.getCount()).isEqualTo(100000);
+  }
+
+  private static final class Histogram {
+    private final Object mutex = new Object();
+
+    @Nullable private ExponentialHistogramAccumulation accumulation;
+
+    void process(@Nullable ExponentialHistogramAccumulation other) {
+      if (other == null) {
+        return;
+      }
+
+      synchronized (mutex) {
+        if (accumulation == null) {
+          accumulation = other;
+          return;
+        }
+        accumulation = aggregator.merge(accumulation, other);
+      }
+    }
+  }
+}
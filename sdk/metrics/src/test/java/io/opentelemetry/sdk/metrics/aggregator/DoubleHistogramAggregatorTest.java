@@ -17,10 +17,15 @@ import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.metrics.data.MetricDataType;
 import io.opentelemetry.sdk.resources.Resource;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import org.junit.jupiter.api.Test;
@@ -143,6 +148,73 @@ public class DoubleHistogramAggregatorTest {
         .isEqualTo(HistogramAccumulation.create(1010000, new long[] {50000, 50000, 0, 0}));
   }
 
+  @Test
+  void mergesCells() {
+    DoubleHistogramAggregator.Handle aggregatorHandle =
+        new DoubleHistogramAggregator.Handle(boundaries, 4);
+    aggregatorHandle.recordInCell(5, 0);
+    aggregatorHandle.recordInCell(20, 1);
+    aggregatorHandle.recordInCell(150, 2);
+    aggregatorHandle.recordInCell(2000, 3);
+    aggregatorHandle.recordInCell(7, 3);
+    // Sets the flag read by accumulateThenReset.
+    aggregatorHandle.recordDouble(1);
+    assertThat(aggregatorHandle.accumulateThenReset())
+        .isEqualTo(HistogramAccumulation.create(2183, new long[] {3, 1, 1, 1}));
+
+    aggregatorHandle.recordInCell(50, 2);
+    aggregatorHandle.recordDouble(500);
+    assertThat(aggregatorHandle.accumulateThenReset())
+        .isEqualTo(HistogramAccumulation.create(550, new long[] {0, 1, 1, 0}));
+  }
+
+  @Test
+  void recordWhileCollecting() throws Exception {
+    DoubleHistogramAggregator.Handle aggregatorHandle =
+        new DoubleHistogramAggregator.Handle(boundaries, 8);
+    Histogram summarizer = new Histogram();
+    int numberOfThreads = 8;
+    int numberOfUpdates = 100000;
+    ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+    AtomicBoolean recording = new AtomicBoolean(true);
+    try {
+      List<Future<?>> recorders = new ArrayList<>();
+      for (int i = 0; i < numberOfThreads; i++) {
+        // One value per bucket.
+        long value = (long) Math.pow(10, i % 4) * 5;
+        recorders.add(
+            executor.submit(
+                () -> {
+                  for (int j = 0; j < numberOfUpdates; j++) {
+                    aggregatorHandle.recordLong(value);
+                  }
+                }));
+      }
+      Thread collector =
+          new Thread(
+              () -> {
+                while (recording.get()) {
+                  summarizer.process(aggregatorHandle.accumulateThenReset());
+                }
+              });
+      collector.start();
+      for (Future<?> recorder : recorders) {
+        recorder.get();
+      }
+      recording.set(false);
+      collector.join();
+    } finally {
+      executor.shutdownNow();
+    }
+    summarizer.process(aggregatorHandle.accumulateThenReset());
+
+    long perBucket = 2L * numberOfUpdates;
+    assertThat(summarizer.accumulation)
+        .isEqualTo(
+            HistogramAccumulation.create(
+                perBucket * 5555, new long[] {perBucket, perBucket, perBucket, perBucket}));
+  }
+
   private static final class Histogram {
     private final Object mutex = new Object();
 
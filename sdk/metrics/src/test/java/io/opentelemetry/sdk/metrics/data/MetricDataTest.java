@@ -205,6 +205,44 @@ class MetricDataTest {
         .isInstanceOf(IllegalArgumentException.class);
   }
 
+  @Test
+  void metricData_ExponentialHistogramPoints() {
+    ExponentialHistogramPointData point =
+        ExponentialHistogramPointData.create(
+            START_EPOCH_NANOS,
+            EPOCH_NANOS,
+            Labels.of("key", "value"),
+            /* scale= */ 0,
+            DOUBLE_VALUE,
+            /* zeroCount= */ 1,
+            ExponentialHistogramBuckets.create(0, ImmutableList.of(1L, 2L)),
+            ExponentialHistogramBuckets.create(1, ImmutableList.of(3L)));
+    assertThat(point.getCount()).isEqualTo(7L);
+    assertThat(point.getPositiveBuckets().getTotalCount()).isEqualTo(3L);
+    assertThat(point.getNegativeBuckets().getTotalCount()).isEqualTo(3L);
+
+    MetricData metricData =
+        MetricData.createExponentialHistogram(
+            Resource.empty(),
+            InstrumentationLibraryInfo.empty(),
+            "metric_name",
+            "metric_description",
+            "ms",
+            ExponentialHistogramData.create(
+                AggregationTemporality.DELTA, Collections.singleton(point)));
+    assertThat(metricData.getType()).isEqualTo(MetricDataType.EXPONENTIAL_HISTOGRAM);
+    assertThat(metricData.getExponentialHistogramData().getPoints()).containsExactly(point);
+    assertThat(metricData.getDoubleHistogramData().getPoints()).isEmpty();
+
+    // Negative bucket 1 is [-4, -2), positive buckets 0 and 1 are (1, 2] and (2, 4].
+    DoubleHistogramPointData explicit = point.toDoubleHistogramPointData();
+    assertThat(explicit.getBoundaries()).containsExactly(-2.0, 0.0, 2.0);
+    assertThat(explicit.getCounts()).containsExactly(3L, 1L, 1L, 2L);
+    assertThat(explicit.getCount()).isEqualTo(7L);
+    assertThat(explicit.getSum()).isEqualTo(DOUBLE_VALUE);
+    assertThat(explicit.getLabels()).isEqualTo(Labels.of("key", "value"));
+  }
+
   @Test
   void metricData_GetDefault() {
     MetricData metricData =
@@ -220,6 +258,7 @@ class MetricDataTest {
     assertThat(metricData.getDoubleSumData().getPoints()).isEmpty();
     assertThat(metricData.getLongGaugeData().getPoints()).isEmpty();
     assertThat(metricData.getDoubleHistogramData().getPoints()).isEmpty();
+    assertThat(metricData.getExponentialHistogramData().getPoints()).isEmpty();
     assertThat(metricData.getDoubleSummaryData().getPoints()).containsExactly(SUMMARY_POINT);
 
     metricData =
@@ -0,0 +1,86 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import io.opentelemetry.api.common.AttributeKey;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares filling and reading the {@link AttributesMap} of a span with a {@link HashMap}, which it
+ * used to extend, for the attribute counts spans usually have.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AttributesMapBenchmark {
+
+  @Param({"4", "16", "64"})
+  int numAttributes;
+
+  private AttributeKey<?>[] keys;
+  private AttributesMap attributesMap;
+
+  @Setup
+  public void setup() {
+    keys = new AttributeKey<?>[numAttributes];
+    attributesMap = new AttributesMap(SpanLimits.getDefault().getMaxNumberOfAttributes());
+    for (int i = 0; i < numAttributes; i++) {
+      AttributeKey<String> key = AttributeKey.stringKey("key" + i);
+      keys[i] = key;
+      attributesMap.put(key, "value" + i);
+    }
+  }
+
+  @Benchmark
+  @SuppressWarnings("unchecked")
+  public AttributesMap fillAttributesMap() {
+    AttributesMap map = new AttributesMap(SpanLimits.getDefault().getMaxNumberOfAttributes());
+    for (AttributeKey<?> key : keys) {
+      map.put((AttributeKey<Object>) key, "value");
+    }
+    return map;
+  }
+
+  @Benchmark
+  public Map<AttributeKey<?>, Object> fillHashMap() {
+    Map<AttributeKey<?>, Object> map = new HashMap<>();
+    for (AttributeKey<?> key : keys) {
+      map.put(key, "value");
+    }
+    return map;
+  }
+
+  @Benchmark
+  public void getAttributes(Blackhole blackhole) {
+    for (AttributeKey<?> key : keys) {
+      blackhole.consume(attributesMap.get(key));
+    }
+  }
+
+  @Benchmark
+  public void iterateAsMap(Blackhole blackhole) {
+    for (Map.Entry<AttributeKey<?>, Object> entry : attributesMap.asMap().entrySet()) {
+      blackhole.consume(entry.getValue());
+    }
+  }
+}
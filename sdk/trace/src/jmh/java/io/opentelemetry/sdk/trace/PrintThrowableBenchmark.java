@@ -30,6 +30,8 @@ public class PrintThrowableBenchmark {
 
   private static final Throwable THROWABLE;
 
+  private static final StackTraceRenderer CACHING_RENDERER = StackTraceRenderer.create(16);
+
   static {
     Throwable throwable = null;
     try {
@@ -77,4 +79,16 @@ public class PrintThrowableBenchmark {
     THROWABLE.printStackTrace(stream);
     return bos.toString(StandardCharsets.UTF_8.name());
   }
+
+  /** Measures performance of a {@link StackTraceRenderer} which finds the stack trace cached. */
+  @Benchmark
+  public String cachingRenderer() {
+    return CACHING_RENDERER.render(THROWABLE, Integer.MAX_VALUE);
+  }
+
+  /** Measures performance of a {@link StackTraceRenderer} truncating the stack trace. */
+  @Benchmark
+  public String truncatingRenderer() {
+    return StackTraceRenderer.uncached().render(THROWABLE, 10);
+  }
 }
@@ -28,9 +28,13 @@ import org.openjdk.jmh.annotations.Warmup;
 @State(Scope.Benchmark)
 public class BatchSpanProcessorBenchmark {
 
-  @Param({"0", "1", "5"})
+  // The latency of the exporter, e.g. the round trip time to the collector.
+  @Param({"0", "1", "5", "20"})
   private int delayMs;
 
+  @Param({"1", "4"})
+  private int maxConcurrentExports;
+
   @Param({"1000", "2000", "5000"})
   private int spanCount;
 
@@ -41,7 +45,8 @@ public class BatchSpanProcessorBenchmark {
   @Setup(Level.Trial)
   public final void setup() {
     SpanExporter exporter = new DelayingSpanExporter(delayMs);
-    processor = BatchSpanProcessor.builder(exporter).build();
+    processor =
+        BatchSpanProcessor.builder(exporter).setMaxConcurrentExports(maxConcurrentExports).build();
 
     ImmutableList.Builder<Span> spans = ImmutableList.builderWithExpectedSize(spanCount);
     Tracer tracer = SdkTracerProvider.builder().build().get("benchmarkTracer");
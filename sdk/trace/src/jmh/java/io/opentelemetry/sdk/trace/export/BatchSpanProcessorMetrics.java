@@ -8,7 +8,6 @@ package io.opentelemetry.sdk.trace.export;
 import io.opentelemetry.sdk.metrics.data.LongPointData;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import java.util.Collection;
-import java.util.OptionalLong;
 
 public class BatchSpanProcessorMetrics {
   private final Collection<MetricData> allMetrics;
@@ -36,17 +35,16 @@ public class BatchSpanProcessorMetrics {
     return getMetric(true) / numThreads;
   }
 
+  // Sums the points of all the shards of the processor.
   private long getMetric(boolean dropped) {
     String labelValue = String.valueOf(dropped);
-    OptionalLong value =
-        allMetrics.stream()
-            .filter(metricData -> metricData.getName().equals("processedSpans"))
-            .filter(metricData -> !metricData.isEmpty())
-            .map(metricData -> metricData.getLongSumData().getPoints())
-            .flatMap(Collection::stream)
-            .filter(point -> labelValue.equals(point.getLabels().get("dropped")))
-            .mapToLong(LongPointData::getValue)
-            .findFirst();
-    return value.isPresent() ? value.getAsLong() : 0;
+    return allMetrics.stream()
+        .filter(metricData -> metricData.getName().equals("processedSpans"))
+        .filter(metricData -> !metricData.isEmpty())
+        .map(metricData -> metricData.getLongSumData().getPoints())
+        .flatMap(Collection::stream)
+        .filter(point -> labelValue.equals(point.getLabels().get("dropped")))
+        .mapToLong(LongPointData::getValue)
+        .sum();
   }
 }
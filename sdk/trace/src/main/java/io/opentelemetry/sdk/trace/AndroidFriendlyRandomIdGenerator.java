@@ -5,15 +5,13 @@
 
 package io.opentelemetry.sdk.trace;
 
-import io.opentelemetry.api.trace.SpanId;
-import io.opentelemetry.api.trace.TraceId;
 import java.util.Random;
 
 /**
  * {@link IdGenerator} instance that doesn't use {@link java.util.concurrent.ThreadLocalRandom},
  * which is broken on most versions of Android (it uses the same seed everytime it starts up).
  */
-enum AndroidFriendlyRandomIdGenerator implements IdGenerator {
+enum AndroidFriendlyRandomIdGenerator implements LongIdGenerator {
   INSTANCE;
 
   private static final Random random = new Random();
@@ -21,22 +19,25 @@ enum AndroidFriendlyRandomIdGenerator implements IdGenerator {
   private static final long INVALID_ID = 0;
 
   @Override
-  public String generateSpanId() {
+  public long generateSpanIdAsLong() {
     long id;
     do {
       id = random.nextLong();
     } while (id == INVALID_ID);
-    return SpanId.fromLong(id);
+    return id;
   }
 
   @Override
-  public String generateTraceId() {
-    long idHi;
+  public long generateTraceIdHighPart() {
+    return random.nextLong();
+  }
+
+  @Override
+  public long generateTraceIdLowPart(long traceIdHighPart) {
     long idLo;
     do {
-      idHi = random.nextLong();
       idLo = random.nextLong();
-    } while (idHi == INVALID_ID && idLo == INVALID_ID);
-    return TraceId.fromLongs(idHi, idLo);
+    } while (traceIdHighPart == INVALID_ID && idLo == INVALID_ID);
+    return idLo;
   }
 }
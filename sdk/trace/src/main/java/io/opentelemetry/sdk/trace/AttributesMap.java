@@ -8,60 +8,99 @@ package io.opentelemetry.sdk.trace;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
 
-/** A map with a fixed capacity that drops attributes when the map gets full. */
-@SuppressWarnings({"rawtypes", "unchecked"})
-final class AttributesMap extends HashMap<AttributeKey<?>, Object> implements Attributes {
+/**
+ * A map with a fixed capacity that drops attributes when the map gets full.
+ *
+ * <p>Keys and values are stored next to each other in a single array, in insertion order, which
+ * is grown up to the capacity as attributes are added. Spans typically carry few attributes, for
+ * which a linear scan of the array is cheaper than hashing, and this avoids allocating an entry
+ * object per attribute. Once the span has ended the map is no longer modified, so it is handed to
+ * exporters as is.
+ */
+@SuppressWarnings("unchecked")
+final class AttributesMap implements Attributes {
 
-  private static final long serialVersionUID = -5072696312123632376L;
+  // Visible for testing
+  static final int INITIAL_CAPACITY = 8;
 
   private final long capacity;
   private int totalAddedValues = 0;
 
+  // Keys at even indices, each followed by its value.
+  private Object[] data;
+  private int size = 0;
+
+  @Nullable private Map<AttributeKey<?>, Object> mapView;
+
   AttributesMap(long capacity) {
     this.capacity = capacity;
+    this.data = new Object[2 * (int) Math.min(capacity, INITIAL_CAPACITY)];
   }
 
   <T> void put(AttributeKey<T> key, T value) {
     totalAddedValues++;
-    if (size() >= capacity && !containsKey(key)) {
+    int index = indexOf(key);
+    if (index >= 0) {
+      data[index + 1] = value;
       return;
     }
-    super.put(key, value);
+    if (size >= capacity) {
+      return;
+    }
+    if (2 * size == data.length) {
+      data = Arrays.copyOf(data, 2 * (int) Math.min(capacity, 2L * size));
+    }
+    data[2 * size] = key;
+    data[2 * size + 1] = value;
+    size++;
   }
 
   int getTotalAddedValues() {
     return totalAddedValues;
   }
 
-  @SuppressWarnings("unchecked")
   @Override
+  @Nullable
   public <T> T get(AttributeKey<T> key) {
-    return (T) super.get(key);
+    int index = indexOf(key);
+    return index >= 0 ? (T) data[index + 1] : null;
   }
 
-  @SuppressWarnings({"rawtypes", "unchecked"})
   @Override
   public void forEach(BiConsumer<? super AttributeKey<?>, ? super Object> consumer) {
-    for (Map.Entry<AttributeKey<?>, Object> entry : entrySet()) {
-      AttributeKey key = entry.getKey();
-      Object value = entry.getValue();
-      consumer.accept((AttributeKey<?>) key, value);
+    for (int i = 0; i < 2 * size; i += 2) {
+      consumer.accept((AttributeKey<?>) data[i], data[i + 1]);
     }
   }
 
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
   @Override
   public Map<AttributeKey<?>, Object> asMap() {
-    // Because Attributes is marked Immutable, IDEs may recognize this as redundant usage. However,
-    // this class is private and is actually mutable, so we need to wrap with unmodifiableMap
-    // anyways. We implement the immutable Attributes for this class to support the
-    // Attributes.builder().putAll usage - it is tricky but an implementation detail of this private
-    // class.
-    return Collections.unmodifiableMap(this);
+    Map<AttributeKey<?>, Object> mapView = this.mapView;
+    if (mapView == null) {
+      mapView = new MapView();
+      this.mapView = mapView;
+    }
+    return mapView;
   }
 
   @Override
@@ -69,19 +108,124 @@ final class AttributesMap extends HashMap<AttributeKey<?>, Object> implements At
     return Attributes.builder().putAll(this);
   }
 
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof AttributesMap)) {
+      return false;
+    }
+    AttributesMap that = (AttributesMap) o;
+    if (size != that.size) {
+      return false;
+    }
+    for (int i = 0; i < 2 * size; i += 2) {
+      if (!data[i + 1].equals(that.get((AttributeKey<?>) data[i]))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    // Same as a Map with these entries, which does not depend on the insertion order.
+    int result = 0;
+    for (int i = 0; i < 2 * size; i += 2) {
+      result += data[i].hashCode() ^ data[i + 1].hashCode();
+    }
+    return result;
+  }
+
   @Override
   public String toString() {
-    return "AttributesMap{"
-        + "data="
-        + super.toString()
-        + ", capacity="
-        + capacity
-        + ", totalAddedValues="
-        + totalAddedValues
-        + '}';
+    StringBuilder sb = new StringBuilder("AttributesMap{data={");
+    for (int i = 0; i < 2 * size; i += 2) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(data[i]).append('=').append(data[i + 1]);
+    }
+    return sb.append("}, capacity=")
+        .append(capacity)
+        .append(", totalAddedValues=")
+        .append(totalAddedValues)
+        .append('}')
+        .toString();
   }
 
   Attributes immutableCopy() {
     return Attributes.builder().putAll(this).build();
   }
+
+  private int indexOf(AttributeKey<?> key) {
+    // Keys are usually constants, so check identity before falling back to equals.
+    for (int i = 0; i < 2 * size; i += 2) {
+      if (data[i] == key) {
+        return i;
+      }
+    }
+    for (int i = 0; i < 2 * size; i += 2) {
+      if (data[i].equals(key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * An unmodifiable view of the attributes, in insertion order, reading the array without copying
+   * it.
+   */
+  private final class MapView extends AbstractMap<AttributeKey<?>, Object> {
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+      return key instanceof AttributeKey && indexOf((AttributeKey<?>) key) >= 0;
+    }
+
+    @Override
+    @Nullable
+    public Object get(@Nullable Object key) {
+      return key instanceof AttributeKey ? AttributesMap.this.get((AttributeKey<?>) key) : null;
+    }
+
+    @Override
+    public Set<Entry<AttributeKey<?>, Object>> entrySet() {
+      return new AbstractSet<Entry<AttributeKey<?>, Object>>() {
+        @Override
+        public int size() {
+          return size;
+        }
+
+        @Override
+        public Iterator<Entry<AttributeKey<?>, Object>> iterator() {
+          return new Iterator<Entry<AttributeKey<?>, Object>>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+              return index < 2 * size;
+            }
+
+            @Override
+            public Entry<AttributeKey<?>, Object> next() {
+              if (!hasNext()) {
+                throw new NoSuchElementException();
+              }
+              Entry<AttributeKey<?>, Object> entry =
+                  new SimpleImmutableEntry<>((AttributeKey<?>) data[index], data[index + 1]);
+              index += 2;
+              return entry;
+            }
+          };
+        }
+      };
+    }
+  }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
+import javax.annotation.Nullable;
+
+/**
+ * The {@link EventData} of an exception recorded on a span. Rendering the stack trace of the
+ * exception is expensive, so it is deferred until the attributes of the event are first read,
+ * usually when the span is exported, rather than done on the thread recording the exception.
+ */
+final class ExceptionEventData implements EventData {
+
+  private final long epochNanos;
+  private final Throwable exception;
+  @Nullable private final Attributes additionalAttributes;
+  private final int maxNumberOfAttributes;
+  private final int maxStackTraceDepth;
+  private final StackTraceRenderer stackTraceRenderer;
+
+  // Rendering twice under a race is harmless, both results are equal.
+  @Nullable private volatile EventData rendered;
+
+  ExceptionEventData(
+      long epochNanos,
+      Throwable exception,
+      @Nullable Attributes additionalAttributes,
+      SpanLimits spanLimits,
+      StackTraceRenderer stackTraceRenderer) {
+    this.epochNanos = epochNanos;
+    this.exception = exception;
+    this.additionalAttributes = additionalAttributes;
+    this.maxNumberOfAttributes = spanLimits.getMaxNumberOfAttributesPerEvent();
+    this.maxStackTraceDepth = spanLimits.getMaxExceptionStackTraceDepth();
+    this.stackTraceRenderer = stackTraceRenderer;
+  }
+
+  @Override
+  public String getName() {
+    return SemanticAttributes.EXCEPTION_EVENT_NAME;
+  }
+
+  @Override
+  public Attributes getAttributes() {
+    return render().getAttributes();
+  }
+
+  @Override
+  public long getEpochNanos() {
+    return epochNanos;
+  }
+
+  @Override
+  public int getTotalAttributeCount() {
+    return render().getTotalAttributeCount();
+  }
+
+  /**
+   * Returns whether the given event has the same name, timestamp and attributes, comparing the
+   * rendered attributes like the {@link EventData#create} events it replaces.
+   */
+  @Override
+  public boolean equals(@Nullable Object o) {
+    if (o == this) {
+      return true;
+    }
+    if (o instanceof ExceptionEventData) {
+      o = ((ExceptionEventData) o).render();
+    }
+    return render().equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    return render().hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return render().toString();
+  }
+
+  private EventData render() {
+    EventData rendered = this.rendered;
+    if (rendered != null) {
+      return rendered;
+    }
+    AttributesBuilder attributes = Attributes.builder();
+    attributes.put(SemanticAttributes.EXCEPTION_TYPE, exception.getClass().getCanonicalName());
+    if (exception.getMessage() != null) {
+      attributes.put(SemanticAttributes.EXCEPTION_MESSAGE, exception.getMessage());
+    }
+    attributes.put(
+        SemanticAttributes.EXCEPTION_STACKTRACE,
+        stackTraceRenderer.render(exception, maxStackTraceDepth));
+    if (additionalAttributes != null) {
+      attributes.putAll(additionalAttributes);
+    }
+    Attributes allAttributes = attributes.build();
+    rendered =
+        EventData.create(
+            epochNanos,
+            SemanticAttributes.EXCEPTION_EVENT_NAME,
+            RecordEventsReadableSpan.copyAndLimitAttributes(allAttributes, maxNumberOfAttributes),
+            allAttributes.size());
+    this.rendered = rendered;
+    return rendered;
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import io.opentelemetry.api.trace.SpanId;
+import io.opentelemetry.api.trace.TraceId;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * An {@link IdGenerator} that generates the ids as {@code long} values, so that spans can be
+ * started without encoding their ids as hex.
+ */
+@ThreadSafe
+interface LongIdGenerator extends IdGenerator {
+
+  /** Returns a new valid span id. */
+  long generateSpanIdAsLong();
+
+  /** Returns the higher part of a new trace id, which may be {@code 0}. */
+  long generateTraceIdHighPart();
+
+  /**
+   * Returns the lower part of a new trace id, which makes a valid trace id together with the given
+   * higher part.
+   */
+  long generateTraceIdLowPart(long traceIdHighPart);
+
+  @Override
+  default String generateSpanId() {
+    return SpanId.fromLong(generateSpanIdAsLong());
+  }
+
+  @Override
+  default String generateTraceId() {
+    long traceIdHighPart = generateTraceIdHighPart();
+    return TraceId.fromLongs(traceIdHighPart, generateTraceIdLowPart(traceIdHighPart));
+  }
+}
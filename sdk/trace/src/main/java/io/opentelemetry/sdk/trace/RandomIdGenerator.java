@@ -5,34 +5,35 @@
 
 package io.opentelemetry.sdk.trace;
 
-import io.opentelemetry.api.trace.SpanId;
-import io.opentelemetry.api.trace.TraceId;
 import java.util.concurrent.ThreadLocalRandom;
 
-enum RandomIdGenerator implements IdGenerator {
+enum RandomIdGenerator implements LongIdGenerator {
   INSTANCE;
 
   private static final long INVALID_ID = 0;
 
   @Override
-  public String generateSpanId() {
+  public long generateSpanIdAsLong() {
     long id;
     ThreadLocalRandom random = ThreadLocalRandom.current();
     do {
       id = random.nextLong();
     } while (id == INVALID_ID);
-    return SpanId.fromLong(id);
+    return id;
   }
 
   @Override
-  public String generateTraceId() {
-    long idHi;
+  public long generateTraceIdHighPart() {
+    return ThreadLocalRandom.current().nextLong();
+  }
+
+  @Override
+  public long generateTraceIdLowPart(long traceIdHighPart) {
     long idLo;
     ThreadLocalRandom random = ThreadLocalRandom.current();
     do {
-      idHi = random.nextLong();
       idLo = random.nextLong();
-    } while (idHi == INVALID_ID && idLo == INVALID_ID);
-    return TraceId.fromLongs(idHi, idLo);
+    } while (traceIdHighPart == INVALID_ID && idLo == INVALID_ID);
+    return idLo;
   }
 }
@@ -21,9 +21,6 @@ import io.opentelemetry.sdk.trace.data.EventData;
 import io.opentelemetry.sdk.trace.data.LinkData;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.data.StatusData;
-import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -49,6 +46,8 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
   private final SpanContext parentSpanContext;
   // Handler called when the span starts and ends.
   private final SpanProcessor spanProcessor;
+  // Renders the stack traces of recorded exceptions.
+  private final StackTraceRenderer stackTraceRenderer;
   // The displayed name of the span.
   // List of recorded links to parent and child spans.
   private final List<LinkData> links;
@@ -89,6 +88,10 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
   // True if the span is ended.
   @GuardedBy("lock")
   private boolean hasEnded;
+  // The SpanData of the span, created by the first toSpanData once the span ended. The state of an
+  // ended span does not change anymore, so it is then returned without taking the lock or copying
+  // the state.
+  @Nullable private volatile SpanData endedSpanData;
 
   private RecordEventsReadableSpan(
       SpanContext context,
@@ -98,6 +101,7 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
       SpanContext parentSpanContext,
       SpanLimits spanLimits,
       SpanProcessor spanProcessor,
+      StackTraceRenderer stackTraceRenderer,
       Clock clock,
       Resource resource,
       @Nullable AttributesMap attributes,
@@ -112,6 +116,7 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
     this.name = name;
     this.kind = kind;
     this.spanProcessor = spanProcessor;
+    this.stackTraceRenderer = stackTraceRenderer;
     this.resource = resource;
     this.hasEnded = false;
     this.clock = clock;
@@ -131,6 +136,7 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
    *     span is a root span.
    * @param spanLimits trace parameters like sampler and probability.
    * @param spanProcessor handler called when the span starts and ends.
+   * @param stackTraceRenderer renders the stack traces of recorded exceptions.
    * @param clock the clock used to get the time.
    * @param resource the resource associated with this span.
    * @param attributes the attributes set during span creation.
@@ -146,6 +152,7 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
       @Nonnull Context parentContext,
       SpanLimits spanLimits,
       SpanProcessor spanProcessor,
+      StackTraceRenderer stackTraceRenderer,
       Clock clock,
       Resource resource,
       AttributesMap attributes,
@@ -161,6 +168,7 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
             parentSpanContext,
             spanLimits,
             spanProcessor,
+            stackTraceRenderer,
             clock,
             resource,
             attributes,
@@ -175,22 +183,39 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
 
   @Override
   public SpanData toSpanData() {
+    SpanData spanData = endedSpanData;
+    if (spanData != null) {
+      return spanData;
+    }
     // Copy within synchronized context
     synchronized (lock) {
-      return SpanWrapper.create(
-          this,
-          links,
-          getImmutableTimedEvents(),
-          getImmutableAttributes(),
-          (attributes == null) ? 0 : attributes.getTotalAddedValues(),
-          totalRecordedEvents,
-          getSpanDataStatus(),
-          name,
-          endEpochNanos,
-          hasEnded);
+      if (!hasEnded) {
+        return createSpanData();
+      }
+      spanData = endedSpanData;
+      if (spanData == null) {
+        spanData = createSpanData();
+        endedSpanData = spanData;
+      }
+      return spanData;
     }
   }
 
+  @GuardedBy("lock")
+  private SpanData createSpanData() {
+    return SpanWrapper.create(
+        this,
+        links,
+        getImmutableTimedEvents(),
+        getImmutableAttributes(),
+        (attributes == null) ? 0 : attributes.getTotalAddedValues(),
+        totalRecordedEvents,
+        getSpanDataStatus(),
+        name,
+        endEpochNanos,
+        hasEnded);
+  }
+
   @Override
   public boolean hasEnded() {
     synchronized (lock) {
@@ -379,26 +404,10 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
     if (exception == null) {
       return this;
     }
-    long timestampNanos = clock.now();
-
-    AttributesBuilder attributes = Attributes.builder();
-    attributes.put(SemanticAttributes.EXCEPTION_TYPE, exception.getClass().getCanonicalName());
-    if (exception.getMessage() != null) {
-      attributes.put(SemanticAttributes.EXCEPTION_MESSAGE, exception.getMessage());
-    }
-    StringWriter writer = new StringWriter();
-    exception.printStackTrace(new PrintWriter(writer));
-    attributes.put(SemanticAttributes.EXCEPTION_STACKTRACE, writer.toString());
-
-    if (additionalAttributes != null) {
-      attributes.putAll(additionalAttributes);
-    }
-
-    addEvent(
-        SemanticAttributes.EXCEPTION_EVENT_NAME,
-        attributes.build(),
-        timestampNanos,
-        TimeUnit.NANOSECONDS);
+    // The attributes, and in particular the stack trace, are only created if the event is read.
+    addTimedEvent(
+        new ExceptionEventData(
+            clock.now(), exception, additionalAttributes, spanLimits, stackTraceRenderer));
     return this;
   }
 
@@ -12,11 +12,13 @@ import static io.opentelemetry.api.common.AttributeKey.stringKey;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.internal.ImmutableSpanContext;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanBuilder;
 import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceId;
 import io.opentelemetry.api.trace.TraceState;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.common.Clock;
@@ -175,14 +177,37 @@ final class SdkSpanBuilder implements SpanBuilder {
     final Span parentSpan = Span.fromContext(parentContext);
     final SpanContext parentSpanContext = parentSpan.getSpanContext();
     String traceId;
+    long traceIdHighPart = 0;
+    long traceIdLowPart = 0;
+    // Only set when the id generator generates String ids.
+    String spanId = null;
+    long spanIdAsLong = 0;
     IdGenerator idGenerator = tracerSharedState.getIdGenerator();
-    String spanId = idGenerator.generateSpanId();
-    if (!parentSpanContext.isValid()) {
-      // New root span.
-      traceId = idGenerator.generateTraceId();
+    if (idGenerator instanceof LongIdGenerator) {
+      // Start the span without encoding its ids as hex. Only the trace id of a new root span is
+      // encoded, for the sampler.
+      LongIdGenerator longIdGenerator = (LongIdGenerator) idGenerator;
+      spanIdAsLong = longIdGenerator.generateSpanIdAsLong();
+      if (!parentSpanContext.isValid()) {
+        // New root span.
+        traceIdHighPart = longIdGenerator.generateTraceIdHighPart();
+        traceIdLowPart = longIdGenerator.generateTraceIdLowPart(traceIdHighPart);
+        traceId = TraceId.fromLongs(traceIdHighPart, traceIdLowPart);
+      } else {
+        // New child span.
+        traceIdHighPart = parentSpanContext.getTraceIdHighPart();
+        traceIdLowPart = parentSpanContext.getTraceIdLowPart();
+        traceId = parentSpanContext.getTraceId();
+      }
     } else {
-      // New child span.
-      traceId = parentSpanContext.getTraceId();
+      spanId = idGenerator.generateSpanId();
+      if (!parentSpanContext.isValid()) {
+        // New root span.
+        traceId = idGenerator.generateTraceId();
+      } else {
+        // New child span.
+        traceId = parentSpanContext.getTraceId();
+      }
     }
     List<LinkData> immutableLinks =
         links == null ? Collections.emptyList() : Collections.unmodifiableList(links);
@@ -199,12 +224,21 @@ final class SdkSpanBuilder implements SpanBuilder {
 
     TraceState samplingResultTraceState =
         samplingResult.getUpdatedTraceState(parentSpanContext.getTraceState());
+    TraceFlags traceFlags =
+        isSampled(samplingDecision) ? TraceFlags.getSampled() : TraceFlags.getDefault();
+    // The trace id already encoded for the sampler is kept by the span context, so that it is not
+    // encoded again, and child spans share the String of their parent.
     SpanContext spanContext =
-        SpanContext.create(
-            traceId,
-            spanId,
-            isSampled(samplingDecision) ? TraceFlags.getSampled() : TraceFlags.getDefault(),
-            samplingResultTraceState);
+        spanId == null
+            ? ImmutableSpanContext.create(
+                traceIdHighPart,
+                traceIdLowPart,
+                traceId,
+                spanIdAsLong,
+                traceFlags,
+                samplingResultTraceState,
+                /* remote= */ false)
+            : SpanContext.create(traceId, spanId, traceFlags, samplingResultTraceState);
 
     if (!isRecording(samplingDecision)) {
       return Span.wrap(spanContext);
@@ -231,6 +265,7 @@ final class SdkSpanBuilder implements SpanBuilder {
         parentContext,
         spanLimits,
         tracerSharedState.getActiveSpanProcessor(),
+        tracerSharedState.getStackTraceRenderer(),
         getClock(parentSpan, tracerSharedState.getClock()),
         tracerSharedState.getResource(),
         recordedAttributes,
@@ -7,6 +7,7 @@ package io.opentelemetry.sdk.trace;
 
 import static java.util.Objects.requireNonNull;
 
+import io.opentelemetry.api.internal.Utils;
 import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.internal.SystemClock;
 import io.opentelemetry.sdk.resources.Resource;
@@ -26,6 +27,7 @@ public final class SdkTracerProviderBuilder {
   private Resource resource = Resource.getDefault();
   private Supplier<SpanLimits> spanLimitsSupplier = SpanLimits::getDefault;
   private Sampler sampler = DEFAULT_SAMPLER;
+  private int exceptionStackTraceCacheSize = 0;
 
   /**
    * Assign a {@link Clock}. {@link Clock} will be used each time a {@link
@@ -120,6 +122,23 @@ public final class SdkTracerProviderBuilder {
     return this;
   }
 
+  /**
+   * Sets the number of rendered exception stack traces to keep for reuse. Exceptions with the same
+   * message thrown from the same place, as during an error storm, render to the same {@code
+   * exception.stacktrace} attribute, so rendering each of them again can be avoided. The least
+   * recently used stack traces are evicted first. Defaults to {@code 0}, which disables the cache.
+   *
+   * @param exceptionStackTraceCacheSize the max number of stack traces to cache.
+   * @return this
+   */
+  public SdkTracerProviderBuilder setExceptionStackTraceCacheSize(
+      int exceptionStackTraceCacheSize) {
+    Utils.checkArgument(
+        exceptionStackTraceCacheSize >= 0, "exceptionStackTraceCacheSize must not be negative");
+    this.exceptionStackTraceCacheSize = exceptionStackTraceCacheSize;
+    return this;
+  }
+
   /**
    * Add a SpanProcessor to the span pipeline that will be built. {@link SpanProcessor} will be
    * called each time a {@link io.opentelemetry.api.trace.Span} is started or ended.
@@ -142,7 +161,13 @@ public final class SdkTracerProviderBuilder {
    */
   public SdkTracerProvider build() {
     return new SdkTracerProvider(
-        clock, idsGenerator, resource, spanLimitsSupplier, sampler, spanProcessors);
+        clock,
+        idsGenerator,
+        resource,
+        spanLimitsSupplier,
+        sampler,
+        spanProcessors,
+        StackTraceRenderer.create(exceptionStackTraceCacheSize));
   }
 
   SdkTracerProviderBuilder() {}
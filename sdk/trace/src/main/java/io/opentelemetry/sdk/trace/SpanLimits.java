@@ -41,13 +41,15 @@ public abstract class SpanLimits {
       int maxNumEvents,
       int maxNumLinks,
       int maxNumAttributesPerEvent,
-      int maxNumAttributesPerLink) {
+      int maxNumAttributesPerLink,
+      int maxExceptionStackTraceDepth) {
     return new AutoValue_SpanLimits(
         maxNumAttributes,
         maxNumEvents,
         maxNumLinks,
         maxNumAttributesPerEvent,
-        maxNumAttributesPerLink);
+        maxNumAttributesPerLink,
+        maxExceptionStackTraceDepth);
   }
 
   /**
@@ -85,6 +87,14 @@ public abstract class SpanLimits {
    */
   public abstract int getMaxNumberOfAttributesPerLink();
 
+  /**
+   * Returns the global default max number of stack frames recorded per throwable in the {@code
+   * exception.stacktrace} attribute of exception events.
+   *
+   * @return the global default max number of stack frames recorded per throwable.
+   */
+  public abstract int getMaxExceptionStackTraceDepth();
+
   /**
    * Returns a {@link SpanLimitsBuilder} initialized to the same property values as the current
    * instance.
@@ -98,6 +108,7 @@ public abstract class SpanLimits {
         .setMaxNumberOfEvents(getMaxNumberOfEvents())
         .setMaxNumberOfLinks(getMaxNumberOfLinks())
         .setMaxNumberOfAttributesPerEvent(getMaxNumberOfAttributesPerEvent())
-        .setMaxNumberOfAttributesPerLink(getMaxNumberOfAttributesPerLink());
+        .setMaxNumberOfAttributesPerLink(getMaxNumberOfAttributesPerLink())
+        .setMaxExceptionStackTraceDepth(getMaxExceptionStackTraceDepth());
   }
 }
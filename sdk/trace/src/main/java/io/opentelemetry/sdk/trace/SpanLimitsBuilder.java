@@ -15,12 +15,14 @@ public final class SpanLimitsBuilder {
   private static final int DEFAULT_SPAN_MAX_NUM_LINKS = 128;
   private static final int DEFAULT_SPAN_MAX_NUM_ATTRIBUTES_PER_EVENT = 128;
   private static final int DEFAULT_SPAN_MAX_NUM_ATTRIBUTES_PER_LINK = 128;
+  private static final int DEFAULT_MAX_EXCEPTION_STACK_TRACE_DEPTH = Integer.MAX_VALUE;
 
   private int maxNumAttributes = DEFAULT_SPAN_MAX_NUM_ATTRIBUTES;
   private int maxNumEvents = DEFAULT_SPAN_MAX_NUM_EVENTS;
   private int maxNumLinks = DEFAULT_SPAN_MAX_NUM_LINKS;
   private int maxNumAttributesPerEvent = DEFAULT_SPAN_MAX_NUM_ATTRIBUTES_PER_EVENT;
   private int maxNumAttributesPerLink = DEFAULT_SPAN_MAX_NUM_ATTRIBUTES_PER_LINK;
+  private int maxExceptionStackTraceDepth = DEFAULT_MAX_EXCEPTION_STACK_TRACE_DEPTH;
 
   SpanLimitsBuilder() {}
 
@@ -91,6 +93,22 @@ public final class SpanLimitsBuilder {
     return this;
   }
 
+  /**
+   * Sets the global default max number of stack frames recorded per throwable in the {@code
+   * exception.stacktrace} attribute of exception events. Frames beyond this depth are replaced by a
+   * {@code ... n more} line. By default the whole stack trace is recorded.
+   *
+   * @param maxExceptionStackTraceDepth the global default max number of stack frames recorded per
+   *     throwable. It must be positive otherwise {@link #build()} will throw an exception.
+   * @return this.
+   */
+  public SpanLimitsBuilder setMaxExceptionStackTraceDepth(int maxExceptionStackTraceDepth) {
+    Utils.checkArgument(
+        maxExceptionStackTraceDepth > 0, "maxExceptionStackTraceDepth must be greater than 0");
+    this.maxExceptionStackTraceDepth = maxExceptionStackTraceDepth;
+    return this;
+  }
+
   /** Builds and returns a {@link SpanLimits} with the values of this builder. */
   public SpanLimits build() {
     return SpanLimits.create(
@@ -98,6 +116,7 @@ public final class SpanLimitsBuilder {
         maxNumEvents,
         maxNumLinks,
         maxNumAttributesPerEvent,
-        maxNumAttributesPerLink);
+        maxNumAttributesPerLink,
+        maxExceptionStackTraceDepth);
   }
 }
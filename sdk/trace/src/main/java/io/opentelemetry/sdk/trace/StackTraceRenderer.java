@@ -0,0 +1,139 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Renders the stack traces recorded in the {@code exception.stacktrace} attribute, optionally
+ * caching the result for throwables that would render identically, as is typical of an exception
+ * thrown over and over from the same place.
+ */
+@ThreadSafe
+final class StackTraceRenderer {
+
+  private static final StackTraceRenderer UNCACHED = new StackTraceRenderer(null);
+
+  @Nullable private final Map<List<Object>, String> cache;
+
+  /** Returns a {@link StackTraceRenderer} which does not cache stack traces. */
+  static StackTraceRenderer uncached() {
+    return UNCACHED;
+  }
+
+  /**
+   * Returns a {@link StackTraceRenderer} which caches up to {@code maxCacheSize} stack traces, or
+   * does not cache if {@code maxCacheSize} is {@code 0}.
+   */
+  static StackTraceRenderer create(int maxCacheSize) {
+    if (maxCacheSize == 0) {
+      return UNCACHED;
+    }
+    return new StackTraceRenderer(
+        Collections.synchronizedMap(
+            new LinkedHashMap<List<Object>, String>(16, 0.75f, /* accessOrder= */ true) {
+              private static final long serialVersionUID = 1L;
+
+              @Override
+              protected boolean removeEldestEntry(Map.Entry<List<Object>, String> eldest) {
+                return size() > maxCacheSize;
+              }
+            }));
+  }
+
+  private StackTraceRenderer(@Nullable Map<List<Object>, String> cache) {
+    this.cache = cache;
+  }
+
+  /**
+   * Returns the stack trace of {@code exception}, as printed by {@link
+   * Throwable#printStackTrace()}, or with at most {@code maxDepth} frames per throwable if the
+   * stack trace is deeper than that.
+   */
+  String render(Throwable exception, int maxDepth) {
+    Map<List<Object>, String> cache = this.cache;
+    if (cache == null) {
+      return renderUncached(exception, maxDepth);
+    }
+    List<Object> key = cacheKey(exception, maxDepth);
+    if (key == null) {
+      return renderUncached(exception, maxDepth);
+    }
+    // Not computeIfAbsent, so that rendering does not hold the lock of the cache.
+    String stackTrace = cache.get(key);
+    if (stackTrace == null) {
+      stackTrace = renderUncached(exception, maxDepth);
+      cache.put(key, stackTrace);
+    }
+    return stackTrace;
+  }
+
+  private static String renderUncached(Throwable exception, int maxDepth) {
+    StringWriter writer = new StringWriter();
+    if (maxDepth == Integer.MAX_VALUE) {
+      exception.printStackTrace(new PrintWriter(writer));
+      return writer.toString();
+    }
+    // Same layout as printStackTrace, without the suppressed exceptions.
+    PrintWriter printWriter = new PrintWriter(writer);
+    Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Throwable t = exception; t != null; t = t.getCause()) {
+      if (!seen.add(t)) {
+        printWriter.println("Caused by: [CIRCULAR REFERENCE: " + t + "]");
+        break;
+      }
+      if (t != exception) {
+        printWriter.print("Caused by: ");
+      }
+      printWriter.println(t);
+      StackTraceElement[] frames = t.getStackTrace();
+      int depth = Math.min(frames.length, maxDepth);
+      for (int i = 0; i < depth; i++) {
+        printWriter.println("\tat " + frames[i]);
+      }
+      if (depth < frames.length) {
+        printWriter.println("\t... " + (frames.length - depth) + " more");
+      }
+    }
+    printWriter.flush();
+    return writer.toString();
+  }
+
+  /**
+   * Returns the key under which the stack trace of {@code exception} is cached: the header line,
+   * frame count and top {@code maxDepth} frames of each throwable in the cause chain, which is all
+   * the rendered stack trace depends on. Returns {@code null} if the stack trace cannot be cached.
+   */
+  @Nullable
+  private static List<Object> cacheKey(Throwable exception, int maxDepth) {
+    List<Object> key = new ArrayList<>();
+    Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Throwable t = exception; t != null; t = t.getCause()) {
+      if (!seen.add(t) || t.getSuppressed().length > 0) {
+        // Rare enough that it is not worth including in the key.
+        return null;
+      }
+      StackTraceElement[] frames = t.getStackTrace();
+      int depth = Math.min(frames.length, maxDepth);
+      key.add(t.toString());
+      key.add(frames.length);
+      for (int i = 0; i < depth; i++) {
+        key.add(frames[i]);
+      }
+    }
+    return key;
+  }
+}
@@ -23,6 +23,7 @@ final class TracerSharedState {
   private final Supplier<SpanLimits> spanLimitsSupplier;
   private final Sampler sampler;
   private final SpanProcessor activeSpanProcessor;
+  private final StackTraceRenderer stackTraceRenderer;
 
   @Nullable private volatile CompletableResultCode shutdownResult = null;
 
@@ -32,13 +33,15 @@ final class TracerSharedState {
       Resource resource,
       Supplier<SpanLimits> spanLimitsSupplier,
       Sampler sampler,
-      List<SpanProcessor> spanProcessors) {
+      List<SpanProcessor> spanProcessors,
+      StackTraceRenderer stackTraceRenderer) {
     this.clock = clock;
     this.idGenerator = idGenerator;
     this.resource = resource;
     this.spanLimitsSupplier = spanLimitsSupplier;
     this.sampler = sampler;
     activeSpanProcessor = SpanProcessor.composite(spanProcessors);
+    this.stackTraceRenderer = stackTraceRenderer;
   }
 
   Clock getClock() {
@@ -72,6 +75,11 @@ final class TracerSharedState {
     return activeSpanProcessor;
   }
 
+  /** Returns the {@link StackTraceRenderer} for the exceptions recorded on spans. */
+  StackTraceRenderer getStackTraceRenderer() {
+    return stackTraceRenderer;
+  }
+
   /**
    * Returns {@code true} if tracing has been shut down.
    *
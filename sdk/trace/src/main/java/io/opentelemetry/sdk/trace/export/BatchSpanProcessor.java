@@ -18,8 +18,10 @@ import io.opentelemetry.sdk.trace.ReadableSpan;
 import io.opentelemetry.sdk.trace.SpanProcessor;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.internal.JcTools;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
@@ -38,6 +40,17 @@ import java.util.logging.Logger;
  * {@code maxQueueSize} maximum size, if queue is full spans are dropped). Spans are exported either
  * when there are {@code maxExportBatchSize} pending spans or {@code scheduleDelayNanos} has passed
  * since the last export finished.
+ *
+ * <p>By default an export must complete, or time out, before the next batch is exported. With
+ * {@code maxConcurrentExports} greater than one, up to that many batches are exported at the same
+ * time, so that a slow exporter, e.g. one with a high latency to its backend, does not limit the
+ * throughput to one batch per round trip. The exporter must then support overlapping exports.
+ *
+ * <p>With {@code workerCount} greater than one, the queue is split into that many shards, each
+ * drained by its own worker thread that converts its spans to {@link SpanData} and exports them to
+ * the shared exporter. A span is queued to the shard picked by the thread that ends it, so on hosts
+ * with many cores the ending threads do not all contend on the head of a single queue. The workers
+ * export at the same time, so the exporter must then be thread-safe.
  */
 public final class BatchSpanProcessor implements SpanProcessor {
 
@@ -45,8 +58,10 @@ public final class BatchSpanProcessor implements SpanProcessor {
       BatchSpanProcessor.class.getSimpleName() + "_WorkerThread";
   private static final String SPAN_PROCESSOR_TYPE_LABEL = "spanProcessorType";
   private static final String SPAN_PROCESSOR_TYPE_VALUE = BatchSpanProcessor.class.getSimpleName();
+  private static final String SHARD_LABEL = "shard";
 
-  private final Worker worker;
+  private final SpanExporter spanExporter;
+  private final Worker[] workers;
   private final AtomicBoolean isShutdown = new AtomicBoolean(false);
 
   /**
@@ -65,16 +80,59 @@ public final class BatchSpanProcessor implements SpanProcessor {
       long scheduleDelayNanos,
       int maxQueueSize,
       int maxExportBatchSize,
-      long exporterTimeoutNanos) {
-    this.worker =
-        new Worker(
-            spanExporter,
-            scheduleDelayNanos,
-            maxExportBatchSize,
-            exporterTimeoutNanos,
-            JcTools.newMpscArrayQueue(maxQueueSize));
-    Thread workerThread = new DaemonThreadFactory(WORKER_THREAD_NAME).newThread(worker);
-    workerThread.start();
+      long exporterTimeoutNanos,
+      int maxConcurrentExports,
+      int workerCount) {
+    this.spanExporter = spanExporter;
+    this.workers = new Worker[workerCount];
+
+    Meter meter = GlobalMeterProvider.getMeter("io.opentelemetry.sdk.trace");
+    LongCounter processedSpansCounter =
+        meter
+            .longCounterBuilder("processedSpans")
+            .setUnit("1")
+            .setDescription(
+                "The number of spans processed by the BatchSpanProcessor. "
+                    + "[dropped=true if they were dropped due to high throughput]")
+            .build();
+    // The queue size is shared by the shards, rounding up so that no shard has an empty queue.
+    int shardQueueSize = (maxQueueSize + workerCount - 1) / workerCount;
+    Labels[] shardLabels = new Labels[workerCount];
+    DaemonThreadFactory threadFactory = new DaemonThreadFactory(WORKER_THREAD_NAME);
+    for (int i = 0; i < workerCount; i++) {
+      // A single worker keeps reporting the labels it did before shards were introduced.
+      shardLabels[i] =
+          workerCount == 1
+              ? Labels.of(SPAN_PROCESSOR_TYPE_LABEL, SPAN_PROCESSOR_TYPE_VALUE)
+              : Labels.of(
+                  SPAN_PROCESSOR_TYPE_LABEL,
+                  SPAN_PROCESSOR_TYPE_VALUE,
+                  SHARD_LABEL,
+                  String.valueOf(i));
+      workers[i] =
+          new Worker(
+              spanExporter,
+              scheduleDelayNanos,
+              maxExportBatchSize,
+              exporterTimeoutNanos,
+              maxConcurrentExports,
+              JcTools.newMpscArrayQueue(shardQueueSize),
+              processedSpansCounter.bind(shardLabels[i].toBuilder().put("dropped", "true").build()),
+              processedSpansCounter.bind(
+                  shardLabels[i].toBuilder().put("dropped", "false").build()));
+      threadFactory.newThread(workers[i]).start();
+    }
+    meter
+        .longValueObserverBuilder("queueSize")
+        .setDescription("The number of spans queued")
+        .setUnit("1")
+        .setUpdater(
+            result -> {
+              for (int i = 0; i < workers.length; i++) {
+                result.observe(workers[i].queue.size(), shardLabels[i]);
+              }
+            })
+        .build();
   }
 
   @Override
@@ -90,7 +148,15 @@ public final class BatchSpanProcessor implements SpanProcessor {
     if (!span.getSpanContext().isSampled()) {
       return;
     }
-    worker.addSpan(span);
+    workerForCurrentThread().addSpan(span);
+  }
+
+  private Worker workerForCurrentThread() {
+    if (workers.length == 1) {
+      return workers[0];
+    }
+    // Thread ids are positive, and a thread keeps queueing to the same shard.
+    return workers[(int) (Thread.currentThread().getId() % workers.length)];
   }
 
   @Override
@@ -103,17 +169,43 @@ public final class BatchSpanProcessor implements SpanProcessor {
     if (isShutdown.getAndSet(true)) {
       return CompletableResultCode.ofSuccess();
     }
-    return worker.shutdown();
+    final CompletableResultCode result = new CompletableResultCode();
+
+    final CompletableResultCode flushResult = forceFlush();
+    flushResult.whenComplete(
+        () -> {
+          for (Worker worker : workers) {
+            worker.continueWork = false;
+          }
+          final CompletableResultCode shutdownResult = spanExporter.shutdown();
+          shutdownResult.whenComplete(
+              () -> {
+                if (!flushResult.isSuccess() || !shutdownResult.isSuccess()) {
+                  result.fail();
+                } else {
+                  result.succeed();
+                }
+              });
+        });
+
+    return result;
   }
 
   @Override
   public CompletableResultCode forceFlush() {
-    return worker.forceFlush();
+    if (workers.length == 1) {
+      return workers[0].forceFlush();
+    }
+    List<CompletableResultCode> results = new ArrayList<>(workers.length);
+    for (Worker worker : workers) {
+      results.add(worker.forceFlush());
+    }
+    return CompletableResultCode.ofAll(results);
   }
 
   // Visible for testing
   ArrayList<SpanData> getBatch() {
-    return worker.batch;
+    return workers[0].batch;
   }
 
   // Worker is a thread that batches multiple spans and calls the registered SpanExporter to export
@@ -128,6 +220,7 @@ public final class BatchSpanProcessor implements SpanProcessor {
     private final long scheduleDelayNanos;
     private final int maxExportBatchSize;
     private final long exporterTimeoutNanos;
+    private final int maxConcurrentExports;
 
     private long nextExportTime;
 
@@ -142,45 +235,29 @@ public final class BatchSpanProcessor implements SpanProcessor {
     private final BlockingQueue<Boolean> signal;
     private final AtomicReference<CompletableResultCode> flushRequested = new AtomicReference<>();
     private volatile boolean continueWork = true;
-    private final ArrayList<SpanData> batch;
+    private ArrayList<SpanData> batch;
+    // The exports that have been started but have not completed yet, oldest first. Only accessed
+    // by the worker thread.
+    private final ArrayDeque<PendingExport> pendingExports = new ArrayDeque<>();
 
     private Worker(
         SpanExporter spanExporter,
         long scheduleDelayNanos,
         int maxExportBatchSize,
         long exporterTimeoutNanos,
-        Queue<ReadableSpan> queue) {
+        int maxConcurrentExports,
+        Queue<ReadableSpan> queue,
+        BoundLongCounter droppedSpans,
+        BoundLongCounter exportedSpans) {
       this.spanExporter = spanExporter;
       this.scheduleDelayNanos = scheduleDelayNanos;
       this.maxExportBatchSize = maxExportBatchSize;
       this.exporterTimeoutNanos = exporterTimeoutNanos;
+      this.maxConcurrentExports = maxConcurrentExports;
       this.queue = queue;
       this.signal = new ArrayBlockingQueue<>(1);
-      Meter meter = GlobalMeterProvider.getMeter("io.opentelemetry.sdk.trace");
-      meter
-          .longValueObserverBuilder("queueSize")
-          .setDescription("The number of spans queued")
-          .setUnit("1")
-          .setUpdater(
-              result ->
-                  result.observe(
-                      queue.size(),
-                      Labels.of(SPAN_PROCESSOR_TYPE_LABEL, SPAN_PROCESSOR_TYPE_VALUE)))
-          .build();
-      LongCounter processedSpansCounter =
-          meter
-              .longCounterBuilder("processedSpans")
-              .setUnit("1")
-              .setDescription(
-                  "The number of spans processed by the BatchSpanProcessor. "
-                      + "[dropped=true if they were dropped due to high throughput]")
-              .build();
-      droppedSpans =
-          processedSpansCounter.bind(
-              Labels.of(SPAN_PROCESSOR_TYPE_LABEL, SPAN_PROCESSOR_TYPE_VALUE, "dropped", "true"));
-      exportedSpans =
-          processedSpansCounter.bind(
-              Labels.of(SPAN_PROCESSOR_TYPE_LABEL, SPAN_PROCESSOR_TYPE_VALUE, "dropped", "false"));
+      this.droppedSpans = droppedSpans;
+      this.exportedSpans = exportedSpans;
 
       this.batch = new ArrayList<>(this.maxExportBatchSize);
     }
@@ -238,6 +315,7 @@ public final class BatchSpanProcessor implements SpanProcessor {
         }
       }
       exportCurrentBatch();
+      awaitPendingExports(0);
       flushRequested.get().succeed();
       flushRequested.set(null);
     }
@@ -246,27 +324,6 @@ public final class BatchSpanProcessor implements SpanProcessor {
       nextExportTime = System.nanoTime() + scheduleDelayNanos;
     }
 
-    private CompletableResultCode shutdown() {
-      final CompletableResultCode result = new CompletableResultCode();
-
-      final CompletableResultCode flushResult = forceFlush();
-      flushResult.whenComplete(
-          () -> {
-            continueWork = false;
-            final CompletableResultCode shutdownResult = spanExporter.shutdown();
-            shutdownResult.whenComplete(
-                () -> {
-                  if (!flushResult.isSuccess() || !shutdownResult.isSuccess()) {
-                    result.fail();
-                  } else {
-                    result.succeed();
-                  }
-                });
-          });
-
-      return result;
-    }
-
     private CompletableResultCode forceFlush() {
       CompletableResultCode flushResult = new CompletableResultCode();
       // we set the atomic here to trigger the worker loop to do a flush of the entire queue.
@@ -285,20 +342,58 @@ public final class BatchSpanProcessor implements SpanProcessor {
         return;
       }
 
+      final CompletableResultCode result;
       try {
-        final CompletableResultCode result =
-            spanExporter.export(Collections.unmodifiableList(batch));
-        result.join(exporterTimeoutNanos, TimeUnit.NANOSECONDS);
-        if (result.isSuccess()) {
-          exportedSpans.add(batch.size());
-        } else {
-          logger.log(Level.FINE, "Exporter failed");
-        }
+        result = spanExporter.export(Collections.unmodifiableList(batch));
       } catch (RuntimeException e) {
         logger.log(Level.WARNING, "Exporter threw an Exception", e);
-      } finally {
         batch.clear();
+        return;
+      }
+
+      final int exportedBatchSize = batch.size();
+      result.whenComplete(
+          () -> {
+            if (result.isSuccess()) {
+              exportedSpans.add(exportedBatchSize);
+            } else {
+              logger.log(Level.FINE, "Exporter failed");
+            }
+          });
+      pendingExports.addLast(new PendingExport(result, System.nanoTime() + exporterTimeoutNanos));
+      // Block until another export may be started, which with the default of one concurrent export
+      // means until this one completes or times out.
+      awaitPendingExports(maxConcurrentExports - 1);
+
+      if (result.isDone()) {
+        batch.clear();
+      } else {
+        // The exporter may still be reading the batch.
+        batch = new ArrayList<>(maxExportBatchSize);
       }
     }
+
+    // Waits until at most maxPendingExports exports are pending. An export stops being pending when
+    // it completes or when its timeout elapses.
+    private void awaitPendingExports(int maxPendingExports) {
+      pendingExports.removeIf(pendingExport -> pendingExport.result.isDone());
+      while (pendingExports.size() > maxPendingExports) {
+        PendingExport oldest = pendingExports.removeFirst();
+        long remainingNanos = oldest.deadlineNanos - System.nanoTime();
+        if (remainingNanos > 0) {
+          oldest.result.join(remainingNanos, TimeUnit.NANOSECONDS);
+        }
+      }
+    }
+  }
+
+  private static final class PendingExport {
+    private final CompletableResultCode result;
+    private final long deadlineNanos;
+
+    private PendingExport(CompletableResultCode result, long deadlineNanos) {
+      this.result = result;
+      this.deadlineNanos = deadlineNanos;
+    }
   }
 }
@@ -22,12 +22,18 @@ public final class BatchSpanProcessorBuilder {
   static final int DEFAULT_MAX_EXPORT_BATCH_SIZE = 512;
   // Visible for testing
   static final int DEFAULT_EXPORT_TIMEOUT_MILLIS = 30_000;
+  // Visible for testing
+  static final int DEFAULT_MAX_CONCURRENT_EXPORTS = 1;
+  // Visible for testing
+  static final int DEFAULT_WORKER_COUNT = 1;
 
   private final SpanExporter spanExporter;
   private long scheduleDelayNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SCHEDULE_DELAY_MILLIS);
   private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
   private int maxExportBatchSize = DEFAULT_MAX_EXPORT_BATCH_SIZE;
   private long exporterTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_EXPORT_TIMEOUT_MILLIS);
+  private int maxConcurrentExports = DEFAULT_MAX_CONCURRENT_EXPORTS;
+  private int workerCount = DEFAULT_WORKER_COUNT;
 
   BatchSpanProcessorBuilder(SpanExporter spanExporter) {
     this.spanExporter = requireNonNull(spanExporter, "spanExporter");
@@ -130,6 +136,59 @@ public final class BatchSpanProcessorBuilder {
     return maxExportBatchSize;
   }
 
+  /**
+   * Sets the maximum number of batches that are exported at the same time. While this many exports
+   * are in flight, the next batch is exported only once one of them completes or times out, so at
+   * most {@code maxConcurrentExports * maxExportBatchSize} spans are being exported at any time.
+   *
+   * <p>With a value greater than one, {@link SpanExporter#export} is called again before the result
+   * of the previous export completes, so the exporter must support overlapping asynchronous
+   * exports.
+   *
+   * <p>Default value is {@code 1}, which exports one batch at a time.
+   *
+   * @param maxConcurrentExports the maximum number of batches that are exported at the same time.
+   * @return this.
+   * @see BatchSpanProcessorBuilder#DEFAULT_MAX_CONCURRENT_EXPORTS
+   */
+  public BatchSpanProcessorBuilder setMaxConcurrentExports(int maxConcurrentExports) {
+    checkArgument(maxConcurrentExports > 0, "maxConcurrentExports must be positive.");
+    this.maxConcurrentExports = maxConcurrentExports;
+    return this;
+  }
+
+  // Visible for testing
+  int getMaxConcurrentExports() {
+    return maxConcurrentExports;
+  }
+
+  /**
+   * Sets the number of worker threads that batch and export spans. With more than one worker, the
+   * queue is split into as many shards of {@code maxQueueSize / workerCount} spans, each drained by
+   * its own worker, and the {@code processedSpans} and {@code queueSize} metrics are reported per
+   * shard. Every worker exports up to {@code maxConcurrentExports} batches at the same time.
+   *
+   * <p>With more than one worker, {@link SpanExporter#export} is called by several threads at the
+   * same time, so the exporter must be thread-safe.
+   *
+   * <p>Default value is {@code 1}. More workers only help when a single worker cannot keep up with
+   * the spans ended by many threads, e.g. on hosts with many cores.
+   *
+   * @param workerCount the number of worker threads.
+   * @return this.
+   * @see BatchSpanProcessorBuilder#DEFAULT_WORKER_COUNT
+   */
+  public BatchSpanProcessorBuilder setWorkerCount(int workerCount) {
+    checkArgument(workerCount > 0, "workerCount must be positive.");
+    this.workerCount = workerCount;
+    return this;
+  }
+
+  // Visible for testing
+  int getWorkerCount() {
+    return workerCount;
+  }
+
   /**
    * Returns a new {@link BatchSpanProcessor} that batches, then converts spans to proto and
    * forwards them to the given {@code spanExporter}.
@@ -139,6 +198,12 @@ public final class BatchSpanProcessorBuilder {
    */
   public BatchSpanProcessor build() {
     return new BatchSpanProcessor(
-        spanExporter, scheduleDelayNanos, maxQueueSize, maxExportBatchSize, exporterTimeoutNanos);
+        spanExporter,
+        scheduleDelayNanos,
+        maxQueueSize,
+        maxExportBatchSize,
+        exporterTimeoutNanos,
+        maxConcurrentExports,
+        workerCount);
   }
 }
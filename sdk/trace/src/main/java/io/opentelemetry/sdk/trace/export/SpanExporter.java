@@ -59,7 +59,12 @@ public interface SpanExporter extends Closeable {
   /**
    * Called to export sampled {@code Span}s. Note that export operations can be performed
    * simultaneously depending on the type of span processor being used. However, the {@link
-   * BatchSpanProcessor} will ensure that only one export can occur at a time.
+   * BatchSpanProcessor} will ensure that only one export can occur at a time, unless it is
+   * configured with {@link BatchSpanProcessorBuilder#setMaxConcurrentExports(int)
+   * maxConcurrentExports} greater than one, in which case this method is called again before the
+   * result of the previous call completes, or with {@link
+   * BatchSpanProcessorBuilder#setWorkerCount(int) workerCount} greater than one, in which case this
+   * method is called by several threads at the same time.
    *
    * @param spans the collection of sampled Spans to be exported.
    * @return the result of the export, which is often an asynchronous operation.
@@ -70,7 +75,9 @@ public interface SpanExporter extends Closeable {
    * Exports the collection of sampled {@code Span}s that have not yet been exported. Note that
    * export operations can be performed simultaneously depending on the type of span processor being
    * used. However, the {@link BatchSpanProcessor} will ensure that only one export can occur at a
-   * time.
+   * time, unless it is configured with {@link
+   * BatchSpanProcessorBuilder#setMaxConcurrentExports(int) maxConcurrentExports} or {@link
+   * BatchSpanProcessorBuilder#setWorkerCount(int) workerCount} greater than one.
    *
    * @return the result of the flush, which is often an asynchronous operation.
    */
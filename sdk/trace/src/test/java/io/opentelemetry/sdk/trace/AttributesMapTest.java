@@ -7,8 +7,12 @@ package io.opentelemetry.sdk.trace;
 
 import static io.opentelemetry.api.common.AttributeKey.longKey;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.entry;
 
+import com.google.common.collect.ImmutableMap;
+import io.opentelemetry.api.common.AttributeKey;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 
 class AttributesMapTest {
@@ -22,4 +26,82 @@ class AttributesMapTest {
     assertThat(attributesMap.asMap())
         .containsOnly(entry(longKey("one"), 1L), entry(longKey("two"), 2L));
   }
+
+  @Test
+  void asMap_View() {
+    AttributesMap attributesMap = new AttributesMap(128);
+    Map<AttributeKey<?>, Object> map = attributesMap.asMap();
+    attributesMap.put(longKey("b"), 1L);
+    attributesMap.put(longKey("a"), 2L);
+
+    assertThat(attributesMap.asMap()).isSameAs(map);
+    assertThat(map).containsExactly(entry(longKey("b"), 1L), entry(longKey("a"), 2L));
+    assertThat(map.get(longKey("a"))).isEqualTo(2L);
+    assertThat(map.containsKey(longKey("b"))).isTrue();
+    assertThat(map).isEqualTo(ImmutableMap.of(longKey("b"), 1L, longKey("a"), 2L));
+    assertThatThrownBy(() -> map.put(longKey("c"), 3L))
+        .isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> map.remove(longKey("a")))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void put_DropsNewKeysWhenFull() {
+    AttributesMap attributesMap = new AttributesMap(2);
+    attributesMap.put(longKey("one"), 1L);
+    attributesMap.put(longKey("two"), 2L);
+    attributesMap.put(longKey("three"), 3L);
+    attributesMap.put(longKey("one"), 11L);
+
+    assertThat(attributesMap.size()).isEqualTo(2);
+    assertThat(attributesMap.getTotalAddedValues()).isEqualTo(4);
+    assertThat(attributesMap.get(longKey("one"))).isEqualTo(11L);
+    assertThat(attributesMap.get(longKey("three"))).isNull();
+  }
+
+  @Test
+  void put_GrowsUpToCapacity() {
+    int capacity = AttributesMap.INITIAL_CAPACITY * 3;
+    AttributesMap attributesMap = new AttributesMap(capacity);
+    for (long i = 0; i < capacity + 1; i++) {
+      attributesMap.put(longKey("key" + i), i);
+    }
+
+    assertThat(attributesMap.size()).isEqualTo(capacity);
+    for (long i = 0; i < capacity; i++) {
+      assertThat(attributesMap.get(longKey("key" + i))).isEqualTo(i);
+    }
+    assertThat(attributesMap.get(longKey("key" + capacity))).isNull();
+  }
+
+  @Test
+  void forEach_InsertionOrder() {
+    AttributesMap attributesMap = new AttributesMap(128);
+    attributesMap.put(longKey("b"), 1L);
+    attributesMap.put(longKey("a"), 2L);
+    attributesMap.put(longKey("c"), 3L);
+    attributesMap.put(longKey("b"), 4L);
+
+    StringBuilder sb = new StringBuilder();
+    attributesMap.forEach((key, value) -> sb.append(key.getKey()).append(value));
+    assertThat(sb.toString()).isEqualTo("b4a2c3");
+    assertThat(attributesMap.toString())
+        .isEqualTo("AttributesMap{data={b=4, a=2, c=3}, capacity=128, totalAddedValues=4}");
+  }
+
+  @Test
+  void equalsAndHashCode() {
+    AttributesMap first = new AttributesMap(4);
+    first.put(longKey("one"), 1L);
+    first.put(longKey("two"), 2L);
+    AttributesMap second = new AttributesMap(8);
+    second.put(longKey("two"), 2L);
+    second.put(longKey("one"), 1L);
+
+    assertThat(first).isEqualTo(second);
+    assertThat(first.hashCode()).isEqualTo(second.hashCode());
+
+    second.put(longKey("one"), 3L);
+    assertThat(first).isNotEqualTo(second);
+  }
 }
@@ -47,6 +47,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Nullable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -176,6 +177,18 @@ class RecordEventsReadableSpanTest {
         /*hasEnded=*/ true);
   }
 
+  @Test
+  void toSpanData_EndedSpan_SameInstance() {
+    RecordEventsReadableSpan span = createTestSpan(SpanKind.INTERNAL);
+    SpanData activeSpanData = span.toSpanData();
+    assertThat(span.toSpanData()).isNotSameAs(activeSpanData);
+    span.end();
+    // An ended span is frozen, so its SpanData is created once and shared.
+    SpanData spanData = span.toSpanData();
+    assertThat(spanData.hasEnded()).isTrue();
+    assertThat(span.toSpanData()).isSameAs(spanData);
+  }
+
   @Test
   void toSpanData_immutableLinks() {
     RecordEventsReadableSpan span = createTestSpan(SpanKind.INTERNAL);
@@ -845,6 +858,108 @@ class RecordEventsReadableSpanTest {
                 .build());
   }
 
+  private static class PrintCountingException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    private final AtomicInteger printCount = new AtomicInteger();
+
+    @Override
+    public void printStackTrace(PrintWriter s) {
+      printCount.incrementAndGet();
+      super.printStackTrace(s);
+    }
+  }
+
+  @Test
+  void recordException_renderedWhenRead() {
+    PrintCountingException exception = new PrintCountingException();
+    RecordEventsReadableSpan span = createTestRootSpan();
+
+    span.recordException(exception);
+    span.end();
+    assertThat(exception.printCount).hasValue(0);
+
+    EventData event = span.toSpanData().getEvents().get(0);
+    assertThat(event.getAttributes().get(SemanticAttributes.EXCEPTION_STACKTRACE)).isNotEmpty();
+    assertThat(event.getTotalAttributeCount()).isEqualTo(2);
+    assertThat(event.getAttributes().get(SemanticAttributes.EXCEPTION_STACKTRACE)).isNotEmpty();
+    assertThat(exception.printCount).hasValue(1);
+  }
+
+  @Test
+  void recordException_equalsRenderedEvent() {
+    IllegalStateException exception = new IllegalStateException("there was an exception");
+    RecordEventsReadableSpan span = createTestRootSpan();
+    RecordEventsReadableSpan otherSpan = createTestRootSpan();
+
+    span.recordException(exception);
+    otherSpan.recordException(exception);
+
+    EventData event = span.toSpanData().getEvents().get(0);
+    EventData otherEvent = otherSpan.toSpanData().getEvents().get(0);
+    EventData renderedEvent =
+        EventData.create(
+            event.getEpochNanos(),
+            event.getName(),
+            event.getAttributes(),
+            event.getTotalAttributeCount());
+    assertThat(event).isEqualTo(otherEvent).isEqualTo(renderedEvent);
+    assertThat(event.hashCode())
+        .isEqualTo(otherEvent.hashCode())
+        .isEqualTo(renderedEvent.hashCode());
+    assertThat(event.toString()).isEqualTo(renderedEvent.toString());
+  }
+
+  @Test
+  void recordException_renderedWithLaterSuppressed() {
+    IllegalStateException exception = new IllegalStateException("there was an exception");
+    RecordEventsReadableSpan span = createTestRootSpan();
+
+    span.recordException(exception);
+    span.end();
+    exception.addSuppressed(new IllegalArgumentException("suppressed"));
+
+    EventData event = span.toSpanData().getEvents().get(0);
+    assertThat(event.getAttributes().get(SemanticAttributes.EXCEPTION_STACKTRACE))
+        .contains("Suppressed: java.lang.IllegalArgumentException: suppressed");
+  }
+
+  @Test
+  void recordException_maxStackTraceDepth() {
+    IllegalStateException exception =
+        new IllegalStateException("outer", new IllegalArgumentException("inner"));
+    exception.setStackTrace(
+        new StackTraceElement[] {
+          new StackTraceElement("Outer", "first", "Outer.java", 1),
+          new StackTraceElement("Outer", "second", "Outer.java", 2),
+          new StackTraceElement("Outer", "third", "Outer.java", 3)
+        });
+    exception
+        .getCause()
+        .setStackTrace(
+            new StackTraceElement[] {new StackTraceElement("Inner", "only", "Inner.java", 4)});
+    RecordEventsReadableSpan span =
+        createTestSpan(SpanLimits.builder().setMaxExceptionStackTraceDepth(2).build());
+
+    span.recordException(exception);
+
+    EventData event = span.toSpanData().getEvents().get(0);
+    assertThat(event.getAttributes().get(SemanticAttributes.EXCEPTION_STACKTRACE))
+        .isEqualTo(
+            "java.lang.IllegalStateException: outer"
+                + System.lineSeparator()
+                + "\tat Outer.first(Outer.java:1)"
+                + System.lineSeparator()
+                + "\tat Outer.second(Outer.java:2)"
+                + System.lineSeparator()
+                + "\t... 1 more"
+                + System.lineSeparator()
+                + "Caused by: java.lang.IllegalArgumentException: inner"
+                + System.lineSeparator()
+                + "\tat Inner.only(Inner.java:4)"
+                + System.lineSeparator());
+  }
+
   @Test
   void badArgsIgnored() {
     RecordEventsReadableSpan span = createTestRootSpan();
@@ -928,6 +1043,7 @@ class RecordEventsReadableSpanTest {
             Context.root(),
             config,
             spanProcessor,
+            StackTraceRenderer.uncached(),
             testClock,
             resource,
             attributes,
@@ -1016,6 +1132,7 @@ class RecordEventsReadableSpanTest {
             Context.root(),
             spanLimits,
             spanProcessor,
+            StackTraceRenderer.uncached(),
             clock,
             resource,
             attributesWithCapacity,
@@ -27,6 +27,7 @@ import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.api.trace.TraceFlags;
 import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.api.trace.TracerProvider;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
@@ -36,6 +37,7 @@ import io.opentelemetry.sdk.trace.samplers.Sampler;
 import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
 import io.opentelemetry.sdk.trace.samplers.SamplingResult;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -655,6 +657,49 @@ class SdkSpanBuilderTest {
     }
   }
 
+  @Test
+  void traceId_encodedOnce() {
+    List<String> sampledTraceIds = new ArrayList<>();
+    Tracer tracer =
+        SdkTracerProvider.builder()
+            .setSampler(
+                new Sampler() {
+                  @Override
+                  public SamplingResult shouldSample(
+                      Context parentContext,
+                      String traceId,
+                      String name,
+                      SpanKind spanKind,
+                      Attributes attributes,
+                      List<LinkData> parentLinks) {
+                    sampledTraceIds.add(traceId);
+                    return Sampler.alwaysOn()
+                        .shouldSample(
+                            parentContext, traceId, name, spanKind, attributes, parentLinks);
+                  }
+
+                  @Override
+                  public String getDescription() {
+                    return "test sampler";
+                  }
+                })
+            .build()
+            .get("test");
+
+    Span root = tracer.spanBuilder(SPAN_NAME).startSpan();
+    Span child = tracer.spanBuilder(SPAN_NAME).setParent(Context.root().with(root)).startSpan();
+    try {
+      // The trace id given to the sampler is the one of the span context, and of its children.
+      assertThat(sampledTraceIds).hasSize(2);
+      assertThat(root.getSpanContext().getTraceId()).isSameAs(sampledTraceIds.get(0));
+      assertThat(sampledTraceIds.get(1)).isSameAs(sampledTraceIds.get(0));
+      assertThat(child.getSpanContext().getTraceId()).isSameAs(sampledTraceIds.get(0));
+    } finally {
+      child.end();
+      root.end();
+    }
+  }
+
   // TODO(anuraaga): Is this test correct? It's not sampled
   @Test
   void sampledViaParentLinks() {
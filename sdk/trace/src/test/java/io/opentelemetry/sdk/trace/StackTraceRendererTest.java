@@ -0,0 +1,71 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import org.junit.jupiter.api.Test;
+
+class StackTraceRendererTest {
+
+  @Test
+  void render_SameAsPrintStackTrace() {
+    IllegalStateException exception =
+        new IllegalStateException("outer", new IllegalArgumentException("inner"));
+    exception.addSuppressed(new UnsupportedOperationException("suppressed"));
+    StringWriter writer = new StringWriter();
+    exception.printStackTrace(new PrintWriter(writer));
+
+    assertThat(StackTraceRenderer.uncached().render(exception, Integer.MAX_VALUE))
+        .isEqualTo(writer.toString());
+    assertThat(StackTraceRenderer.create(10).render(exception, Integer.MAX_VALUE))
+        .isEqualTo(writer.toString());
+  }
+
+  @Test
+  void render_Cached() {
+    StackTraceRenderer renderer = StackTraceRenderer.create(10);
+    String[] rendered = renderAll(renderer, Integer.MAX_VALUE, "message", "message", "other");
+
+    assertThat(rendered[1]).isSameAs(rendered[0]);
+    assertThat(rendered[2]).startsWith("java.lang.IllegalStateException: other");
+    assertThat(renderAll(renderer, 1, "message")[0]).isNotEqualTo(rendered[0]);
+  }
+
+  @Test
+  void render_CacheBounded() {
+    StackTraceRenderer renderer = StackTraceRenderer.create(1);
+    String[] rendered = renderAll(renderer, Integer.MAX_VALUE, "first", "first", "second", "first");
+
+    assertThat(rendered[1]).isSameAs(rendered[0]);
+    assertThat(rendered[3]).isEqualTo(rendered[0]).isNotSameAs(rendered[0]);
+  }
+
+  @Test
+  void render_NotCachedWithSuppressed() {
+    StackTraceRenderer renderer = StackTraceRenderer.create(10);
+    Exception exception = newException("message");
+    exception.addSuppressed(new IllegalArgumentException());
+
+    assertThat(renderer.render(exception, Integer.MAX_VALUE))
+        .isNotSameAs(renderer.render(exception, Integer.MAX_VALUE));
+  }
+
+  // Renders exceptions created at the same place, so with the same stack trace.
+  private static String[] renderAll(StackTraceRenderer renderer, int maxDepth, String... messages) {
+    String[] rendered = new String[messages.length];
+    for (int i = 0; i < messages.length; i++) {
+      rendered[i] = renderer.render(newException(messages[i]), maxDepth);
+    }
+    return rendered;
+  }
+
+  private static Exception newException(String message) {
+    return new IllegalStateException(message);
+  }
+}
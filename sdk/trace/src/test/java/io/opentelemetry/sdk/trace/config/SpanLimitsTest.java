@@ -19,6 +19,8 @@ class SpanLimitsTest {
     assertThat(SpanLimits.getDefault().getMaxNumberOfLinks()).isEqualTo(128);
     assertThat(SpanLimits.getDefault().getMaxNumberOfAttributesPerEvent()).isEqualTo(128);
     assertThat(SpanLimits.getDefault().getMaxNumberOfAttributesPerLink()).isEqualTo(128);
+    assertThat(SpanLimits.getDefault().getMaxExceptionStackTraceDepth())
+        .isEqualTo(Integer.MAX_VALUE);
   }
 
   @Test
@@ -30,12 +32,14 @@ class SpanLimitsTest {
             .setMaxNumberOfLinks(11)
             .setMaxNumberOfAttributesPerEvent(1)
             .setMaxNumberOfAttributesPerLink(2)
+            .setMaxExceptionStackTraceDepth(3)
             .build();
     assertThat(spanLimits.getMaxNumberOfAttributes()).isEqualTo(8);
     assertThat(spanLimits.getMaxNumberOfEvents()).isEqualTo(10);
     assertThat(spanLimits.getMaxNumberOfLinks()).isEqualTo(11);
     assertThat(spanLimits.getMaxNumberOfAttributesPerEvent()).isEqualTo(1);
     assertThat(spanLimits.getMaxNumberOfAttributesPerLink()).isEqualTo(2);
+    assertThat(spanLimits.getMaxExceptionStackTraceDepth()).isEqualTo(3);
 
     // Preserves values
     SpanLimits spanLimitsDupe = spanLimits.toBuilder().build();
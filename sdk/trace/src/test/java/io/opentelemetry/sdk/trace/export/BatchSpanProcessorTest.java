@@ -30,6 +30,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -92,6 +93,9 @@ class BatchSpanProcessorTest {
     assertThat(config.getExporterTimeoutNanos())
         .isEqualTo(
             TimeUnit.MILLISECONDS.toNanos(BatchSpanProcessorBuilder.DEFAULT_EXPORT_TIMEOUT_MILLIS));
+    assertThat(config.getMaxConcurrentExports())
+        .isEqualTo(BatchSpanProcessorBuilder.DEFAULT_MAX_CONCURRENT_EXPORTS);
+    assertThat(config.getWorkerCount()).isEqualTo(BatchSpanProcessorBuilder.DEFAULT_WORKER_COUNT);
   }
 
   @Test
@@ -118,6 +122,12 @@ class BatchSpanProcessorTest {
     assertThatThrownBy(() -> BatchSpanProcessor.builder(exporter).setExporterTimeout(null))
         .isInstanceOf(NullPointerException.class)
         .hasMessage("timeout");
+    assertThatThrownBy(() -> BatchSpanProcessor.builder(exporter).setMaxConcurrentExports(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxConcurrentExports must be positive.");
+    assertThatThrownBy(() -> BatchSpanProcessor.builder(exporter).setWorkerCount(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("workerCount must be positive.");
   }
 
   @Test
@@ -379,6 +389,90 @@ class BatchSpanProcessorTest {
     await().untilAsserted(() -> assertThat(bsp.getBatch()).isEmpty());
   }
 
+  @Test
+  @Timeout(5)
+  void exportsConcurrently() {
+    CompletableSpanExporter spanExporter = new CompletableSpanExporter();
+    BatchSpanProcessor bsp =
+        BatchSpanProcessor.builder(spanExporter)
+            .setScheduleDelay(1, TimeUnit.MILLISECONDS)
+            .setMaxExportBatchSize(1)
+            .setMaxConcurrentExports(2)
+            .build();
+    sdkTracerProvider = SdkTracerProvider.builder().addSpanProcessor(bsp).build();
+
+    ReadableSpan span1 = createEndedSpan(SPAN_NAME_1);
+    ReadableSpan span2 = createEndedSpan(SPAN_NAME_2);
+    // Both batches are exported even though the first export has not completed.
+    await()
+        .untilAsserted(
+            () ->
+                assertThat(spanExporter.getExported())
+                    .containsExactly(span1.toSpanData(), span2.toSpanData()));
+
+    ReadableSpan span3 = createEndedSpan(SPAN_NAME_1);
+    CompletableResultCode flushResult = bsp.forceFlush();
+    // The third batch waits for one of the two exports to complete.
+    assertThat(flushResult.isDone()).isFalse();
+    assertThat(spanExporter.getExported()).hasSize(2);
+
+    spanExporter.succeed();
+    assertThat(flushResult.join(1, TimeUnit.SECONDS).isSuccess()).isTrue();
+    assertThat(spanExporter.getExported())
+        .containsExactly(span1.toSpanData(), span2.toSpanData(), span3.toSpanData());
+  }
+
+  @Test
+  @Timeout(10)
+  void exportsFromAllShards() throws InterruptedException {
+    List<SpanData> exported = new CopyOnWriteArrayList<>();
+    SpanExporter spanExporter =
+        new SpanExporter() {
+          @Override
+          public CompletableResultCode export(Collection<SpanData> spans) {
+            exported.addAll(spans);
+            return CompletableResultCode.ofSuccess();
+          }
+
+          @Override
+          public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+          }
+
+          @Override
+          public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+          }
+        };
+    BatchSpanProcessor bsp =
+        BatchSpanProcessor.builder(spanExporter)
+            .setScheduleDelay(10, TimeUnit.SECONDS)
+            .setWorkerCount(4)
+            .build();
+    sdkTracerProvider = SdkTracerProvider.builder().addSpanProcessor(bsp).build();
+
+    List<SpanData> ended = new CopyOnWriteArrayList<>();
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      threads.add(
+          new Thread(
+              () -> {
+                for (int j = 0; j < 10; j++) {
+                  ended.add(createEndedSpan(SPAN_NAME_1).toSpanData());
+                }
+              }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(bsp.forceFlush().join(5, TimeUnit.SECONDS).isSuccess()).isTrue();
+    assertThat(exported).hasSize(80).containsExactlyInAnyOrderElementsOf(ended);
+  }
+
   @Test
   void exportNotSampledSpans() {
     WaitingSpanExporter waitingSpanExporter =